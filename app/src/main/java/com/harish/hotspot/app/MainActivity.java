@@ -9,7 +9,9 @@ import android.widget.Button;
 import com.harish.hotspot.R;
 import com.harish.hotspot.base.HotspotManager;
 import com.harish.hotspot.base.HotspotManagerV26;
+import com.harish.hotspot.base.controller.IHotspotManager;
 import com.harish.hotspot.base.interfaces.IHotspotStateListener;
+import com.harish.hotspot.base.receiver.FrameCoalescingStateListener;
 import com.harish.hotspot.base.state.HotspotStates;
 
 public class MainActivity extends AppCompatActivity implements View.OnClickListener, IHotspotStateListener {
@@ -18,11 +20,25 @@ public class MainActivity extends AppCompatActivity implements View.OnClickListe
     //Views.
     private Button btnHotspotState;
 
+    //Manager matching the OS version.
+    private IHotspotManager mHotspotManager;
+
+    //Delivers the state bursts to this activity once per frame.
+    //Held here, as the manager keeps its listeners weakly.
+    private final FrameCoalescingStateListener mStateListener = new FrameCoalescingStateListener(this);
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_main);
 
+        //Pick the manager for this OS version.
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            mHotspotManager = HotspotManagerV26.getInstance(this);
+        } else {
+            mHotspotManager = HotspotManager.getInstance(this);
+        }
+
         //Initialize the views.
         initViews();
 
@@ -35,23 +51,19 @@ public class MainActivity extends AppCompatActivity implements View.OnClickListe
         super.onResume();
 
         //Register here.
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-            HotspotManagerV26.getInstance(this).setHotspotStateListener(this, this);
-        } else {
-            HotspotManager.getInstance(this).setHotspotStateListener(this, this);
-        }
+        mHotspotManager.addHotspotStateListener(this, mStateListener);
+
+        //The state may have been reconciled while not listening.
+        updateState();
     }
 
     @Override
     protected void onPause() {
         super.onPause();
 
-        //Unregister here.
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-            HotspotManagerV26.getInstance(this).removeHotspotStateListener(this);
-        } else {
-            HotspotManager.getInstance(this).removeHotspotStateListener(this);
-        }
+        //Unregister here, dropping a delivery still pending.
+        mHotspotManager.removeHotspotStateListener(this, mStateListener);
+        mStateListener.cancel();
     }
 
     @Override
@@ -59,20 +71,10 @@ public class MainActivity extends AppCompatActivity implements View.OnClickListe
         switch (view.getId()) {
             case R.id.btn_hotspot_state:
                 //Make necessary calls.
-                if (HotspotManager.getInstance(this).getHotspotState()
-                        == HotspotStates.WIFI_AP_STATE_DISABLED) {
-                    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-                        HotspotManagerV26.getInstance(this).enableHotspot(this);
-                    } else {
-                        HotspotManager.getInstance(this).enableHotspot(this);
-                    }
-                } else if (HotspotManager.getInstance(this).getHotspotState()
-                        == HotspotStates.WIFI_AP_STATE_ENABLED) {
-                    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-                        HotspotManagerV26.getInstance(this).disableHotspot(this);
-                    } else {
-                        HotspotManager.getInstance(this).disableHotspot(this);
-                    }
+                if (mHotspotManager.getHotspotState() == HotspotStates.WIFI_AP_STATE_DISABLED) {
+                    mHotspotManager.enableHotspot(this);
+                } else if (mHotspotManager.getHotspotState() == HotspotStates.WIFI_AP_STATE_ENABLED) {
+                    mHotspotManager.disableHotspot(this);
                 }
                 break;
         }
@@ -86,7 +88,7 @@ public class MainActivity extends AppCompatActivity implements View.OnClickListe
 
     //Update the states.
     private void updateState() {
-        switch (HotspotManager.getInstance(this).getHotspotState()) {
+        switch (mHotspotManager.getHotspotState()) {
             case HotspotStates.WIFI_AP_STATE_DISABLED:
             case HotspotStates.WIFI_AP_STATE_DISABLING:
             case HotspotStates.WIFI_AP_STATE_ENABLING:
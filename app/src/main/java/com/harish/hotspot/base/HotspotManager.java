@@ -1,5 +1,6 @@
 package com.harish.hotspot.base;
 
+import android.app.Activity;
 import android.content.Context;
 import android.content.DialogInterface;
 import android.content.Intent;
@@ -7,17 +8,36 @@ import android.content.IntentFilter;
 import android.net.Uri;
 import android.net.wifi.WifiManager;
 import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
 import android.provider.Settings;
 import android.support.annotation.RequiresApi;
 import android.support.v7.app.AlertDialog;
 import android.widget.Toast;
 
 import com.harish.hotspot.R;
-import com.harish.hotspot.base.controller.HotspotHelper;
+import com.harish.hotspot.base.command.HotspotCommandExecutor;
+import com.harish.hotspot.base.command.HotspotCommandFuture;
+import com.harish.hotspot.base.controller.IHotspotBackend;
 import com.harish.hotspot.base.controller.IHotspotManager;
+import com.harish.hotspot.base.interfaces.IHotspotCommandHandler;
 import com.harish.hotspot.base.interfaces.IHotspotStateListener;
+import com.harish.hotspot.base.journal.HotspotJournal;
+import com.harish.hotspot.base.lease.HotspotLease;
+import com.harish.hotspot.base.lease.HotspotLeaseManager;
+import com.harish.hotspot.base.metrics.HotspotMetrics;
+import com.harish.hotspot.base.net.HotspotNetworkServices;
 import com.harish.hotspot.base.receiver.HotspotReceiver;
+import com.harish.hotspot.base.recovery.HotspotRecovery;
+import com.harish.hotspot.base.receiver.HotspotStateDispatcher;
+import com.harish.hotspot.base.state.HotspotStateAwaiter;
+import com.harish.hotspot.base.state.HotspotStateFuture;
+import com.harish.hotspot.base.state.HotspotStateMachine;
+import com.harish.hotspot.base.state.HotspotStateSnapshot;
 import com.harish.hotspot.base.state.HotspotStates;
+import com.harish.hotspot.base.stream.HotspotStatePublisher;
+
+import java.util.concurrent.TimeUnit;
 
 import static com.harish.hotspot.base.receiver.HotspotReceiver.ACTION_HOTSPOT_STATE_CHANGE;
 
@@ -38,26 +58,40 @@ public final class HotspotManager implements IHotspotManager {
     //Broadcast Receiver.
     private HotspotReceiver mHotspotReceiver;
 
-    //Hotspot state listener object.
-    private IHotspotStateListener mHotspotStateListener;
+    //Registry of the hotspot state listeners.
+    private final HotspotStateDispatcher mStateDispatcher = new HotspotStateDispatcher();
+
+    //Holds the current hotspot state, shared with the other manager.
+    private final HotspotStateMachine mStateMachine = HotspotStateMachine.getInstance();
+
+    //Switches the hotspot.
+    private volatile IHotspotBackend mBackend;
 
-    //Holds the current hotspot state.
-    private int mHotspotState = HotspotStates.WIFI_AP_STATE_UNKNOWN;
+    //Restores the state and the capabilities on a cold start.
+    private final HotspotStartup mStartup = new HotspotStartup(mStateMachine, mStateDispatcher,
+            new Handler(Looper.getMainLooper()));
 
-    //WifiManager instance.
-    private WifiManager mWifiManager;
+    //Application context, registering the receiver while states are awaited.
+    private Context mApplicationContext;
+
+    //Number of awaitState() calls not completed yet. Guarded by this.
+    private int mPendingWaits;
 
     //Constructor.
     private HotspotManager() {
     }
 
     //Retrieves the singleton instance.
-    public static HotspotManager getInstance(Context context) {
+    public static synchronized HotspotManager getInstance(Context context) {
         if (mInstance == null) {
             mInstance = new HotspotManager();
-            //Read the initial state of hotspot.
-            mInstance.setHotspotState(HotspotHelper
-                    .getHotspotState(mInstance.getWifiManager(context)));
+            mInstance.mApplicationContext = context.getApplicationContext();
+            mInstance.mStateMachine.addObserver(mInstance.mRequests.getRecovery());
+            //The last known state is seeded right away, for the first frame. The real one is read on the worker.
+            mInstance.mStartup.restore(context);
+            //The backend of the path probed on this build, restored above. Swapped on the worker once probed.
+            mInstance.setBackend(mInstance.mStartup.createBackend(mInstance.getWifiManager(context)));
+            mInstance.mStartup.start(context, mInstance.mCommandExecutor, mInstance);
         }
         return mInstance;
     }
@@ -69,111 +103,265 @@ public final class HotspotManager implements IHotspotManager {
      * @see HotspotStates
      */
     public int getHotspotState() {
-        return mHotspotState;
+        return mStateMachine.getState();
+    }
+
+    /**
+     * Getter for the current hotspot state along with its previous state, sequence number and time.
+     *
+     * @return the latest {@link HotspotStateSnapshot}.
+     */
+    public HotspotStateSnapshot getHotspotStateSnapshot() {
+        return mStateMachine.getSnapshot();
     }
 
     /**
-     * Setter for the Hotspot state.
+     * Setter for the Hotspot state, as reported by the framework.
      *
-     * @param mHotspotState The new hotspot state.
+     * @param hotspotState The new hotspot state.
      * @see HotspotStates
+     * @see HotspotStateMachine#sync(int)
+     */
+    public void setHotspotState(int hotspotState) {
+        mStateMachine.sync(hotspotState);
+    }
+
+    /**
+     * Getter for the backend switching the hotspot.
+     */
+    public IHotspotBackend getBackend() {
+        return mBackend;
+    }
+
+    /**
+     * Setter for the backend switching the hotspot, e.g. a simulation for load testing.
+     *
+     * @param backend The {@link IHotspotBackend} instance.
+     */
+    public void setBackend(IHotspotBackend backend) {
+        //A failure reported by the backend also ends the command in flight, so the retry is not skipped,
+        //and is counted by the path of the backend.
+        backend.setCallback(mCommandExecutor.track(
+                HotspotMetrics.getInstance().countFailures(backend.getPath(), mRequests.getRecovery())));
+        this.mBackend = backend;
+    }
+
+    /**
+     * Getter for the {@link HotspotRecovery}, to configure the retries after a failed start.
+     */
+    public HotspotRecovery getRecovery() {
+        return mRequests.getRecovery();
+    }
+
+    /**
+     * Getter for the {@link HotspotLeaseManager}, e.g. to set the linger window.
+     */
+    public HotspotLeaseManager getLeaseManager() {
+        return mRequests.getLeaseManager();
+    }
+
+    /**
+     * Waits for the hotspot to reach a state, without polling.
+     * Typically called right after {@link #enableHotspot(Context)}, before starting the services of the network.
+     * The state broadcasts are received until the wait completes, even if no listener is added.
+     *
+     * @param targetState One of the {@link HotspotStates}.
+     * @param timeout     The longest wait, 0 or less to wait forever.
+     * @param unit        The unit of the timeout.
+     * @return the {@link HotspotStateFuture}, failed if the hotspot fails while waiting for it to come up.
+     */
+    public HotspotStateFuture awaitState(int targetState, long timeout, TimeUnit unit) {
+        HotspotStateFuture future = HotspotStateAwaiter.getInstance().awaitState(targetState, timeout, unit);
+        if (!future.isDone()) {
+            holdReceiver();
+            //Right away if it completed in between.
+            future.addListener(mWaitDone, HotspotStatePublisher.DIRECT_EXECUTOR);
+        }
+        return future;
+    }
+
+    //Registers the receiver for the first pending wait.
+    private synchronized void holdReceiver() {
+        if (mPendingWaits++ == 0) {
+            addHotspotStateListener(mApplicationContext, mWaitAnchor);
+        }
+    }
+
+    //Unregisters it after the last one, unless the app listens.
+    private synchronized void releaseReceiver() {
+        if (--mPendingWaits == 0) {
+            removeHotspotStateListener(mApplicationContext, mWaitAnchor);
+        }
+    }
+
+    //Releases the receiver once a wait completes, however.
+    private final Runnable mWaitDone = new Runnable() {
+        @Override
+        public void run() {
+            releaseReceiver();
+        }
+    };
+
+    //Keeps the receiver registered while states are awaited. Held here, as the listeners are held weakly.
+    private final IHotspotStateListener mWaitAnchor = new IHotspotStateListener() {
+        @Override
+        public void onEnabling() {
+        }
+
+        @Override
+        public void onEnabled() {
+        }
+
+        @Override
+        public void onDisabling() {
+        }
+
+        @Override
+        public void onDisabled() {
+        }
+
+        @Override
+        public void onFailed() {
+        }
+    };
+
+    /**
+     * Getter for {@link #mStateDispatcher} instance.
+     */
+    public HotspotStateDispatcher getStateDispatcher() {
+        return mStateDispatcher;
+    }
+
+    /**
+     * Returns the shared {@link HotspotStatePublisher}, to subscribe with a buffer and an executor.
      */
-    public void setHotspotState(int mHotspotState) {
-        this.mHotspotState = mHotspotState;
+    public HotspotStatePublisher getStatePublisher() {
+        return HotspotStatePublisher.getInstance();
     }
 
     /**
-     * Getter for {@link HotspotManager#mHotspotStateListener} instance.
+     * Returns the shared {@link HotspotNetworkServices}, to run network services while the hotspot is up.
      */
-    public IHotspotStateListener getHotspotStateListener() {
-        return mHotspotStateListener;
+    public HotspotNetworkServices getNetworkServices() {
+        return HotspotNetworkServices.getInstance();
     }
 
     /**
-     * Setter for {@link #mHotspotStateListener} instance.
+     * Registers a listener for the hotspot state changes.
+     * Listeners are held weakly, so the caller has to keep a reference to it.
+     * Synchronized with the removal, so a listener added while the last one is removed keeps the receiver.
      *
-     * @param mHotspotStateListener The {@link IHotspotStateListener} instance.
+     * @param hotspotStateListener The {@link IHotspotStateListener} instance.
      */
-    public void setHotspotStateListener(Context context,
-                                        IHotspotStateListener mHotspotStateListener) {
-        this.mHotspotStateListener = mHotspotStateListener;
+    public synchronized void addHotspotStateListener(Context context,
+                                        IHotspotStateListener hotspotStateListener) {
+        mStateDispatcher.addListener(hotspotStateListener);
         //Register internally for hotspot state changes.
         registerInternal(context);
     }
 
     /**
-     * Removes the {@link #mHotspotStateListener} instance.
+     * Unregisters a listener for the hotspot state changes.
+     *
+     * @param hotspotStateListener The {@link IHotspotStateListener} instance.
      */
-    public void removeHotspotStateListener(Context context) {
-        this.mHotspotStateListener = null;
-        //Do an un-registration internally.
-        unregisterInternal(context);
+    public synchronized void removeHotspotStateListener(Context context,
+                                           IHotspotStateListener hotspotStateListener) {
+        mStateDispatcher.removeListener(hotspotStateListener);
+        //Do an un-registration internally, once nobody is listening.
+        if (mStateDispatcher.isEmpty()) {
+            unregisterInternal(context);
+        }
     }
 
     /**
      * Internally registers for the hotspot state changes.
+     * The application context is used, so that the receiver does not hold on to an Activity.
      */
-    private void registerInternal(Context context) {
-        //Create a hotspot instance, if NULL.
+    private synchronized void registerInternal(Context context) {
+        //Create a hotspot instance and register it, if NULL.
         if (mHotspotReceiver == null) {
             mHotspotReceiver = new HotspotReceiver();
+            //Register for state change broadcasts.
+            context.getApplicationContext().registerReceiver(mHotspotReceiver,
+                    new IntentFilter(ACTION_HOTSPOT_STATE_CHANGE));
         }
-        //Register for state change broadcasts.
-        context.registerReceiver(mHotspotReceiver, new IntentFilter(ACTION_HOTSPOT_STATE_CHANGE));
     }
 
     /**
      * Internally unregisters for the hotspot state changes.
      */
-    private void unregisterInternal(Context context) {
+    private synchronized void unregisterInternal(Context context) {
         if (mHotspotReceiver != null) {
-            context.unregisterReceiver(mHotspotReceiver);
+            context.getApplicationContext().unregisterReceiver(mHotspotReceiver);
             mHotspotReceiver = null;
         }
     }
 
     /**
      * Enables the hotspot.
+     * The call into the framework is carried out on the background worker.
+     *
+     * @return the {@link HotspotCommandFuture} tracking the command.
      */
-    public void enableHotspot(Context context) {
-        //Check for write-settings permission here.
-        if (checkSelfPermission(context)) {
-            //Get the WifiManager instance, if NULL.
-            if (mWifiManager == null) {
-                mWifiManager = getWifiManager(context);
-            }
+    public HotspotCommandFuture enableHotspot(Context context) {
+        if (!mStartup.checkSupported(context)) {
+            return HotspotCommandFuture.completed(HotspotCommandExecutor.TARGET_ENABLED,
+                    HotspotCommandFuture.RESULT_REJECTED);
+        }
+        return submitCommand(context, HotspotCommandExecutor.TARGET_ENABLED);
+    }
 
-            //Implementation for Lollipop, Marshmallow and Nougat.
-            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP
-                    && Build.VERSION.SDK_INT < Build.VERSION_CODES.O) {
-                HotspotHelper.enableHotspot(mWifiManager);
-            }
-        } else {
-            //Show appropriate message.
+    /**
+     * Disables the hotspot.
+     * The call into the framework is carried out on the background worker.
+     *
+     * @return the {@link HotspotCommandFuture} tracking the command.
+     */
+    public HotspotCommandFuture disableHotspot(Context context) {
+        return submitCommand(context, HotspotCommandExecutor.TARGET_DISABLED);
+    }
+
+    /**
+     * Acquires a lease on the hotspot, starting it unless it is already up or lingering.
+     * The hotspot is stopped after the last lease is released and the linger window has elapsed.
+     *
+     * @param context The context.
+     * @param owner   Who holds the lease, for debugging.
+     * @return the {@link HotspotLease}, NULL if the permission is missing or the hotspot is not supported.
+     */
+    public HotspotLease acquireHotspotLease(Context context, String owner) {
+        if (!mStartup.checkSupported(context)) {
+            return null;
+        }
+        if (!checkSelfPermission(context)) {
             if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
                 enforceSelfPermission(context);
-            } else {
-                Toast.makeText(context, "Unable to modify system settings", Toast.LENGTH_LONG).show();
             }
+            return null;
         }
+        return mRequests.acquireLease(owner);
     }
 
     /**
-     * Disables the hotspot.
+     * Checks the permission on the caller's thread and hands the command over to the worker.
+     *
+     * @param context The context.
+     * @param target  The target of the command.
+     * @return the {@link HotspotCommandFuture} tracking the command.
      */
-    public void disableHotspot(Context context) {
+    private HotspotCommandFuture submitCommand(Context context, int target) {
         //Check for write-settings permission here.
         if (checkSelfPermission(context)) {
-            //Get the WifiManager instance, if NULL.
-            if (mWifiManager == null) {
-                mWifiManager = getWifiManager(context);
+            if (target == HotspotCommandExecutor.TARGET_ENABLED) {
+                return mRequests.enable();
             }
-
-            //Implementation for Lollipop, Marshmallow and Nougat.
-            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP
-                    && Build.VERSION.SDK_INT < Build.VERSION_CODES.O) {
-                HotspotHelper.disableHotspot(mWifiManager);
+            HotspotCommandFuture future = mRequests.disable();
+            if (future == null) {
+                Toast.makeText(context, "Hotspot is still used by other components", Toast.LENGTH_LONG).show();
+                return HotspotCommandFuture.completed(target, HotspotCommandFuture.RESULT_REJECTED);
             }
+            return future;
         } else {
             //Show appropriate message.
             if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
@@ -181,6 +369,43 @@ public final class HotspotManager implements IHotspotManager {
             } else {
                 Toast.makeText(context, "Unable to modify system settings", Toast.LENGTH_LONG).show();
             }
+            return HotspotCommandFuture.completed(target, HotspotCommandFuture.RESULT_REJECTED);
+        }
+    }
+
+    //Carries out the commands on the background worker.
+    private final HotspotCommandExecutor mCommandExecutor = new HotspotCommandExecutor(TAG,
+            mStateMachine, new IHotspotCommandHandler() {
+                @Override
+                public int getHotspotState() {
+                    return HotspotManager.this.getHotspotState();
+                }
+
+                @Override
+                public void performEnable() {
+                    IHotspotBackend backend = mBackend;
+                    HotspotMetrics.getInstance().onCommand(HotspotCommandExecutor.TARGET_ENABLED, backend.getPath());
+                    journalCommand(HotspotCommandExecutor.TARGET_ENABLED, backend.getPath());
+                    backend.enable();
+                }
+
+                @Override
+                public void performDisable() {
+                    IHotspotBackend backend = mBackend;
+                    HotspotMetrics.getInstance().onCommand(HotspotCommandExecutor.TARGET_DISABLED, backend.getPath());
+                    journalCommand(HotspotCommandExecutor.TARGET_DISABLED, backend.getPath());
+                    backend.disable();
+                }
+            });
+
+    //Enables and disables on behalf of the app, counting the leases. After the executor, which it uses.
+    private final HotspotRequests mRequests = new HotspotRequests(TAG, mCommandExecutor);
+
+    //Attributes the following transitions in the journal to the command.
+    private void journalCommand(int target, int path) {
+        HotspotJournal journal = HotspotJournal.peekInstance();
+        if (journal != null) {
+            journal.onCommand(target, path);
         }
     }
 
@@ -208,11 +433,16 @@ public final class HotspotManager implements IHotspotManager {
 
     /**
      * Enforces the user to provide the permission.
+     * The dialog needs an Activity, other contexts (e.g. a Service) just tell the user.
      *
      * @param context The context.
      */
     @RequiresApi(Build.VERSION_CODES.M)
     private void enforceSelfPermission(final Context context) {
+        if (!(context instanceof Activity)) {
+            Toast.makeText(context, "Unable to modify system settings", Toast.LENGTH_LONG).show();
+            return;
+        }
         AlertDialog.Builder builder = new AlertDialog.Builder(context);
         builder.setTitle(R.string.text_settings_permission);
         builder.setMessage(R.string.text_settings_permission_description);
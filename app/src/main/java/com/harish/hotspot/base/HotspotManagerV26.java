@@ -7,15 +7,34 @@ import android.content.IntentFilter;
 import android.content.pm.PackageManager;
 import android.net.wifi.WifiManager;
 import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
 import android.support.annotation.RequiresApi;
 import android.support.v4.app.ActivityCompat;
 import android.widget.Toast;
 
-import com.harish.hotspot.base.controller.HotspotHelper;
+import com.harish.hotspot.base.command.HotspotCommandExecutor;
+import com.harish.hotspot.base.command.HotspotCommandFuture;
+import com.harish.hotspot.base.controller.IHotspotBackend;
 import com.harish.hotspot.base.controller.IHotspotManager;
+import com.harish.hotspot.base.interfaces.IHotspotCommandHandler;
 import com.harish.hotspot.base.interfaces.IHotspotStateListener;
+import com.harish.hotspot.base.journal.HotspotJournal;
+import com.harish.hotspot.base.lease.HotspotLease;
+import com.harish.hotspot.base.lease.HotspotLeaseManager;
+import com.harish.hotspot.base.metrics.HotspotMetrics;
+import com.harish.hotspot.base.net.HotspotNetworkServices;
 import com.harish.hotspot.base.receiver.HotspotReceiver;
+import com.harish.hotspot.base.recovery.HotspotRecovery;
+import com.harish.hotspot.base.receiver.HotspotStateDispatcher;
+import com.harish.hotspot.base.state.HotspotStateAwaiter;
+import com.harish.hotspot.base.state.HotspotStateFuture;
+import com.harish.hotspot.base.state.HotspotStateMachine;
+import com.harish.hotspot.base.state.HotspotStateSnapshot;
 import com.harish.hotspot.base.state.HotspotStates;
+import com.harish.hotspot.base.stream.HotspotStatePublisher;
+
+import java.util.concurrent.TimeUnit;
 
 import static com.harish.hotspot.base.receiver.HotspotReceiver.ACTION_HOTSPOT_STATE_CHANGE;
 
@@ -40,30 +59,40 @@ public final class HotspotManagerV26 implements IHotspotManager {
     //Broadcast Receiver.
     private HotspotReceiver mHotspotReceiver;
 
-    //Hotspot state listener object.
-    private IHotspotStateListener mHotspotStateListener;
+    //Registry of the hotspot state listeners.
+    private final HotspotStateDispatcher mStateDispatcher = new HotspotStateDispatcher();
+
+    //Holds the current hotspot state, shared with the other manager.
+    private final HotspotStateMachine mStateMachine = HotspotStateMachine.getInstance();
+
+    //Switches the hotspot.
+    private volatile IHotspotBackend mBackend;
 
-    //Holds the current hotspot state.
-    private int mHotspotState = HotspotStates.WIFI_AP_STATE_UNKNOWN;
+    //Restores the state and the capabilities on a cold start.
+    private final HotspotStartup mStartup = new HotspotStartup(mStateMachine, mStateDispatcher,
+            new Handler(Looper.getMainLooper()));
 
-    //WifiManager instance.
-    private WifiManager mWifiManager;
+    //Application context, registering the receiver while states are awaited.
+    private Context mApplicationContext;
 
-    //Required only for Oreo and above.
-    //Obtained on trying to start hotspot and required to close if not required.
-    private WifiManager.LocalOnlyHotspotReservation mHotSpotReservation;
+    //Number of awaitState() calls not completed yet. Guarded by this.
+    private int mPendingWaits;
 
     //Constructor.
     private HotspotManagerV26() {
     }
 
     //Retrieves the singleton instance.
-    public static HotspotManagerV26 getInstance(Context context) {
+    public static synchronized HotspotManagerV26 getInstance(Context context) {
         if (mInstance == null) {
             mInstance = new HotspotManagerV26();
-            //Read the initial state of hotspot.
-            mInstance.setHotspotState(HotspotHelper
-                    .getHotspotState(mInstance.getWifiManager(context)));
+            mInstance.mApplicationContext = context.getApplicationContext();
+            mInstance.mStateMachine.addObserver(mInstance.mRequests.getRecovery());
+            //The last known state is seeded right away, for the first frame. The real one is read on the worker.
+            mInstance.mStartup.restore(context);
+            //The backend of the path probed on this build, restored above. Swapped on the worker once probed.
+            mInstance.setBackend(mInstance.mStartup.createBackend(mInstance.getWifiManager(context)));
+            mInstance.mStartup.start(context, mInstance.mCommandExecutor, mInstance);
         }
         return mInstance;
     }
@@ -75,119 +104,302 @@ public final class HotspotManagerV26 implements IHotspotManager {
      * @see HotspotStates
      */
     public int getHotspotState() {
-        return mHotspotState;
+        return mStateMachine.getState();
+    }
+
+    /**
+     * Getter for the current hotspot state along with its previous state, sequence number and time.
+     *
+     * @return the latest {@link HotspotStateSnapshot}.
+     */
+    public HotspotStateSnapshot getHotspotStateSnapshot() {
+        return mStateMachine.getSnapshot();
     }
 
     /**
-     * Setter for the Hotspot state.
+     * Setter for the Hotspot state, as reported by the framework.
      *
-     * @param mHotspotState The new hotspot state.
+     * @param hotspotState The new hotspot state.
      * @see HotspotStates
+     * @see HotspotStateMachine#sync(int)
+     */
+    public void setHotspotState(int hotspotState) {
+        mStateMachine.sync(hotspotState);
+    }
+
+    /**
+     * Getter for the backend switching the hotspot.
      */
-    public void setHotspotState(int mHotspotState) {
-        this.mHotspotState = mHotspotState;
+    public IHotspotBackend getBackend() {
+        return mBackend;
     }
 
     /**
-     * Getter for {@link HotspotManagerV26#mHotspotStateListener} instance.
+     * Setter for the backend switching the hotspot, e.g. a simulation for load testing.
+     *
+     * @param backend The {@link IHotspotBackend} instance.
+     */
+    public void setBackend(IHotspotBackend backend) {
+        //A failure reported by the backend also ends the command in flight, so the retry is not skipped,
+        //and is counted by the path of the backend.
+        backend.setCallback(mCommandExecutor.track(
+                HotspotMetrics.getInstance().countFailures(backend.getPath(), mRequests.getRecovery())));
+        this.mBackend = backend;
+    }
+
+    /**
+     * Getter for the {@link HotspotRecovery}, to configure the retries after a failed start.
+     */
+    public HotspotRecovery getRecovery() {
+        return mRequests.getRecovery();
+    }
+
+    /**
+     * Getter for the {@link HotspotLeaseManager}, e.g. to set the linger window.
      */
-    public IHotspotStateListener getHotspotStateListener() {
-        return mHotspotStateListener;
+    public HotspotLeaseManager getLeaseManager() {
+        return mRequests.getLeaseManager();
     }
 
     /**
-     * Setter for {@link #mHotspotStateListener} instance.
+     * Waits for the hotspot to reach a state, without polling.
+     * Typically called right after {@link #enableHotspot(Context)}, before starting the services of the network.
+     * The state broadcasts are received until the wait completes, even if no listener is added.
      *
-     * @param mHotspotStateListener The {@link IHotspotStateListener} instance.
+     * @param targetState One of the {@link HotspotStates}.
+     * @param timeout     The longest wait, 0 or less to wait forever.
+     * @param unit        The unit of the timeout.
+     * @return the {@link HotspotStateFuture}, failed if the hotspot fails while waiting for it to come up.
      */
-    public void setHotspotStateListener(Context context,
-                                        IHotspotStateListener mHotspotStateListener) {
-        this.mHotspotStateListener = mHotspotStateListener;
+    public HotspotStateFuture awaitState(int targetState, long timeout, TimeUnit unit) {
+        HotspotStateFuture future = HotspotStateAwaiter.getInstance().awaitState(targetState, timeout, unit);
+        if (!future.isDone()) {
+            holdReceiver();
+            //Right away if it completed in between.
+            future.addListener(mWaitDone, HotspotStatePublisher.DIRECT_EXECUTOR);
+        }
+        return future;
+    }
+
+    //Registers the receiver for the first pending wait.
+    private synchronized void holdReceiver() {
+        if (mPendingWaits++ == 0) {
+            addHotspotStateListener(mApplicationContext, mWaitAnchor);
+        }
+    }
+
+    //Unregisters it after the last one, unless the app listens.
+    private synchronized void releaseReceiver() {
+        if (--mPendingWaits == 0) {
+            removeHotspotStateListener(mApplicationContext, mWaitAnchor);
+        }
+    }
+
+    //Releases the receiver once a wait completes, however.
+    private final Runnable mWaitDone = new Runnable() {
+        @Override
+        public void run() {
+            releaseReceiver();
+        }
+    };
+
+    //Keeps the receiver registered while states are awaited. Held here, as the listeners are held weakly.
+    private final IHotspotStateListener mWaitAnchor = new IHotspotStateListener() {
+        @Override
+        public void onEnabling() {
+        }
+
+        @Override
+        public void onEnabled() {
+        }
+
+        @Override
+        public void onDisabling() {
+        }
+
+        @Override
+        public void onDisabled() {
+        }
+
+        @Override
+        public void onFailed() {
+        }
+    };
+
+    /**
+     * Getter for {@link #mStateDispatcher} instance.
+     */
+    public HotspotStateDispatcher getStateDispatcher() {
+        return mStateDispatcher;
+    }
+
+    /**
+     * Returns the shared {@link HotspotStatePublisher}, to subscribe with a buffer and an executor.
+     */
+    public HotspotStatePublisher getStatePublisher() {
+        return HotspotStatePublisher.getInstance();
+    }
+
+    /**
+     * Returns the shared {@link HotspotNetworkServices}, to run network services while the hotspot is up.
+     */
+    public HotspotNetworkServices getNetworkServices() {
+        return HotspotNetworkServices.getInstance();
+    }
+
+    /**
+     * Registers a listener for the hotspot state changes.
+     * Listeners are held weakly, so the caller has to keep a reference to it.
+     * Synchronized with the removal, so a listener added while the last one is removed keeps the receiver.
+     *
+     * @param hotspotStateListener The {@link IHotspotStateListener} instance.
+     */
+    public synchronized void addHotspotStateListener(Context context,
+                                        IHotspotStateListener hotspotStateListener) {
+        mStateDispatcher.addListener(hotspotStateListener);
         //Register internally for hotspot state changes.
         registerInternal(context);
     }
 
     /**
-     * Removes the {@link #mHotspotStateListener} instance.
+     * Unregisters a listener for the hotspot state changes.
+     *
+     * @param hotspotStateListener The {@link IHotspotStateListener} instance.
      */
-    public void removeHotspotStateListener(Context context) {
-        this.mHotspotStateListener = null;
-        //Do an un-registration internally.
-        unregisterInternal(context);
+    public synchronized void removeHotspotStateListener(Context context,
+                                           IHotspotStateListener hotspotStateListener) {
+        mStateDispatcher.removeListener(hotspotStateListener);
+        //Do an un-registration internally, once nobody is listening.
+        if (mStateDispatcher.isEmpty()) {
+            unregisterInternal(context);
+        }
     }
 
     /**
      * Internally registers for the hotspot state changes.
+     * The application context is used, so that the receiver does not hold on to an Activity.
      */
-    private void registerInternal(Context context) {
-        //Create a hotspot instance, if NULL.
+    private synchronized void registerInternal(Context context) {
+        //Create a hotspot instance and register it, if NULL.
         if (mHotspotReceiver == null) {
             mHotspotReceiver = new HotspotReceiver();
+            //Register for state change broadcasts.
+            context.getApplicationContext().registerReceiver(mHotspotReceiver,
+                    new IntentFilter(ACTION_HOTSPOT_STATE_CHANGE));
         }
-        //Register for state change broadcasts.
-        context.registerReceiver(mHotspotReceiver, new IntentFilter(ACTION_HOTSPOT_STATE_CHANGE));
     }
 
     /**
      * Internally unregisters for the hotspot state changes.
      */
-    private void unregisterInternal(Context context) {
+    private synchronized void unregisterInternal(Context context) {
         if (mHotspotReceiver != null) {
-            context.unregisterReceiver(mHotspotReceiver);
+            context.getApplicationContext().unregisterReceiver(mHotspotReceiver);
             mHotspotReceiver = null;
         }
     }
 
     /**
-     * Enables the hotspot.
+     * Acquires a lease on the hotspot, starting it unless it is already up or lingering.
+     * The reservation is closed after the last lease is released and the linger window has elapsed;
+     * a lease acquired within the window reuses the live reservation.
+     *
+     * @param context The context.
+     * @param owner   Who holds the lease, for debugging.
+     * @return the {@link HotspotLease}, NULL if the permission is missing or the hotspot is not supported.
      */
-    public void enableHotspot(Context context) {
-        //Get the WifiManager instance, if NULL.
-        if (mWifiManager == null) {
-            mWifiManager = getWifiManager(context);
+    public HotspotLease acquireHotspotLease(Context context, String owner) {
+        if (!mStartup.checkSupported(context) || !checkEnablePermission(context)) {
+            return null;
         }
+        return mRequests.acquireLease(owner);
+    }
 
-        //Implementation for Lollipop, Marshmallow and Nougat.
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP
-                && Build.VERSION.SDK_INT < Build.VERSION_CODES.O) {
-            HotspotHelper.enableHotspot(mWifiManager);
-        }
-        //Implementation for Ore and above versions.
-        else if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-            //Check for runtime permission.
-            if (checkSelfPermission(context, Manifest.permission.ACCESS_COARSE_LOCATION)) {
-                mWifiManager.startLocalOnlyHotspot(mCallback, null);
-            }
+    /**
+     * Checks the runtime permission needed to enable, requesting it if missing.
+     * Only needed for Oreo and above versions.
+     *
+     * @return TRUE if granted.
+     */
+    private boolean checkEnablePermission(Context context) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O
+                && !checkSelfPermission(context, Manifest.permission.ACCESS_COARSE_LOCATION)) {
             //Request permission from user.
-            else {
-                enforceSelfPermission((Activity) context, Manifest.permission.ACCESS_COARSE_LOCATION);
-            }
+            enforceSelfPermission(context, Manifest.permission.ACCESS_COARSE_LOCATION);
+            return false;
         }
+        return true;
     }
 
     /**
-     * Disables the hotspot.
+     * Enables the hotspot.
+     * The call into the framework is carried out on the background worker.
+     *
+     * @return the {@link HotspotCommandFuture} tracking the command.
      */
-    public void disableHotspot(Context context) {
-        //Get the WifiManager instance, if NULL.
-        if (mWifiManager == null) {
-            mWifiManager = getWifiManager(context);
+    public HotspotCommandFuture enableHotspot(Context context) {
+        if (!mStartup.checkSupported(context) || !checkEnablePermission(context)) {
+            return HotspotCommandFuture.completed(HotspotCommandExecutor.TARGET_ENABLED,
+                    HotspotCommandFuture.RESULT_REJECTED);
         }
+        return mRequests.enable();
+    }
 
-        //Implementation for Lollipop, Marshmallow and Nougat.
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP
-                && Build.VERSION.SDK_INT < Build.VERSION_CODES.O) {
-            HotspotHelper.disableHotspot(mWifiManager);
+    /**
+     * Disables the hotspot.
+     * The call into the framework is carried out on the background worker.
+     *
+     * @return the {@link HotspotCommandFuture} tracking the command.
+     */
+    public HotspotCommandFuture disableHotspot(Context context) {
+        //On Oreo and above devices, Hotspot can disabled only if enabled by this app!
+        if (!mBackend.canDisable()) {
+            Toast.makeText(context, "Hotspot can disabled only if enabled by this app!", Toast.LENGTH_LONG).show();
+            return HotspotCommandFuture.completed(HotspotCommandExecutor.TARGET_DISABLED,
+                    HotspotCommandFuture.RESULT_REJECTED);
         }
-        //Implementation for Oreo and above versions.
-        else if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-            if (mHotSpotReservation != null) {
-                mHotSpotReservation.close();
-                mHotSpotReservation = null;
-            } else {
-                //On Oreo and above devices, Hotspot can disabled only if enabled by this app!
-                Toast.makeText(context, "Hotspot can disabled only if enabled by this app!", Toast.LENGTH_LONG).show();
-            }
+        HotspotCommandFuture future = mRequests.disable();
+        if (future == null) {
+            Toast.makeText(context, "Hotspot is still used by other components", Toast.LENGTH_LONG).show();
+            return HotspotCommandFuture.completed(HotspotCommandExecutor.TARGET_DISABLED,
+                    HotspotCommandFuture.RESULT_REJECTED);
+        }
+        return future;
+    }
+
+    //Carries out the commands on the background worker.
+    private final HotspotCommandExecutor mCommandExecutor = new HotspotCommandExecutor(TAG,
+            mStateMachine, new IHotspotCommandHandler() {
+                @Override
+                public int getHotspotState() {
+                    return HotspotManagerV26.this.getHotspotState();
+                }
+
+                @Override
+                public void performEnable() {
+                    IHotspotBackend backend = mBackend;
+                    HotspotMetrics.getInstance().onCommand(HotspotCommandExecutor.TARGET_ENABLED, backend.getPath());
+                    journalCommand(HotspotCommandExecutor.TARGET_ENABLED, backend.getPath());
+                    backend.enable();
+                }
+
+                @Override
+                public void performDisable() {
+                    IHotspotBackend backend = mBackend;
+                    HotspotMetrics.getInstance().onCommand(HotspotCommandExecutor.TARGET_DISABLED, backend.getPath());
+                    journalCommand(HotspotCommandExecutor.TARGET_DISABLED, backend.getPath());
+                    backend.disable();
+                }
+            });
+
+    //Enables and disables on behalf of the app, counting the leases. After the executor, which it uses.
+    private final HotspotRequests mRequests = new HotspotRequests(TAG, mCommandExecutor);
+
+    //Attributes the following transitions in the journal to the command.
+    private void journalCommand(int target, int path) {
+        HotspotJournal journal = HotspotJournal.peekInstance();
+        if (journal != null) {
+            journal.onCommand(target, path);
         }
     }
 
@@ -202,14 +414,6 @@ public final class HotspotManagerV26 implements IHotspotManager {
                 .getSystemService(Context.WIFI_SERVICE);
     }
 
-    //This callback si required, to obtain the HotspotReservation object.
-    private WifiManager.LocalOnlyHotspotCallback mCallback = new WifiManager.LocalOnlyHotspotCallback() {
-        @Override
-        public void onStarted(WifiManager.LocalOnlyHotspotReservation reservation) {
-            mHotSpotReservation = reservation;
-        }
-    };
-
     /**
      * Checks for runtime permission.
      *
@@ -224,11 +428,16 @@ public final class HotspotManagerV26 implements IHotspotManager {
 
     /**
      * Enforces user to provide the permission.
+     * Only an Activity can ask for it, other contexts (e.g. a Service) just tell the user.
      *
      * @param context    The context.
      * @param permission The permission name.
      */
-    private void enforceSelfPermission(Activity context, String permission) {
-        ActivityCompat.requestPermissions(context, new String[]{permission}, PERMISSION_LOCATION);
+    private void enforceSelfPermission(Context context, String permission) {
+        if (context instanceof Activity) {
+            ActivityCompat.requestPermissions((Activity) context, new String[]{permission}, PERMISSION_LOCATION);
+        } else {
+            Toast.makeText(context, "Location permission is required for hotspot", Toast.LENGTH_LONG).show();
+        }
     }
 }
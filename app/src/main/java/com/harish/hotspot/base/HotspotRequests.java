@@ -0,0 +1,117 @@
+package com.harish.hotspot.base;
+
+import com.harish.hotspot.base.command.HotspotCommandExecutor;
+import com.harish.hotspot.base.command.HotspotCommandFuture;
+import com.harish.hotspot.base.lease.HotspotLease;
+import com.harish.hotspot.base.lease.HotspotLeaseManager;
+import com.harish.hotspot.base.recovery.HotspotRecovery;
+import com.harish.hotspot.base.util.HashedWheelTimer;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Requests of the app on the hotspot, shared by both managers.
+ *         <p>
+ *         Every enable and disable goes through here, once the manager has checked its permissions:
+ *         {@link HotspotRecovery} is told what the app wants, the leases are counted by {@link HotspotLeaseManager},
+ *         and the command is handed to the {@link HotspotCommandExecutor}. enableHotspot() holds a lease of its own
+ *         until disableHotspot(), which is refused (keeping that lease) while other components hold leases.
+ * @since 17.10.2026.
+ */
+final class HotspotRequests {
+    private static final String TAG = HotspotRequests.class.getSimpleName();
+
+    //Carries out the commands.
+    private final HotspotCommandExecutor mCommandExecutor;
+
+    //Restarts the hotspot after a failed start.
+    private final HotspotRecovery mRecovery;
+
+    //Keeps the hotspot up while components hold leases, stops it after the last release and the linger.
+    private final HotspotLeaseManager mLeaseManager;
+
+    //Owner of the lease of enableHotspot(), for debugging.
+    private final String mOwner;
+
+    //Lease held on behalf of enableHotspot() until disableHotspot(), NULL if none. Guarded by this.
+    private HotspotLease mAppLease;
+
+    /**
+     * Constructor.
+     *
+     * @param owner           The owner of the lease of enableHotspot(), e.g. the TAG of the manager.
+     * @param commandExecutor The {@link HotspotCommandExecutor} of the manager.
+     */
+    HotspotRequests(String owner, final HotspotCommandExecutor commandExecutor) {
+        this.mOwner = owner;
+        this.mCommandExecutor = commandExecutor;
+        this.mRecovery = new HotspotRecovery(new Runnable() {
+            @Override
+            public void run() {
+                commandExecutor.submit(HotspotCommandExecutor.TARGET_ENABLED);
+            }
+        }, HashedWheelTimer.getInstance());
+        this.mLeaseManager = new HotspotLeaseManager(new Runnable() {
+            @Override
+            public void run() {
+                submit(HotspotCommandExecutor.TARGET_DISABLED);
+            }
+        }, HashedWheelTimer.getInstance());
+    }
+
+    HotspotRecovery getRecovery() {
+        return mRecovery;
+    }
+
+    HotspotLeaseManager getLeaseManager() {
+        return mLeaseManager;
+    }
+
+    /**
+     * Acquires a lease for a component and starts the hotspot, unless it is already up or lingering.
+     *
+     * @param owner Who holds the lease, for debugging.
+     * @return the {@link HotspotLease}.
+     */
+    HotspotLease acquireLease(String owner) {
+        HotspotLease lease = mLeaseManager.acquire(owner);
+        submit(HotspotCommandExecutor.TARGET_ENABLED);
+        return lease;
+    }
+
+    /**
+     * Starts the hotspot on behalf of enableHotspot(), holding its lease.
+     *
+     * @return the {@link HotspotCommandFuture} tracking the command.
+     */
+    HotspotCommandFuture enable() {
+        synchronized (this) {
+            if (mAppLease == null) {
+                mAppLease = mLeaseManager.acquire(mOwner);
+            }
+        }
+        return submit(HotspotCommandExecutor.TARGET_ENABLED);
+    }
+
+    /**
+     * Stops the hotspot on behalf of disableHotspot(), releasing its lease.
+     *
+     * @return the {@link HotspotCommandFuture} tracking the command, NULL if other components still hold leases.
+     */
+    HotspotCommandFuture disable() {
+        synchronized (this) {
+            //The lease is kept when refused, so a later disable can still release it.
+            if (!mLeaseManager.releaseNow(mAppLease)) {
+                return null;
+            }
+            mAppLease = null;
+        }
+        return submit(HotspotCommandExecutor.TARGET_DISABLED);
+    }
+
+    //Tells the recovery what the app wants, then hands the command over to the worker.
+    private HotspotCommandFuture submit(int target) {
+        mRecovery.onRequested(target);
+        return mCommandExecutor.submit(target);
+    }
+}
@@ -0,0 +1,187 @@
+package com.harish.hotspot.base;
+
+import android.content.Context;
+import android.net.wifi.WifiManager;
+import android.os.Build;
+import android.os.Handler;
+import android.widget.Toast;
+
+import com.harish.hotspot.base.backend.LocalOnlyHotspotBackend;
+import com.harish.hotspot.base.backend.ReflectionBackend;
+import com.harish.hotspot.base.command.HotspotCommandExecutor;
+import com.harish.hotspot.base.controller.HotspotCapabilityProbe;
+import com.harish.hotspot.base.controller.HotspotHelper;
+import com.harish.hotspot.base.controller.IHotspotBackend;
+import com.harish.hotspot.base.controller.IHotspotManager;
+import com.harish.hotspot.base.journal.HotspotJournal;
+import com.harish.hotspot.base.receiver.HotspotStateDispatcher;
+import com.harish.hotspot.base.state.HotspotStateMachine;
+import com.harish.hotspot.base.state.HotspotStateStore;
+import com.harish.hotspot.base.state.HotspotStates;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Cold start of a manager, shared by both of them.
+ *         <p>
+ *         {@link #restore(Context)} runs synchronously from the getInstance() of the manager: {@link HotspotStateStore}
+ *         is read, a few dozen bytes, the hidden methods known missing on this build are seeded and the state
+ *         machine is seeded with the last known state (without telling its observers, so the store keeps the
+ *         persisted time). The first frame of the app can then show it right away.
+ *         <p>
+ *         {@link #start(Context, HotspotCommandExecutor, IHotspotManager)} runs the rest on the worker of the
+ *         manager, ahead of any command: {@link HotspotJournal} is mapped, the real state is read from the
+ *         backend and the listeners are told, on the main thread, if it differs from the seeded one. The path
+ *         switching the hotspot is probed once per build, and the backend picked by the SDK level is swapped for
+ *         the one of the probed path. Finally the configuration is watched, for the network services publishing
+ *         the SSID.
+ * @since 17.10.2026.
+ */
+final class HotspotStartup {
+    private static final String TAG = HotspotStartup.class.getSimpleName();
+
+    private final HotspotStateMachine mStateMachine;
+    private final HotspotStateDispatcher mStateDispatcher;
+
+    //Delivers the restored states to the listeners.
+    private final Handler mMainHandler;
+
+    //Path switching the hotspot on this build, as probed.
+    private volatile int mPath = HotspotCapabilityProbe.PATH_UNKNOWN;
+
+    /**
+     * Constructor.
+     *
+     * @param stateMachine    The {@link HotspotStateMachine} to seed and reconcile.
+     * @param stateDispatcher The {@link HotspotStateDispatcher} of the manager.
+     * @param mainHandler     The {@link Handler} of the main thread.
+     */
+    HotspotStartup(HotspotStateMachine stateMachine, HotspotStateDispatcher stateDispatcher, Handler mainHandler) {
+        this.mStateMachine = stateMachine;
+        this.mStateDispatcher = stateDispatcher;
+        this.mMainHandler = mainHandler;
+    }
+
+    /**
+     * @return the path probed on this build, {@link HotspotCapabilityProbe#PATH_UNKNOWN} until known.
+     */
+    int getPath() {
+        return mPath;
+    }
+
+    /**
+     * Creates the backend of the path probed on this build. While the path is unknown, or none works,
+     * the SDK level decides: LocalOnlyHotspot for Oreo and above versions, reflection below.
+     *
+     * @param wifiManager The {@link WifiManager} instance.
+     * @return the {@link IHotspotBackend}.
+     */
+    IHotspotBackend createBackend(WifiManager wifiManager) {
+        //LocalOnlyHotspot is probed on Oreo and above only.
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O && mPath != IHotspotBackend.PATH_REFLECTION) {
+            return new LocalOnlyHotspotBackend(wifiManager);
+        }
+        return new ReflectionBackend(wifiManager);
+    }
+
+    /**
+     * Rejects a start when no path can switch the hotspot on this build.
+     *
+     * @param context The context, to tell the user.
+     * @return FALSE if not supported.
+     */
+    boolean checkSupported(Context context) {
+        if (mPath == HotspotCapabilityProbe.PATH_NONE) {
+            Toast.makeText(context, "Hotspot control is not supported on this device!", Toast.LENGTH_LONG).show();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Seeds the last known state and the capabilities from the store. Called before any listener is added,
+     * so nobody is told: the listeners read the seeded state when they are added.
+     *
+     * @param context The context.
+     */
+    void restore(Context context) {
+        HotspotStateStore stateStore = HotspotStateStore.getInstance(context);
+        loadCapabilities(stateStore);
+        mStateMachine.seed(stateStore.getLastState(), stateStore.getLastTimestamp());
+    }
+
+    /**
+     * Queues the rest of the cold start on the worker of the manager, so it runs before any command.
+     *
+     * @param context         The context.
+     * @param commandExecutor The {@link HotspotCommandExecutor} of the manager.
+     * @param manager         The manager, reading the state through its backend.
+     */
+    void start(Context context, final HotspotCommandExecutor commandExecutor, final IHotspotManager manager) {
+        final Context applicationContext = context.getApplicationContext();
+        commandExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                //Maps the journal, kept off the main thread.
+                HotspotJournal.getInstance(applicationContext);
+
+                int state = manager.getBackend().readHotspotState();
+                WifiManager wifiManager = (WifiManager) applicationContext.getSystemService(Context.WIFI_SERVICE);
+                if (mPath == HotspotCapabilityProbe.PATH_UNKNOWN) {
+                    probeCapabilities(HotspotStateStore.getInstance(applicationContext), wifiManager);
+                    switchBackend(manager, wifiManager);
+                }
+                //The first read is authoritative, whatever the seeded state. A failed read keeps the seed.
+                if (state != HotspotStates.WIFI_AP_STATE_UNKNOWN && mStateMachine.reset(state)) {
+                    dispatch(state);
+                }
+                HotspotHelper.watchHotspotConfiguration(manager, commandExecutor);
+            }
+        });
+    }
+
+    /**
+     * Seeds the capabilities and the path probed earlier on this build, if any,
+     * so the hidden methods known missing are never looked up.
+     */
+    private void loadCapabilities(HotspotStateStore stateStore) {
+        int capabilities = stateStore.getCapabilities();
+        if (capabilities != HotspotStateStore.CAPABILITIES_UNKNOWN) {
+            HotspotHelper.seedCapabilities(capabilities);
+            mPath = stateStore.getPath();
+        }
+    }
+
+    //Probes the path once per build and persists it, with what the lookups found only.
+    //An inconclusive probe is retried next start.
+    private void probeCapabilities(HotspotStateStore stateStore, WifiManager wifiManager) {
+        int path = HotspotCapabilityProbe.probe(wifiManager);
+        if (path != HotspotCapabilityProbe.PATH_UNKNOWN) {
+            stateStore.setCapabilities(HotspotHelper.getResolvedCapabilities(), path);
+            mPath = path;
+        }
+    }
+
+    //Swaps the backend picked by the SDK level for the one of the probed path, ahead of any command.
+    //A backend of another path set by the app (e.g. a simulation) is kept.
+    private void switchBackend(IHotspotManager manager, WifiManager wifiManager) {
+        int path = manager.getBackend().getPath();
+        if (path != IHotspotBackend.PATH_REFLECTION && path != IHotspotBackend.PATH_LOCAL_ONLY_HOTSPOT) {
+            return;
+        }
+        IHotspotBackend backend = createBackend(wifiManager);
+        if (backend.getPath() != path) {
+            manager.setBackend(backend);
+        }
+    }
+
+    //Tells the listeners of the manager, on the main thread.
+    private void dispatch(final int state) {
+        mMainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                mStateDispatcher.dispatch(state);
+            }
+        });
+    }
+}
@@ -0,0 +1,120 @@
+package com.harish.hotspot.base.backend;
+
+import android.net.wifi.WifiConfiguration;
+import android.net.wifi.WifiManager;
+import android.os.Build;
+import android.support.annotation.RequiresApi;
+
+import com.harish.hotspot.base.controller.HotspotHelper;
+import com.harish.hotspot.base.controller.IHotspotBackend;
+import com.harish.hotspot.base.interfaces.IHotspotBackendCallback;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Backend switching the hotspot through {@link WifiManager#startLocalOnlyHotspot}.
+ *         <p>
+ *         NOTE:
+ *         The hotspot can be disabled only through the reservation obtained by this app.
+ * @since 17.10.2026.
+ */
+@RequiresApi(Build.VERSION_CODES.O)
+public final class LocalOnlyHotspotBackend implements IHotspotBackend {
+    private static final String TAG = LocalOnlyHotspotBackend.class.getSimpleName();
+
+    //WifiManager instance.
+    private final WifiManager mWifiManager;
+
+    //Obtained on trying to start hotspot and required to close if not required.
+    private volatile WifiManager.LocalOnlyHotspotReservation mHotSpotReservation;
+
+    //Receives the callbacks, NULL if nobody listens.
+    private volatile IHotspotBackendCallback mCallback;
+
+    /**
+     * Constructor.
+     *
+     * @param wifiManager The {@link WifiManager} instance.
+     */
+    public LocalOnlyHotspotBackend(WifiManager wifiManager) {
+        this.mWifiManager = wifiManager;
+    }
+
+    @Override
+    public int getPath() {
+        return PATH_LOCAL_ONLY_HOTSPOT;
+    }
+
+    @Override
+    public int readHotspotState() {
+        //The hidden getter is still present on Oreo.
+        return HotspotHelper.getHotspotState(mWifiManager);
+    }
+
+    @Override
+    public WifiConfiguration readHotspotConfiguration() {
+        //The hidden getter returns the tethering configuration, not the one of this hotspot.
+        WifiManager.LocalOnlyHotspotReservation reservation = mHotSpotReservation;
+        return reservation != null ? reservation.getWifiConfiguration() : null;
+    }
+
+    @Override
+    public void enable() {
+        //The callback is delivered on the main thread.
+        mWifiManager.startLocalOnlyHotspot(mLocalOnlyHotspotCallback, null);
+    }
+
+    @Override
+    public void disable() {
+        WifiManager.LocalOnlyHotspotReservation reservation = mHotSpotReservation;
+        if (reservation != null) {
+            reservation.close();
+            mHotSpotReservation = null;
+        }
+    }
+
+    @Override
+    public boolean canDisable() {
+        return mHotSpotReservation != null;
+    }
+
+    @Override
+    public void setCallback(IHotspotBackendCallback callback) {
+        this.mCallback = callback;
+    }
+
+    //This callback is required, to obtain the HotspotReservation object.
+    private final WifiManager.LocalOnlyHotspotCallback mLocalOnlyHotspotCallback =
+            new WifiManager.LocalOnlyHotspotCallback() {
+                @Override
+                public void onStarted(WifiManager.LocalOnlyHotspotReservation reservation) {
+                    mHotSpotReservation = reservation;
+                    //ENABLED may have been broadcast before the reservation, which carries the configuration.
+                    HotspotHelper.refreshHotspotConfiguration();
+                    IHotspotBackendCallback callback = mCallback;
+                    if (callback != null) {
+                        callback.onStarted();
+                    }
+                }
+
+                @Override
+                public void onStopped() {
+                    //The framework stopped the hotspot, the reservation is no longer valid.
+                    mHotSpotReservation = null;
+                    IHotspotBackendCallback callback = mCallback;
+                    if (callback != null) {
+                        callback.onStopped();
+                    }
+                }
+
+                @Override
+                public void onFailed(int reason) {
+                    //e.g. ERROR_INCOMPATIBLE_MODE, ERROR_TETHERING_DISALLOWED.
+                    mHotSpotReservation = null;
+                    IHotspotBackendCallback callback = mCallback;
+                    if (callback != null) {
+                        callback.onFailed(reason);
+                    }
+                }
+            };
+}
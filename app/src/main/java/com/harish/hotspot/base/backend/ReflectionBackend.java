@@ -0,0 +1,74 @@
+package com.harish.hotspot.base.backend;
+
+import android.net.wifi.WifiConfiguration;
+import android.net.wifi.WifiManager;
+import android.os.Build;
+
+import com.harish.hotspot.base.controller.HotspotHelper;
+import com.harish.hotspot.base.controller.IHotspotBackend;
+import com.harish.hotspot.base.interfaces.IHotspotBackendCallback;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Backend switching the hotspot through the hidden {@link WifiManager} APIs.
+ *         Works from Lollipop(v21) to Nougat(v25), see {@link HotspotHelper}, and on the later builds where
+ *         {@link com.harish.hotspot.base.controller.HotspotCapabilityProbe} finds the hidden methods only.
+ * @since 17.10.2026.
+ */
+public final class ReflectionBackend implements IHotspotBackend {
+    private static final String TAG = ReflectionBackend.class.getSimpleName();
+
+    //WifiManager instance.
+    private final WifiManager mWifiManager;
+
+    /**
+     * Constructor.
+     *
+     * @param wifiManager The {@link WifiManager} instance.
+     */
+    public ReflectionBackend(WifiManager wifiManager) {
+        this.mWifiManager = wifiManager;
+    }
+
+    @Override
+    public int getPath() {
+        return PATH_REFLECTION;
+    }
+
+    @Override
+    public int readHotspotState() {
+        return HotspotHelper.getHotspotState(mWifiManager);
+    }
+
+    @Override
+    public WifiConfiguration readHotspotConfiguration() {
+        return HotspotHelper.getHotspotConfiguration(mWifiManager);
+    }
+
+    @Override
+    public void enable() {
+        //Picked by the probed path, not by the SDK level.
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            HotspotHelper.enableHotspot(mWifiManager);
+        }
+    }
+
+    @Override
+    public void disable() {
+        //Picked by the probed path, not by the SDK level.
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            HotspotHelper.disableHotspot(mWifiManager);
+        }
+    }
+
+    @Override
+    public boolean canDisable() {
+        return true;
+    }
+
+    @Override
+    public void setCallback(IHotspotBackendCallback callback) {
+        //The hidden APIs have no callbacks, the state broadcast is all there is.
+    }
+}
@@ -0,0 +1,245 @@
+package com.harish.hotspot.base.backend;
+
+import android.net.wifi.WifiConfiguration;
+
+import com.harish.hotspot.base.controller.IHotspotBackend;
+import com.harish.hotspot.base.interfaces.IHotspotBackendCallback;
+import com.harish.hotspot.base.receiver.HotspotStateDispatcher;
+import com.harish.hotspot.base.state.HotspotStates;
+
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Backend simulating the framework, for load and latency testing on a plain JVM.
+ *         <p>
+ *         Enabling reports ENABLING right away, then ENABLED (or FAILED, with the configured probability)
+ *         after the enable latency, followed by {@link IHotspotBackendCallback#onStarted()} after the callback delay.
+ *         Disabling reports DISABLING, then DISABLED after the disable latency.
+ *         Every report can be repeated to simulate broadcast storms. Reports go into
+ *         {@link HotspotStateDispatcher#publish(int, int)}, the same entry point as the real broadcasts.
+ *         <p>
+ *         A command issued while a previous one is still pending cancels the pending reports,
+ *         the way the framework abandons an interrupted transition.
+ * @since 17.10.2026.
+ */
+public final class SimulatedHotspotBackend implements IHotspotBackend {
+    private static final String TAG = SimulatedHotspotBackend.class.getSimpleName();
+
+    //Failure reason reported by default, matches LocalOnlyHotspotCallback.ERROR_GENERIC.
+    public static final int DEFAULT_FAILURE_REASON = 2;
+
+    //Receives the simulated broadcasts.
+    private final HotspotStateDispatcher mDispatcher;
+
+    //Runs the delayed reports.
+    private final ScheduledExecutorService mScheduler;
+
+    //Decides the injected failures.
+    private final Random mRandom;
+
+    //Configuration, in nanoseconds where it is a duration.
+    private volatile long mEnableLatency;
+    private volatile long mDisableLatency;
+    private volatile long mStartedCallbackDelay;
+    private volatile double mFailureProbability;
+    private volatile int mFailureReason = DEFAULT_FAILURE_REASON;
+    private volatile int mBroadcastRepeats = 1;
+
+    //Simulated state.
+    private int mState = HotspotStates.WIFI_AP_STATE_DISABLED;
+
+    //Incremented by every command, so that the reports of an abandoned command are dropped.
+    private long mGeneration;
+
+    //Receives the callbacks, NULL if nobody listens.
+    private volatile IHotspotBackendCallback mCallback;
+
+    /**
+     * Constructor.
+     *
+     * @param dispatcher The {@link HotspotStateDispatcher} receiving the simulated broadcasts.
+     * @param seed       Seed of the failure injection, for reproducible runs.
+     */
+    public SimulatedHotspotBackend(HotspotStateDispatcher dispatcher, long seed) {
+        this.mDispatcher = dispatcher;
+        this.mRandom = new Random(seed);
+        this.mScheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, TAG);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Sets the time from ENABLING to ENABLED (or FAILED).
+     */
+    public void setEnableLatency(long latency, TimeUnit unit) {
+        this.mEnableLatency = unit.toNanos(latency);
+    }
+
+    /**
+     * Sets the time from DISABLING to DISABLED.
+     */
+    public void setDisableLatency(long latency, TimeUnit unit) {
+        this.mDisableLatency = unit.toNanos(latency);
+    }
+
+    /**
+     * Sets the time from ENABLED to {@link IHotspotBackendCallback#onStarted()}.
+     */
+    public void setStartedCallbackDelay(long delay, TimeUnit unit) {
+        this.mStartedCallbackDelay = unit.toNanos(delay);
+    }
+
+    /**
+     * Sets the probability of an enable ending in WIFI_AP_STATE_FAILED.
+     *
+     * @param probability Between 0 and 1.
+     * @param reason      The reason given to {@link IHotspotBackendCallback#onFailed(int)}.
+     */
+    public void setFailureProbability(double probability, int reason) {
+        this.mFailureProbability = probability;
+        this.mFailureReason = reason;
+    }
+
+    /**
+     * Sets how many times every state is broadcast, to simulate broadcast storms.
+     *
+     * @param repeats At least 1.
+     */
+    public void setBroadcastRepeats(int repeats) {
+        this.mBroadcastRepeats = Math.max(1, repeats);
+    }
+
+    /**
+     * Stops the simulation. Pending reports are dropped.
+     */
+    public void shutdown() {
+        mScheduler.shutdownNow();
+    }
+
+    @Override
+    public int getPath() {
+        return PATH_SIMULATED;
+    }
+
+    @Override
+    public synchronized int readHotspotState() {
+        return mState;
+    }
+
+    @Override
+    public WifiConfiguration readHotspotConfiguration() {
+        //No configuration is simulated.
+        return null;
+    }
+
+    @Override
+    public void enable() {
+        final long generation = begin(HotspotStates.WIFI_AP_STATE_ENABLING);
+        mScheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                boolean failed = nextFailure();
+                if (!report(generation, failed
+                        ? HotspotStates.WIFI_AP_STATE_FAILED : HotspotStates.WIFI_AP_STATE_ENABLED)) {
+                    return;
+                }
+                if (failed) {
+                    IHotspotBackendCallback callback = mCallback;
+                    if (callback != null) {
+                        callback.onFailed(mFailureReason);
+                    }
+                } else {
+                    mScheduler.schedule(new Runnable() {
+                        @Override
+                        public void run() {
+                            IHotspotBackendCallback callback = mCallback;
+                            if (callback != null && isCurrent(generation)) {
+                                callback.onStarted();
+                            }
+                        }
+                    }, mStartedCallbackDelay, TimeUnit.NANOSECONDS);
+                }
+            }
+        }, mEnableLatency, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void disable() {
+        final long generation = begin(HotspotStates.WIFI_AP_STATE_DISABLING);
+        mScheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                if (report(generation, HotspotStates.WIFI_AP_STATE_DISABLED)) {
+                    IHotspotBackendCallback callback = mCallback;
+                    if (callback != null) {
+                        callback.onStopped();
+                    }
+                }
+            }
+        }, mDisableLatency, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public boolean canDisable() {
+        return true;
+    }
+
+    @Override
+    public void setCallback(IHotspotBackendCallback callback) {
+        this.mCallback = callback;
+    }
+
+    //Starts a command: abandons the pending one and reports the intermediate state.
+    private long begin(int intermediateState) {
+        long generation;
+        int previousState;
+        synchronized (this) {
+            generation = ++mGeneration;
+            previousState = mState;
+            mState = intermediateState;
+        }
+        broadcast(previousState, intermediateState);
+        return generation;
+    }
+
+    //Reports the final state of a command, unless it was abandoned.
+    private boolean report(long generation, int state) {
+        int previousState;
+        synchronized (this) {
+            if (generation != mGeneration) {
+                return false;
+            }
+            previousState = mState;
+            mState = state;
+        }
+        broadcast(previousState, state);
+        return true;
+    }
+
+    private synchronized boolean isCurrent(long generation) {
+        return generation == mGeneration;
+    }
+
+    private synchronized boolean nextFailure() {
+        return mFailureProbability > 0 && mRandom.nextDouble() < mFailureProbability;
+    }
+
+    //Delivers the state the way the framework broadcast would, repeated for storms.
+    private void broadcast(int previousState, int state) {
+        int repeats = mBroadcastRepeats;
+        for (int i = 0; i < repeats; i++) {
+            mDispatcher.publish(previousState, state);
+        }
+    }
+}
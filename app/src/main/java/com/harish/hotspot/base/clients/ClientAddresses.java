@@ -0,0 +1,49 @@
+package com.harish.hotspot.base.clients;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Helpers for the packed client addresses.
+ *         A MAC address is held in the low 48 bits of a long, an IPv4 address in an int (most significant byte first).
+ * @since 17.10.2026.
+ */
+public final class ClientAddresses {
+    private static final String TAG = ClientAddresses.class.getSimpleName();
+
+    //Hex digits.
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    //Constructor.
+    private ClientAddresses() {
+    }
+
+    /**
+     * Formats a packed MAC address.
+     *
+     * @param macAddress The packed MAC address.
+     * @return the address as "aa:bb:cc:dd:ee:ff".
+     */
+    public static String formatMac(long macAddress) {
+        char[] chars = new char[17];
+        for (int i = 0; i < 6; i++) {
+            int octet = (int) (macAddress >>> (40 - 8 * i)) & 0xFF;
+            chars[i * 3] = HEX[octet >>> 4];
+            chars[i * 3 + 1] = HEX[octet & 0x0F];
+            if (i < 5) {
+                chars[i * 3 + 2] = ':';
+            }
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Formats a packed IPv4 address.
+     *
+     * @param ipAddress The packed IPv4 address.
+     * @return the address as "192.168.43.1".
+     */
+    public static String formatIp(int ipAddress) {
+        return ((ipAddress >>> 24) & 0xFF) + "." + ((ipAddress >>> 16) & 0xFF) + "."
+                + ((ipAddress >>> 8) & 0xFF) + "." + (ipAddress & 0xFF);
+    }
+}
@@ -0,0 +1,425 @@
+package com.harish.hotspot.base.clients;
+
+import com.harish.hotspot.base.interfaces.IHotspotClientListener;
+import com.harish.hotspot.base.net.TetherInterface;
+import com.harish.hotspot.base.util.LongIntHashMap;
+import com.harish.hotspot.base.util.ProcFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Tracks the clients connected to the hotspot, by scanning the kernel neighbor table.
+ *         <p>
+ *         The table is read into a reusable byte buffer and parsed in place. MAC and IP addresses
+ *         are packed into primitives (see {@link ClientAddresses}) and kept in primitive maps, so a scan
+ *         which finds no change does not allocate beyond opening the file.
+ *         Only the differences are reported to the {@link IHotspotClientListener}s, on the scanning thread.
+ *         <p>
+ *         By default only the entries on the tether interface count: the table also holds the upstream router
+ *         and the neighbours of the station interface, which are not clients of the hotspot. The interface is
+ *         looked up on every scan, as it exists only while the hotspot is up, and no entry counts without it.
+ *         <p>
+ *         Works on a plain JVM against any file in the /proc/net/arp format.
+ * @since 17.10.2026.
+ */
+public final class HotspotClientMonitor {
+    private static final String TAG = HotspotClientMonitor.class.getSimpleName();
+
+    //Default neighbor table.
+    public static final String DEFAULT_NEIGHBOR_TABLE = "/proc/net/arp";
+
+    //ATF_COM: the entry is complete, i.e. the MAC address is known.
+    private static final int FLAG_COMPLETE = 0x2;
+
+    //The neighbor table.
+    private final ProcFile mNeighborTable;
+
+    //Only entries on this interface are considered, NULL for all. Guarded by this when following the tether.
+    private byte[] mInterfaceName;
+
+    //Whether the interface is the tether interface, looked up on every scan.
+    private final boolean mTetherOnly;
+
+    //Name of the tether interface found by the last scan. Guarded by this.
+    private String mTetherName;
+
+    //Bounds of the last token found by nextToken().
+    private int mTokenStart;
+    private int mTokenEnd;
+
+    //Clients found by the previous and the current scan. Swapped after every scan.
+    private LongIntHashMap mKnownClients = new LongIntHashMap(16);
+    private LongIntHashMap mScannedClients = new LongIntHashMap(16);
+
+    //Number of clients found by the last scan.
+    private volatile int mClientCount;
+
+    //Time of the last scan, in nanoseconds, 0 if none yet.
+    private volatile long mLastScanTime;
+
+    //Subscribers.
+    private final CopyOnWriteArrayList<IHotspotClientListener> mListeners = new CopyOnWriteArrayList<>();
+
+    //Periodic scanning.
+    private ScheduledExecutorService mScheduler;
+    private ScheduledFuture<?> mScanTask;
+
+    /**
+     * Constructor, scanning {@link #DEFAULT_NEIGHBOR_TABLE} for the entries on the tether interface.
+     *
+     * @see TetherInterface#findName()
+     */
+    public HotspotClientMonitor() {
+        this.mNeighborTable = new ProcFile(new File(DEFAULT_NEIGHBOR_TABLE));
+        this.mTetherOnly = true;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param neighborTable The file in the /proc/net/arp format.
+     * @param interfaceName Only entries on this interface (e.g. "wlan0") are considered. NULL for all.
+     */
+    public HotspotClientMonitor(File neighborTable, String interfaceName) {
+        this.mNeighborTable = new ProcFile(neighborTable);
+        this.mInterfaceName = toBytes(interfaceName);
+        this.mTetherOnly = false;
+    }
+
+    /**
+     * Registers a listener.
+     *
+     * @param listener The {@link IHotspotClientListener} instance.
+     */
+    public void addClientListener(IHotspotClientListener listener) {
+        mListeners.addIfAbsent(listener);
+    }
+
+    /**
+     * Unregisters a listener.
+     *
+     * @param listener The {@link IHotspotClientListener} instance.
+     */
+    public void removeClientListener(IHotspotClientListener listener) {
+        mListeners.remove(listener);
+    }
+
+    /**
+     * @return the number of clients found by the last scan.
+     */
+    public int getClientCount() {
+        return mClientCount;
+    }
+
+    /**
+     * @return the {@link System#nanoTime()} of the last scan, 0 if none yet.
+     */
+    public long getLastScanTime() {
+        return mLastScanTime;
+    }
+
+    /**
+     * Copies the clients found by the last scan.
+     *
+     * @param into Receives the packed MAC addresses mapped to the packed IP addresses.
+     */
+    public synchronized void copyClients(LongIntHashMap into) {
+        for (int slot = 0; slot < mKnownClients.capacity(); slot++) {
+            long macAddress = mKnownClients.keyAt(slot);
+            if (macAddress != 0L) {
+                into.put(macAddress, mKnownClients.valueAt(slot));
+            }
+        }
+    }
+
+    /**
+     * Starts scanning periodically on a background thread.
+     *
+     * @param period The period.
+     * @param unit   The unit of the period.
+     */
+    public synchronized void start(long period, TimeUnit unit) {
+        if (mScheduler == null) {
+            mScheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, TAG);
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        if (mScanTask != null) {
+            mScanTask.cancel(false);
+        }
+        mScanTask = mScheduler.scheduleWithFixedDelay(mScanRunnable, 0L, period, unit);
+    }
+
+    /**
+     * Stops the periodic scanning.
+     */
+    public synchronized void stop() {
+        if (mScheduler != null) {
+            mScheduler.shutdown();
+            mScheduler = null;
+            mScanTask = null;
+        }
+    }
+
+    //Runs a scan, for the scheduler.
+    private final Runnable mScanRunnable = new Runnable() {
+        @Override
+        public void run() {
+            try {
+                scan();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    };
+
+    /**
+     * Scans the neighbor table once and reports the clients which joined or left since the previous scan.
+     *
+     * @return the number of clients found.
+     * @throws IOException when the table can not be read.
+     */
+    public synchronized int scan() throws IOException {
+        //Without a tether interface the hotspot has no client, whatever the table holds.
+        int length = !mTetherOnly || lookupTetherInterface() ? mNeighborTable.read() : 0;
+        mScannedClients.clear();
+        parseTable(mNeighborTable.getBuffer(), length, mScannedClients);
+
+        //Report the clients found now, but not before.
+        for (int slot = 0; slot < mScannedClients.capacity(); slot++) {
+            long macAddress = mScannedClients.keyAt(slot);
+            if (macAddress != 0L && !mKnownClients.containsKey(macAddress)) {
+                for (IHotspotClientListener listener : mListeners) {
+                    listener.onClientJoined(macAddress, mScannedClients.valueAt(slot));
+                }
+            }
+        }
+        //Report the clients found before, but not now.
+        for (int slot = 0; slot < mKnownClients.capacity(); slot++) {
+            long macAddress = mKnownClients.keyAt(slot);
+            if (macAddress != 0L && !mScannedClients.containsKey(macAddress)) {
+                for (IHotspotClientListener listener : mListeners) {
+                    listener.onClientLeft(macAddress);
+                }
+            }
+        }
+
+        LongIntHashMap known = mKnownClients;
+        mKnownClients = mScannedClients;
+        mScannedClients = known;
+        mClientCount = mKnownClients.size();
+        mLastScanTime = System.nanoTime();
+        return mClientCount;
+    }
+
+    //Follows the tether interface, its name is kept as long as it does not change.
+    private boolean lookupTetherInterface() throws IOException {
+        String name = TetherInterface.findName();
+        if (name == null) {
+            return false;
+        }
+        if (!name.equals(mTetherName)) {
+            mTetherName = name;
+            mInterfaceName = toBytes(name);
+        }
+        return true;
+    }
+
+    private static byte[] toBytes(String interfaceName) {
+        return interfaceName == null ? null : interfaceName.getBytes(Charset.forName("US-ASCII"));
+    }
+
+    /**
+     * Parses the complete entries of the table.
+     * Columns: IP address, HW type, Flags, HW address, Mask, Device. The first line is the header.
+     *
+     * @param buffer  The table.
+     * @param length  The number of bytes in the buffer.
+     * @param clients Receives the packed MAC addresses mapped to the packed IP addresses.
+     */
+    private void parseTable(byte[] buffer, int length, LongIntHashMap clients) {
+        //Skip the header.
+        int lineStart = nextLine(buffer, 0, length);
+        while (lineStart < length) {
+            int lineEnd = lineStart;
+            while (lineEnd < length && buffer[lineEnd] != '\n') {
+                lineEnd++;
+            }
+            parseEntry(buffer, lineStart, lineEnd, clients);
+            lineStart = lineEnd + 1;
+        }
+    }
+
+    //Parses one line of the table.
+    private void parseEntry(byte[] buffer, int start, int end, LongIntHashMap clients) {
+        //IP address.
+        if (!nextToken(buffer, start, end)) {
+            return;
+        }
+        long ipAddress = parseIpv4(buffer, mTokenStart, mTokenEnd);
+        //HW type.
+        if (ipAddress < 0 || !nextToken(buffer, mTokenEnd, end) || !nextToken(buffer, mTokenEnd, end)) {
+            return;
+        }
+        //Flags.
+        long flags = parseHex(buffer, mTokenStart, mTokenEnd);
+        if (flags < 0 || (flags & FLAG_COMPLETE) == 0 || !nextToken(buffer, mTokenEnd, end)) {
+            return;
+        }
+        //HW address.
+        long macAddress = parseMac(buffer, mTokenStart, mTokenEnd);
+        if (macAddress <= 0L) {
+            return;
+        }
+        //Mask, then device.
+        if (mInterfaceName != null) {
+            if (!nextToken(buffer, mTokenEnd, end) || !nextToken(buffer, mTokenEnd, end)
+                    || !tokenEquals(buffer, mInterfaceName)) {
+                return;
+            }
+        }
+        clients.put(macAddress, (int) ipAddress);
+    }
+
+    //Finds the next whitespace separated token in [from, end).
+    private boolean nextToken(byte[] buffer, int from, int end) {
+        int position = from;
+        while (position < end && isWhitespace(buffer[position])) {
+            position++;
+        }
+        if (position == end) {
+            return false;
+        }
+        mTokenStart = position;
+        while (position < end && !isWhitespace(buffer[position])) {
+            position++;
+        }
+        mTokenEnd = position;
+        return true;
+    }
+
+    //Compares the last token with the bytes.
+    private boolean tokenEquals(byte[] buffer, byte[] expected) {
+        if (mTokenEnd - mTokenStart != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (buffer[mTokenStart + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //Returns the start of the line following the position.
+    private static int nextLine(byte[] buffer, int position, int length) {
+        while (position < length && buffer[position] != '\n') {
+            position++;
+        }
+        return position + 1;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    /**
+     * Parses a dotted IPv4 address.
+     *
+     * @return the packed address in the low 32 bits, -1 if malformed.
+     */
+    private static long parseIpv4(byte[] buffer, int start, int end) {
+        long address = 0L;
+        int octets = 0;
+        int value = -1;
+        for (int i = start; i <= end; i++) {
+            byte b = i < end ? buffer[i] : (byte) '.';
+            if (b >= '0' && b <= '9') {
+                value = (value < 0 ? 0 : value * 10) + (b - '0');
+                if (value > 255) {
+                    return -1L;
+                }
+            } else if (b == '.' && value >= 0 && octets < 4) {
+                address = (address << 8) | value;
+                octets++;
+                value = -1;
+            } else {
+                return -1L;
+            }
+        }
+        return octets == 4 ? address : -1L;
+    }
+
+    /**
+     * Parses a hexadecimal number with an optional "0x" prefix.
+     *
+     * @return the number, -1 if malformed.
+     */
+    private static long parseHex(byte[] buffer, int start, int end) {
+        if (end - start > 2 && buffer[start] == '0' && (buffer[start + 1] == 'x' || buffer[start + 1] == 'X')) {
+            start += 2;
+        }
+        if (start == end || end - start > 15) {
+            return -1L;
+        }
+        long value = 0L;
+        for (int i = start; i < end; i++) {
+            int digit = hexDigit(buffer[i]);
+            if (digit < 0) {
+                return -1L;
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+
+    /**
+     * Parses a MAC address of the form "aa:bb:cc:dd:ee:ff".
+     *
+     * @return the packed address in the low 48 bits, -1 if malformed.
+     */
+    private static long parseMac(byte[] buffer, int start, int end) {
+        if (end - start != 17) {
+            return -1L;
+        }
+        long address = 0L;
+        for (int i = 0; i < 6; i++) {
+            int position = start + i * 3;
+            int high = hexDigit(buffer[position]);
+            int low = hexDigit(buffer[position + 1]);
+            if (high < 0 || low < 0 || (i < 5 && buffer[position + 2] != ':')) {
+                return -1L;
+            }
+            address = (address << 8) | (high << 4) | low;
+        }
+        return address;
+    }
+
+    private static int hexDigit(byte b) {
+        if (b >= '0' && b <= '9') {
+            return b - '0';
+        }
+        if (b >= 'a' && b <= 'f') {
+            return b - 'a' + 10;
+        }
+        if (b >= 'A' && b <= 'F') {
+            return b - 'A' + 10;
+        }
+        return -1;
+    }
+}
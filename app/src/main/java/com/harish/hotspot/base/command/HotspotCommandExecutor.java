@@ -0,0 +1,245 @@
+package com.harish.hotspot.base.command;
+
+import com.harish.hotspot.base.interfaces.IHotspotBackendCallback;
+import com.harish.hotspot.base.interfaces.IHotspotCommandHandler;
+import com.harish.hotspot.base.state.HotspotStateMachine;
+import com.harish.hotspot.base.state.HotspotStates;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Runs the enable/disable commands of a manager on a single background worker.
+ *         <p>
+ *         Commands submitted while the worker is busy are coalesced down to the last requested target,
+ *         and a command which would not change the current hotspot state is dropped.
+ *         So the reflection and binder calls never run on the caller's (usually UI) thread,
+ *         and fast taps do not cause enable -> disable -> enable cycles.
+ *         <p>
+ *         A command is taken for in flight until a state change follows it, for at most
+ *         {@link #IN_FLIGHT_TIMEOUT_MILLIS}, or until the backend reports it failed (see {@link #track}),
+ *         so a command which never produces a broadcast does not swallow the later commands with the same target.
+ * @since 17.10.2026.
+ */
+public final class HotspotCommandExecutor {
+    private static final String TAG = HotspotCommandExecutor.class.getSimpleName();
+
+    //Targets.
+    public static final int TARGET_NONE = 0;
+    public static final int TARGET_ENABLED = 1;
+    public static final int TARGET_DISABLED = 2;
+
+    //Longest wait for the state change following a command, before the same target is issued again.
+    public static final long IN_FLIGHT_TIMEOUT_MILLIS = 10000L;
+
+    //Carries out the commands.
+    private final IHotspotCommandHandler mHandler;
+
+    //Tells whether a state change followed the last command.
+    private final HotspotStateMachine mStateMachine;
+
+    //Single background worker.
+    private final ExecutorService mWorker;
+
+    //Guards the pending command.
+    private final Object mLock = new Object();
+
+    //Latest requested target, not yet picked up by the worker.
+    private int mPendingTarget = TARGET_NONE;
+
+    //Handles waiting for the pending command.
+    private List<HotspotCommandFuture> mPendingFutures = new ArrayList<>();
+
+    //TRUE while a drain is queued on the worker.
+    private boolean mDrainScheduled;
+
+    //Last target handed to the framework and the state sequence observed at that time. Guarded by mLock.
+    private int mLastIssuedTarget = TARGET_NONE;
+    private long mSequenceAtLastIssue = -1L;
+    private long mLastIssueTime;
+
+    /**
+     * Constructor.
+     *
+     * @param name         The name of the worker thread.
+     * @param stateMachine The {@link HotspotStateMachine} the commands act on.
+     * @param handler      The {@link IHotspotCommandHandler} carrying out the commands.
+     */
+    public HotspotCommandExecutor(final String name, HotspotStateMachine stateMachine,
+                                  IHotspotCommandHandler handler) {
+        this.mHandler = handler;
+        this.mStateMachine = stateMachine;
+        this.mWorker = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Submits a command.
+     *
+     * @param target {@link #TARGET_ENABLED} or {@link #TARGET_DISABLED}.
+     * @return the {@link HotspotCommandFuture} completed once the command is carried out, dropped or replaced.
+     */
+    public HotspotCommandFuture submit(int target) {
+        if (target != TARGET_ENABLED && target != TARGET_DISABLED) {
+            throw new IllegalArgumentException("Invalid target: " + target);
+        }
+        HotspotCommandFuture future = new HotspotCommandFuture(target);
+        synchronized (mLock) {
+            mPendingTarget = target;
+            mPendingFutures.add(future);
+            if (!mDrainScheduled) {
+                mDrainScheduled = true;
+                mWorker.execute(mDrainTask);
+            }
+        }
+        return future;
+    }
+
+    /**
+     * Runs a maintenance task (e.g. reading the state) on the worker, ordered with the commands.
+     *
+     * @param task The task.
+     */
+    public void execute(Runnable task) {
+        mWorker.execute(task);
+    }
+
+    /**
+     * Wraps the callback of a backend, so that a failure it reports ends the command in flight:
+     * the same target can then be issued again right away, e.g. by a retry.
+     *
+     * @param delegate The {@link IHotspotBackendCallback} to forward the events to.
+     * @return the {@link IHotspotBackendCallback} to hand to the backend.
+     */
+    public IHotspotBackendCallback track(final IHotspotBackendCallback delegate) {
+        return new IHotspotBackendCallback() {
+            @Override
+            public void onStarted() {
+                delegate.onStarted();
+            }
+
+            @Override
+            public void onStopped() {
+                clearInFlight();
+                delegate.onStopped();
+            }
+
+            @Override
+            public void onFailed(int reason) {
+                clearInFlight();
+                delegate.onFailed(reason);
+            }
+        };
+    }
+
+    /**
+     * Forgets the command in flight, if any.
+     */
+    public void clearInFlight() {
+        synchronized (mLock) {
+            mLastIssuedTarget = TARGET_NONE;
+        }
+    }
+
+    /**
+     * Stops the worker. Commands not yet picked up are dropped.
+     */
+    public void shutdown() {
+        mWorker.shutdown();
+    }
+
+    //Picks up the coalesced command and carries it out.
+    private final Runnable mDrainTask = new Runnable() {
+        @Override
+        public void run() {
+            int target;
+            List<HotspotCommandFuture> futures;
+            synchronized (mLock) {
+                target = mPendingTarget;
+                futures = mPendingFutures;
+                mPendingTarget = TARGET_NONE;
+                mPendingFutures = new ArrayList<>();
+                mDrainScheduled = false;
+            }
+
+            int result;
+            try {
+                result = carryOut(target);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+                //The backend never took the command, so the same target is not skipped as in flight.
+                clearInFlight();
+                for (HotspotCommandFuture future : futures) {
+                    future.fail(e);
+                }
+                return;
+            }
+
+            for (HotspotCommandFuture future : futures) {
+                future.complete(future.getTarget() == target
+                        ? result : HotspotCommandFuture.RESULT_SUPERSEDED);
+            }
+        }
+    };
+
+    /**
+     * Carries out the command, unless it would not change anything.
+     *
+     * @return {@link HotspotCommandFuture#RESULT_EXECUTED} or {@link HotspotCommandFuture#RESULT_SKIPPED}.
+     */
+    private int carryOut(int target) {
+        int state = mHandler.getHotspotState();
+        long sequence = mStateMachine.getSequence();
+        long now = System.nanoTime();
+        synchronized (mLock) {
+            //The broadcast for the last issued command may not have arrived yet.
+            //Compared by sequence, so that a retry after FAILED -> ENABLING -> FAILED is not taken for in flight.
+            //Past the deadline the command is taken for lost, e.g. the reflection path on Oreo never broadcasts.
+            boolean inFlight = mLastIssuedTarget != TARGET_NONE && sequence == mSequenceAtLastIssue
+                    && now - mLastIssueTime < TimeUnit.MILLISECONDS.toNanos(IN_FLIGHT_TIMEOUT_MILLIS);
+            if (inFlight ? target == mLastIssuedTarget : isSatisfied(target, state)) {
+                return HotspotCommandFuture.RESULT_SKIPPED;
+            }
+
+            mLastIssuedTarget = target;
+            mSequenceAtLastIssue = sequence;
+            mLastIssueTime = now;
+        }
+        if (target == TARGET_ENABLED) {
+            mHandler.performEnable();
+        } else {
+            mHandler.performDisable();
+        }
+        return HotspotCommandFuture.RESULT_EXECUTED;
+    }
+
+    /**
+     * Checks whether the hotspot is already in, or moving towards, the target.
+     */
+    private static boolean isSatisfied(int target, int state) {
+        switch (state) {
+            case HotspotStates.WIFI_AP_STATE_ENABLING:
+            case HotspotStates.WIFI_AP_STATE_ENABLED:
+                return target == TARGET_ENABLED;
+            case HotspotStates.WIFI_AP_STATE_DISABLING:
+            case HotspotStates.WIFI_AP_STATE_DISABLED:
+                return target == TARGET_DISABLED;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.harish.hotspot.base.command;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Completion handle of a command submitted to {@link HotspotCommandExecutor}.
+ *         The result is one of the RESULT_* constants.
+ *         <p>
+ *         NOTE:
+ *         Completion means the command was handed over to the framework (or dropped).
+ *         The hotspot state itself changes later, when the state broadcast arrives.
+ * @since 17.10.2026.
+ */
+public final class HotspotCommandFuture implements Future<Integer> {
+    private static final String TAG = HotspotCommandFuture.class.getSimpleName();
+
+    //Results.
+    //The command was carried out.
+    public static final int RESULT_EXECUTED = 0;
+    //The command would not change anything and was dropped.
+    public static final int RESULT_SKIPPED = 1;
+    //A later command with a different target replaced this one before it ran.
+    public static final int RESULT_SUPERSEDED = 2;
+    //The command was refused before reaching the executor (e.g. missing permission).
+    public static final int RESULT_REJECTED = 3;
+
+    //The target state requested by this command.
+    private final int mTarget;
+
+    //Guards against completing the handle more than once.
+    private final AtomicBoolean mCompleted = new AtomicBoolean();
+
+    //Released once the command completes.
+    private final CountDownLatch mDone = new CountDownLatch(1);
+
+    //Outcome.
+    private volatile int mResult;
+    private volatile Throwable mFailure;
+    private volatile boolean mCancelled;
+
+    //Constructor.
+    HotspotCommandFuture(int target) {
+        this.mTarget = target;
+    }
+
+    /**
+     * Creates a handle which is already completed.
+     *
+     * @param target The target state.
+     * @param result One of the RESULT_* constants.
+     * @return the completed {@link HotspotCommandFuture}.
+     */
+    public static HotspotCommandFuture completed(int target, int result) {
+        HotspotCommandFuture future = new HotspotCommandFuture(target);
+        future.complete(result);
+        return future;
+    }
+
+    /**
+     * Getter for the target state.
+     *
+     * @return {@link HotspotCommandExecutor#TARGET_ENABLED} or {@link HotspotCommandExecutor#TARGET_DISABLED}.
+     */
+    public int getTarget() {
+        return mTarget;
+    }
+
+    //Completes the handle with a result.
+    void complete(int result) {
+        if (mCompleted.compareAndSet(false, true)) {
+            mResult = result;
+            mDone.countDown();
+        }
+    }
+
+    //Completes the handle with a failure.
+    void fail(Throwable failure) {
+        if (mCompleted.compareAndSet(false, true)) {
+            mFailure = failure;
+            mDone.countDown();
+        }
+    }
+
+    /**
+     * Cancelling only detaches this handle. The coalesced command may still be carried out.
+     */
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        if (mCompleted.compareAndSet(false, true)) {
+            mCancelled = true;
+            mDone.countDown();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return mCancelled;
+    }
+
+    @Override
+    public boolean isDone() {
+        return mDone.getCount() == 0;
+    }
+
+    @Override
+    public Integer get() throws InterruptedException, ExecutionException {
+        mDone.await();
+        return report();
+    }
+
+    @Override
+    public Integer get(long timeout, TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        if (!mDone.await(timeout, unit)) {
+            throw new TimeoutException();
+        }
+        return report();
+    }
+
+    //Returns the result or throws the failure.
+    private Integer report() throws ExecutionException {
+        if (mCancelled) {
+            throw new CancellationException();
+        }
+        if (mFailure != null) {
+            throw new ExecutionException(mFailure);
+        }
+        return mResult;
+    }
+}
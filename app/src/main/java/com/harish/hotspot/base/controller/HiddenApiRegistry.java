@@ -0,0 +1,191 @@
+package com.harish.hotspot.base.controller;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Resolve-once registry for the hidden Wifi AP methods.
+ *         <p>
+ *         The declared methods of the target class are scanned a single time, on first access.
+ *         Every hidden method is then held as an accessible {@link Method}, and the methods
+ *         missing on this build are remembered as well, so later calls never go through
+ *         reflection discovery again. Methods known to be missing, from a persisted probe, can be excluded
+ *         up front: they are never looked up nor called again, and a registry excluding them all never scans
+ *         at all. Methods whose calls failed for good are disabled instead, for this process only: the
+ *         failure says nothing about the build, so {@link #getResolvedMask()} still reports them.
+ *         <p>
+ *         NOTE:
+ *         {@link java.lang.invoke.MethodHandle} is available only from Oreo(v26), so cached
+ *         accessible methods are used to keep the registry usable from Lollipop(v21).
+ * @since 17.10.2026.
+ */
+public final class HiddenApiRegistry {
+    private static final String TAG = HiddenApiRegistry.class.getSimpleName();
+
+    //Identifiers of the hidden methods.
+    public static final int GET_WIFI_AP_STATE = 0;
+    public static final int SET_WIFI_AP_ENABLED = 1;
+    public static final int GET_WIFI_AP_CONFIGURATION = 2;
+    public static final int SET_WIFI_AP_CONFIGURATION = 3;
+
+    //Names of the hidden methods, indexed by their identifiers.
+    private static final String[] METHOD_NAMES = {
+            "getWifiApState",
+            "setWifiApEnabled",
+            "getWifiApConfiguration",
+            "setWifiApConfiguration"
+    };
+
+    //Class declaring the hidden methods.
+    private final Class<?> mTargetClass;
+
+    //Resolved methods, indexed by their identifiers. A NULL entry means the method is not present.
+    private volatile Method[] mMethods;
+
+    //Bit (1 << methodId) set for every excluded method.
+    private volatile int mExcludedMask;
+
+    //Bit (1 << methodId) set for every method disabled at runtime.
+    private volatile int mDisabledMask;
+
+    /**
+     * Constructor.
+     *
+     * @param targetClass The class declaring the hidden methods.
+     */
+    public HiddenApiRegistry(Class<?> targetClass) {
+        this.mTargetClass = targetClass;
+    }
+
+    /**
+     * Checks whether the hidden method is present on this build.
+     *
+     * @param methodId One of the method identifiers.
+     * @return TRUE if the method could be resolved, FALSE otherwise.
+     */
+    public boolean isAvailable(int methodId) {
+        return getMethod(methodId) != null;
+    }
+
+    /**
+     * Returns the availability of all the hidden methods as a bit mask.
+     *
+     * @return a mask with the bit (1 << methodId) set for every method present on this build,
+     * neither excluded nor disabled.
+     */
+    public int getAvailabilityMask() {
+        return getResolvedMask() & ~mDisabledMask;
+    }
+
+    /**
+     * Returns what the lookup found, whatever was disabled at runtime. This is what may be persisted.
+     *
+     * @return a mask with the bit (1 << methodId) set for every method present on this build and not excluded.
+     */
+    public int getResolvedMask() {
+        int mask = 0;
+        for (int methodId = 0; methodId < METHOD_NAMES.length; methodId++) {
+            if (resolveMethod(methodId) != null) {
+                mask |= 1 << methodId;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Excludes methods, which then behave as if not present on this build.
+     *
+     * @param mask A mask with the bit (1 << methodId) set for every method to exclude.
+     */
+    public synchronized void exclude(int mask) {
+        mExcludedMask |= mask & ((1 << METHOD_NAMES.length) - 1);
+    }
+
+    /**
+     * Disables methods until the process dies, after calls which failed for good.
+     *
+     * @param mask A mask with the bit (1 << methodId) set for every method to disable.
+     */
+    public synchronized void disable(int mask) {
+        mDisabledMask |= mask & ((1 << METHOD_NAMES.length) - 1);
+    }
+
+    /**
+     * Returns the resolved method.
+     *
+     * @param methodId One of the method identifiers.
+     * @return the accessible {@link Method}, or NULL if it is not present on this build or disabled.
+     */
+    public Method getMethod(int methodId) {
+        if ((mDisabledMask & (1 << methodId)) != 0) {
+            return null;
+        }
+        return resolveMethod(methodId);
+    }
+
+    //Looks the method up, minding the exclusions only.
+    private Method resolveMethod(int methodId) {
+        if ((mExcludedMask & (1 << methodId)) != 0) {
+            return null;
+        }
+        Method[] methods = mMethods;
+        if (methods == null) {
+            methods = resolve();
+        }
+        return methods[methodId];
+    }
+
+    /**
+     * Invokes the hidden method.
+     *
+     * @param methodId One of the method identifiers.
+     * @param receiver The instance on which the method has to be invoked.
+     * @param args     The arguments.
+     * @return the value returned by the method.
+     * @throws NoSuchMethodException when the method is not present on this build.
+     */
+    public Object invoke(int methodId, Object receiver, Object... args)
+            throws NoSuchMethodException, InvocationTargetException,
+            IllegalAccessException, IllegalArgumentException {
+        Method method = getMethod(methodId);
+        if (method == null) {
+            throw new NoSuchMethodException(METHOD_NAMES[methodId]);
+        }
+        return method.invoke(receiver, args);
+    }
+
+    /**
+     * Scans the declared methods once and caches both the positive and the negative results.
+     */
+    private synchronized Method[] resolve() {
+        if (mMethods == null) {
+            Method[] methods = new Method[METHOD_NAMES.length];
+            for (Method declaredMethod : mTargetClass.getDeclaredMethods()) {
+                for (int i = 0; i < METHOD_NAMES.length; i++) {
+                    if (methods[i] == null
+                            && declaredMethod.getName().equalsIgnoreCase(METHOD_NAMES[i])) {
+                        methods[i] = makeAccessible(declaredMethod);
+                    }
+                }
+            }
+            mMethods = methods;
+        }
+        return mMethods;
+    }
+
+    /**
+     * Turns off the access checks of the method, so that they are not paid on every call.
+     */
+    private static Method makeAccessible(Method method) {
+        try {
+            if (!method.isAccessible()) {
+                method.setAccessible(true);
+            }
+        } catch (SecurityException e) {
+            e.printStackTrace();
+        }
+        return method;
+    }
+}
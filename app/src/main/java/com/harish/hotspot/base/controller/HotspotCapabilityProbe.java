@@ -0,0 +1,82 @@
+package com.harish.hotspot.base.controller;
+
+import android.net.wifi.WifiManager;
+import android.os.Build;
+import android.os.Handler;
+
+import com.harish.hotspot.base.state.HotspotStates;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Finds out which path switches the hotspot on this build: the hidden methods of {@link WifiManager},
+ *         LocalOnlyHotspot, or neither.
+ *         <p>
+ *         Probing resolves LocalOnlyHotspot from Oreo on, then the hidden methods, and calls the state getter
+ *         once, which never changes the hotspot. Only what the lookups found decides {@link #PATH_NONE}: a
+ *         method disabled after a failed call in this process, or a failed getter, leaves the path unknown,
+ *         so it is never persisted and the probe runs again on the next start.
+ *         The managers probe once per build fingerprint, in the background, and persist the result with the
+ *         capabilities in {@link com.harish.hotspot.base.state.HotspotStateStore}. Later starts pick the path
+ *         straight from the file and seed {@link HotspotHelper#seedCapabilities(int)}, so a build without the
+ *         hidden methods never looks them up again.
+ * @since 17.10.2026.
+ */
+public final class HotspotCapabilityProbe {
+    private static final String TAG = HotspotCapabilityProbe.class.getSimpleName();
+
+    //Not probed yet on this build, or the probe failed in a way which may not last.
+    public static final int PATH_UNKNOWN = -1;
+
+    //No path can switch the hotspot on this build.
+    public static final int PATH_NONE = -2;
+
+    //Hidden methods needed to switch the hotspot by reflection.
+    private static final int REFLECTION_MASK =
+            1 << HiddenApiRegistry.GET_WIFI_AP_STATE | 1 << HiddenApiRegistry.SET_WIFI_AP_ENABLED;
+
+    //Constructor.
+    private HotspotCapabilityProbe() {
+    }
+
+    /**
+     * Probes the paths. Blocking, call it on a background thread.
+     *
+     * @param wifiManager The {@link WifiManager} instance.
+     * @return {@link IHotspotBackend#PATH_LOCAL_ONLY_HOTSPOT}, {@link IHotspotBackend#PATH_REFLECTION},
+     * {@link #PATH_NONE} or {@link #PATH_UNKNOWN}.
+     */
+    public static int probe(WifiManager wifiManager) {
+        //No Wifi at all on this build.
+        if (wifiManager == null) {
+            return PATH_NONE;
+        }
+        //The reflective setter is reserved to privileged apps from Oreo on, LocalOnlyHotspot is public.
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O && hasLocalOnlyHotspot()) {
+            return IHotspotBackend.PATH_LOCAL_ONLY_HOTSPOT;
+        }
+        if ((HotspotHelper.getResolvedCapabilities() & REFLECTION_MASK) != REFLECTION_MASK) {
+            return PATH_NONE;
+        }
+        //Disabled in this process only, the build may still have a working path.
+        if ((HotspotHelper.getCapabilities() & REFLECTION_MASK) != REFLECTION_MASK) {
+            return PATH_UNKNOWN;
+        }
+        if (HotspotHelper.getHotspotState(wifiManager) != HotspotStates.WIFI_AP_STATE_UNKNOWN) {
+            return IHotspotBackend.PATH_REFLECTION;
+        }
+        //The getter failed, perhaps only this time.
+        return PATH_UNKNOWN;
+    }
+
+    //Looks LocalOnlyHotspot up, some builds strip it from their framework.
+    private static boolean hasLocalOnlyHotspot() {
+        try {
+            WifiManager.class.getMethod("startLocalOnlyHotspot", WifiManager.LocalOnlyHotspotCallback.class, Handler.class);
+            return true;
+        } catch (NoSuchMethodException | NoClassDefFoundError e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,209 @@
+package com.harish.hotspot.base.controller;
+
+import android.net.wifi.WifiConfiguration;
+import android.net.wifi.WifiManager;
+
+import com.harish.hotspot.base.command.HotspotCommandExecutor;
+import com.harish.hotspot.base.interfaces.IHotspotConfigurationListener;
+import com.harish.hotspot.base.interfaces.IHotspotStateObserver;
+import com.harish.hotspot.base.state.HotspotStateMachine;
+import com.harish.hotspot.base.state.HotspotStateSnapshot;
+import com.harish.hotspot.base.state.HotspotStates;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Cache of the hotspot {@link WifiConfiguration}, so that enabling and disabling do not fetch it
+ *         reflectively every time. Dropped on every state change, as the framework may have rewritten it,
+ *         and after a failed write. Also holds the edits staged by {@link HotspotConfigurationEditor#apply()}
+ *         until an enable hands them to the framework.
+ *         <p>
+ *         The cached instance never leaves this class: only the framework and the editors see it.
+ *         The {@link IHotspotConfigurationListener}s get a copy of the SSID the hotspot runs with, read again
+ *         every time the hotspot is ENABLED, once a manager is watched. It is read through the backend of the manager
+ *         (the reservation of a LocalOnlyHotspot, see {@link IHotspotBackend#readHotspotConfiguration()}),
+ *         on the command worker, as the hidden getter is a binder call.
+ * @since 17.10.2026.
+ */
+final class HotspotConfigurationCache implements IHotspotStateObserver {
+    private static final String TAG = HotspotConfigurationCache.class.getSimpleName();
+
+    //Manager the configuration is read from and written to, set on first use.
+    private WifiManager mWifiManager;
+
+    //Manager whose backend the published configuration is read through, NULL until watched.
+    private IHotspotManager mWatchedManager;
+
+    //Worker of the manager, reading the published configuration.
+    private HotspotCommandExecutor mWatchExecutor;
+
+    //The cached configuration, NULL if not fetched yet or dropped.
+    private WifiConfiguration mConfiguration;
+
+    //Edits waiting for the next enable, NULL if none.
+    private HotspotConfigurationEditor mStagedEdits;
+
+    //Told of the configuration the hotspot runs with.
+    private final CopyOnWriteArrayList<IHotspotConfigurationListener> mListeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void onStateChanged(HotspotStateSnapshot snapshot) {
+        invalidate();
+        if (snapshot.getState() == HotspotStates.WIFI_AP_STATE_ENABLED) {
+            publish();
+        }
+    }
+
+    /**
+     * Sets the manager the published configuration is read through, telling the listeners if the hotspot is ENABLED.
+     */
+    void attach(IHotspotManager manager, HotspotCommandExecutor executor, int state) {
+        synchronized (this) {
+            mWatchedManager = manager;
+            mWatchExecutor = executor;
+        }
+        if (state == HotspotStates.WIFI_AP_STATE_ENABLED) {
+            publish();
+        }
+    }
+
+    /**
+     * Tells the listeners again if the hotspot is ENABLED, e.g. once the backend knows the configuration.
+     */
+    void refresh() {
+        if (HotspotStateMachine.getInstance().getState() == HotspotStates.WIFI_AP_STATE_ENABLED) {
+            publish();
+        }
+    }
+
+    /**
+     * Adds a listener, told right away if the hotspot is ENABLED.
+     */
+    void addListener(IHotspotConfigurationListener listener, int state) {
+        if (mListeners.addIfAbsent(listener) && state == HotspotStates.WIFI_AP_STATE_ENABLED) {
+            publish();
+        }
+    }
+
+    void removeListener(IHotspotConfigurationListener listener) {
+        mListeners.remove(listener);
+    }
+
+    /**
+     * Drops the cached configuration. Staged edits are kept.
+     */
+    synchronized void invalidate() {
+        mConfiguration = null;
+    }
+
+    /**
+     * @return a new editor, committing to this cache.
+     */
+    synchronized HotspotConfigurationEditor edit(WifiManager wifiManager) {
+        mWifiManager = wifiManager;
+        return new HotspotConfigurationEditor(this);
+    }
+
+    /**
+     * Returns the configuration, fetching it if not cached.
+     *
+     * @param wifiManager The {@link WifiManager} instance.
+     * @return the {@link WifiConfiguration}, NULL if it can not be read.
+     */
+    synchronized WifiConfiguration get(WifiManager wifiManager) {
+        mWifiManager = wifiManager;
+        if (mConfiguration == null) {
+            mConfiguration = HotspotHelper.getWifiApConfigurationInternal(wifiManager);
+        }
+        return mConfiguration;
+    }
+
+    /**
+     * Returns the configuration to enable with, including the staged edits.
+     * The edits stay staged until {@link #onEnableIssued(boolean)} reports them handed to the framework.
+     *
+     * @param wifiManager The {@link WifiManager} instance.
+     * @return the {@link WifiConfiguration}, NULL if it can not be read.
+     */
+    synchronized WifiConfiguration prepareEnable(WifiManager wifiManager) {
+        WifiConfiguration configuration = get(wifiManager);
+        if (configuration != null && mStagedEdits != null) {
+            mStagedEdits.applyTo(configuration);
+        }
+        return configuration;
+    }
+
+    /**
+     * Consumes the staged edits once the enable carrying them went through, keeps them otherwise.
+     *
+     * @param issued TRUE if the framework took the configuration of {@link #prepareEnable(WifiManager)}.
+     */
+    synchronized void onEnableIssued(boolean issued) {
+        if (issued) {
+            mStagedEdits = null;
+        } else if (mStagedEdits != null) {
+            //The cached instance now carries edits the framework never saw.
+            mConfiguration = null;
+        }
+    }
+
+    //Reads the configuration on the worker of the watched manager, and tells the listeners of its SSID.
+    private void publish() {
+        if (mListeners.isEmpty()) {
+            return;
+        }
+        final IHotspotManager manager;
+        HotspotCommandExecutor executor;
+        synchronized (this) {
+            manager = mWatchedManager;
+            executor = mWatchExecutor;
+        }
+        if (manager == null) {
+            return;
+        }
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                WifiConfiguration configuration = manager.getBackend().readHotspotConfiguration();
+                //Dropped if the hotspot went down while waiting for the worker.
+                if (configuration == null
+                        || HotspotStateMachine.getInstance().getState() != HotspotStates.WIFI_AP_STATE_ENABLED) {
+                    return;
+                }
+                WifiConfiguration published = new WifiConfiguration();
+                published.SSID = configuration.SSID;
+                published.hiddenSSID = configuration.hiddenSSID;
+                for (IHotspotConfigurationListener listener : mListeners) {
+                    listener.onConfigurationChanged(published);
+                }
+            }
+        });
+    }
+
+    //Called by HotspotConfigurationEditor#commit().
+    synchronized int commit(HotspotConfigurationEditor editor) {
+        WifiConfiguration configuration = get(mWifiManager);
+        if (configuration == null) {
+            return HotspotConfigurationEditor.COMMIT_FAILED;
+        }
+        if (!editor.applyTo(configuration)) {
+            return HotspotConfigurationEditor.COMMIT_UNCHANGED;
+        }
+        if (!HotspotHelper.setWifiApConfigurationInternal(mWifiManager, configuration)) {
+            //The cached instance now differs from the framework one.
+            mConfiguration = null;
+            return HotspotConfigurationEditor.COMMIT_FAILED;
+        }
+        return HotspotConfigurationEditor.COMMIT_WRITTEN;
+    }
+
+    //Called by HotspotConfigurationEditor#apply().
+    synchronized void stage(HotspotConfigurationEditor editor) {
+        if (mStagedEdits == null) {
+            mStagedEdits = new HotspotConfigurationEditor(this);
+        }
+        mStagedEdits.merge(editor);
+    }
+}
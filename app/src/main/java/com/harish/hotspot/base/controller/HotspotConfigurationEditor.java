@@ -0,0 +1,180 @@
+package com.harish.hotspot.base.controller;
+
+import android.net.wifi.WifiConfiguration;
+
+import java.lang.reflect.Field;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Transaction batching several edits of the hotspot {@link WifiConfiguration}.
+ *         <p>
+ *         The edits are collected with the setters and written in a single hidden API call by {@link #commit()},
+ *         or staged by {@link #apply()} and handed to the framework together with the next enable,
+ *         which avoids a separate configuration write (and AP restart). Nothing is written if the edits
+ *         do not change the cached configuration.
+ *         Obtained from {@link HotspotHelper#editHotspotConfiguration(android.net.wifi.WifiManager)}.
+ * @since 17.10.2026.
+ */
+public final class HotspotConfigurationEditor {
+    private static final String TAG = HotspotConfigurationEditor.class.getSimpleName();
+
+    //Bands, values of the hidden WifiConfiguration.AP_BAND_* constants.
+    public static final int BAND_2GHZ = 0;
+    public static final int BAND_5GHZ = 1;
+
+    //Results of commit().
+    //The configuration was written.
+    public static final int COMMIT_WRITTEN = 0;
+    //The edits do not change the configuration, nothing was written.
+    public static final int COMMIT_UNCHANGED = 1;
+    //The configuration could not be read or written.
+    public static final int COMMIT_FAILED = 2;
+
+    //Hidden field holding the band, NULL if not present on this build.
+    private static final Field BAND_FIELD = findField("apBand");
+
+    //Cache the edits are committed to.
+    private final HotspotConfigurationCache mCache;
+
+    //Edits. NULL, or FALSE for the flags, when not edited.
+    private String mSsid;
+    private String mPassphrase;
+    private Boolean mHidden;
+    private boolean mBandSet;
+    private int mBand;
+
+    //Constructor.
+    HotspotConfigurationEditor(HotspotConfigurationCache cache) {
+        this.mCache = cache;
+    }
+
+    /**
+     * Sets the network name.
+     *
+     * @param ssid The SSID, without quotes.
+     * @return this editor.
+     */
+    public HotspotConfigurationEditor setSsid(String ssid) {
+        this.mSsid = ssid;
+        return this;
+    }
+
+    /**
+     * Sets the WPA2 passphrase.
+     *
+     * @param passphrase The passphrase, 8 to 63 characters.
+     * @return this editor.
+     */
+    public HotspotConfigurationEditor setPassphrase(String passphrase) {
+        this.mPassphrase = passphrase;
+        return this;
+    }
+
+    /**
+     * Hides, or broadcasts, the SSID.
+     *
+     * @return this editor.
+     */
+    public HotspotConfigurationEditor setHidden(boolean hidden) {
+        this.mHidden = hidden;
+        return this;
+    }
+
+    /**
+     * Sets the band. Ignored on builds without the hidden field.
+     *
+     * @param band {@link #BAND_2GHZ} or {@link #BAND_5GHZ}.
+     * @return this editor.
+     */
+    public HotspotConfigurationEditor setBand(int band) {
+        this.mBandSet = true;
+        this.mBand = band;
+        return this;
+    }
+
+    /**
+     * Writes the edits now, in a single hidden API call.
+     *
+     * @return {@link #COMMIT_WRITTEN}, {@link #COMMIT_UNCHANGED} or {@link #COMMIT_FAILED}.
+     */
+    public int commit() {
+        return mCache.commit(this);
+    }
+
+    /**
+     * Stages the edits, to be handed to the framework with the next enable.
+     * Later staged edits are merged over earlier ones.
+     */
+    public void apply() {
+        mCache.stage(this);
+    }
+
+    /**
+     * Applies the edits onto a configuration.
+     *
+     * @param configuration The {@link WifiConfiguration} to modify.
+     * @return TRUE if any value changed.
+     */
+    boolean applyTo(WifiConfiguration configuration) {
+        boolean changed = false;
+        if (mSsid != null && !mSsid.equals(configuration.SSID)) {
+            configuration.SSID = mSsid;
+            changed = true;
+        }
+        if (mPassphrase != null && !mPassphrase.equals(configuration.preSharedKey)) {
+            configuration.preSharedKey = mPassphrase;
+            configuration.allowedKeyManagement.clear();
+            //WifiConfiguration.KeyMgmt.WPA2_PSK, hidden.
+            configuration.allowedKeyManagement.set(4);
+            changed = true;
+        }
+        if (mHidden != null && mHidden != configuration.hiddenSSID) {
+            configuration.hiddenSSID = mHidden;
+            changed = true;
+        }
+        if (mBandSet && BAND_FIELD != null) {
+            try {
+                if (BAND_FIELD.getInt(configuration) != mBand) {
+                    BAND_FIELD.setInt(configuration, mBand);
+                    changed = true;
+                }
+            } catch (IllegalAccessException | IllegalArgumentException e) {
+                e.printStackTrace();
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Merges the edits of another editor over these.
+     *
+     * @param other The later {@link HotspotConfigurationEditor}.
+     */
+    void merge(HotspotConfigurationEditor other) {
+        if (other.mSsid != null) {
+            mSsid = other.mSsid;
+        }
+        if (other.mPassphrase != null) {
+            mPassphrase = other.mPassphrase;
+        }
+        if (other.mHidden != null) {
+            mHidden = other.mHidden;
+        }
+        if (other.mBandSet) {
+            mBandSet = true;
+            mBand = other.mBand;
+        }
+    }
+
+    //Resolves a hidden field of WifiConfiguration once.
+    private static Field findField(String name) {
+        try {
+            Field field = WifiConfiguration.class.getDeclaredField(name);
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException | SecurityException e) {
+            return null;
+        }
+    }
+}
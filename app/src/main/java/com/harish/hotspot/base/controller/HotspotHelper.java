@@ -4,10 +4,12 @@ import android.net.wifi.WifiConfiguration;
 import android.net.wifi.WifiManager;
 import android.os.Handler;
 
+import com.harish.hotspot.base.command.HotspotCommandExecutor;
+import com.harish.hotspot.base.interfaces.IHotspotConfigurationListener;
+import com.harish.hotspot.base.state.HotspotStateMachine;
 import com.harish.hotspot.base.state.HotspotStates;
 
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 
 /**
  * @author HARISH.
@@ -25,6 +27,16 @@ import java.lang.reflect.Method;
 public final class HotspotHelper {
     private static final String TAG = HotspotHelper.class.getSimpleName();
 
+    //Hidden methods of WifiManager, resolved only once.
+    private static final HiddenApiRegistry sRegistry = new HiddenApiRegistry(WifiManager.class);
+
+    //Hotspot configuration, fetched once and dropped on every state change.
+    private static final HotspotConfigurationCache sConfigurationCache = new HotspotConfigurationCache();
+
+    static {
+        HotspotStateMachine.getInstance().addObserver(sConfigurationCache);
+    }
+
     /**
      * Helper method to retrieve the hotspot state.
      *
@@ -45,18 +57,49 @@ public final class HotspotHelper {
         return state;
     }
 
+    /**
+     * Helper method to find out which hidden APIs can be called in this process.
+     *
+     * @return the mask of {@link HiddenApiRegistry#getAvailabilityMask()}.
+     */
+    public static int getCapabilities() {
+        return sRegistry.getAvailabilityMask();
+    }
+
+    /**
+     * Helper method to find out which hidden APIs are present on this build, whatever failed at runtime.
+     * Only these may be persisted, see {@link HotspotCapabilityProbe}.
+     *
+     * @return the mask of {@link HiddenApiRegistry#getResolvedMask()}.
+     */
+    public static int getResolvedCapabilities() {
+        return sRegistry.getResolvedMask();
+    }
+
+    /**
+     * Helper method to seed the capabilities probed earlier on this build, see {@link HotspotCapabilityProbe}.
+     * The hidden APIs missing from them are never looked up, nor called.
+     *
+     * @param capabilities The mask of {@link #getResolvedCapabilities()}.
+     */
+    public static void seedCapabilities(int capabilities) {
+        sRegistry.exclude(~capabilities);
+    }
+
     /**
      * Helper method to enable hotspot.
+     * The configuration staged by {@link HotspotConfigurationEditor#apply()}, if any, is handed over here.
      */
     public static void enableHotspot(WifiManager wifiManager) {
-        setWifiApStateInternal(wifiManager, getWifiApConfigurationInternal(wifiManager), true);
+        sConfigurationCache.onEnableIssued(
+                setWifiApStateInternal(wifiManager, sConfigurationCache.prepareEnable(wifiManager), true));
     }
 
     /**
      * Helper method to disable hotspot.
      */
     public static void disableHotspot(WifiManager wifiManager) {
-        setWifiApStateInternal(wifiManager, getWifiApConfigurationInternal(wifiManager), false);
+        setWifiApStateInternal(wifiManager, sConfigurationCache.get(wifiManager), false);
     }
 
     /**
@@ -75,6 +118,53 @@ public final class HotspotHelper {
      */
     public static void setHotspotConfiguration(WifiManager wifiManager, WifiConfiguration mConfiguration) {
         setWifiApConfigurationInternal(wifiManager, mConfiguration);
+        sConfigurationCache.invalidate();
+    }
+
+    /**
+     * Starts a transaction batching several edits of the configuration into a single write.
+     *
+     * @return the {@link HotspotConfigurationEditor}.
+     */
+    public static HotspotConfigurationEditor editHotspotConfiguration(WifiManager wifiManager) {
+        return sConfigurationCache.edit(wifiManager);
+    }
+
+    /**
+     * Reads the configuration through the backend of this manager, on its worker, every time the hotspot is ENABLED,
+     * for the listeners. Tells them right away if it is ENABLED already.
+     *
+     * @param manager  The {@link IHotspotManager}, read through its current backend.
+     * @param executor The {@link HotspotCommandExecutor} of the manager.
+     */
+    public static void watchHotspotConfiguration(IHotspotManager manager, HotspotCommandExecutor executor) {
+        sConfigurationCache.attach(manager, executor, HotspotStateMachine.getInstance().getState());
+    }
+
+    /**
+     * Tells the listeners of the configuration again if the hotspot is ENABLED.
+     * Called by a backend once it knows the configuration, e.g. on LocalOnlyHotspotCallback#onStarted().
+     */
+    public static void refreshHotspotConfiguration() {
+        sConfigurationCache.refresh();
+    }
+
+    /**
+     * Adds a listener of the configuration the hotspot runs with, see {@link #watchHotspotConfiguration(IHotspotManager, HotspotCommandExecutor)}.
+     *
+     * @param listener The {@link IHotspotConfigurationListener}.
+     */
+    public static void addConfigurationListener(IHotspotConfigurationListener listener) {
+        sConfigurationCache.addListener(listener, HotspotStateMachine.getInstance().getState());
+    }
+
+    /**
+     * Removes a listener of the configuration.
+     *
+     * @param listener The {@link IHotspotConfigurationListener}.
+     */
+    public static void removeConfigurationListener(IHotspotConfigurationListener listener) {
+        sConfigurationCache.removeListener(listener);
     }
 
     /**
@@ -85,12 +175,11 @@ public final class HotspotHelper {
      * @throws NoSuchMethodException when unable to access the hidden method.
      */
     private static int getWifiApStateInternal(WifiManager wifiManager) throws NoSuchMethodException {
-        Method method = getMethodByName("getWifiApState", WifiManager.class);
-        if (method != null) {
+        if (sRegistry.isAvailable(HiddenApiRegistry.GET_WIFI_AP_STATE)) {
             try {
-                return (int) invokeMethod(method, wifiManager);
+                return (int) sRegistry.invoke(HiddenApiRegistry.GET_WIFI_AP_STATE, wifiManager);
             } catch (IllegalAccessException | InvocationTargetException | IllegalArgumentException e) {
-                e.printStackTrace();
+                onFailed(HiddenApiRegistry.GET_WIFI_AP_STATE, e);
             }
         }
         return HotspotStates.WIFI_AP_STATE_UNKNOWN;
@@ -101,21 +190,21 @@ public final class HotspotHelper {
      *
      * @param wifiManager The {@link WifiManager} instance.
      * @param apState     TRUE it has to be enabled, FALSE if it has to be disabled.
+     * @return TRUE if the framework accepted the call, FALSE otherwise.
      */
-    private static void setWifiApStateInternal(WifiManager wifiManager,
-                                               WifiConfiguration wifiConfiguration,
-                                               boolean apState) {
-        Method method = getMethodByName("setWifiApEnabled", WifiManager.class);
-        if (method != null) {
+    private static boolean setWifiApStateInternal(WifiManager wifiManager,
+                                                  WifiConfiguration wifiConfiguration,
+                                                  boolean apState) {
+        if (sRegistry.isAvailable(HiddenApiRegistry.SET_WIFI_AP_ENABLED)) {
             try {
-                if (!method.isAccessible()) {
-                    method.setAccessible(true);
-                }
-                method.invoke(wifiManager, wifiConfiguration, apState);
-            } catch (IllegalAccessException | InvocationTargetException | IllegalArgumentException e) {
-                e.printStackTrace();
+                return Boolean.TRUE.equals(sRegistry.invoke(HiddenApiRegistry.SET_WIFI_AP_ENABLED,
+                        wifiManager, wifiConfiguration, apState));
+            } catch (NoSuchMethodException | IllegalAccessException
+                    | InvocationTargetException | IllegalArgumentException e) {
+                onFailed(HiddenApiRegistry.SET_WIFI_AP_ENABLED, e);
             }
         }
+        return false;
     }
 
     /**
@@ -124,13 +213,13 @@ public final class HotspotHelper {
      * @param wifiManager The {@link WifiManager} instance.
      * @return {@link WifiConfiguration} object.
      */
-    private static WifiConfiguration getWifiApConfigurationInternal(WifiManager wifiManager) {
-        Method method = getMethodByName("getWifiApConfiguration", WifiManager.class);
-        if (method != null) {
+    static WifiConfiguration getWifiApConfigurationInternal(WifiManager wifiManager) {
+        if (sRegistry.isAvailable(HiddenApiRegistry.GET_WIFI_AP_CONFIGURATION)) {
             try {
-                return (WifiConfiguration) invokeMethod(method, wifiManager);
-            } catch (IllegalAccessException | InvocationTargetException | IllegalArgumentException e) {
-                e.printStackTrace();
+                return (WifiConfiguration) sRegistry.invoke(HiddenApiRegistry.GET_WIFI_AP_CONFIGURATION, wifiManager);
+            } catch (NoSuchMethodException | IllegalAccessException
+                    | InvocationTargetException | IllegalArgumentException e) {
+                onFailed(HiddenApiRegistry.GET_WIFI_AP_CONFIGURATION, e);
             }
         }
         return null;
@@ -141,39 +230,32 @@ public final class HotspotHelper {
      *
      * @param wifiManager       The {@link WifiManager} instance.
      * @param wifiConfiguration the {@link WifiConfiguration} instance.
+     * @return TRUE if the configuration was accepted, FALSE otherwise.
      */
-    private static void setWifiApConfigurationInternal(WifiManager wifiManager, WifiConfiguration wifiConfiguration) {
-        Method method = getMethodByName("setWifiApConfiguration", WifiManager.class);
-        if (method != null) {
+    static boolean setWifiApConfigurationInternal(WifiManager wifiManager, WifiConfiguration wifiConfiguration) {
+        if (sRegistry.isAvailable(HiddenApiRegistry.SET_WIFI_AP_CONFIGURATION)) {
             try {
-                invokeMethod(method, wifiManager, wifiConfiguration);
-            } catch (IllegalAccessException | InvocationTargetException | IllegalArgumentException e) {
-                e.printStackTrace();
+                Object result = sRegistry.invoke(HiddenApiRegistry.SET_WIFI_AP_CONFIGURATION,
+                        wifiManager, wifiConfiguration);
+                //Returns a boolean on some builds, nothing on others.
+                return !Boolean.FALSE.equals(result);
+            } catch (NoSuchMethodException | IllegalAccessException
+                    | InvocationTargetException | IllegalArgumentException e) {
+                onFailed(HiddenApiRegistry.SET_WIFI_AP_CONFIGURATION, e);
             }
         }
+        return false;
     }
 
     /**
-     * Static method that helps in invoking the hidden methods.
+     * Reports a failed call of a hidden method. A call denied for good disables the method in this process,
+     * so it is neither called nor failing again. A SecurityException is thrown by the method itself on a
+     * missing permission, e.g. WRITE_SETTINGS on Marshmallow until the user grants it, so it is retried.
      */
-    private static Object invokeMethod(Method method, Object receiver, Object... args)
-            throws InvocationTargetException, IllegalAccessException, IllegalArgumentException {
-        return method.invoke(receiver, args);
-    }
-
-    /**
-     * Fetches the method object by its declaration name.
-     *
-     * @param methodName The method name.
-     * @param className  The class name.
-     * @return {@link Method} object.
-     */
-    private static Method getMethodByName(String methodName, Class className) {
-        for (Method declaredMethod : className.getDeclaredMethods()) {
-            if (declaredMethod.getName().equalsIgnoreCase(methodName)) {
-                return declaredMethod;
-            }
+    private static void onFailed(int methodId, Exception e) {
+        e.printStackTrace();
+        if (e instanceof NoSuchMethodException || e instanceof IllegalAccessException) {
+            sRegistry.disable(1 << methodId);
         }
-        return null;
     }
 }
@@ -0,0 +1,41 @@
+package com.harish.hotspot.base.controller;
+
+import android.net.wifi.WifiConfiguration;
+
+import com.harish.hotspot.base.interfaces.IHotspotBackendCallback;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Interface of the layer actually switching the hotspot, behind {@link IHotspotManager}.
+ *         Lets the managers run against the framework or against a simulation.
+ *         <p>
+ *         State changes are not returned by these calls, they arrive later through the state broadcast
+ *         (or its simulation) into {@link com.harish.hotspot.base.receiver.HotspotStateDispatcher#publish(int, int)}.
+ * @since 17.10.2026.
+ */
+public interface IHotspotBackend {
+    //Paths used to switch the hotspot.
+    int PATH_REFLECTION = 0;
+    int PATH_LOCAL_ONLY_HOTSPOT = 1;
+    int PATH_SIMULATED = 2;
+
+    int getPath();
+
+    int readHotspotState();
+
+    /**
+     * Reads the configuration the hotspot runs with. Called on the command worker, as it may be a binder call.
+     *
+     * @return the {@link WifiConfiguration}, NULL if not known (yet).
+     */
+    WifiConfiguration readHotspotConfiguration();
+
+    void enable();
+
+    void disable();
+
+    boolean canDisable();
+
+    void setCallback(IHotspotBackendCallback callback);
+}
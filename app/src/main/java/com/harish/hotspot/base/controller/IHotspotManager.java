@@ -2,7 +2,18 @@ package com.harish.hotspot.base.controller;
 
 import android.content.Context;
 
+import com.harish.hotspot.base.command.HotspotCommandFuture;
 import com.harish.hotspot.base.interfaces.IHotspotStateListener;
+import com.harish.hotspot.base.lease.HotspotLease;
+import com.harish.hotspot.base.lease.HotspotLeaseManager;
+import com.harish.hotspot.base.net.HotspotNetworkServices;
+import com.harish.hotspot.base.receiver.HotspotStateDispatcher;
+import com.harish.hotspot.base.recovery.HotspotRecovery;
+import com.harish.hotspot.base.state.HotspotStateFuture;
+import com.harish.hotspot.base.state.HotspotStateSnapshot;
+import com.harish.hotspot.base.stream.HotspotStatePublisher;
+
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author HARISH.
@@ -11,17 +22,35 @@ import com.harish.hotspot.base.interfaces.IHotspotStateListener;
  * @since 16.07.2018.
  */
 public interface IHotspotManager {
-    void enableHotspot(Context context);
+    HotspotCommandFuture enableHotspot(Context context);
+
+    HotspotCommandFuture disableHotspot(Context context);
+
+    HotspotLease acquireHotspotLease(Context context, String owner);
+
+    HotspotLeaseManager getLeaseManager();
+
+    IHotspotBackend getBackend();
 
-    void disableHotspot(Context context);
+    void setBackend(IHotspotBackend backend);
 
-    void setHotspotState(int mHotspotState);
+    HotspotRecovery getRecovery();
+
+    void setHotspotState(int hotspotState);
 
     int getHotspotState();
 
-    void setHotspotStateListener(Context context, IHotspotStateListener mHotspotStateListener);
+    HotspotStateSnapshot getHotspotStateSnapshot();
+
+    HotspotStateFuture awaitState(int targetState, long timeout, TimeUnit unit);
+
+    HotspotStateDispatcher getStateDispatcher();
+
+    HotspotStatePublisher getStatePublisher();
+
+    HotspotNetworkServices getNetworkServices();
 
-    IHotspotStateListener getHotspotStateListener();
+    void addHotspotStateListener(Context context, IHotspotStateListener hotspotStateListener);
 
-    void removeHotspotStateListener(Context context);
+    void removeHotspotStateListener(Context context, IHotspotStateListener hotspotStateListener);
 }
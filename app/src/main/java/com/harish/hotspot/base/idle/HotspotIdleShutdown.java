@@ -0,0 +1,318 @@
+package com.harish.hotspot.base.idle;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import com.harish.hotspot.base.clients.HotspotClientMonitor;
+import com.harish.hotspot.base.command.HotspotCommandFuture;
+import com.harish.hotspot.base.controller.IHotspotBackend;
+import com.harish.hotspot.base.controller.IHotspotManager;
+import com.harish.hotspot.base.interfaces.IHotspotStateObserver;
+import com.harish.hotspot.base.state.HotspotStateMachine;
+import com.harish.hotspot.base.state.HotspotStateSnapshot;
+import com.harish.hotspot.base.state.HotspotStates;
+import com.harish.hotspot.base.traffic.TrafficAccountant;
+import com.harish.hotspot.base.util.HashedWheelTimer;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Disables the hotspot once it has been idle for a while: no client associated, or, with a
+ *         {@link TrafficAccountant} and a threshold set, less traffic than the threshold.
+ *         <p>
+ *         Reads the latest client count of the {@link HotspotClientMonitor} and rate of the
+ *         {@link TrafficAccountant}, which their owner keeps scanning and sampling, e.g. with their start().
+ *         A reading older than the longest interval counts as busy, so a monitor left stopped never
+ *         disables the hotspot. Reads only while the hotspot is ENABLED, on timeouts of the
+ *         {@link HashedWheelTimer}. The interval starts at the shortest one and doubles with every sample
+ *         confirming the previous verdict, up to the longest one, so a hotspot which stays idle or busy is
+ *         sampled less and less often. Any change of verdict starts again from the shortest interval.
+ *         While idle, the interval never runs past the deadline, so the hotspot is disabled on time.
+ *         The readings may wait for a scan in progress, so they run on a worker, not on the timer thread.
+ *         <p>
+ *         NOTE:
+ *         On Oreo and above, the hotspot can be disabled only through the reservation held by this app.
+ *         A hotspot started otherwise is left alone until its next start.
+ *         Leases held by other components reject the shutdown, which is then retried after a full idle period.
+ * @since 17.10.2026.
+ */
+public final class HotspotIdleShutdown implements IHotspotStateObserver {
+    private static final String TAG = HotspotIdleShutdown.class.getSimpleName();
+
+    //Defaults.
+    public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 10L * 60L * 1000L;
+    public static final long DEFAULT_MIN_INTERVAL_MILLIS = 5000L;
+    public static final long DEFAULT_MAX_INTERVAL_MILLIS = 60000L;
+
+    private final Context mContext;
+    private final IHotspotManager mManager;
+    private final HotspotStateMachine mStateMachine;
+    private final HotspotClientMonitor mClientMonitor;
+    private final TrafficAccountant mTrafficAccountant;
+    private final HashedWheelTimer mTimer;
+
+    //Runs the samples, NULL while stopped. Guarded by this.
+    private ExecutorService mWorker;
+
+    //Delivers the shutdown, disableHotspot() may show a toast.
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+
+    //Configuration, in nanoseconds and bytes per second. Guarded by this.
+    private long mIdleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_IDLE_TIMEOUT_MILLIS);
+    private long mMinIntervalNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_MIN_INTERVAL_MILLIS);
+    private long mMaxIntervalNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_MAX_INTERVAL_MILLIS);
+    private double mTrafficThreshold;
+
+    //Sampling state. Guarded by this.
+    private HashedWheelTimer.Timeout mPendingSample;
+    private long mIntervalNanos;
+    private long mIdleSince;
+    private boolean mIdle;
+
+    //Incremented whenever the sampling restarts or stops, so that a sample racing with it is dropped.
+    //Guarded by this.
+    private long mGeneration;
+
+    /**
+     * Constructor.
+     *
+     * @param context           The context, its application context is kept.
+     * @param manager           The manager disabling the hotspot.
+     * @param clientMonitor     Counts the associated clients, scanned by its owner.
+     * @param trafficAccountant Measures the traffic, sampled by its owner. NULL to go by the clients only.
+     * @param timer             The {@link HashedWheelTimer} running the sampling.
+     */
+    public HotspotIdleShutdown(Context context, IHotspotManager manager, HotspotClientMonitor clientMonitor,
+                               TrafficAccountant trafficAccountant, HashedWheelTimer timer) {
+        this.mContext = context.getApplicationContext();
+        this.mManager = manager;
+        this.mStateMachine = HotspotStateMachine.getInstance();
+        this.mClientMonitor = clientMonitor;
+        this.mTrafficAccountant = trafficAccountant;
+        this.mTimer = timer;
+    }
+
+    /**
+     * Sets how long the hotspot must stay idle before it is disabled, applied from the next sample.
+     */
+    public synchronized void setIdleTimeout(long timeout, TimeUnit unit) {
+        this.mIdleTimeoutNanos = unit.toNanos(timeout);
+    }
+
+    /**
+     * Sets the bounds of the sampling interval.
+     *
+     * @param min  The first interval after a change of verdict.
+     * @param max  The longest interval.
+     * @param unit The unit of the bounds.
+     */
+    public synchronized void setSampleIntervals(long min, long max, TimeUnit unit) {
+        if (min <= 0 || max < min) {
+            throw new IllegalArgumentException("Invalid intervals: " + min + "/" + max);
+        }
+        this.mMinIntervalNanos = unit.toNanos(min);
+        this.mMaxIntervalNanos = unit.toNanos(max);
+    }
+
+    /**
+     * Sets the traffic, both directions of the tether interface together, below which the hotspot is idle
+     * even with clients associated. Needs a {@link TrafficAccountant}.
+     *
+     * @param bytesPerSecond The threshold, 0 to go by the clients only.
+     */
+    public synchronized void setTrafficThreshold(double bytesPerSecond) {
+        this.mTrafficThreshold = bytesPerSecond;
+    }
+
+    /**
+     * Starts following the hotspot, sampling at once if it is already ENABLED.
+     */
+    public synchronized void start() {
+        if (mWorker != null) {
+            return;
+        }
+        mWorker = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, TAG);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        mStateMachine.addObserver(this);
+        if (mStateMachine.getState() == HotspotStates.WIFI_AP_STATE_ENABLED) {
+            restartSampling();
+        }
+    }
+
+    /**
+     * Stops following the hotspot.
+     */
+    public synchronized void stop() {
+        if (mWorker == null) {
+            return;
+        }
+        mStateMachine.removeObserver(this);
+        cancelSampling();
+        mWorker.shutdown();
+        mWorker = null;
+    }
+
+    /**
+     * @return how long the hotspot has been idle, as of the last sample, 0 if not idle.
+     */
+    public synchronized long getIdleMillis() {
+        return mIdle ? TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - mIdleSince) : 0L;
+    }
+
+    /**
+     * @return the current sampling interval, 0 while not sampling.
+     */
+    public synchronized long getIntervalMillis() {
+        return mPendingSample == null ? 0L : TimeUnit.NANOSECONDS.toMillis(mIntervalNanos);
+    }
+
+    @Override
+    public synchronized void onStateChanged(HotspotStateSnapshot snapshot) {
+        if (mWorker == null) {
+            return;
+        }
+        if (snapshot.getState() == HotspotStates.WIFI_AP_STATE_ENABLED) {
+            restartSampling();
+        } else {
+            cancelSampling();
+        }
+    }
+
+    //Starts a new idle period, sampling after the shortest interval. Holding this.
+    private void restartSampling() {
+        cancelSampling();
+        mIntervalNanos = mMinIntervalNanos;
+        schedule(mIntervalNanos, mGeneration);
+    }
+
+    //Holding this.
+    private void cancelSampling() {
+        mGeneration++;
+        mIdle = false;
+        if (mPendingSample != null) {
+            mPendingSample.cancel();
+            mPendingSample = null;
+        }
+    }
+
+    //Schedules the next sample, handed over to the worker. Holding this.
+    private void schedule(long delay, final long generation) {
+        mPendingSample = mTimer.newTimeout(new Runnable() {
+            @Override
+            public void run() {
+                synchronized (HotspotIdleShutdown.this) {
+                    if (generation != mGeneration || mWorker == null) {
+                        return;
+                    }
+                    mWorker.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            sample(generation);
+                        }
+                    });
+                }
+            }
+        }, delay, TimeUnit.NANOSECONDS);
+    }
+
+    //Reads the latest clients and traffic, then decides. On the worker.
+    private void sample(long generation) {
+        long maxAge;
+        synchronized (this) {
+            maxAge = mMaxIntervalNanos;
+        }
+        //Unknown counts as busy, never disable on a stale reading.
+        int clients = isFresh(mClientMonitor.getLastScanTime(), maxAge) ? mClientMonitor.getClientCount() : -1;
+        double rate = -1.0;
+        if (mTrafficAccountant != null && isFresh(mTrafficAccountant.getLastSampleTime(), maxAge)) {
+            rate = mTrafficAccountant.getInterfaceRate(TrafficAccountant.DIRECTION_RX)
+                    + mTrafficAccountant.getInterfaceRate(TrafficAccountant.DIRECTION_TX);
+        }
+
+        synchronized (this) {
+            if (generation != mGeneration) {
+                return;
+            }
+            long now = System.nanoTime();
+            boolean idle = clients == 0
+                    || (clients > 0 && mTrafficThreshold > 0.0 && rate >= 0.0 && rate < mTrafficThreshold);
+            if (idle != mIdle) {
+                mIdle = idle;
+                mIdleSince = now;
+                mIntervalNanos = mMinIntervalNanos;
+            } else {
+                mIntervalNanos = Math.min(mIntervalNanos * 2L, mMaxIntervalNanos);
+            }
+            if (!idle) {
+                schedule(mIntervalNanos, generation);
+                return;
+            }
+            long remaining = mIdleSince + mIdleTimeoutNanos - now;
+            if (remaining > 0L) {
+                schedule(Math.min(mIntervalNanos, remaining), generation);
+                return;
+            }
+            mPendingSample = null;
+        }
+        mMainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                shutdown();
+            }
+        });
+    }
+
+    //Whether a reading was taken, within the age.
+    private static boolean isFresh(long time, long maxAge) {
+        return time != 0L && System.nanoTime() - time <= maxAge;
+    }
+
+    //Disables the hotspot if still up and this app can. On the main thread.
+    private void shutdown() {
+        if (mManager.getHotspotState() != HotspotStates.WIFI_AP_STATE_ENABLED) {
+            return;
+        }
+        IHotspotBackend backend = mManager.getBackend();
+        if (backend == null || !backend.canDisable()) {
+            //Oreo: not our reservation, wait for the next start.
+            return;
+        }
+        if (isRejected(mManager.disableHotspot(mContext))) {
+            //Still leased by other components, try again after a full idle period.
+            synchronized (this) {
+                if (mWorker != null && mPendingSample == null) {
+                    restartSampling();
+                }
+            }
+        }
+    }
+
+    //Whether the command was turned down right away.
+    private static boolean isRejected(HotspotCommandFuture future) {
+        if (!future.isDone()) {
+            return false;
+        }
+        try {
+            return future.get() == HotspotCommandFuture.RESULT_REJECTED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | CancellationException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.harish.hotspot.base.interfaces;
+
+import java.io.IOException;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Interface providing the cumulative byte counters of each client of the hotspot.
+ *         <p>
+ *         Android has no unprivileged per-station counters, so the source is injected
+ *         (e.g. a reader of iptables accounting rules on rooted or system builds).
+ * @since 17.10.2026.
+ */
+public interface IClientTrafficSource {
+    void readCounters(Sink sink) throws IOException;
+
+    /**
+     * Receives the counters, once per client.
+     */
+    interface Sink {
+        void onCounters(long macAddress, long rxBytes, long txBytes);
+    }
+}
@@ -0,0 +1,17 @@
+package com.harish.hotspot.base.interfaces;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Interface providing the callbacks of a {@link com.harish.hotspot.base.controller.IHotspotBackend},
+ *         mirroring {@link android.net.wifi.WifiManager.LocalOnlyHotspotCallback}.
+ *         The reflection path has no such callbacks and never calls these.
+ * @since 17.10.2026.
+ */
+public interface IHotspotBackendCallback {
+    void onStarted();
+
+    void onStopped();
+
+    void onFailed(int reason);
+}
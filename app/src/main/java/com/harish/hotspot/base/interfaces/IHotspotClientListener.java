@@ -0,0 +1,14 @@
+package com.harish.hotspot.base.interfaces;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Interface providing callbacks for clients joining and leaving the hotspot.
+ *         Addresses are packed into primitives, see {@link com.harish.hotspot.base.clients.ClientAddresses}.
+ * @since 17.10.2026.
+ */
+public interface IHotspotClientListener {
+    void onClientJoined(long macAddress, int ipAddress);
+
+    void onClientLeft(long macAddress);
+}
@@ -0,0 +1,17 @@
+package com.harish.hotspot.base.interfaces;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Interface implemented by the managers to carry out the commands issued through
+ *         {@link com.harish.hotspot.base.command.HotspotCommandExecutor}.
+ *         These methods are always called on the background worker of the executor.
+ * @since 17.10.2026.
+ */
+public interface IHotspotCommandHandler {
+    int getHotspotState();
+
+    void performEnable();
+
+    void performDisable();
+}
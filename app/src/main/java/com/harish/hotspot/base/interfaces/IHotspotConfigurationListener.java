@@ -0,0 +1,14 @@
+package com.harish.hotspot.base.interfaces;
+
+import android.net.wifi.WifiConfiguration;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Interface providing a callback for the configuration the hotspot runs with, every time it is ENABLED.
+ *         The configuration is a copy carrying only the SSID and whether it is hidden, never the passphrase.
+ * @since 17.10.2026.
+ */
+public interface IHotspotConfigurationListener {
+    void onConfigurationChanged(WifiConfiguration configuration);
+}
@@ -0,0 +1,18 @@
+package com.harish.hotspot.base.interfaces;
+
+import java.io.IOException;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Interface of a network service run for the hotspot clients while the hotspot is up,
+ *         see {@link com.harish.hotspot.base.net.HotspotNetworkServices}.
+ * @since 17.10.2026.
+ */
+public interface IHotspotNetworkService {
+    void start() throws IOException;
+
+    void stop();
+
+    boolean isRunning();
+}
@@ -0,0 +1,14 @@
+package com.harish.hotspot.base.interfaces;
+
+import com.harish.hotspot.base.state.HotspotStateSnapshot;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Interface notified of every change of {@link com.harish.hotspot.base.state.HotspotStateMachine}.
+ *         Called synchronously on the thread which changed the state, so implementations must be quick.
+ * @since 17.10.2026.
+ */
+public interface IHotspotStateObserver {
+    void onStateChanged(HotspotStateSnapshot snapshot);
+}
@@ -0,0 +1,14 @@
+package com.harish.hotspot.base.interfaces;
+
+import com.harish.hotspot.base.state.HotspotStateSnapshot;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Interface receiving the state events of a {@link com.harish.hotspot.base.stream.HotspotStatePublisher}
+ *         subscription, one at a time, on the executor chosen when subscribing.
+ * @since 17.10.2026.
+ */
+public interface IHotspotStateSubscriber {
+    void onStateEvent(HotspotStateSnapshot event);
+}
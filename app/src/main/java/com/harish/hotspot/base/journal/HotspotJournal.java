@@ -0,0 +1,204 @@
+package com.harish.hotspot.base.journal;
+
+import android.content.Context;
+
+import com.harish.hotspot.base.command.HotspotCommandExecutor;
+import com.harish.hotspot.base.state.HotspotStates;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Append-only journal of the hotspot state broadcasts, in a memory-mapped ring of fixed-size records
+ *         (see {@link JournalFormat}).
+ *         <p>
+ *         Appending claims a slot with an atomic counter and writes it with plain memory stores:
+ *         no lock, no system call, no allocation, so the receiver is never blocked.
+ *         The kernel writes the pages back, which survives the process being killed.
+ *         Every record carries the command of this app pending at that time, if any, so that
+ *         a hotspot "turning itself off" shows up as a {@link JournalFormat#SOURCE_EXTERNAL} transition.
+ *         Decode a pulled file with HotspotJournalReader, a desktop tool of the benchmarks module.
+ *         <p>
+ *         Opening maps the file, so {@link #getInstance(Context)} belongs on a background thread: the managers
+ *         open it on their worker at start. The main thread only ever uses {@link #peekInstance()}.
+ * @since 17.10.2026.
+ */
+public final class HotspotJournal {
+    private static final String TAG = HotspotJournal.class.getSimpleName();
+
+    //File name, within the files directory of the app.
+    public static final String FILE_NAME = "hotspot_journal.bin";
+
+    //Records kept by default.
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    //Singleton instance.
+    private static HotspotJournal sInstance;
+
+    //The mapping, NULL if the file could not be mapped.
+    private final MappedByteBuffer mBuffer;
+
+    //Number of records in the ring.
+    private final int mCapacity;
+
+    //Last claimed sequence.
+    private final AtomicLong mSequence = new AtomicLong();
+
+    //Command pending, as a source and a backend path. Cleared by a terminal state.
+    private volatile int mPendingSource = JournalFormat.SOURCE_EXTERNAL;
+    private volatile int mPendingBackend = JournalFormat.BACKEND_UNKNOWN;
+
+    /**
+     * Constructor. Maps the file, creating or resetting it if it does not hold a journal of this capacity.
+     *
+     * @param file     The file.
+     * @param capacity The number of records kept.
+     */
+    public HotspotJournal(File file, int capacity) {
+        this.mCapacity = capacity;
+        this.mBuffer = map(file, capacity);
+        if (mBuffer != null) {
+            mSequence.set(findLastSequence());
+        }
+    }
+
+    //Retrieves the singleton instance. The first call creates and maps the file: call it off the main thread.
+    public static synchronized HotspotJournal getInstance(Context context) {
+        if (sInstance == null) {
+            sInstance = new HotspotJournal(
+                    new File(context.getApplicationContext().getFilesDir(), FILE_NAME), DEFAULT_CAPACITY);
+        }
+        return sInstance;
+    }
+
+    /**
+     * Returns the singleton instance without opening it.
+     *
+     * @return the journal, NULL until {@link #getInstance(Context)} was called.
+     */
+    public static synchronized HotspotJournal peekInstance() {
+        return sInstance;
+    }
+
+    /**
+     * Attributes the following transitions to a command, until a terminal state is appended.
+     *
+     * @param target {@link HotspotCommandExecutor#TARGET_ENABLED} or {@link HotspotCommandExecutor#TARGET_DISABLED}.
+     * @param path   The path of the backend, see {@link com.harish.hotspot.base.controller.IHotspotBackend#getPath()}.
+     */
+    public void onCommand(int target, int path) {
+        mPendingBackend = path;
+        mPendingSource = target == HotspotCommandExecutor.TARGET_ENABLED
+                ? JournalFormat.SOURCE_ENABLE_COMMAND : JournalFormat.SOURCE_DISABLE_COMMAND;
+    }
+
+    /**
+     * Appends a transition, as reported by the broadcast.
+     *
+     * @param previousState The previous state.
+     * @param nextState     The new state.
+     * @return the sequence of the record, 0 if the journal is not available.
+     */
+    public long append(int previousState, int nextState) {
+        if (mBuffer == null) {
+            return 0L;
+        }
+        int source = mPendingSource;
+        int backend = mPendingBackend;
+        if (isTerminal(nextState)) {
+            mPendingSource = JournalFormat.SOURCE_EXTERNAL;
+            mPendingBackend = JournalFormat.BACKEND_UNKNOWN;
+        }
+
+        long sequence = mSequence.incrementAndGet();
+        int offset = JournalFormat.HEADER_SIZE + (int) ((sequence - 1) % mCapacity) * JournalFormat.RECORD_SIZE;
+        //Mark the slot as being written, then commit it with the sequence.
+        mBuffer.putLong(offset + JournalFormat.OFFSET_SEQUENCE, 0L);
+        mBuffer.putLong(offset + JournalFormat.OFFSET_TIMESTAMP, System.currentTimeMillis());
+        mBuffer.putInt(offset + JournalFormat.OFFSET_PREVIOUS, previousState);
+        mBuffer.putInt(offset + JournalFormat.OFFSET_NEXT, nextState);
+        mBuffer.putInt(offset + JournalFormat.OFFSET_SOURCE, source);
+        mBuffer.putInt(offset + JournalFormat.OFFSET_BACKEND, backend);
+        mBuffer.putLong(offset + JournalFormat.OFFSET_SEQUENCE, sequence);
+        return sequence;
+    }
+
+    /**
+     * @return the sequence of the last record, 0 if none.
+     */
+    public long getLastSequence() {
+        return mSequence.get();
+    }
+
+    /**
+     * @return TRUE if the file is mapped and records are kept.
+     */
+    public boolean isAvailable() {
+        return mBuffer != null;
+    }
+
+    //A command is over once one of these states is reached.
+    private static boolean isTerminal(int state) {
+        return state == HotspotStates.WIFI_AP_STATE_ENABLED
+                || state == HotspotStates.WIFI_AP_STATE_DISABLED
+                || state == HotspotStates.WIFI_AP_STATE_FAILED;
+    }
+
+    //Resumes the sequence after the records already present.
+    private long findLastSequence() {
+        long last = 0L;
+        for (int i = 0; i < mCapacity; i++) {
+            long sequence = mBuffer.getLong(JournalFormat.HEADER_SIZE + i * JournalFormat.RECORD_SIZE);
+            if (sequence > last) {
+                last = sequence;
+            }
+        }
+        return last;
+    }
+
+    /**
+     * Maps the file, writing a fresh header if it is not a journal of this layout.
+     */
+    private static MappedByteBuffer map(File file, int capacity) {
+        long size = JournalFormat.HEADER_SIZE + (long) capacity * JournalFormat.RECORD_SIZE;
+        RandomAccessFile randomAccessFile = null;
+        try {
+            randomAccessFile = new RandomAccessFile(file, "rw");
+            boolean valid = randomAccessFile.length() == size
+                    && randomAccessFile.readInt() == JournalFormat.MAGIC
+                    && randomAccessFile.readInt() == JournalFormat.VERSION
+                    && randomAccessFile.readInt() == JournalFormat.RECORD_SIZE
+                    && randomAccessFile.readInt() == capacity;
+            if (!valid) {
+                randomAccessFile.setLength(0L);
+                randomAccessFile.setLength(size);
+            }
+            MappedByteBuffer buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0L, size);
+            if (!valid) {
+                buffer.putInt(JournalFormat.OFFSET_MAGIC, JournalFormat.MAGIC);
+                buffer.putInt(JournalFormat.OFFSET_VERSION, JournalFormat.VERSION);
+                buffer.putInt(JournalFormat.OFFSET_RECORD_SIZE, JournalFormat.RECORD_SIZE);
+                buffer.putInt(JournalFormat.OFFSET_CAPACITY, capacity);
+            }
+            //The mapping stays valid once the file is closed.
+            return buffer;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        } finally {
+            if (randomAccessFile != null) {
+                try {
+                    randomAccessFile.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.harish.hotspot.base.journal;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Layout of the journal file, shared by {@link HotspotJournal} and HotspotJournalReader, a desktop tool of the benchmarks module.
+ *         <p>
+ *         A header of {@link #HEADER_SIZE} bytes (magic, version, record size, capacity) is followed by
+ *         a ring of {@link #RECORD_SIZE} byte records, big-endian:
+ *         sequence (long), timestamp (long, milliseconds since epoch), previous state (int), next state (int),
+ *         source (int), backend path (int).
+ *         <p>
+ *         A slot holding sequence 0 is empty or being written; the sequence is always written last.
+ *         Plain Java only, so that the reader builds on a desktop JVM.
+ * @since 17.10.2026.
+ */
+public final class JournalFormat {
+
+    //Header.
+    public static final int MAGIC = 0x48534A52;
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 32;
+    public static final int OFFSET_MAGIC = 0;
+    public static final int OFFSET_VERSION = 4;
+    public static final int OFFSET_RECORD_SIZE = 8;
+    public static final int OFFSET_CAPACITY = 12;
+
+    //Record.
+    public static final int RECORD_SIZE = 32;
+    public static final int OFFSET_SEQUENCE = 0;
+    public static final int OFFSET_TIMESTAMP = 8;
+    public static final int OFFSET_PREVIOUS = 16;
+    public static final int OFFSET_NEXT = 20;
+    public static final int OFFSET_SOURCE = 24;
+    public static final int OFFSET_BACKEND = 28;
+
+    //Sources of a transition.
+    //No command of this app was pending: the user, the system or another app.
+    public static final int SOURCE_EXTERNAL = 0;
+    public static final int SOURCE_ENABLE_COMMAND = 1;
+    public static final int SOURCE_DISABLE_COMMAND = 2;
+
+    //Backend not known.
+    public static final int BACKEND_UNKNOWN = -1;
+
+    private JournalFormat() {
+    }
+}
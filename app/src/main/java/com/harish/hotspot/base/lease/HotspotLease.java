@@ -0,0 +1,57 @@
+package com.harish.hotspot.base.lease;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         A claim of one component on the hotspot, obtained from {@link HotspotLeaseManager#acquire(String)}.
+ *         The hotspot is kept up while any lease is held. Release it once the network is no longer needed.
+ * @since 17.10.2026.
+ */
+public final class HotspotLease {
+    private static final String TAG = HotspotLease.class.getSimpleName();
+
+    //The manager counting the leases.
+    private final HotspotLeaseManager mManager;
+
+    //Who holds the lease, for debugging.
+    private final String mOwner;
+
+    //Guards against releasing the lease more than once.
+    private final AtomicBoolean mReleased = new AtomicBoolean();
+
+    //Constructor.
+    HotspotLease(HotspotLeaseManager manager, String owner) {
+        this.mManager = manager;
+        this.mOwner = owner;
+    }
+
+    public String getOwner() {
+        return mOwner;
+    }
+
+    public boolean isReleased() {
+        return mReleased.get();
+    }
+
+    /**
+     * Releases the lease. The hotspot is stopped once the last lease is released and the linger time has elapsed
+     * without a new lease. Releasing twice has no effect.
+     */
+    public void release() {
+        if (markReleased()) {
+            mManager.onReleased(this, true);
+        }
+    }
+
+    //Marks the lease released, TRUE the first time.
+    boolean markReleased() {
+        return mReleased.compareAndSet(false, true);
+    }
+
+    @Override
+    public String toString() {
+        return TAG + "{" + mOwner + (isReleased() ? ", released}" : "}");
+    }
+}
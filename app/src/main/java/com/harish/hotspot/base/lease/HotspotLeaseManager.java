@@ -0,0 +1,152 @@
+package com.harish.hotspot.base.lease;
+
+import com.harish.hotspot.base.util.HashedWheelTimer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Reference counts the components using the hotspot.
+ *         <p>
+ *         The hotspot is stopped only once the last lease is released and a linger window has elapsed.
+ *         A lease acquired within the window cancels the stop, so the live reservation is reused instead of
+ *         paying the full LocalOnlyHotspot bring-up again. The window runs on the {@link HashedWheelTimer}.
+ *         Starting the hotspot is left to the caller; the command executor skips it when already up.
+ * @since 17.10.2026.
+ */
+public final class HotspotLeaseManager {
+    private static final String TAG = HotspotLeaseManager.class.getSimpleName();
+
+    //Linger by default.
+    public static final long DEFAULT_LINGER_MILLIS = 30000L;
+
+    //Stops the hotspot once the window elapses.
+    private final Runnable mStopAction;
+
+    //Runs the linger window.
+    private final HashedWheelTimer mTimer;
+
+    //Linger window, in nanoseconds. Guarded by this.
+    private long mLingerNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_LINGER_MILLIS);
+
+    //Leases held. Guarded by this.
+    private int mLeaseCount;
+
+    //Pending stop, NULL if none. Guarded by this.
+    private HashedWheelTimer.Timeout mPendingStop;
+
+    //Incremented by every acquire, so that a stop racing with it is dropped. Guarded by this.
+    private long mGeneration;
+
+    /**
+     * Constructor.
+     *
+     * @param stopAction Stops the hotspot; must not block, it runs on the timer thread.
+     * @param timer      The {@link HashedWheelTimer} running the linger window.
+     */
+    public HotspotLeaseManager(Runnable stopAction, HashedWheelTimer timer) {
+        this.mStopAction = stopAction;
+        this.mTimer = timer;
+    }
+
+    /**
+     * Sets how long the hotspot is kept up after the last release.
+     *
+     * @param linger The window, 0 to stop right away.
+     * @param unit   The unit of the window.
+     */
+    public synchronized void setLinger(long linger, TimeUnit unit) {
+        this.mLingerNanos = unit.toNanos(linger);
+    }
+
+    /**
+     * Acquires a lease, cancelling a pending stop.
+     *
+     * @param owner Who holds the lease, for debugging.
+     * @return the {@link HotspotLease}.
+     */
+    public synchronized HotspotLease acquire(String owner) {
+        mLeaseCount++;
+        mGeneration++;
+        if (mPendingStop != null) {
+            mPendingStop.cancel();
+            mPendingStop = null;
+        }
+        return new HotspotLease(this, owner);
+    }
+
+    /**
+     * Releases a lease without lingering, for an explicit stop request, if it is the last one held.
+     * The caller stops the hotspot itself on success. Otherwise the lease is kept, so the request can be
+     * repeated once the other components are done.
+     *
+     * @param lease The {@link HotspotLease}, may be NULL or already released.
+     * @return TRUE if no lease is held any more, FALSE if other leases are held.
+     */
+    public synchronized boolean releaseNow(HotspotLease lease) {
+        boolean held = lease != null && !lease.isReleased();
+        if (mLeaseCount > (held ? 1 : 0)) {
+            return false;
+        }
+        if (held && lease.markReleased()) {
+            onReleased(lease, false);
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of leases held.
+     */
+    public synchronized int getLeaseCount() {
+        return mLeaseCount;
+    }
+
+    /**
+     * @return TRUE while the hotspot is kept up after the last release.
+     */
+    public synchronized boolean isLingering() {
+        return mPendingStop != null;
+    }
+
+    //Counts a release, and schedules the stop after the last one.
+    void onReleased(HotspotLease lease, boolean linger) {
+        synchronized (this) {
+            mLeaseCount--;
+            if (mLeaseCount > 0) {
+                return;
+            }
+            if (mPendingStop != null) {
+                mPendingStop.cancel();
+                mPendingStop = null;
+            }
+            if (!linger) {
+                return;
+            }
+            if (mLingerNanos > 0) {
+                scheduleStop();
+                return;
+            }
+        }
+        //Without linger the hotspot is stopped right away, outside of the lock.
+        mStopAction.run();
+    }
+
+    //Stops the hotspot once the window elapses. Guarded by this.
+    private void scheduleStop() {
+        final long generation = mGeneration;
+        mPendingStop = mTimer.newTimeout(new Runnable() {
+            @Override
+            public void run() {
+                //Stops the hotspot, unless a lease was acquired meanwhile.
+                synchronized (HotspotLeaseManager.this) {
+                    if (generation != mGeneration || mLeaseCount > 0) {
+                        return;
+                    }
+                    mPendingStop = null;
+                }
+                mStopAction.run();
+            }
+        }, mLingerNanos, TimeUnit.NANOSECONDS);
+    }
+}
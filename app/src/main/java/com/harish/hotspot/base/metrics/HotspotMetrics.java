@@ -0,0 +1,239 @@
+package com.harish.hotspot.base.metrics;
+
+import com.harish.hotspot.base.command.HotspotCommandExecutor;
+import com.harish.hotspot.base.controller.IHotspotBackend;
+import com.harish.hotspot.base.interfaces.IHotspotBackendCallback;
+import com.harish.hotspot.base.interfaces.IHotspotStateObserver;
+import com.harish.hotspot.base.state.HotspotStateMachine;
+import com.harish.hotspot.base.state.HotspotStateSnapshot;
+import com.harish.hotspot.base.state.HotspotStates;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Built-in instrumentation of the hotspot transitions.
+ *         <p>
+ *         Every command handed to a backend and every state received is timestamped, and the latencies
+ *         command -> ENABLING -> ENABLED / FAILED (and command -> DISABLED) are recorded into
+ *         {@link LatencyHistogram}s. Failures are counted by the path of the command
+ *         (see {@link IHotspotBackend#getPath()}), whether broadcast as FAILED or reported by the backend
+ *         through {@link #countFailures(int, IHotspotBackendCallback)}, once per command. Everything is lock-free.
+ *         Follows singleton pattern, observing {@link HotspotStateMachine}.
+ * @since 17.10.2026.
+ */
+public final class HotspotMetrics implements IHotspotStateObserver {
+    private static final String TAG = HotspotMetrics.class.getSimpleName();
+
+    //Histograms.
+    public static final int COMMAND_TO_ENABLING = 0;
+    public static final int COMMAND_TO_ENABLED = 1;
+    public static final int ENABLING_TO_ENABLED = 2;
+    public static final int COMMAND_TO_FAILED = 3;
+    public static final int COMMAND_TO_DISABLED = 4;
+
+    //Names of the histograms, indexed by their identifiers.
+    static final String[] HISTOGRAM_NAMES = {
+            "command_to_enabling",
+            "command_to_enabled",
+            "enabling_to_enabled",
+            "command_to_failed",
+            "command_to_disabled"
+    };
+
+    //Names of the paths, indexed by IHotspotBackend.PATH_*.
+    static final String[] PATH_NAMES = {
+            "reflection",
+            "local_only_hotspot",
+            "simulated"
+    };
+
+    //No command pending.
+    private static final long NONE = 0L;
+
+    //Singleton instance.
+    private static HotspotMetrics sInstance;
+
+    //Histograms, indexed by their identifiers.
+    private final LatencyHistogram[] mHistograms = new LatencyHistogram[HISTOGRAM_NAMES.length];
+
+    //Commands and failures, indexed by path.
+    private final AtomicLongArray mCommands = new AtomicLongArray(PATH_NAMES.length);
+    private final AtomicLongArray mFailures = new AtomicLongArray(PATH_NAMES.length);
+
+    //Time of the pending enable and disable commands, in nanoseconds. NONE when not pending.
+    private final AtomicLong mEnableCommandTime = new AtomicLong(NONE);
+    private final AtomicLong mDisableCommandTime = new AtomicLong(NONE);
+
+    //Path of the last enable command.
+    private volatile int mEnablePath = IHotspotBackend.PATH_REFLECTION;
+
+    //Time of the enable command whose failure is not counted yet, in nanoseconds. NONE once counted.
+    private final AtomicLong mUncountedEnableTime = new AtomicLong(NONE);
+
+    //Time ENABLING was received, in nanoseconds. NONE when not enabling.
+    private final AtomicLong mEnablingTime = new AtomicLong(NONE);
+
+    //Constructor.
+    private HotspotMetrics() {
+        for (int i = 0; i < mHistograms.length; i++) {
+            mHistograms[i] = new LatencyHistogram();
+        }
+    }
+
+    //Retrieves the singleton instance, observing the state machine.
+    public static synchronized HotspotMetrics getInstance() {
+        if (sInstance == null) {
+            sInstance = new HotspotMetrics();
+            HotspotStateMachine.getInstance().addObserver(sInstance);
+        }
+        return sInstance;
+    }
+
+    /**
+     * Timestamps a command handed to a backend.
+     *
+     * @param target {@link HotspotCommandExecutor#TARGET_ENABLED} or {@link HotspotCommandExecutor#TARGET_DISABLED}.
+     * @param path   The path of the backend, see {@link IHotspotBackend#getPath()}.
+     */
+    public void onCommand(int target, int path) {
+        long now = nonZeroNanoTime();
+        if (path >= 0 && path < PATH_NAMES.length) {
+            mCommands.incrementAndGet(path);
+        }
+        if (target == HotspotCommandExecutor.TARGET_ENABLED) {
+            mEnablePath = path;
+            mEnableCommandTime.set(now);
+            mUncountedEnableTime.set(now);
+            mDisableCommandTime.set(NONE);
+        } else {
+            mDisableCommandTime.set(now);
+            mEnableCommandTime.set(NONE);
+            mUncountedEnableTime.set(NONE);
+        }
+    }
+
+    /**
+     * Counts a failure reported outside of the state broadcast (e.g. LocalOnlyHotspotCallback#onFailed).
+     * A start also broadcasting FAILED is counted once.
+     *
+     * @param path The path of the backend, see {@link IHotspotBackend#getPath()}.
+     */
+    public void onFailure(int path) {
+        countFailure(path, nonZeroNanoTime());
+    }
+
+    /**
+     * Wraps the callback of a backend, so that the failures it reports are counted by its path.
+     *
+     * @param path     The path of the backend, see {@link IHotspotBackend#getPath()}.
+     * @param delegate The {@link IHotspotBackendCallback} to forward the events to.
+     * @return the {@link IHotspotBackendCallback} to hand to the backend.
+     */
+    public IHotspotBackendCallback countFailures(final int path, final IHotspotBackendCallback delegate) {
+        return new IHotspotBackendCallback() {
+            @Override
+            public void onStarted() {
+                delegate.onStarted();
+            }
+
+            @Override
+            public void onStopped() {
+                delegate.onStopped();
+            }
+
+            @Override
+            public void onFailed(int reason) {
+                onFailure(path);
+                delegate.onFailed(reason);
+            }
+        };
+    }
+
+    @Override
+    public void onStateChanged(HotspotStateSnapshot snapshot) {
+        long now = nonZeroNanoTime();
+        switch (snapshot.getState()) {
+            case HotspotStates.WIFI_AP_STATE_ENABLING:
+                mEnablingTime.set(now);
+                long command = mEnableCommandTime.get();
+                if (command != NONE) {
+                    mHistograms[COMMAND_TO_ENABLING].record((now - command) / 1000L);
+                }
+                break;
+            case HotspotStates.WIFI_AP_STATE_ENABLED:
+                recordSince(mEnableCommandTime, COMMAND_TO_ENABLED, now);
+                recordSince(mEnablingTime, ENABLING_TO_ENABLED, now);
+                break;
+            case HotspotStates.WIFI_AP_STATE_FAILED:
+                countFailure(mEnablePath, now);
+                mEnablingTime.set(NONE);
+                break;
+            case HotspotStates.WIFI_AP_STATE_DISABLED:
+                recordSince(mDisableCommandTime, COMMAND_TO_DISABLED, now);
+                mEnablingTime.set(NONE);
+                break;
+        }
+    }
+
+    /**
+     * @param histogram One of the histogram identifiers.
+     * @return the {@link LatencyHistogram}.
+     */
+    public LatencyHistogram getHistogram(int histogram) {
+        return mHistograms[histogram];
+    }
+
+    /**
+     * @param path The path, see {@link IHotspotBackend#getPath()}.
+     * @return the number of failures of the path.
+     */
+    public long getFailureCount(int path) {
+        return mFailures.get(path);
+    }
+
+    /**
+     * @return a {@link MetricsSnapshot} of all the histograms and counters.
+     */
+    public MetricsSnapshot getSnapshot() {
+        return new MetricsSnapshot(mHistograms, mCommands, mFailures,
+                HotspotStateMachine.getInstance().getIllegalTransitionCount());
+    }
+
+    /**
+     * Clears all the histograms and counters.
+     */
+    public void reset() {
+        for (LatencyHistogram histogram : mHistograms) {
+            histogram.reset();
+        }
+        for (int i = 0; i < PATH_NAMES.length; i++) {
+            mCommands.set(i, 0L);
+            mFailures.set(i, 0L);
+        }
+    }
+
+    //Counts the failure of the pending enable command, once whoever reports it first.
+    private void countFailure(int path, long now) {
+        if (mUncountedEnableTime.getAndSet(NONE) != NONE && path >= 0 && path < PATH_NAMES.length) {
+            mFailures.incrementAndGet(path);
+        }
+        recordSince(mEnableCommandTime, COMMAND_TO_FAILED, now);
+    }
+
+    //Records the time since a start, once, and clears the start.
+    private void recordSince(AtomicLong start, int histogram, long now) {
+        long time = start.getAndSet(NONE);
+        if (time != NONE) {
+            mHistograms[histogram].record((now - time) / 1000L);
+        }
+    }
+
+    //System.nanoTime(), never equal to NONE.
+    private static long nonZeroNanoTime() {
+        long now = System.nanoTime();
+        return now == NONE ? 1L : now;
+    }
+}
@@ -0,0 +1,137 @@
+package com.harish.hotspot.base.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Lock-free latency histogram with log-linear buckets, in the manner of HdrHistogram.
+ *         <p>
+ *         Values are recorded in microseconds. Every power of two is split into {@link #SUB_BUCKETS} linear
+ *         buckets, which bounds the relative error of the percentiles to about 1 / {@link #SUB_BUCKETS}.
+ *         Recording is a couple of atomic increments and never allocates.
+ * @since 17.10.2026.
+ */
+public final class LatencyHistogram {
+    private static final String TAG = LatencyHistogram.class.getSimpleName();
+
+    //Linear buckets per power of two, must be a power of two.
+    public static final int SUB_BUCKETS = 16;
+    private static final int SUB_BUCKET_BITS = 4;
+
+    //Highest power of two tracked, 2^36 microseconds is about 19 hours.
+    private static final int MAX_EXPONENT = 36;
+
+    //Number of buckets.
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    //Counts per bucket.
+    private final AtomicLongArray mCounts = new AtomicLongArray(BUCKETS);
+
+    //Totals.
+    private final AtomicLong mCount = new AtomicLong();
+    private final AtomicLong mSum = new AtomicLong();
+    private final AtomicLong mMax = new AtomicLong();
+
+    /**
+     * Records a latency.
+     *
+     * @param micros The latency in microseconds. Negative values are ignored.
+     */
+    public void record(long micros) {
+        if (micros < 0) {
+            return;
+        }
+        mCounts.incrementAndGet(bucketOf(micros));
+        mCount.incrementAndGet();
+        mSum.addAndGet(micros);
+        long max = mMax.get();
+        while (micros > max && !mMax.compareAndSet(max, micros)) {
+            max = mMax.get();
+        }
+    }
+
+    /**
+     * @return the number of recorded values.
+     */
+    public long getCount() {
+        return mCount.get();
+    }
+
+    /**
+     * @return the highest recorded value, in microseconds.
+     */
+    public long getMax() {
+        return mMax.get();
+    }
+
+    /**
+     * @return the mean of the recorded values, in microseconds.
+     */
+    public double getMean() {
+        long count = mCount.get();
+        return count == 0 ? 0.0 : (double) mSum.get() / count;
+    }
+
+    /**
+     * Computes a percentile. Concurrent recording may be partially visible.
+     *
+     * @param percentile Between 0 and 100.
+     * @return the upper bound of the bucket holding the percentile, in microseconds. 0 if empty.
+     */
+    public long getPercentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += mCounts.get(i);
+        }
+        if (total == 0) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(total * Math.min(100.0, percentile) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += mCounts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), mMax.get());
+            }
+        }
+        return mMax.get();
+    }
+
+    /**
+     * Clears the histogram.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            mCounts.set(i, 0L);
+        }
+        mCount.set(0L);
+        mSum.set(0L);
+        mMax.set(0L);
+    }
+
+    //Finds the bucket of a value.
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    //Highest value falling into a bucket.
+    private static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = bucket % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (1L << exponent) + (subBucket + 1) * width - 1;
+    }
+}
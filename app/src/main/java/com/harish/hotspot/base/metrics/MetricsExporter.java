@@ -0,0 +1,94 @@
+package com.harish.hotspot.base.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.Charset;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Optional exporter serving {@link MetricsSnapshot#toText()} on a loopback socket.
+ *         Every connection receives the current snapshot and is closed, e.g. "adb forward tcp:9100 tcp:9100"
+ *         followed by "nc localhost 9100". Only bound to the loopback interface.
+ * @since 17.10.2026.
+ */
+public final class MetricsExporter {
+    private static final String TAG = MetricsExporter.class.getSimpleName();
+
+    //Exported metrics.
+    private final HotspotMetrics mMetrics;
+
+    //Listening socket, NULL when stopped.
+    private ServerSocket mServerSocket;
+
+    /**
+     * Constructor.
+     *
+     * @param metrics The {@link HotspotMetrics} to export.
+     */
+    public MetricsExporter(HotspotMetrics metrics) {
+        this.mMetrics = metrics;
+    }
+
+    /**
+     * Starts serving on a background thread.
+     *
+     * @param port The port, 0 for any free port.
+     * @return the port actually bound.
+     * @throws IOException when the socket can not be bound.
+     */
+    public synchronized int start(int port) throws IOException {
+        if (mServerSocket == null) {
+            final ServerSocket serverSocket = new ServerSocket(port, 4, InetAddress.getByName("127.0.0.1"));
+            mServerSocket = serverSocket;
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    serve(serverSocket);
+                }
+            }, TAG);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return mServerSocket.getLocalPort();
+    }
+
+    /**
+     * Stops serving.
+     */
+    public synchronized void stop() {
+        if (mServerSocket != null) {
+            try {
+                mServerSocket.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            mServerSocket = null;
+        }
+    }
+
+    //Accepts the connections until the socket is closed.
+    private void serve(ServerSocket serverSocket) {
+        Charset ascii = Charset.forName("US-ASCII");
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                try {
+                    OutputStream out = socket.getOutputStream();
+                    out.write(mMetrics.getSnapshot().toText().getBytes(ascii));
+                    out.flush();
+                } finally {
+                    socket.close();
+                }
+            } catch (IOException e) {
+                //Closed by stop(), or the client went away.
+                if (!serverSocket.isClosed()) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.harish.hotspot.base.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Immutable copy of {@link HotspotMetrics}: percentiles of every histogram, the counters per path
+ *         and the count of the illegal transitions reported by the framework.
+ *         Latencies are in microseconds.
+ * @since 17.10.2026.
+ */
+public final class MetricsSnapshot {
+    private static final String TAG = MetricsSnapshot.class.getSimpleName();
+
+    //Percentiles reported.
+    public static final double[] PERCENTILES = {50.0, 90.0, 99.0};
+
+    //Per histogram.
+    private final long[] mCounts;
+    private final double[] mMeans;
+    private final long[] mMaxima;
+    //Indexed by (histogram * PERCENTILES.length + percentile).
+    private final long[] mPercentiles;
+
+    //Per path.
+    private final long[] mCommands;
+    private final long[] mFailures;
+
+    //Framework reports the state graph did not allow.
+    private final long mIllegalTransitions;
+
+    //Constructor.
+    MetricsSnapshot(LatencyHistogram[] histograms, AtomicLongArray commands, AtomicLongArray failures,
+                    long illegalTransitions) {
+        mCounts = new long[histograms.length];
+        mMeans = new double[histograms.length];
+        mMaxima = new long[histograms.length];
+        mPercentiles = new long[histograms.length * PERCENTILES.length];
+        for (int i = 0; i < histograms.length; i++) {
+            mCounts[i] = histograms[i].getCount();
+            mMeans[i] = histograms[i].getMean();
+            mMaxima[i] = histograms[i].getMax();
+            for (int p = 0; p < PERCENTILES.length; p++) {
+                mPercentiles[i * PERCENTILES.length + p] = histograms[i].getPercentile(PERCENTILES[p]);
+            }
+        }
+        mCommands = new long[commands.length()];
+        mFailures = new long[failures.length()];
+        for (int i = 0; i < mCommands.length; i++) {
+            mCommands[i] = commands.get(i);
+            mFailures[i] = failures.get(i);
+        }
+        mIllegalTransitions = illegalTransitions;
+    }
+
+    public long getCount(int histogram) {
+        return mCounts[histogram];
+    }
+
+    public double getMean(int histogram) {
+        return mMeans[histogram];
+    }
+
+    public long getMax(int histogram) {
+        return mMaxima[histogram];
+    }
+
+    /**
+     * @param histogram  One of the histogram identifiers of {@link HotspotMetrics}.
+     * @param percentile Index into {@link #PERCENTILES}.
+     * @return the percentile, in microseconds.
+     */
+    public long getPercentile(int histogram, int percentile) {
+        return mPercentiles[histogram * PERCENTILES.length + percentile];
+    }
+
+    public long getCommandCount(int path) {
+        return mCommands[path];
+    }
+
+    public long getFailureCount(int path) {
+        return mFailures[path];
+    }
+
+    /**
+     * @return the framework reports the state graph did not allow, see
+     * {@link com.harish.hotspot.base.state.HotspotStateMachine#getIllegalTransitionCount()}.
+     */
+    public long getIllegalTransitionCount() {
+        return mIllegalTransitions;
+    }
+
+    /**
+     * Formats the snapshot as text, one "name{labels} value" line per value.
+     *
+     * @return the text.
+     */
+    public String toText() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < mCounts.length; i++) {
+            String name = "hotspot_" + HotspotMetrics.HISTOGRAM_NAMES[i] + "_micros";
+            for (int p = 0; p < PERCENTILES.length; p++) {
+                text.append(name).append("{quantile=\"").append(PERCENTILES[p] / 100.0).append("\"} ")
+                        .append(getPercentile(i, p)).append('\n');
+            }
+            text.append(name).append("_max ").append(mMaxima[i]).append('\n');
+            text.append(name).append("_count ").append(mCounts[i]).append('\n');
+        }
+        for (int path = 0; path < mCommands.length; path++) {
+            String label = "{path=\"" + HotspotMetrics.PATH_NAMES[path] + "\"} ";
+            text.append("hotspot_commands_total").append(label).append(mCommands[path]).append('\n');
+            text.append("hotspot_failures_total").append(label).append(mFailures[path]).append('\n');
+        }
+        text.append("hotspot_illegal_transitions_total ").append(mIllegalTransitions).append('\n');
+        return text.toString();
+    }
+
+    @Override
+    public String toString() {
+        return toText();
+    }
+}
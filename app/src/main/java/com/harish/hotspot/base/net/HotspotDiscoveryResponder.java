@@ -0,0 +1,345 @@
+package com.harish.hotspot.base.net;
+
+import android.net.wifi.WifiConfiguration;
+import android.net.wifi.WifiManager;
+import android.os.Build;
+
+import com.harish.hotspot.base.interfaces.IHotspotConfigurationListener;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.InterfaceAddress;
+import java.net.NetworkInterface;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Answers the UDP discovery probes of the hotspot clients, so they find the services of the host
+ *         with a single round trip instead of scanning the subnet.
+ *         <p>
+ *         A probe is a datagram starting with {@link #PROBE}, sent to {@link #DEFAULT_PORT} by unicast,
+ *         broadcast or to {@link #DEFAULT_GROUP}. The reply, sent back to the source of the probe, is
+ *         {@link #REPLY} followed by one {@code key=value} line per entry: the SSID and the port of every
+ *         published service. It is encoded once per change of the configuration or of the services, so a
+ *         probe costs a receive and a send. The SSID comes from {@link HotspotNetworkServices}, as a
+ *         configuration listener.
+ *         <p>
+ *         By default it only hears the hotspot clients: it binds to the address of the {@link TetherInterface},
+ *         to its subnet broadcast address, and from Nougat on, when channels support multicast, to the group
+ *         joined on that interface only, holding a {@link WifiManager.MulticastLock} while joined, as the Wi-Fi
+ *         driver may filter the multicast frames otherwise. Probes to the limited broadcast address (255.255.255.255)
+ *         are not heard. Replies are larger than probes, so every source gets at most one per reply interval, keeping
+ *         the responder from amplifying a flood of spoofed probes.
+ *         Register it with {@link HotspotNetworkServices} to run it while the hotspot is ENABLED.
+ * @since 17.10.2026.
+ */
+public final class HotspotDiscoveryResponder extends SelectorLoop implements IHotspotConfigurationListener {
+    private static final String TAG = HotspotDiscoveryResponder.class.getSimpleName();
+
+    //Defaults.
+    public static final int DEFAULT_PORT = 38899;
+    public static final String DEFAULT_GROUP = "239.255.72.83";
+    public static final long DEFAULT_REPLY_INTERVAL_MS = 250L;
+
+    //Start of a probe, and of its reply.
+    public static final String PROBE = "HOTSPOT-DISCOVER";
+    public static final String REPLY = "HOTSPOT-SERVICES";
+
+    //Keeps the reply within a single unfragmented datagram.
+    private static final int MAX_REPLY_BYTES = 1200;
+
+    //Larger probes are truncated, only their start matters.
+    private static final int RECEIVE_BUFFER_BYTES = 512;
+
+    //Sources remembered for the reply interval, the least recent forgotten first.
+    private static final int MAX_SOURCES = 256;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final byte[] PROBE_BYTES = PROBE.getBytes(UTF_8);
+
+    //Address to listen on, NULL for the tether interface.
+    private final InetSocketAddress mAddress;
+    private final int mPort;
+
+    //Shortest time between two replies to a source, in nanoseconds.
+    private volatile long mReplyIntervalNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_REPLY_INTERVAL_MS);
+
+    //Published entries. Guarded by this.
+    private final Map<String, Integer> mServices = new LinkedHashMap<>();
+    private String mSsid;
+
+    //Encoded reply, swapped whole. Its position is moved on the loop thread only.
+    private volatile ByteBuffer mReply;
+
+    //Loop thread only.
+    private final ByteBuffer mProbe = ByteBuffer.allocateDirect(RECEIVE_BUFFER_BYTES);
+
+    //Time of the last reply to each source, in access order. Loop thread only.
+    private final LinkedHashMap<InetAddress, Long> mLastReplies = new LinkedHashMap<>(16, 0.75f, true);
+
+    //Channel bound to the unicast address, sending all the replies. NULL while stopped.
+    private volatile DatagramChannel mChannel;
+
+    //Held while the group is joined, NULL without a group. Not reference counted.
+    private final WifiManager.MulticastLock mMulticastLock;
+
+    /**
+     * Constructor, listening on the {@link TetherInterface} on {@link #DEFAULT_PORT}.
+     * Needs the CHANGE_WIFI_MULTICAST_STATE permission, for the group.
+     *
+     * @param wifiManager The {@link WifiManager} instance, creating the multicast lock.
+     */
+    public HotspotDiscoveryResponder(WifiManager wifiManager) {
+        super(TAG);
+        this.mAddress = null;
+        this.mPort = DEFAULT_PORT;
+        this.mMulticastLock = wifiManager.createMulticastLock(TAG);
+        this.mMulticastLock.setReferenceCounted(false);
+        regenerate();
+    }
+
+    /**
+     * Constructor, listening on the given address only, without joining the group.
+     *
+     * @param address The address to listen on, port 0 for any free port.
+     */
+    public HotspotDiscoveryResponder(InetSocketAddress address) {
+        super(TAG);
+        this.mAddress = address;
+        this.mPort = address.getPort();
+        this.mMulticastLock = null;
+        regenerate();
+    }
+
+    /**
+     * Sets the shortest time between two replies to the same source, applied to the next probes.
+     *
+     * @param interval The interval, 0 to answer every probe.
+     * @param unit     The unit of the interval.
+     */
+    public void setReplyInterval(long interval, TimeUnit unit) {
+        if (interval < 0) {
+            throw new IllegalArgumentException("Invalid interval: " + interval);
+        }
+        this.mReplyIntervalNanos = unit.toNanos(interval);
+    }
+
+    /**
+     * Publishes the SSID of the hotspot, unless hidden. The passphrase is never published.
+     *
+     * @param configuration The configuration, NULL if unknown.
+     */
+    public synchronized void setConfiguration(WifiConfiguration configuration) {
+        mSsid = configuration == null || configuration.hiddenSSID ? null : configuration.SSID;
+        regenerate();
+    }
+
+    @Override
+    public void onConfigurationChanged(WifiConfiguration configuration) {
+        setConfiguration(configuration);
+    }
+
+    /**
+     * Publishes a service, replacing the previous one of the same name.
+     *
+     * @param name The name, without '=' or line breaks, e.g. "status".
+     * @param port The port.
+     */
+    public void setService(String name, int port) {
+        if (name.isEmpty() || name.indexOf('=') >= 0 || name.indexOf('\n') >= 0) {
+            throw new IllegalArgumentException("Invalid name: " + name);
+        }
+        synchronized (this) {
+            Integer previous = mServices.put(name, port);
+            try {
+                regenerate();
+            } catch (IllegalStateException e) {
+                if (previous == null) {
+                    mServices.remove(name);
+                } else {
+                    mServices.put(name, previous);
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Stops publishing a service.
+     *
+     * @param name The name.
+     */
+    public synchronized void removeService(String name) {
+        if (mServices.remove(name) != null) {
+            regenerate();
+        }
+    }
+
+    /**
+     * @return the published services, by name.
+     */
+    public synchronized Map<String, Integer> getServices() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(mServices));
+    }
+
+    /**
+     * @return the port listened on, -1 while stopped.
+     */
+    public int getLocalPort() {
+        DatagramChannel channel = mChannel;
+        return channel == null ? -1 : channel.socket().getLocalPort();
+    }
+
+    @Override
+    protected void onStart(Selector selector) throws IOException {
+        mLastReplies.clear();
+        if (mAddress != null) {
+            mChannel = open(selector, mAddress);
+            return;
+        }
+        InterfaceAddress tether = TetherInterface.await(TetherInterface.DEFAULT_TIMEOUT_MS);
+        DatagramChannel channel = open(selector, new InetSocketAddress(tether.getAddress(), mPort));
+        int port = channel.socket().getLocalPort();
+        if (tether.getBroadcast() != null) {
+            open(selector, new InetSocketAddress(tether.getBroadcast(), port));
+        }
+        //Last, as nothing can fail after it: onStop() is not called when starting fails.
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N && joinGroup(selector, tether, port)) {
+            mMulticastLock.acquire();
+        }
+        mChannel = channel;
+    }
+
+    @Override
+    protected void onSelected(SelectionKey key) throws IOException {
+        DatagramChannel channel = (DatagramChannel) key.channel();
+        InetSocketAddress source;
+        //Answer every pending probe, from the unicast address.
+        while ((source = (InetSocketAddress) channel.receive(mProbe)) != null) {
+            mProbe.flip();
+            if (isProbe(mProbe) && mayReply(source.getAddress())) {
+                ByteBuffer reply = mReply;
+                reply.rewind();
+                //Dropped if the send buffer is full or the send fails, the client probes again.
+                try {
+                    mChannel.send(reply, source);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+            mProbe.clear();
+        }
+    }
+
+    @Override
+    protected void onStop() {
+        mChannel = null;
+        mLastReplies.clear();
+        if (mMulticastLock != null) {
+            mMulticastLock.release();
+        }
+    }
+
+    //Whether the source got no reply within the interval, counting this one if so.
+    private boolean mayReply(InetAddress source) {
+        long interval = mReplyIntervalNanos;
+        if (interval == 0L) {
+            return true;
+        }
+        long now = System.nanoTime();
+        Long last = mLastReplies.get(source);
+        if (last != null && now - last < interval) {
+            return false;
+        }
+        if (last == null && mLastReplies.size() >= MAX_SOURCES) {
+            Iterator<InetAddress> iterator = mLastReplies.keySet().iterator();
+            iterator.next();
+            iterator.remove();
+        }
+        mLastReplies.put(source, now);
+        return true;
+    }
+
+    //Opens a channel bound to the address, reading probes.
+    private static DatagramChannel open(Selector selector, InetSocketAddress address) throws IOException {
+        DatagramChannel channel = DatagramChannel.open();
+        try {
+            channel.configureBlocking(false);
+            channel.socket().setReuseAddress(true);
+            channel.socket().setBroadcast(true);
+            channel.socket().bind(address);
+            channel.register(selector, SelectionKey.OP_READ);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return channel;
+    }
+
+    //Binds a channel to the group, joined on the tether interface only. Unicast and broadcast work without.
+    //Returns whether the group was joined.
+    private static boolean joinGroup(Selector selector, InterfaceAddress tether, int port) {
+        DatagramChannel channel = null;
+        try {
+            InetAddress group = InetAddress.getByName(DEFAULT_GROUP);
+            NetworkInterface networkInterface = NetworkInterface.getByInetAddress(tether.getAddress());
+            if (networkInterface == null || !networkInterface.supportsMulticast()) {
+                return false;
+            }
+            channel = open(selector, new InetSocketAddress(group, port));
+            channel.join(group, networkInterface);
+            return true;
+        } catch (IOException | UnsupportedOperationException | IllegalArgumentException e) {
+            e.printStackTrace();
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                }
+            }
+            return false;
+        }
+    }
+
+    //Whether the datagram, in read mode, starts with the probe.
+    private static boolean isProbe(ByteBuffer datagram) {
+        if (datagram.remaining() < PROBE_BYTES.length) {
+            return false;
+        }
+        for (int i = 0; i < PROBE_BYTES.length; i++) {
+            if (datagram.get(i) != PROBE_BYTES[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //Encodes the reply, then swaps it in. Holding this, so the swaps keep the order of the changes.
+    private synchronized void regenerate() {
+        StringBuilder builder = new StringBuilder(REPLY).append('\n');
+        if (mSsid != null) {
+            builder.append("ssid=").append(mSsid.replace('\n', ' ')).append('\n');
+        }
+        for (Map.Entry<String, Integer> service : mServices.entrySet()) {
+            builder.append(service.getKey()).append('=').append(service.getValue()).append('\n');
+        }
+        byte[] bytes = builder.toString().getBytes(UTF_8);
+        if (bytes.length > MAX_REPLY_BYTES) {
+            throw new IllegalStateException("Descriptor too large: " + bytes.length + " bytes");
+        }
+        ByteBuffer reply = ByteBuffer.allocateDirect(bytes.length);
+        reply.put(bytes).flip();
+        mReply = reply;
+    }
+}
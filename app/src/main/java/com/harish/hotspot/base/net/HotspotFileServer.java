@@ -0,0 +1,325 @@
+package com.harish.hotspot.base.net;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         HTTP/1.1 server sharing the files of a directory with the hotspot clients.
+ *         <p>
+ *         File bodies go out with {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)},
+ *         so the kernel copies them to the socket without passing through the Java heap. Single byte ranges
+ *         ({@code Range: bytes=a-b}, {@code a-}, {@code -n}) are served as 206, so the clients can resume,
+ *         and {@code If-Range} falls back to the whole file once it changed. Connections are kept alive.
+ *         Every writable connection gets one chunk per round, so a fast client does not starve the others.
+ *         <p>
+ *         Register it with {@link HotspotNetworkServices} to run it while the hotspot is ENABLED.
+ * @since 17.10.2026.
+ */
+public final class HotspotFileServer extends TcpServer {
+    private static final String TAG = HotspotFileServer.class.getSimpleName();
+
+    //Default port.
+    public static final int DEFAULT_PORT = 8080;
+
+    //Largest transfer of a connection per round.
+    private static final long TRANSFER_CHUNK = 1024L * 1024L;
+
+    private static final Charset US_ASCII = Charset.forName("US-ASCII");
+
+    //Sent to the connections over the limit.
+    private static final byte[] SERVICE_UNAVAILABLE = ("HTTP/1.1 503 Service Unavailable\r\n"
+            + "Retry-After: 1\r\nContent-Length: 0\r\nConnection: close\r\n\r\n").getBytes(US_ASCII);
+
+    //Returned by parseRange() for a range outside of the file.
+    private static final long[] UNSATISFIABLE = new long[0];
+
+    //Canonical root, files outside are never served.
+    private final File mRoot;
+    private final String mRootPrefix;
+
+    //Formats Last-Modified. Loop thread only.
+    private final SimpleDateFormat mDateFormat = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US);
+
+    //State of a connection.
+    private static final class Exchange {
+        //Read buffer, in write mode.
+        private final ByteBuffer mRequest = ByteBuffer.allocate(HttpRequest.MAX_HEAD_BYTES);
+
+        //Head of the response being written, NULL while waiting for a request.
+        private ByteBuffer mHead;
+
+        //Body of the response being written, NULL if none.
+        private FileChannel mFile;
+        private long mPosition;
+        private long mRemaining;
+
+        //Whether to read the next request once the response is written.
+        private boolean mKeepAlive;
+
+        private void closeFile() {
+            if (mFile != null) {
+                try {
+                    mFile.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+                mFile = null;
+            }
+        }
+    }
+
+    /**
+     * Constructor, listening on the {@link TetherInterface} on {@link #DEFAULT_PORT}, so only the hotspot
+     * clients reach the files.
+     *
+     * @param root The directory shared.
+     */
+    public HotspotFileServer(File root) throws IOException {
+        super(TAG, DEFAULT_PORT);
+        this.mRoot = root.getCanonicalFile();
+        this.mRootPrefix = mRoot.getPath() + File.separator;
+        mDateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param root    The directory shared.
+     * @param address The address to listen on, e.g. loopback for benchmarks.
+     */
+    public HotspotFileServer(File root, InetSocketAddress address) throws IOException {
+        super(TAG, address);
+        this.mRoot = root.getCanonicalFile();
+        this.mRootPrefix = mRoot.getPath() + File.separator;
+        mDateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
+    }
+
+    @Override
+    protected void onAccepted(SelectionKey key) {
+        key.attach(new Exchange());
+    }
+
+    @Override
+    protected void onRejected(SocketChannel channel) throws IOException {
+        //Best effort, a fresh socket buffer always takes it.
+        channel.write(ByteBuffer.wrap(SERVICE_UNAVAILABLE));
+    }
+
+    @Override
+    protected void onDisconnected(SelectionKey key) {
+        Exchange exchange = (Exchange) key.attachment();
+        if (exchange != null) {
+            exchange.closeFile();
+        }
+    }
+
+    @Override
+    protected void onReadable(SelectionKey key) throws IOException {
+        Exchange exchange = (Exchange) key.attachment();
+        if (((SocketChannel) key.channel()).read(exchange.mRequest) < 0) {
+            close(key);
+            return;
+        }
+        handleRequest(key, exchange);
+    }
+
+    @Override
+    protected void onWritable(SelectionKey key) throws IOException {
+        Exchange exchange = (Exchange) key.attachment();
+        SocketChannel channel = (SocketChannel) key.channel();
+        if (exchange.mHead.hasRemaining()) {
+            channel.write(exchange.mHead);
+            if (exchange.mHead.hasRemaining()) {
+                return;
+            }
+        }
+        if (exchange.mRemaining > 0) {
+            long written = exchange.mFile.transferTo(exchange.mPosition,
+                    Math.min(exchange.mRemaining, TRANSFER_CHUNK), channel);
+            exchange.mPosition += written;
+            exchange.mRemaining -= written;
+            if (exchange.mRemaining > 0) {
+                return;
+            }
+        }
+
+        //Response complete.
+        exchange.closeFile();
+        exchange.mHead = null;
+        if (!exchange.mKeepAlive) {
+            close(key);
+            return;
+        }
+        key.interestOps(SelectionKey.OP_READ);
+        //A pipelined request may already be buffered.
+        if (exchange.mRequest.position() > 0) {
+            handleRequest(key, exchange);
+        }
+    }
+
+    //Parses the buffered request, if complete, and starts the response.
+    private void handleRequest(SelectionKey key, Exchange exchange) throws IOException {
+        ByteBuffer buffer = exchange.mRequest;
+        buffer.flip();
+        HttpRequest request;
+        try {
+            request = HttpRequest.parse(buffer);
+        } catch (ProtocolException e) {
+            buffer.clear();
+            respondError(key, exchange, "400 Bad Request");
+            return;
+        }
+        boolean full = buffer.limit() == buffer.capacity();
+        buffer.compact();
+        if (request == null) {
+            if (full) {
+                respondError(key, exchange, "431 Request Header Fields Too Large");
+            }
+            return;
+        }
+        respond(key, exchange, request);
+    }
+
+    //Prepares the response to the request and starts writing it.
+    private void respond(SelectionKey key, Exchange exchange, HttpRequest request) throws IOException {
+        boolean head = request.getMethod().equals("HEAD");
+        if (!head && !request.getMethod().equals("GET")) {
+            respondError(key, exchange, "405 Method Not Allowed");
+            return;
+        }
+        File file = resolve(request.getPath());
+        FileChannel fileChannel = null;
+        if (file != null) {
+            try {
+                fileChannel = new FileInputStream(file).getChannel();
+            } catch (IOException e) {
+                fileChannel = null;
+            }
+        }
+        if (fileChannel == null) {
+            respondError(key, exchange, "404 Not Found");
+            return;
+        }
+
+        long length = fileChannel.size();
+        String lastModified = mDateFormat.format(new Date(file.lastModified()));
+        String ifRange = request.getHeader("if-range");
+        long[] range = ifRange == null || ifRange.equals(lastModified)
+                ? parseRange(request.getHeader("range"), length) : null;
+        if (range == UNSATISFIABLE) {
+            fileChannel.close();
+            exchange.mKeepAlive = request.isKeepAlive();
+            startResponse(key, exchange, "HTTP/1.1 416 Range Not Satisfiable\r\n"
+                    + "Content-Range: bytes */" + length + "\r\n"
+                    + "Content-Length: 0\r\n"
+                    + connectionHeader(exchange.mKeepAlive) + "\r\n", null, 0, 0);
+            return;
+        }
+
+        long start = range == null ? 0 : range[0];
+        long count = range == null ? length : range[1] - range[0] + 1;
+        StringBuilder builder = new StringBuilder(256);
+        builder.append(range == null ? "HTTP/1.1 200 OK\r\n" : "HTTP/1.1 206 Partial Content\r\n");
+        builder.append("Content-Type: application/octet-stream\r\n");
+        builder.append("Content-Length: ").append(count).append("\r\n");
+        if (range != null) {
+            builder.append("Content-Range: bytes ").append(range[0]).append('-').append(range[1])
+                    .append('/').append(length).append("\r\n");
+        }
+        builder.append("Accept-Ranges: bytes\r\n");
+        builder.append("Last-Modified: ").append(lastModified).append("\r\n");
+        exchange.mKeepAlive = request.isKeepAlive();
+        builder.append(connectionHeader(exchange.mKeepAlive)).append("\r\n");
+        if (head) {
+            fileChannel.close();
+            startResponse(key, exchange, builder.toString(), null, 0, 0);
+        } else {
+            startResponse(key, exchange, builder.toString(), fileChannel, start, count);
+        }
+    }
+
+    //Answers with an error and closes the connection.
+    private void respondError(SelectionKey key, Exchange exchange, String status) throws IOException {
+        exchange.mKeepAlive = false;
+        startResponse(key, exchange, "HTTP/1.1 " + status + "\r\nContent-Length: 0\r\n"
+                + connectionHeader(false) + "\r\n", null, 0, 0);
+    }
+
+    //Switches the connection to writing, and writes what the socket takes right away.
+    private void startResponse(SelectionKey key, Exchange exchange, String head,
+                               FileChannel file, long position, long count) throws IOException {
+        exchange.mHead = ByteBuffer.wrap(head.getBytes(US_ASCII));
+        exchange.mFile = file;
+        exchange.mPosition = position;
+        exchange.mRemaining = count;
+        key.interestOps(SelectionKey.OP_WRITE);
+        onWritable(key);
+    }
+
+    private static String connectionHeader(boolean keepAlive) {
+        return keepAlive ? "Connection: keep-alive\r\n" : "Connection: close\r\n";
+    }
+
+    //Maps the path to a regular file under the root, NULL if there is none.
+    private File resolve(String path) throws IOException {
+        File file = new File(mRoot, path).getCanonicalFile();
+        if (!file.getPath().startsWith(mRootPrefix) || !file.isFile()) {
+            return null;
+        }
+        return file;
+    }
+
+    /**
+     * Parses a single byte range.
+     *
+     * @param header The Range header, may be NULL.
+     * @param length The length of the file.
+     * @return the first and last byte, NULL to send the whole file, or {@link #UNSATISFIABLE}.
+     */
+    static long[] parseRange(String header, long length) {
+        //Multiple ranges are not supported, the whole file is sent instead, as allowed.
+        if (header == null || !header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            if (dash == 0) {
+                //Suffix: the last n bytes.
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix <= 0 || length == 0) {
+                    return UNSATISFIABLE;
+                }
+                return new long[]{Math.max(0, length - suffix), length - 1};
+            }
+            long first = Long.parseLong(spec.substring(0, dash));
+            long last = dash == spec.length() - 1 ? length - 1 : Long.parseLong(spec.substring(dash + 1));
+            if (first >= length) {
+                return UNSATISFIABLE;
+            }
+            if (last < first) {
+                return null;
+            }
+            return new long[]{first, Math.min(last, length - 1)};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.harish.hotspot.base.net;
+
+import android.net.wifi.WifiConfiguration;
+
+import com.harish.hotspot.base.controller.HotspotHelper;
+import com.harish.hotspot.base.interfaces.IHotspotConfigurationListener;
+import com.harish.hotspot.base.interfaces.IHotspotNetworkService;
+import com.harish.hotspot.base.interfaces.IHotspotStateObserver;
+import com.harish.hotspot.base.state.HotspotStateMachine;
+import com.harish.hotspot.base.state.HotspotStateSnapshot;
+import com.harish.hotspot.base.state.HotspotStates;
+
+import java.io.IOException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Starts the registered {@link IHotspotNetworkService}s when the hotspot is ENABLED,
+ *         and stops them as soon as it goes DISABLING, DISABLED or FAILED.
+ *         <p>
+ *         Starting and stopping run in order on a single background worker, so the state observer
+ *         (called on the broadcast thread) never opens or closes sockets itself.
+ *         The services which are also {@link IHotspotConfigurationListener}s get the configuration the hotspot
+ *         runs with, e.g. to publish the SSID, as soon as they are registered and every time it is ENABLED.
+ *         Follows singleton pattern, observing {@link HotspotStateMachine} and the configuration of
+ *         {@link HotspotHelper}.
+ * @since 17.10.2026.
+ */
+public final class HotspotNetworkServices implements IHotspotStateObserver, IHotspotConfigurationListener {
+    private static final String TAG = HotspotNetworkServices.class.getSimpleName();
+
+    //Singleton instance.
+    private static HotspotNetworkServices sInstance;
+
+    //Registered services.
+    private final CopyOnWriteArrayList<IHotspotNetworkService> mServices = new CopyOnWriteArrayList<>();
+
+    //Starts and stops the services, in order.
+    private final ExecutorService mWorker = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, TAG);
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    //Source of the state.
+    private final HotspotStateMachine mStateMachine;
+
+    //Last configuration the hotspot ran with, NULL if unknown.
+    private volatile WifiConfiguration mConfiguration;
+
+    /**
+     * Constructor.
+     *
+     * @param stateMachine The {@link HotspotStateMachine} the services follow.
+     */
+    public HotspotNetworkServices(HotspotStateMachine stateMachine) {
+        this.mStateMachine = stateMachine;
+    }
+
+    //Retrieves the singleton instance, observing the shared state machine.
+    public static synchronized HotspotNetworkServices getInstance() {
+        if (sInstance == null) {
+            sInstance = new HotspotNetworkServices(HotspotStateMachine.getInstance());
+            HotspotStateMachine.getInstance().addObserver(sInstance);
+            HotspotHelper.addConfigurationListener(sInstance);
+        }
+        return sInstance;
+    }
+
+    /**
+     * Registers a service, started right away if the hotspot is already up.
+     *
+     * @param service The {@link IHotspotNetworkService}.
+     */
+    public void add(IHotspotNetworkService service) {
+        if (!mServices.addIfAbsent(service)) {
+            return;
+        }
+        WifiConfiguration configuration = mConfiguration;
+        if (configuration != null && service instanceof IHotspotConfigurationListener) {
+            ((IHotspotConfigurationListener) service).onConfigurationChanged(configuration);
+        }
+        if (mStateMachine.getState() == HotspotStates.WIFI_AP_STATE_ENABLED) {
+            startLater(service);
+        }
+    }
+
+    /**
+     * Unregisters a service, stopping it.
+     *
+     * @param service The {@link IHotspotNetworkService}.
+     */
+    public void remove(IHotspotNetworkService service) {
+        if (mServices.remove(service)) {
+            stopLater(service);
+        }
+    }
+
+    @Override
+    public void onStateChanged(HotspotStateSnapshot snapshot) {
+        switch (snapshot.getState()) {
+            case HotspotStates.WIFI_AP_STATE_ENABLED:
+                for (IHotspotNetworkService service : mServices) {
+                    startLater(service);
+                }
+                break;
+            case HotspotStates.WIFI_AP_STATE_DISABLING:
+            case HotspotStates.WIFI_AP_STATE_DISABLED:
+            case HotspotStates.WIFI_AP_STATE_FAILED:
+                for (IHotspotNetworkService service : mServices) {
+                    stopLater(service);
+                }
+                break;
+        }
+    }
+
+    @Override
+    public void onConfigurationChanged(WifiConfiguration configuration) {
+        mConfiguration = configuration;
+        for (IHotspotNetworkService service : mServices) {
+            if (service instanceof IHotspotConfigurationListener) {
+                ((IHotspotConfigurationListener) service).onConfigurationChanged(configuration);
+            }
+        }
+    }
+
+    private void startLater(final IHotspotNetworkService service) {
+        mWorker.execute(new Runnable() {
+            @Override
+            public void run() {
+                //Skip if unregistered or the hotspot went down meanwhile.
+                if (service.isRunning() || !mServices.contains(service)
+                        || mStateMachine.getState() != HotspotStates.WIFI_AP_STATE_ENABLED) {
+                    return;
+                }
+                try {
+                    service.start();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        });
+    }
+
+    private void stopLater(final IHotspotNetworkService service) {
+        mWorker.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (service.isRunning()) {
+                    service.stop();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,584 @@
+package com.harish.hotspot.base.net;
+
+import java.io.IOException;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         SOCKS5 (RFC 1928, CONNECT without authentication) relay shaping the traffic of the hotspot clients.
+ *         <p>
+ *         Every client, identified by its address, gets a {@link TokenBucket} shared by all its connections
+ *         and both directions, so a single heavy downloader is held to its rate while the others keep theirs.
+ *         A connection out of tokens stops reading until its bucket refills. Every ready connection relays at
+ *         most one buffer per round, so the clients are served in turn. Each tunnel holds two pooled direct
+ *         buffers and a few fields, nothing else.
+ *         <p>
+ *         Host names are resolved on a small background pool, everything else runs on the selector thread.
+ *         Destinations on the device itself (loopback, or any address of its interfaces) are refused, see
+ *         {@link #setAllowLocalDestinations(boolean)}. There is no authentication, so by default it listens on
+ *         the {@link TetherInterface} only. Register it with {@link HotspotNetworkServices} to run it while the
+ *         hotspot is ENABLED.
+ * @since 17.10.2026.
+ */
+public final class HotspotRelay extends TcpServer {
+    private static final String TAG = HotspotRelay.class.getSimpleName();
+
+    //Defaults.
+    public static final int DEFAULT_PORT = 1080;
+    public static final long DEFAULT_CLIENT_RATE = 2L * 1024L * 1024L;
+    public static final long DEFAULT_CLIENT_BURST = 256L * 1024L;
+    public static final int DEFAULT_MAX_TUNNELS = 256;
+
+    //Size of each of the two buffers of a tunnel.
+    private static final int BUFFER_BYTES = 16 * 1024;
+
+    //Wait of a throttled tunnel between two refills.
+    private static final long THROTTLE_TICK_MILLIS = 5L;
+
+    //Threads resolving the host names.
+    private static final int RESOLVER_THREADS = 2;
+
+    //Phases of a tunnel.
+    private static final int PHASE_GREETING = 0;
+    private static final int PHASE_REQUEST = 1;
+    private static final int PHASE_CONNECTING = 2;
+    private static final int PHASE_RELAYING = 3;
+
+    //SOCKS5 constants.
+    private static final int VERSION = 5;
+    private static final int METHOD_NO_AUTHENTICATION = 0;
+    private static final int METHOD_NONE_ACCEPTABLE = 0xFF;
+    private static final int COMMAND_CONNECT = 1;
+    private static final int ADDRESS_IPV4 = 1;
+    private static final int ADDRESS_DOMAIN = 3;
+    private static final int ADDRESS_IPV6 = 4;
+    private static final int REPLY_SUCCEEDED = 0;
+    private static final int REPLY_NOT_ALLOWED = 2;
+    private static final int REPLY_HOST_UNREACHABLE = 4;
+    private static final int REPLY_CONNECTION_REFUSED = 5;
+    private static final int REPLY_COMMAND_NOT_SUPPORTED = 7;
+    private static final int REPLY_ADDRESS_NOT_SUPPORTED = 8;
+
+    //Rate limit of each client, applied to the clients connecting afterwards.
+    private volatile long mClientRate = DEFAULT_CLIENT_RATE;
+    private volatile long mClientBurst = DEFAULT_CLIENT_BURST;
+
+    //Whether the clients may reach the services of the device itself.
+    private volatile boolean mAllowLocalDestinations;
+
+    //Loop thread only.
+    private final Map<InetAddress, TokenBucket> mBuckets = new HashMap<>();
+    private final List<Tunnel> mThrottled = new ArrayList<>();
+    private final ArrayDeque<ByteBuffer> mBufferPool = new ArrayDeque<>();
+
+    //Resolves the host names, NULL while stopped.
+    private ExecutorService mResolver;
+
+    //A client connection and its upstream connection.
+    private static final class Tunnel {
+        private final TokenBucket mBucket;
+        private final SelectionKey mClientKey;
+        private SelectionKey mUpstreamKey;
+
+        //Write mode: pending bytes are between 0 and the position.
+        private final ByteBuffer mToUpstream;
+        private final ByteBuffer mToClient;
+
+        private int mPhase = PHASE_GREETING;
+
+        //Destination of the request, a host name or an address.
+        private String mHost;
+        private InetSocketAddress mDestination;
+        private boolean mClientEof;
+        private boolean mUpstreamEof;
+        private boolean mUpstreamShut;
+        private boolean mClientShut;
+        private boolean mThrottled;
+        private boolean mClosed;
+
+        private Tunnel(TokenBucket bucket, SelectionKey clientKey, ByteBuffer toUpstream, ByteBuffer toClient) {
+            this.mBucket = bucket;
+            this.mClientKey = clientKey;
+            this.mToUpstream = toUpstream;
+            this.mToClient = toClient;
+        }
+    }
+
+    /**
+     * Constructor, listening on the {@link TetherInterface} on {@link #DEFAULT_PORT}.
+     */
+    public HotspotRelay() {
+        super(TAG, DEFAULT_PORT);
+        setMaxConnections(DEFAULT_MAX_TUNNELS);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param address The address to listen on.
+     */
+    public HotspotRelay(InetSocketAddress address) {
+        super(TAG, address);
+        setMaxConnections(DEFAULT_MAX_TUNNELS);
+    }
+
+    /**
+     * Sets the rate limit of every client, applied to the clients connecting afterwards.
+     *
+     * @param bytesPerSecond The sustained rate.
+     * @param burstBytes     The burst, at least one buffer is advised.
+     */
+    public void setClientRate(long bytesPerSecond, long burstBytes) {
+        if (bytesPerSecond <= 0 || burstBytes <= 0) {
+            throw new IllegalArgumentException("Invalid rate: " + bytesPerSecond + "/" + burstBytes);
+        }
+        this.mClientRate = bytesPerSecond;
+        this.mClientBurst = burstBytes;
+    }
+
+    /**
+     * Sets whether the clients may connect to the addresses of the device, denied by default.
+     * Meant for tests and benchmarks, the relay would otherwise expose every local service.
+     *
+     * @param allow TRUE to allow.
+     */
+    public void setAllowLocalDestinations(boolean allow) {
+        this.mAllowLocalDestinations = allow;
+    }
+
+    @Override
+    protected void onStart(Selector selector) throws IOException {
+        super.onStart(selector);
+        mResolver = Executors.newFixedThreadPool(RESOLVER_THREADS, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, TAG + "-resolver");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    @Override
+    protected void onStop() {
+        mResolver.shutdownNow();
+        mResolver = null;
+        mBuckets.clear();
+        mThrottled.clear();
+        mBufferPool.clear();
+    }
+
+    @Override
+    protected long getSelectTimeout() {
+        return mThrottled.isEmpty() ? 0L : THROTTLE_TICK_MILLIS;
+    }
+
+    @Override
+    protected void onLoop() throws IOException {
+        if (mThrottled.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        Iterator<Tunnel> iterator = mThrottled.iterator();
+        while (iterator.hasNext()) {
+            Tunnel tunnel = iterator.next();
+            if (tunnel.mBucket.available(now) > 0) {
+                iterator.remove();
+                tunnel.mThrottled = false;
+                updateInterest(tunnel);
+            }
+        }
+    }
+
+    @Override
+    protected void onAccepted(SelectionKey key) {
+        InetAddress address = ((SocketChannel) key.channel()).socket().getInetAddress();
+        TokenBucket bucket = mBuckets.get(address);
+        if (bucket == null) {
+            bucket = new TokenBucket(mClientRate, mClientBurst, System.nanoTime());
+            mBuckets.put(address, bucket);
+        }
+        bucket.mTunnelCount++;
+        key.attach(new Tunnel(bucket, key, takeBuffer(), takeBuffer()));
+    }
+
+    @Override
+    protected void onDisconnected(SelectionKey key) {
+        Tunnel tunnel = (Tunnel) key.attachment();
+        if (tunnel == null || tunnel.mClosed) {
+            return;
+        }
+        tunnel.mClosed = true;
+        close(tunnel.mClientKey);
+        if (tunnel.mUpstreamKey != null) {
+            close(tunnel.mUpstreamKey);
+        }
+        if (tunnel.mThrottled) {
+            mThrottled.remove(tunnel);
+        }
+        releaseBuffer(tunnel.mToUpstream);
+        releaseBuffer(tunnel.mToClient);
+        if (--tunnel.mBucket.mTunnelCount == 0) {
+            mBuckets.values().remove(tunnel.mBucket);
+        }
+    }
+
+    @Override
+    protected void onReadable(SelectionKey key) throws IOException {
+        Tunnel tunnel = (Tunnel) key.attachment();
+        if (tunnel.mPhase == PHASE_RELAYING) {
+            relay(tunnel, key == tunnel.mClientKey);
+            return;
+        }
+        //Handshake, from the client only.
+        if (((SocketChannel) key.channel()).read(tunnel.mToUpstream) < 0) {
+            close(key);
+            return;
+        }
+        handshake(tunnel);
+    }
+
+    @Override
+    protected void onWritable(SelectionKey key) throws IOException {
+        Tunnel tunnel = (Tunnel) key.attachment();
+        if (key == tunnel.mClientKey) {
+            flush(tunnel, tunnel.mToClient, tunnel.mClientKey, tunnel.mUpstreamEof);
+        } else {
+            flush(tunnel, tunnel.mToUpstream, tunnel.mUpstreamKey, tunnel.mClientEof);
+        }
+        if (!tunnel.mClosed) {
+            updateInterest(tunnel);
+        }
+    }
+
+    @Override
+    protected void onConnectable(SelectionKey key) throws IOException {
+        Tunnel tunnel = (Tunnel) key.attachment();
+        try {
+            ((SocketChannel) key.channel()).finishConnect();
+        } catch (IOException e) {
+            reply(tunnel, REPLY_CONNECTION_REFUSED, null);
+            close(tunnel.mClientKey);
+            return;
+        }
+        onConnected(tunnel);
+    }
+
+    //Reads from one side, as far as the bucket allows, and forwards to the other.
+    private void relay(Tunnel tunnel, boolean fromClient) throws IOException {
+        ByteBuffer buffer = fromClient ? tunnel.mToUpstream : tunnel.mToClient;
+        SelectionKey source = fromClient ? tunnel.mClientKey : tunnel.mUpstreamKey;
+        long allowed = tunnel.mBucket.available(System.nanoTime());
+        if (allowed <= 0) {
+            throttle(tunnel);
+            return;
+        }
+        if (buffer.remaining() > allowed) {
+            buffer.limit(buffer.position() + (int) allowed);
+        }
+        int read = ((SocketChannel) source.channel()).read(buffer);
+        buffer.limit(buffer.capacity());
+        if (read < 0) {
+            if (fromClient) {
+                tunnel.mClientEof = true;
+            } else {
+                tunnel.mUpstreamEof = true;
+            }
+        } else {
+            tunnel.mBucket.consume(read);
+        }
+
+        if (fromClient) {
+            flush(tunnel, tunnel.mToUpstream, tunnel.mUpstreamKey, tunnel.mClientEof);
+        } else {
+            flush(tunnel, tunnel.mToClient, tunnel.mClientKey, tunnel.mUpstreamEof);
+        }
+        if (!tunnel.mClosed) {
+            updateInterest(tunnel);
+        }
+    }
+
+    //Writes the pending bytes of one direction, and passes the end of stream on once drained.
+    private void flush(Tunnel tunnel, ByteBuffer buffer, SelectionKey target, boolean sourceEof) throws IOException {
+        SocketChannel channel = (SocketChannel) target.channel();
+        if (buffer.position() > 0) {
+            buffer.flip();
+            channel.write(buffer);
+            buffer.compact();
+        }
+        if (buffer.position() == 0 && sourceEof) {
+            if (target == tunnel.mUpstreamKey && !tunnel.mUpstreamShut) {
+                tunnel.mUpstreamShut = true;
+                channel.socket().shutdownOutput();
+            } else if (target == tunnel.mClientKey && !tunnel.mClientShut) {
+                tunnel.mClientShut = true;
+                channel.socket().shutdownOutput();
+            }
+            if (tunnel.mUpstreamShut && tunnel.mClientShut) {
+                close(tunnel.mClientKey);
+            }
+        }
+    }
+
+    //Reads a side only while its buffer is empty and the client has tokens, writes while there is something.
+    private void updateInterest(Tunnel tunnel) {
+        if (tunnel.mPhase != PHASE_RELAYING) {
+            return;
+        }
+        int clientOps = 0;
+        int upstreamOps = 0;
+        if (!tunnel.mThrottled) {
+            if (!tunnel.mClientEof && tunnel.mToUpstream.position() == 0) {
+                clientOps |= SelectionKey.OP_READ;
+            }
+            if (!tunnel.mUpstreamEof && tunnel.mToClient.position() == 0) {
+                upstreamOps |= SelectionKey.OP_READ;
+            }
+        }
+        if (tunnel.mToClient.position() > 0) {
+            clientOps |= SelectionKey.OP_WRITE;
+        }
+        if (tunnel.mToUpstream.position() > 0) {
+            upstreamOps |= SelectionKey.OP_WRITE;
+        }
+        tunnel.mClientKey.interestOps(clientOps);
+        tunnel.mUpstreamKey.interestOps(upstreamOps);
+    }
+
+    //Stops reading until the bucket refills, see onLoop().
+    private void throttle(Tunnel tunnel) {
+        if (!tunnel.mThrottled) {
+            tunnel.mThrottled = true;
+            mThrottled.add(tunnel);
+            updateInterest(tunnel);
+        }
+    }
+
+    //Parses the greeting and the request of the client, as far as buffered.
+    private void handshake(Tunnel tunnel) throws IOException {
+        ByteBuffer buffer = tunnel.mToUpstream;
+        buffer.flip();
+        try {
+            if (tunnel.mPhase == PHASE_GREETING) {
+                if (buffer.remaining() < 2 || buffer.remaining() < 2 + (buffer.get(1) & 0xFF)) {
+                    return;
+                }
+                if (buffer.get() != VERSION) {
+                    close(tunnel.mClientKey);
+                    return;
+                }
+                int methods = buffer.get() & 0xFF;
+                boolean acceptable = false;
+                for (int i = 0; i < methods; i++) {
+                    acceptable |= buffer.get() == METHOD_NO_AUTHENTICATION;
+                }
+                if (!write(tunnel.mClientKey, new byte[]{VERSION,
+                        (byte) (acceptable ? METHOD_NO_AUTHENTICATION : METHOD_NONE_ACCEPTABLE)}) || !acceptable) {
+                    close(tunnel.mClientKey);
+                    return;
+                }
+                tunnel.mPhase = PHASE_REQUEST;
+            }
+            if (tunnel.mPhase == PHASE_REQUEST) {
+                request(tunnel, buffer);
+            }
+        } finally {
+            if (!tunnel.mClosed) {
+                buffer.compact();
+            }
+        }
+        //Connect once the buffer is back in write mode, holding the bytes sent ahead.
+        if (!tunnel.mClosed && tunnel.mPhase == PHASE_CONNECTING) {
+            if (tunnel.mHost != null) {
+                resolve(tunnel, tunnel.mHost, tunnel.mDestination.getPort());
+            } else {
+                connect(tunnel, tunnel.mDestination);
+            }
+        }
+    }
+
+    //Parses the request, in read mode, up to the destination.
+    private void request(Tunnel tunnel, ByteBuffer buffer) throws IOException {
+        int start = buffer.position();
+        if (buffer.remaining() < 5) {
+            return;
+        }
+        int addressType = buffer.get(start + 3);
+        int addressLength;
+        if (addressType == ADDRESS_IPV4) {
+            addressLength = 4;
+        } else if (addressType == ADDRESS_IPV6) {
+            addressLength = 16;
+        } else if (addressType == ADDRESS_DOMAIN) {
+            addressLength = 1 + (buffer.get(start + 4) & 0xFF);
+        } else {
+            reply(tunnel, REPLY_ADDRESS_NOT_SUPPORTED, null);
+            close(tunnel.mClientKey);
+            return;
+        }
+        if (buffer.remaining() < 4 + addressLength + 2) {
+            return;
+        }
+        if (buffer.get(start) != VERSION || buffer.get(start + 1) != COMMAND_CONNECT) {
+            reply(tunnel, REPLY_COMMAND_NOT_SUPPORTED, null);
+            close(tunnel.mClientKey);
+            return;
+        }
+        buffer.position(start + 4);
+        byte[] address = new byte[addressType == ADDRESS_DOMAIN ? addressLength - 1 : addressLength];
+        if (addressType == ADDRESS_DOMAIN) {
+            buffer.get();
+        }
+        buffer.get(address);
+        int port = buffer.getShort() & 0xFFFF;
+        //Bytes sent ahead of the reply stay in the buffer, forwarded once connected.
+
+        tunnel.mPhase = PHASE_CONNECTING;
+        tunnel.mClientKey.interestOps(0);
+        if (addressType == ADDRESS_DOMAIN) {
+            tunnel.mHost = new String(address, "US-ASCII");
+            tunnel.mDestination = InetSocketAddress.createUnresolved(tunnel.mHost, port);
+        } else {
+            tunnel.mDestination = new InetSocketAddress(InetAddress.getByAddress(address), port);
+        }
+    }
+
+    //Resolves the host name in the background, then connects on the loop thread.
+    private void resolve(final Tunnel tunnel, final String host, final int port) {
+        mResolver.execute(new Runnable() {
+            @Override
+            public void run() {
+                InetAddress resolved;
+                try {
+                    resolved = InetAddress.getByName(host);
+                } catch (UnknownHostException e) {
+                    resolved = null;
+                }
+                final InetAddress address = resolved;
+                post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (tunnel.mClosed) {
+                            return;
+                        }
+                        if (address == null) {
+                            reply(tunnel, REPLY_HOST_UNREACHABLE, null);
+                            close(tunnel.mClientKey);
+                            return;
+                        }
+                        connect(tunnel, new InetSocketAddress(address, port));
+                    }
+                });
+            }
+        });
+    }
+
+    //Opens the upstream connection.
+    private void connect(Tunnel tunnel, InetSocketAddress address) {
+        InetAddress destination = address.getAddress();
+        if (!mAllowLocalDestinations && isLocal(destination)) {
+            reply(tunnel, REPLY_NOT_ALLOWED, null);
+            close(tunnel.mClientKey);
+            return;
+        }
+        SocketChannel upstream = null;
+        try {
+            upstream = SocketChannel.open();
+            upstream.configureBlocking(false);
+            upstream.socket().setTcpNoDelay(true);
+            boolean connected = upstream.connect(address);
+            tunnel.mUpstreamKey = upstream.register(tunnel.mClientKey.selector(),
+                    connected ? 0 : SelectionKey.OP_CONNECT, tunnel);
+            if (connected) {
+                onConnected(tunnel);
+            }
+        } catch (IOException e) {
+            if (tunnel.mUpstreamKey == null && upstream != null) {
+                try {
+                    upstream.close();
+                } catch (IOException ignored) {
+                }
+            }
+            reply(tunnel, REPLY_HOST_UNREACHABLE, null);
+            close(tunnel.mClientKey);
+        }
+    }
+
+    //Whether the address reaches the device itself, through loopback or one of its interfaces.
+    private static boolean isLocal(InetAddress address) {
+        if (address.isLoopbackAddress() || address.isAnyLocalAddress()) {
+            return true;
+        }
+        try {
+            return NetworkInterface.getByInetAddress(address) != null;
+        } catch (SocketException e) {
+            //Refused when unsure.
+            return true;
+        }
+    }
+
+    //Tells the client and starts relaying.
+    private void onConnected(Tunnel tunnel) throws IOException {
+        if (!reply(tunnel, REPLY_SUCCEEDED, ((SocketChannel) tunnel.mUpstreamKey.channel()).socket())) {
+            close(tunnel.mClientKey);
+            return;
+        }
+        tunnel.mPhase = PHASE_RELAYING;
+        //Forward what the client sent ahead.
+        flush(tunnel, tunnel.mToUpstream, tunnel.mUpstreamKey, false);
+        updateInterest(tunnel);
+    }
+
+    //Sends the reply to the request, with the local address of the upstream connection if any.
+    private boolean reply(Tunnel tunnel, int code, Socket upstream) {
+        byte[] address = {0, 0, 0, 0};
+        int port = 0;
+        if (upstream != null && upstream.getLocalAddress() instanceof Inet4Address) {
+            address = upstream.getLocalAddress().getAddress();
+            port = upstream.getLocalPort();
+        }
+        return write(tunnel.mClientKey, new byte[]{VERSION, (byte) code, 0, ADDRESS_IPV4,
+                address[0], address[1], address[2], address[3], (byte) (port >> 8), (byte) port});
+    }
+
+    //Writes a short handshake message, which a fresh socket buffer always takes whole.
+    private static boolean write(SelectionKey key, byte[] message) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(message);
+            ((SocketChannel) key.channel()).write(buffer);
+            return !buffer.hasRemaining();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private ByteBuffer takeBuffer() {
+        ByteBuffer buffer = mBufferPool.poll();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect(BUFFER_BYTES);
+    }
+
+    private void releaseBuffer(ByteBuffer buffer) {
+        buffer.clear();
+        mBufferPool.add(buffer);
+    }
+}
@@ -0,0 +1,265 @@
+package com.harish.hotspot.base.net;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         iperf-style client of {@link HotspotSpeedTestServer}, measuring the download and upload throughput
+ *         and the round trip of the link between the host and a hotspot client.
+ *         <p>
+ *         A throughput measure runs several parallel streams, one thread each with its own direct buffer,
+ *         and counts the bytes per interval of {@link #INTERVAL_MILLIS}. The intervals of the warm-up, while
+ *         the congestion windows open, are left out of the result. Upload bytes are counted as the socket
+ *         takes them, so a measure should last far longer than the socket buffers take to fill.
+ *         <p>
+ *         Every measure blocks for its whole duration, never call it on the main thread.
+ * @since 17.10.2026.
+ */
+public final class HotspotSpeedTest {
+    private static final String TAG = HotspotSpeedTest.class.getSimpleName();
+
+    //Defaults.
+    public static final int DEFAULT_STREAMS = 4;
+    public static final long DEFAULT_DURATION_MILLIS = 10000L;
+    public static final long DEFAULT_WARM_UP_MILLIS = 2000L;
+    public static final int DEFAULT_PINGS = 100;
+
+    //Length of a throughput sample.
+    public static final long INTERVAL_MILLIS = 100L;
+
+    //Pings sent ahead of the measured ones.
+    private static final int WARM_UP_PINGS = 10;
+
+    //Buffer of every stream.
+    private static final int BUFFER_BYTES = 128 * 1024;
+
+    //Size of a ping.
+    private static final int PING_BYTES = 8;
+
+    //Wait for the streams to notice the end, before closing them under their feet.
+    private static final long GRACE_MILLIS = 500L;
+
+    private final InetSocketAddress mAddress;
+
+    private int mStreams = DEFAULT_STREAMS;
+    private long mDurationMillis = DEFAULT_DURATION_MILLIS;
+    private long mWarmUpMillis = DEFAULT_WARM_UP_MILLIS;
+    private int mPings = DEFAULT_PINGS;
+
+    /**
+     * Constructor.
+     *
+     * @param address The address of the {@link HotspotSpeedTestServer}.
+     */
+    public HotspotSpeedTest(InetSocketAddress address) {
+        this.mAddress = address;
+    }
+
+    /**
+     * Sets the number of parallel streams of the throughput measures.
+     */
+    public void setStreams(int streams) {
+        if (streams < 1) {
+            throw new IllegalArgumentException("Invalid streams: " + streams);
+        }
+        this.mStreams = streams;
+    }
+
+    /**
+     * Sets the length of the throughput measures, warm-up included, rounded up to whole intervals.
+     *
+     * @param durationMillis The whole length.
+     * @param warmUpMillis   The length left out, shorter than the whole.
+     */
+    public void setDuration(long durationMillis, long warmUpMillis) {
+        if (warmUpMillis < 0 || durationMillis - warmUpMillis < INTERVAL_MILLIS) {
+            throw new IllegalArgumentException("Invalid duration: " + durationMillis + "/" + warmUpMillis);
+        }
+        this.mDurationMillis = durationMillis;
+        this.mWarmUpMillis = warmUpMillis;
+    }
+
+    /**
+     * Sets the number of measured pings of {@link #measureRtt()}.
+     */
+    public void setPings(int pings) {
+        if (pings < 1) {
+            throw new IllegalArgumentException("Invalid pings: " + pings);
+        }
+        this.mPings = pings;
+    }
+
+    /**
+     * Measures the throughput from the server to this client.
+     *
+     * @return the result, in bits per second.
+     * @throws IOException if a stream failed before the end.
+     */
+    public SpeedTestResult measureDownload() throws IOException {
+        return measureThroughput(SpeedTestResult.TYPE_DOWNLOAD);
+    }
+
+    /**
+     * Measures the throughput from this client to the server.
+     *
+     * @return the result, in bits per second.
+     * @throws IOException if a stream failed before the end.
+     */
+    public SpeedTestResult measureUpload() throws IOException {
+        return measureThroughput(SpeedTestResult.TYPE_UPLOAD);
+    }
+
+    /**
+     * Measures the round trip of a small message, one at a time on a single connection.
+     *
+     * @return the result, in microseconds.
+     * @throws IOException if the connection failed.
+     */
+    public SpeedTestResult measureRtt() throws IOException {
+        SocketChannel channel = open(HotspotSpeedTestServer.COMMAND_PING);
+        try {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(PING_BYTES);
+            double[] samples = new double[mPings];
+            double total = 0.0;
+            for (int i = -WARM_UP_PINGS; i < mPings; i++) {
+                long start = System.nanoTime();
+                buffer.clear();
+                buffer.putLong(0, start);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                buffer.clear();
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) < 0) {
+                        throw new EOFException("Closed by the server");
+                    }
+                }
+                if (i >= 0) {
+                    samples[i] = (System.nanoTime() - start) / 1000.0;
+                    total += samples[i];
+                }
+            }
+            return new SpeedTestResult(SpeedTestResult.TYPE_RTT, 1, 0L, total / mPings, samples);
+        } finally {
+            channel.close();
+        }
+    }
+
+    //Runs the streams for the duration, counting the bytes per interval.
+    private SpeedTestResult measureThroughput(final int type) throws IOException {
+        final int intervals = (int) ((mDurationMillis + INTERVAL_MILLIS - 1) / INTERVAL_MILLIS);
+        final AtomicLongArray counts = new AtomicLongArray(intervals);
+        final AtomicReference<IOException> failure = new AtomicReference<>();
+        final SocketChannel[] channels = new SocketChannel[mStreams];
+        Thread[] threads = new Thread[mStreams];
+        try {
+            for (int i = 0; i < mStreams; i++) {
+                channels[i] = open(type == SpeedTestResult.TYPE_DOWNLOAD
+                        ? HotspotSpeedTestServer.COMMAND_DOWNLOAD : HotspotSpeedTestServer.COMMAND_UPLOAD);
+            }
+            final long start = System.nanoTime();
+            for (int i = 0; i < mStreams; i++) {
+                final SocketChannel channel = channels[i];
+                threads[i] = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+                        try {
+                            while (true) {
+                                buffer.clear();
+                                int transferred = type == SpeedTestResult.TYPE_DOWNLOAD
+                                        ? channel.read(buffer) : channel.write(buffer);
+                                if (transferred < 0) {
+                                    throw new EOFException("Closed by the server");
+                                }
+                                int interval = (int) ((System.nanoTime() - start) / (INTERVAL_MILLIS * 1000000L));
+                                if (interval >= intervals) {
+                                    return;
+                                }
+                                counts.addAndGet(interval, transferred);
+                            }
+                        } catch (IOException e) {
+                            //Closed by measureThroughput() past the end, otherwise a failure.
+                            if (System.nanoTime() - start < intervals * INTERVAL_MILLIS * 1000000L) {
+                                failure.compareAndSet(null, e);
+                            }
+                        }
+                    }
+                }, TAG + "-stream-" + i);
+                threads[i].start();
+            }
+            long deadline = start / 1000000L + intervals * INTERVAL_MILLIS + GRACE_MILLIS;
+            for (Thread thread : threads) {
+                thread.join(Math.max(1L, deadline - System.nanoTime() / 1000000L));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        } finally {
+            //Unblocks the streams still waiting on their socket.
+            for (SocketChannel channel : channels) {
+                if (channel != null) {
+                    channel.close();
+                }
+            }
+            for (Thread thread : threads) {
+                if (thread != null) {
+                    joinUninterruptibly(thread);
+                }
+            }
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+
+        int warmUpIntervals = (int) (mWarmUpMillis / INTERVAL_MILLIS);
+        double[] samples = new double[intervals - warmUpIntervals];
+        long bytes = 0L;
+        for (int i = warmUpIntervals; i < intervals; i++) {
+            long count = counts.get(i);
+            bytes += count;
+            samples[i - warmUpIntervals] = count * 8.0 * 1000.0 / INTERVAL_MILLIS;
+        }
+        double mean = bytes * 8.0 * 1000.0 / (samples.length * INTERVAL_MILLIS);
+        return new SpeedTestResult(type, mStreams, bytes, mean, samples);
+    }
+
+    //Connects and sends the command.
+    private SocketChannel open(byte command) throws IOException {
+        SocketChannel channel = SocketChannel.open(mAddress);
+        try {
+            channel.socket().setTcpNoDelay(true);
+            ByteBuffer buffer = ByteBuffer.allocate(1);
+            buffer.put(0, command);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            return channel;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static void joinUninterruptibly(Thread thread) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                thread.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.harish.hotspot.base.net;
+
+import com.harish.hotspot.base.state.HotspotStateMachine;
+import com.harish.hotspot.base.state.HotspotStates;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Far end of {@link HotspotSpeedTest}, measuring the link between the host and a hotspot client.
+ *         <p>
+ *         Every connection starts with a single command byte, then:
+ *         {@link #COMMAND_UPLOAD} discards everything received until the client closes,
+ *         {@link #COMMAND_DOWNLOAD} sends as fast as the socket takes until the client closes, and
+ *         {@link #COMMAND_PING} echoes every byte back. The bytes come from a single direct buffer shared
+ *         by all the connections, so a download costs no copy and no allocation.
+ *         <p>
+ *         Starts only while the hotspot is ENABLED. Register it with {@link HotspotNetworkServices}
+ *         to run it exactly then.
+ * @since 17.10.2026.
+ */
+public final class HotspotSpeedTestServer extends TcpServer {
+    private static final String TAG = HotspotSpeedTestServer.class.getSimpleName();
+
+    //Defaults.
+    public static final int DEFAULT_PORT = 5201;
+    public static final int DEFAULT_MAX_STREAMS = 16;
+
+    //Commands, the first byte sent by the client.
+    public static final byte COMMAND_UPLOAD = 'U';
+    public static final byte COMMAND_DOWNLOAD = 'D';
+    public static final byte COMMAND_PING = 'P';
+
+    //Size of the shared payload and of the discard buffer.
+    private static final int BUFFER_BYTES = 128 * 1024;
+
+    //Size of the echo buffer of a ping connection.
+    private static final int PING_BUFFER_BYTES = 64;
+
+    //Sent by every download, never written to.
+    private static final ByteBuffer PAYLOAD = ByteBuffer.allocateDirect(BUFFER_BYTES).asReadOnlyBuffer();
+
+    private final HotspotStateMachine mStateMachine;
+
+    //Receives the uploads. Loop thread only.
+    private final ByteBuffer mDiscard = ByteBuffer.allocateDirect(BUFFER_BYTES);
+
+    //State of a connection.
+    private static final class Stream {
+        //0 until the command is received.
+        private byte mCommand;
+
+        //View of the payload for a download, echo buffer for a ping, in write mode.
+        private ByteBuffer mBuffer;
+    }
+
+    /**
+     * Constructor, listening on the {@link TetherInterface} on {@link #DEFAULT_PORT}.
+     */
+    public HotspotSpeedTestServer() {
+        super(TAG, DEFAULT_PORT);
+        this.mStateMachine = HotspotStateMachine.getInstance();
+        setMaxConnections(DEFAULT_MAX_STREAMS);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param address      The address to listen on, port 0 for any free port.
+     * @param stateMachine The {@link HotspotStateMachine} which must be ENABLED to start.
+     */
+    public HotspotSpeedTestServer(InetSocketAddress address, HotspotStateMachine stateMachine) {
+        super(TAG, address);
+        this.mStateMachine = stateMachine;
+        setMaxConnections(DEFAULT_MAX_STREAMS);
+    }
+
+    /**
+     * Starts listening.
+     *
+     * @throws IOException if the hotspot is not ENABLED, or the port could not be bound.
+     */
+    @Override
+    public synchronized void start() throws IOException {
+        if (mStateMachine.getState() != HotspotStates.WIFI_AP_STATE_ENABLED) {
+            throw new IOException("Hotspot not enabled");
+        }
+        super.start();
+    }
+
+    @Override
+    protected void onAccepted(SelectionKey key) {
+        key.attach(new Stream());
+    }
+
+    @Override
+    protected void onReadable(SelectionKey key) throws IOException {
+        Stream stream = (Stream) key.attachment();
+        SocketChannel channel = (SocketChannel) key.channel();
+        if (stream.mCommand == 0) {
+            readCommand(key, stream);
+            return;
+        }
+        if (stream.mCommand == COMMAND_PING) {
+            if (channel.read(stream.mBuffer) < 0) {
+                close(key);
+                return;
+            }
+            onWritable(key);
+            return;
+        }
+        //Uploads, and the close of the downloads. One buffer per round, so the streams share the loop.
+        mDiscard.clear();
+        if (channel.read(mDiscard) < 0) {
+            close(key);
+        }
+    }
+
+    @Override
+    protected void onWritable(SelectionKey key) throws IOException {
+        Stream stream = (Stream) key.attachment();
+        SocketChannel channel = (SocketChannel) key.channel();
+        if (stream.mCommand == COMMAND_DOWNLOAD) {
+            if (!stream.mBuffer.hasRemaining()) {
+                stream.mBuffer.clear();
+            }
+            channel.write(stream.mBuffer);
+            return;
+        }
+        //Ping, the echo.
+        ByteBuffer buffer = stream.mBuffer;
+        buffer.flip();
+        channel.write(buffer);
+        buffer.compact();
+        key.interestOps(buffer.position() > 0 ? SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+    }
+
+    //Reads the command byte, then anything sent along with it.
+    private void readCommand(SelectionKey key, Stream stream) throws IOException {
+        ByteBuffer command = ByteBuffer.allocate(1);
+        int read = ((SocketChannel) key.channel()).read(command);
+        if (read < 0) {
+            close(key);
+            return;
+        }
+        if (read == 0) {
+            return;
+        }
+        stream.mCommand = command.get(0);
+        switch (stream.mCommand) {
+            case COMMAND_UPLOAD:
+                onReadable(key);
+                break;
+            case COMMAND_DOWNLOAD:
+                stream.mBuffer = PAYLOAD.duplicate();
+                //Reading too, to see the client close.
+                key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                break;
+            case COMMAND_PING:
+                stream.mBuffer = ByteBuffer.allocateDirect(PING_BUFFER_BYTES);
+                onReadable(key);
+                break;
+            default:
+                close(key);
+                break;
+        }
+    }
+}
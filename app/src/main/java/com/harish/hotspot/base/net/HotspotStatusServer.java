@@ -0,0 +1,458 @@
+package com.harish.hotspot.base.net;
+
+import android.net.wifi.WifiConfiguration;
+
+import com.harish.hotspot.base.clients.ClientAddresses;
+import com.harish.hotspot.base.clients.HotspotClientMonitor;
+import com.harish.hotspot.base.interfaces.IHotspotConfigurationListener;
+import com.harish.hotspot.base.interfaces.IHotspotStateObserver;
+import com.harish.hotspot.base.state.HotspotStateMachine;
+import com.harish.hotspot.base.state.HotspotStateSnapshot;
+import com.harish.hotspot.base.state.HotspotStates;
+import com.harish.hotspot.base.traffic.TrafficAccountant;
+import com.harish.hotspot.base.util.LongIntHashMap;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.Locale;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         HTTP/1.1 status endpoint for the hotspot clients, needing nothing but a browser.
+ *         <p>
+ *         {@code /} is a minimal HTML page and {@code /status.json} the same in JSON: the hotspot state and
+ *         the network name. Both responses are serialized once into direct buffers, and again only when the
+ *         state or the configuration changes, so serving them is a single write of a shared buffer.
+ *         {@code /client.json} is built per request: the address of the caller and, when a
+ *         {@link HotspotClientMonitor} and a {@link TrafficAccountant} are set, its MAC address and throughput.
+ *         <p>
+ *         The network name comes from {@link HotspotNetworkServices}, as a configuration listener.
+ *         <p>
+ *         Every connection uses a read and a write buffer taken from a pool allocated when the server starts.
+ *         Connections are kept alive, and closed after {@link #KEEP_ALIVE_SECONDS} without a request.
+ *         Every response says which of the two with its {@code Connection} header, since HTTP/1.0 clients
+ *         close by default and HTTP/1.1 ones keep alive by default.
+ * @since 17.10.2026.
+ */
+public final class HotspotStatusServer extends TcpServer
+        implements IHotspotStateObserver, IHotspotConfigurationListener {
+    private static final String TAG = HotspotStatusServer.class.getSimpleName();
+
+    //Default port.
+    public static final int DEFAULT_PORT = 8000;
+
+    //Idle time after which a kept alive connection is closed.
+    public static final int KEEP_ALIVE_SECONDS = 15;
+
+    //Size of the write buffer of a connection, for the per-request responses.
+    private static final int WRITE_BUFFER_BYTES = 2048;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    //Fixed responses.
+    private static final Response NOT_FOUND = new Response("404 Not Found", "text/plain; charset=utf-8",
+            "Not found\n");
+    private static final Response METHOD_NOT_ALLOWED =
+            new Response("405 Method Not Allowed", "text/plain; charset=utf-8", "Method not allowed\n");
+    private static final Response BAD_REQUEST = new Response("400 Bad Request", "text/plain; charset=utf-8",
+            "Bad request\n");
+
+    //Source of the state.
+    private final HotspotStateMachine mStateMachine;
+
+    //Pre-serialized responses, replaced as a whole on every change.
+    private volatile Response mHtmlResponse;
+    private volatile Response mJsonResponse;
+
+    //Published configuration, NULL if unknown.
+    private volatile String mSsid;
+    private volatile boolean mHidden;
+
+    //Optional sources of the per-client information.
+    private volatile HotspotClientMonitor mClientMonitor;
+    private volatile TrafficAccountant mTrafficAccountant;
+
+    //Loop thread only.
+    private final ArrayDeque<Exchange> mPool = new ArrayDeque<>();
+    private final LongIntHashMap mClients = new LongIntHashMap(64);
+
+    //A response serialized once per value of the Connection header, into read-only direct buffers.
+    private static final class Response {
+        private final ByteBuffer mKeepAlive;
+        private final ByteBuffer mClose;
+
+        private Response(String status, String contentType, String body) {
+            byte[] bodyBytes = body.getBytes(UTF_8);
+            this.mKeepAlive = serialize(head(status, contentType, bodyBytes.length, true), bodyBytes);
+            this.mClose = serialize(head(status, contentType, bodyBytes.length, false), bodyBytes);
+        }
+
+        //A fresh view, for a single connection.
+        private ByteBuffer get(boolean keepAlive) {
+            return (keepAlive ? mKeepAlive : mClose).duplicate();
+        }
+    }
+
+    //State of a connection, pooled.
+    private static final class Exchange {
+        //Read buffer, in write mode.
+        private final ByteBuffer mRequest = ByteBuffer.allocateDirect(HttpRequest.MAX_HEAD_BYTES);
+
+        //Holds the per-request responses.
+        private final ByteBuffer mScratch = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES);
+
+        //Response being written, NULL while waiting for a request.
+        private ByteBuffer mResponse;
+
+        private boolean mKeepAlive;
+
+        //Time of the last request, in nanoseconds.
+        private long mLastActive;
+    }
+
+    /**
+     * Constructor, listening on the {@link TetherInterface} on {@link #DEFAULT_PORT}.
+     */
+    public HotspotStatusServer() {
+        super(TAG, DEFAULT_PORT);
+        this.mStateMachine = HotspotStateMachine.getInstance();
+        regenerate(mStateMachine.getSnapshot());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param address      The address to listen on.
+     * @param stateMachine The {@link HotspotStateMachine} published.
+     */
+    public HotspotStatusServer(InetSocketAddress address, HotspotStateMachine stateMachine) {
+        super(TAG, address);
+        this.mStateMachine = stateMachine;
+        regenerate(stateMachine.getSnapshot());
+    }
+
+    /**
+     * Publishes the configuration of the hotspot. The passphrase is never published.
+     *
+     * @param configuration The configuration, NULL if unknown.
+     */
+    public void setConfiguration(WifiConfiguration configuration) {
+        mSsid = configuration == null ? null : configuration.SSID;
+        mHidden = configuration != null && configuration.hiddenSSID;
+        regenerate(mStateMachine.getSnapshot());
+    }
+
+    @Override
+    public void onConfigurationChanged(WifiConfiguration configuration) {
+        setConfiguration(configuration);
+    }
+
+    /**
+     * Sets the sources of the per-client information of {@code /client.json}.
+     *
+     * @param clientMonitor     Maps the address of the caller to its MAC address, may be NULL.
+     * @param trafficAccountant Gives the throughput of the client, may be NULL.
+     */
+    public void setClientSources(HotspotClientMonitor clientMonitor, TrafficAccountant trafficAccountant) {
+        this.mClientMonitor = clientMonitor;
+        this.mTrafficAccountant = trafficAccountant;
+    }
+
+    @Override
+    public synchronized void start() throws IOException {
+        mStateMachine.addObserver(this);
+        regenerate(mStateMachine.getSnapshot());
+        try {
+            super.start();
+        } catch (IOException e) {
+            mStateMachine.removeObserver(this);
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        mStateMachine.removeObserver(this);
+        super.stop();
+    }
+
+    @Override
+    public void onStateChanged(HotspotStateSnapshot snapshot) {
+        regenerate(snapshot);
+    }
+
+    @Override
+    protected void onStart(Selector selector) throws IOException {
+        super.onStart(selector);
+        while (mPool.size() < getMaxConnections()) {
+            mPool.add(new Exchange());
+        }
+    }
+
+    @Override
+    protected long getSelectTimeout() {
+        return 1000L;
+    }
+
+    @Override
+    protected void onLoop() {
+        //Close the kept alive connections which went idle.
+        long now = System.nanoTime();
+        for (SelectionKey key : getKeys()) {
+            Object attachment = key.attachment();
+            if (attachment instanceof Exchange) {
+                Exchange exchange = (Exchange) attachment;
+                if (exchange.mResponse == null
+                        && now - exchange.mLastActive > KEEP_ALIVE_SECONDS * 1000000000L) {
+                    close(key);
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void onAccepted(SelectionKey key) {
+        Exchange exchange = mPool.poll();
+        if (exchange == null) {
+            //The limit was raised while running.
+            exchange = new Exchange();
+        }
+        exchange.mRequest.clear();
+        exchange.mResponse = null;
+        exchange.mLastActive = System.nanoTime();
+        key.attach(exchange);
+    }
+
+    @Override
+    protected void onDisconnected(SelectionKey key) {
+        Exchange exchange = (Exchange) key.attachment();
+        if (exchange != null) {
+            exchange.mResponse = null;
+            mPool.add(exchange);
+        }
+    }
+
+    @Override
+    protected void onReadable(SelectionKey key) throws IOException {
+        Exchange exchange = (Exchange) key.attachment();
+        if (((SocketChannel) key.channel()).read(exchange.mRequest) < 0) {
+            close(key);
+            return;
+        }
+        handleRequest(key, exchange);
+    }
+
+    @Override
+    protected void onWritable(SelectionKey key) throws IOException {
+        Exchange exchange = (Exchange) key.attachment();
+        ((SocketChannel) key.channel()).write(exchange.mResponse);
+        if (exchange.mResponse.hasRemaining()) {
+            key.interestOps(SelectionKey.OP_WRITE);
+            return;
+        }
+        exchange.mResponse = null;
+        if (!exchange.mKeepAlive) {
+            close(key);
+            return;
+        }
+        key.interestOps(SelectionKey.OP_READ);
+        //A pipelined request may already be buffered.
+        if (exchange.mRequest.position() > 0) {
+            handleRequest(key, exchange);
+        }
+    }
+
+    //Parses the buffered request, if complete, and writes the response.
+    private void handleRequest(SelectionKey key, Exchange exchange) throws IOException {
+        ByteBuffer buffer = exchange.mRequest;
+        buffer.flip();
+        HttpRequest request;
+        try {
+            request = HttpRequest.parse(buffer);
+        } catch (ProtocolException e) {
+            buffer.clear();
+            respond(key, exchange, BAD_REQUEST.get(false), false);
+            return;
+        }
+        boolean full = buffer.limit() == buffer.capacity();
+        buffer.compact();
+        if (request == null) {
+            if (full) {
+                buffer.clear();
+                respond(key, exchange, BAD_REQUEST.get(false), false);
+            }
+            return;
+        }
+
+        exchange.mLastActive = System.nanoTime();
+        boolean keepAlive = request.isKeepAlive();
+        ByteBuffer response;
+        if (!request.getMethod().equals("GET")) {
+            response = METHOD_NOT_ALLOWED.get(keepAlive);
+        } else if (request.getPath().equals("/") || request.getPath().equals("/index.html")) {
+            response = mHtmlResponse.get(keepAlive);
+        } else if (request.getPath().equals("/status.json")) {
+            response = mJsonResponse.get(keepAlive);
+        } else if (request.getPath().equals("/client.json")) {
+            response = serializeClient(exchange.mScratch, (SocketChannel) key.channel(), keepAlive);
+        } else {
+            response = NOT_FOUND.get(keepAlive);
+        }
+        respond(key, exchange, response, keepAlive);
+    }
+
+    //Writes what the socket takes right away, the rest when writable.
+    private void respond(SelectionKey key, Exchange exchange, ByteBuffer response, boolean keepAlive)
+            throws IOException {
+        exchange.mResponse = response;
+        exchange.mKeepAlive = keepAlive;
+        onWritable(key);
+    }
+
+    //Builds /client.json into the scratch buffer of the connection.
+    private ByteBuffer serializeClient(ByteBuffer scratch, SocketChannel channel, boolean keepAlive) {
+        InetAddress address = channel.socket().getInetAddress();
+        StringBuilder body = new StringBuilder(256);
+        body.append("{\"ip\":\"").append(address.getHostAddress()).append('"');
+
+        long macAddress = findMacAddress(address);
+        if (macAddress != 0L) {
+            body.append(",\"mac\":\"").append(ClientAddresses.formatMac(macAddress)).append('"');
+            TrafficAccountant accountant = mTrafficAccountant;
+            if (accountant != null) {
+                body.append(String.format(Locale.US, ",\"rxRate\":%.1f,\"txRate\":%.1f,\"rxBytes\":%d,\"txBytes\":%d",
+                        accountant.getClientRate(macAddress, TrafficAccountant.DIRECTION_RX),
+                        accountant.getClientRate(macAddress, TrafficAccountant.DIRECTION_TX),
+                        accountant.getClientTotalBytes(macAddress, TrafficAccountant.DIRECTION_RX),
+                        accountant.getClientTotalBytes(macAddress, TrafficAccountant.DIRECTION_TX)));
+            }
+        }
+        body.append("}\n");
+
+        byte[] bodyBytes = body.toString().getBytes(UTF_8);
+        byte[] head = head("200 OK", "application/json", bodyBytes.length, keepAlive).getBytes(UTF_8);
+        scratch.clear();
+        if (head.length + bodyBytes.length > scratch.capacity()) {
+            return ByteBuffer.wrap(concat(head, bodyBytes));
+        }
+        scratch.put(head).put(bodyBytes).flip();
+        return scratch;
+    }
+
+    //Looks up the MAC address of a client in the last scan of the monitor, 0 if unknown.
+    private long findMacAddress(InetAddress address) {
+        HotspotClientMonitor monitor = mClientMonitor;
+        byte[] bytes = address.getAddress();
+        if (monitor == null || bytes.length != 4) {
+            return 0L;
+        }
+        int ipAddress = (bytes[0] & 0xFF) << 24 | (bytes[1] & 0xFF) << 16 | (bytes[2] & 0xFF) << 8 | (bytes[3] & 0xFF);
+        mClients.clear();
+        monitor.copyClients(mClients);
+        for (int slot = 0; slot < mClients.capacity(); slot++) {
+            long macAddress = mClients.keyAt(slot);
+            if (macAddress != 0L && mClients.valueAt(slot) == ipAddress) {
+                return macAddress;
+            }
+        }
+        return 0L;
+    }
+
+    //Serializes the HTML and JSON responses again.
+    private void regenerate(HotspotStateSnapshot snapshot) {
+        String state = stateName(snapshot.getState());
+        String ssid = mSsid;
+        boolean hidden = mHidden;
+
+        StringBuilder json = new StringBuilder(192);
+        json.append("{\"state\":\"").append(state).append('"');
+        json.append(",\"stateCode\":").append(snapshot.getState());
+        json.append(",\"sequence\":").append(snapshot.getSequence());
+        json.append(",\"since\":").append(snapshot.getTimestamp());
+        json.append(",\"ssid\":").append(ssid == null ? "null" : '"' + escapeJson(ssid) + '"');
+        json.append(",\"hidden\":").append(hidden);
+        json.append("}\n");
+
+        StringBuilder html = new StringBuilder(512);
+        html.append("<!DOCTYPE html><html><head><meta charset=\"utf-8\">");
+        html.append("<meta name=\"viewport\" content=\"width=device-width\">");
+        html.append("<meta http-equiv=\"refresh\" content=\"").append(KEEP_ALIVE_SECONDS / 3).append("\">");
+        html.append("<title>Hotspot</title></head><body>");
+        html.append("<h1>").append(ssid == null ? "Hotspot" : escapeHtml(ssid)).append("</h1>");
+        html.append("<p>State: <b>").append(state).append("</b></p>");
+        html.append("<p><a href=\"/client.json\">This device</a> | <a href=\"/status.json\">JSON</a></p>");
+        html.append("</body></html>\n");
+
+        mJsonResponse = new Response("200 OK", "application/json", json.toString());
+        mHtmlResponse = new Response("200 OK", "text/html; charset=utf-8", html.toString());
+    }
+
+    //Serializes a whole response into a read-only direct buffer.
+    private static ByteBuffer serialize(String head, byte[] body) {
+        byte[] headBytes = head.getBytes(UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(headBytes.length + body.length);
+        buffer.put(headBytes).put(body).flip();
+        return buffer.asReadOnlyBuffer();
+    }
+
+    private static String head(String status, String contentType, int contentLength, boolean keepAlive) {
+        return "HTTP/1.1 " + status + "\r\n"
+                + "Content-Type: " + contentType + "\r\n"
+                + "Content-Length: " + contentLength + "\r\n"
+                + "Cache-Control: no-cache\r\n"
+                + (keepAlive ? "Connection: keep-alive\r\nKeep-Alive: timeout=" + KEEP_ALIVE_SECONDS + "\r\n"
+                : "Connection: close\r\n") + "\r\n";
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] bytes = new byte[first.length + second.length];
+        System.arraycopy(first, 0, bytes, 0, first.length);
+        System.arraycopy(second, 0, bytes, first.length, second.length);
+        return bytes;
+    }
+
+    private static String stateName(int state) {
+        switch (state) {
+            case HotspotStates.WIFI_AP_STATE_DISABLING:
+                return "DISABLING";
+            case HotspotStates.WIFI_AP_STATE_DISABLED:
+                return "DISABLED";
+            case HotspotStates.WIFI_AP_STATE_ENABLING:
+                return "ENABLING";
+            case HotspotStates.WIFI_AP_STATE_ENABLED:
+                return "ENABLED";
+            case HotspotStates.WIFI_AP_STATE_FAILED:
+                return "FAILED";
+            default:
+                return "UNKNOWN";
+        }
+    }
+
+    private static String escapeJson(String value) {
+        StringBuilder builder = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c < 0x20) {
+                builder.append(String.format(Locale.US, "\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String escapeHtml(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
@@ -0,0 +1,135 @@
+package com.harish.hotspot.base.net;
+
+import java.io.UnsupportedEncodingException;
+import java.net.ProtocolException;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Head of an HTTP/1.x request, parsed straight from the read buffer of a connection.
+ *         Bodies are not supported, the embedded servers only answer GET and HEAD.
+ * @since 17.10.2026.
+ */
+final class HttpRequest {
+    private static final String TAG = HttpRequest.class.getSimpleName();
+
+    //Largest head accepted, also the size of the read buffers.
+    static final int MAX_HEAD_BYTES = 8192;
+
+    private final String mMethod;
+    private final String mPath;
+    private final boolean mHttp11;
+
+    //Header values, by lower case name.
+    private final Map<String, String> mHeaders;
+
+    private HttpRequest(String method, String path, boolean http11, Map<String, String> headers) {
+        this.mMethod = method;
+        this.mPath = path;
+        this.mHttp11 = http11;
+        this.mHeaders = headers;
+    }
+
+    /**
+     * Parses a head from the buffer, in read mode. On success the head is consumed from the buffer,
+     * so a pipelined request stays in it.
+     *
+     * @param buffer The buffer.
+     * @return the request, NULL if the head is not complete yet.
+     * @throws ProtocolException if the head is malformed.
+     */
+    static HttpRequest parse(ByteBuffer buffer) throws ProtocolException {
+        int start = buffer.position();
+        int end = indexOfEndOfHead(buffer);
+        if (end < 0) {
+            return null;
+        }
+        //Header bytes are ISO-8859-1, so every byte maps to one char.
+        char[] chars = new char[end - start];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) (buffer.get(start + i) & 0xFF);
+        }
+        buffer.position(end + 4);
+        String[] lines = new String(chars).split("\r\n");
+
+        String[] requestLine = lines[0].split(" ");
+        if (requestLine.length != 3 || !requestLine[2].startsWith("HTTP/1.")) {
+            throw new ProtocolException("Malformed request line: " + lines[0]);
+        }
+        Map<String, String> headers = new HashMap<>();
+        for (int i = 1; i < lines.length; i++) {
+            int colon = lines[i].indexOf(':');
+            if (colon <= 0) {
+                throw new ProtocolException("Malformed header: " + lines[i]);
+            }
+            headers.put(lines[i].substring(0, colon).trim().toLowerCase(Locale.US),
+                    lines[i].substring(colon + 1).trim());
+        }
+        return new HttpRequest(requestLine[0], decodePath(requestLine[1]),
+                requestLine[2].equals("HTTP/1.1"), headers);
+    }
+
+    /**
+     * @return the method, e.g. GET.
+     */
+    String getMethod() {
+        return mMethod;
+    }
+
+    /**
+     * @return the decoded path, without the query.
+     */
+    String getPath() {
+        return mPath;
+    }
+
+    /**
+     * @param name The lower case name.
+     * @return the value, NULL if absent.
+     */
+    String getHeader(String name) {
+        return mHeaders.get(name);
+    }
+
+    /**
+     * @return TRUE if the connection can be reused after the response.
+     */
+    boolean isKeepAlive() {
+        String connection = mHeaders.get("connection");
+        if (mHttp11) {
+            return connection == null || !connection.equalsIgnoreCase("close");
+        }
+        return connection != null && connection.equalsIgnoreCase("keep-alive");
+    }
+
+    //Finds the blank line ending the head, -1 if not there yet.
+    private static int indexOfEndOfHead(ByteBuffer buffer) {
+        for (int i = buffer.position(); i + 3 < buffer.limit(); i++) {
+            if (buffer.get(i) == '\r' && buffer.get(i + 1) == '\n'
+                    && buffer.get(i + 2) == '\r' && buffer.get(i + 3) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    //Drops the query and decodes the escapes.
+    private static String decodePath(String target) throws ProtocolException {
+        int query = target.indexOf('?');
+        String path = query < 0 ? target : target.substring(0, query);
+        if (!path.startsWith("/")) {
+            throw new ProtocolException("Unsupported target: " + target);
+        }
+        try {
+            //'+' is a literal in a path, unlike in a query.
+            return URLDecoder.decode(path.replace("+", "%2B"), "UTF-8");
+        } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+            throw new ProtocolException("Malformed target: " + target);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.harish.hotspot.base.net;
+
+import com.harish.hotspot.base.interfaces.IHotspotNetworkService;
+
+import java.io.IOException;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Single thread running a {@link Selector}, the base of the non-blocking network services.
+ *         <p>
+ *         The subclass registers its channels in {@link #onStart(Selector)} and handles the ready keys
+ *         in {@link #onSelected(SelectionKey)}. A key failing with an {@link IOException} is closed,
+ *         without affecting the others. Everything but {@link #start()} and {@link #stop()} runs on the
+ *         loop thread, so the subclasses need no locking; other threads hand work over with {@link #post(Runnable)}.
+ * @since 17.10.2026.
+ */
+public abstract class SelectorLoop implements IHotspotNetworkService {
+    private static final String TAG = SelectorLoop.class.getSimpleName();
+
+    //Name of the loop thread.
+    private final String mName;
+
+    //Open while running.
+    private volatile Selector mSelector;
+
+    //Tasks posted from other threads, run on the loop thread.
+    private final ConcurrentLinkedQueue<Runnable> mTasks = new ConcurrentLinkedQueue<>();
+
+    //Runs the loop, NULL while stopped.
+    private Thread mThread;
+
+    //Cleared to end the loop.
+    private volatile boolean mRunning;
+
+    /**
+     * Constructor.
+     *
+     * @param name The name of the loop thread.
+     */
+    protected SelectorLoop(String name) {
+        this.mName = name;
+    }
+
+    /**
+     * Opens the channels and starts the loop thread. Does nothing if already running.
+     *
+     * @throws IOException if the channels could not be opened or bound.
+     */
+    @Override
+    public synchronized void start() throws IOException {
+        if (mRunning) {
+            return;
+        }
+        Selector selector = Selector.open();
+        try {
+            onStart(selector);
+        } catch (IOException | RuntimeException e) {
+            closeAll(selector);
+            throw e;
+        }
+        mSelector = selector;
+        mRunning = true;
+        mThread = new Thread(mLoopTask, mName);
+        mThread.setDaemon(true);
+        mThread.start();
+    }
+
+    /**
+     * Stops the loop and closes all the channels, waiting for the loop thread to end.
+     */
+    @Override
+    public synchronized void stop() {
+        if (!mRunning) {
+            return;
+        }
+        mRunning = false;
+        mSelector.wakeup();
+        if (Thread.currentThread() != mThread) {
+            try {
+                mThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        mThread = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return mRunning;
+    }
+
+    /**
+     * Opens the channels and registers them with the selector. Called on the thread of {@link #start()}.
+     */
+    protected abstract void onStart(Selector selector) throws IOException;
+
+    /**
+     * Handles a ready key. Called on the loop thread.
+     *
+     * @throws IOException to close the key.
+     */
+    protected abstract void onSelected(SelectionKey key) throws IOException;
+
+    /**
+     * Called on the loop thread after every select, e.g. for timers. Does nothing by default.
+     */
+    protected void onLoop() throws IOException {
+    }
+
+    /**
+     * Called on the loop thread once the loop ended and the channels are closed. Does nothing by default.
+     */
+    protected void onStop() {
+    }
+
+    /**
+     * Called on the loop thread after a key is closed. Does nothing by default.
+     */
+    protected void onClosed(SelectionKey key) {
+    }
+
+    /**
+     * @return the longest time to block in select, in milliseconds. 0 blocks until a key is ready.
+     */
+    protected long getSelectTimeout() {
+        return 0L;
+    }
+
+    /**
+     * Runs a task on the loop thread, e.g. the result of a blocking call made elsewhere.
+     * Dropped if the loop is stopped.
+     *
+     * @param task The task.
+     */
+    protected final void post(Runnable task) {
+        mTasks.add(task);
+        Selector selector = mSelector;
+        if (selector != null) {
+            selector.wakeup();
+        }
+    }
+
+    /**
+     * @return the registered keys. Loop thread only.
+     */
+    protected final Set<SelectionKey> getKeys() {
+        return mSelector.keys();
+    }
+
+    /**
+     * Closes the channel of the key, once.
+     *
+     * @param key The key.
+     */
+    protected final void close(SelectionKey key) {
+        if (!key.channel().isOpen()) {
+            return;
+        }
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        onClosed(key);
+    }
+
+    //Selects until stopped, then closes everything.
+    private final Runnable mLoopTask = new Runnable() {
+        @Override
+        public void run() {
+            Selector selector = mSelector;
+            try {
+                while (mRunning) {
+                    selector.select(getSelectTimeout());
+                    if (!mRunning) {
+                        break;
+                    }
+                    Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+                    while (iterator.hasNext()) {
+                        SelectionKey key = iterator.next();
+                        iterator.remove();
+                        if (!key.isValid()) {
+                            continue;
+                        }
+                        try {
+                            onSelected(key);
+                        } catch (IOException | CancelledKeyException e) {
+                            close(key);
+                        }
+                    }
+                    Runnable task;
+                    while ((task = mTasks.poll()) != null) {
+                        task.run();
+                    }
+                    onLoop();
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+                mRunning = false;
+            } finally {
+                closeAll(selector);
+                mTasks.clear();
+                onStop();
+            }
+        }
+    };
+
+    //Closes every registered channel and the selector.
+    private void closeAll(Selector selector) {
+        for (SelectionKey key : selector.keys()) {
+            close(key);
+        }
+        try {
+            selector.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.harish.hotspot.base.net;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Immutable result of one {@link HotspotSpeedTest} measure: the samples taken after the warm-up,
+ *         reduced to their mean, extremes and percentiles. Throughputs are in bits per second, sampled
+ *         per interval over all the streams; round trips are in microseconds, one sample per ping.
+ * @since 17.10.2026.
+ */
+public final class SpeedTestResult {
+    private static final String TAG = SpeedTestResult.class.getSimpleName();
+
+    //Kinds of measure.
+    public static final int TYPE_DOWNLOAD = 0;
+    public static final int TYPE_UPLOAD = 1;
+    public static final int TYPE_RTT = 2;
+
+    //Percentiles reported.
+    public static final double[] PERCENTILES = {50.0, 90.0, 99.0};
+
+    private final int mType;
+    private final int mStreams;
+    private final int mCount;
+    private final long mBytes;
+    private final double mMean;
+    private final double mMin;
+    private final double mMax;
+    private final double[] mPercentiles;
+
+    //Constructor, sorts the samples.
+    SpeedTestResult(int type, int streams, long bytes, double mean, double[] samples) {
+        this.mType = type;
+        this.mStreams = streams;
+        this.mCount = samples.length;
+        this.mBytes = bytes;
+        this.mMean = mean;
+        Arrays.sort(samples);
+        this.mMin = samples.length == 0 ? 0.0 : samples[0];
+        this.mMax = samples.length == 0 ? 0.0 : samples[samples.length - 1];
+        this.mPercentiles = new double[PERCENTILES.length];
+        for (int p = 0; p < PERCENTILES.length; p++) {
+            //Nearest rank.
+            int rank = (int) Math.ceil(PERCENTILES[p] / 100.0 * samples.length);
+            mPercentiles[p] = samples.length == 0 ? 0.0 : samples[Math.max(0, rank - 1)];
+        }
+    }
+
+    /**
+     * @return one of the TYPE_* constants.
+     */
+    public int getType() {
+        return mType;
+    }
+
+    public int getStreams() {
+        return mStreams;
+    }
+
+    /**
+     * @return the number of samples, intervals or pings.
+     */
+    public int getCount() {
+        return mCount;
+    }
+
+    /**
+     * @return the bytes transferred after the warm-up, 0 for round trips.
+     */
+    public long getBytes() {
+        return mBytes;
+    }
+
+    /**
+     * @return the mean over the whole measure, in bits per second or microseconds.
+     */
+    public double getMean() {
+        return mMean;
+    }
+
+    public double getMin() {
+        return mMin;
+    }
+
+    public double getMax() {
+        return mMax;
+    }
+
+    /**
+     * @param percentile Index into {@link #PERCENTILES}.
+     * @return the percentile, in bits per second or microseconds.
+     */
+    public double getPercentile(int percentile) {
+        return mPercentiles[percentile];
+    }
+
+    @Override
+    public String toString() {
+        if (mType == TYPE_RTT) {
+            return String.format(Locale.US, "rtt: %d pings, mean %.1fus, p50 %.1fus, p90 %.1fus, p99 %.1fus, max %.1fus",
+                    mCount, mMean, mPercentiles[0], mPercentiles[1], mPercentiles[2], mMax);
+        }
+        return String.format(Locale.US, "%s: %d streams, %d bytes, mean %.2fMbit/s, p50 %.2f, p90 %.2f, p99 %.2f, "
+                        + "min %.2f, max %.2f",
+                mType == TYPE_DOWNLOAD ? "download" : "upload", mStreams, mBytes, mMean / 1e6,
+                mPercentiles[0] / 1e6, mPercentiles[1] / 1e6, mPercentiles[2] / 1e6, mMin / 1e6, mMax / 1e6);
+    }
+}
@@ -0,0 +1,220 @@
+package com.harish.hotspot.base.net;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Non-blocking TCP server on a {@link SelectorLoop}.
+ *         <p>
+ *         Accepts up to the configured number of concurrent connections, registers them for reading and
+ *         hands the ready connections to the subclass. Connections over the limit go to
+ *         {@link #onRejected(SocketChannel)} and are closed.
+ * @since 17.10.2026.
+ */
+public abstract class TcpServer extends SelectorLoop {
+    private static final String TAG = TcpServer.class.getSimpleName();
+
+    //Default limit of concurrent connections.
+    public static final int DEFAULT_MAX_CONNECTIONS = 8;
+
+    //Pending connections queued by the kernel.
+    private static final int BACKLOG = 64;
+
+    //Address to listen on, NULL for the tether interface.
+    private final InetSocketAddress mAddress;
+    private final int mPort;
+
+    //Limit of concurrent connections.
+    private volatile int mMaxConnections = DEFAULT_MAX_CONNECTIONS;
+
+    //Accepted connections, as opposed to the outgoing ones of the subclass. Loop thread only.
+    private final Set<SelectionKey> mAccepted = new HashSet<>();
+
+    //Open accepted connections. Written on the loop thread only.
+    private volatile int mConnectionCount;
+
+    //Listening channel, NULL while stopped.
+    private volatile ServerSocketChannel mServerChannel;
+
+    /**
+     * Constructor.
+     *
+     * @param name    The name of the loop thread.
+     * @param address The address to listen on, port 0 for any free port.
+     */
+    protected TcpServer(String name, InetSocketAddress address) {
+        super(name);
+        this.mAddress = address;
+        this.mPort = address.getPort();
+    }
+
+    /**
+     * Constructor, listening on the {@link TetherInterface}, looked up on every start.
+     *
+     * @param name The name of the loop thread.
+     * @param port The port, 0 for any free port.
+     */
+    protected TcpServer(String name, int port) {
+        super(name);
+        this.mAddress = null;
+        this.mPort = port;
+    }
+
+    /**
+     * Sets the limit of concurrent connections, applied to the next accepted ones.
+     */
+    public void setMaxConnections(int maxConnections) {
+        if (maxConnections < 1) {
+            throw new IllegalArgumentException("Invalid limit: " + maxConnections);
+        }
+        this.mMaxConnections = maxConnections;
+    }
+
+    /**
+     * @return the limit of concurrent connections.
+     */
+    public int getMaxConnections() {
+        return mMaxConnections;
+    }
+
+    /**
+     * @return the number of open connections.
+     */
+    public int getConnectionCount() {
+        return mConnectionCount;
+    }
+
+    /**
+     * @return the port listened on, -1 while stopped.
+     */
+    public int getLocalPort() {
+        ServerSocketChannel serverChannel = mServerChannel;
+        return serverChannel == null ? -1 : serverChannel.socket().getLocalPort();
+    }
+
+    @Override
+    protected void onStart(Selector selector) throws IOException {
+        InetSocketAddress address = mAddress != null ? mAddress : new InetSocketAddress(
+                TetherInterface.await(TetherInterface.DEFAULT_TIMEOUT_MS).getAddress(), mPort);
+        ServerSocketChannel serverChannel = ServerSocketChannel.open();
+        try {
+            serverChannel.configureBlocking(false);
+            serverChannel.socket().setReuseAddress(true);
+            serverChannel.socket().bind(address, BACKLOG);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            serverChannel.close();
+            throw e;
+        }
+        mAccepted.clear();
+        mConnectionCount = 0;
+        mServerChannel = serverChannel;
+    }
+
+    @Override
+    protected final void onSelected(SelectionKey key) throws IOException {
+        if (key.isAcceptable()) {
+            accept(key);
+            return;
+        }
+        if (key.isConnectable()) {
+            onConnectable(key);
+            return;
+        }
+        if (key.isReadable()) {
+            onReadable(key);
+        }
+        if (key.isValid() && key.isWritable()) {
+            onWritable(key);
+        }
+    }
+
+    @Override
+    protected final void onClosed(SelectionKey key) {
+        if (key.channel() instanceof SocketChannel) {
+            if (mAccepted.remove(key)) {
+                mConnectionCount--;
+            }
+            onDisconnected(key);
+        } else {
+            mServerChannel = null;
+        }
+    }
+
+    /**
+     * Called on the loop thread for a new connection, registered for reading. Typically attaches its state.
+     */
+    protected abstract void onAccepted(SelectionKey key) throws IOException;
+
+    /**
+     * Called on the loop thread when the connection is readable.
+     *
+     * @throws IOException to close the connection.
+     */
+    protected abstract void onReadable(SelectionKey key) throws IOException;
+
+    /**
+     * Called on the loop thread when the connection is writable.
+     *
+     * @throws IOException to close the connection.
+     */
+    protected abstract void onWritable(SelectionKey key) throws IOException;
+
+    /**
+     * Called on the loop thread when an outgoing connection of the subclass completes or fails.
+     * Does nothing by default.
+     *
+     * @throws IOException to close the connection.
+     */
+    protected void onConnectable(SelectionKey key) throws IOException {
+    }
+
+    /**
+     * Called on the loop thread after a connection, accepted or outgoing, is closed, to release its state.
+     * Does nothing by default.
+     */
+    protected void onDisconnected(SelectionKey key) {
+    }
+
+    /**
+     * Called on the loop thread for a connection over the limit, closed right after.
+     * Does nothing by default, may write a short refusal.
+     */
+    protected void onRejected(SocketChannel channel) throws IOException {
+    }
+
+    //Accepts all the pending connections.
+    private void accept(SelectionKey serverKey) throws IOException {
+        ServerSocketChannel serverChannel = (ServerSocketChannel) serverKey.channel();
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            try {
+                channel.configureBlocking(false);
+                if (mConnectionCount >= mMaxConnections) {
+                    onRejected(channel);
+                    channel.close();
+                    continue;
+                }
+                channel.socket().setTcpNoDelay(true);
+                SelectionKey key = channel.register(serverKey.selector(), SelectionKey.OP_READ);
+                mAccepted.add(key);
+                mConnectionCount++;
+                try {
+                    onAccepted(key);
+                } catch (IOException e) {
+                    close(key);
+                }
+            } catch (IOException e) {
+                channel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.harish.hotspot.base.net;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.Inet4Address;
+import java.net.InterfaceAddress;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.util.Collections;
+import java.util.Enumeration;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Finds the tether interface, the one the hotspot clients reach the host on.
+ *         <p>
+ *         The network services listen on its address rather than on all the interfaces, so they are never
+ *         exposed on the mobile network. The AP interface is named differently across builds, so the one
+ *         holding {@link #DEFAULT_ADDRESS} is preferred, then the first one up named after {@link #NAMES}
+ *         with an IPv4 address. The tethering sets the address up shortly after the hotspot is ENABLED,
+ *         hence {@link #await(long)}.
+ * @since 17.10.2026.
+ */
+public final class TetherInterface {
+    private static final String TAG = TetherInterface.class.getSimpleName();
+
+    //Address of the host on the hotspot, set by the tethering.
+    public static final String DEFAULT_ADDRESS = "192.168.43.1";
+
+    //Names of the AP interface, the dedicated ones first: wlan0 may be the station interface alongside.
+    private static final String[] NAMES = {"ap0", "swlan0", "softap0", "wlan0"};
+
+    //Wait of the network services for the address, once the hotspot is ENABLED.
+    public static final long DEFAULT_TIMEOUT_MS = 2000L;
+
+    //Interval between two lookups while waiting.
+    private static final long POLL_INTERVAL_MS = 100L;
+
+    private TetherInterface() {
+    }
+
+    /**
+     * Looks the tether interface up once.
+     *
+     * @return its IPv4 {@link InterfaceAddress}, NULL if the hotspot has none.
+     */
+    public static InterfaceAddress find() throws SocketException {
+        NetworkInterface networkInterface = findInterface();
+        return networkInterface == null ? null : findIpv4(networkInterface);
+    }
+
+    /**
+     * Looks the name of the tether interface up once, e.g. to filter the neighbor table.
+     *
+     * @return its name, NULL if the hotspot has no address.
+     */
+    public static String findName() throws SocketException {
+        NetworkInterface networkInterface = findInterface();
+        return networkInterface == null ? null : networkInterface.getName();
+    }
+
+    /**
+     * Waits for the tether interface to get its address, blocking the calling thread.
+     *
+     * @param timeoutMillis The longest wait.
+     * @return its IPv4 {@link InterfaceAddress}.
+     * @throws SocketException if it has none after the timeout.
+     */
+    public static InterfaceAddress await(long timeoutMillis) throws IOException {
+        long deadline = System.nanoTime() + timeoutMillis * 1000000L;
+        while (true) {
+            InterfaceAddress address = find();
+            if (address != null) {
+                return address;
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                throw new SocketException("No tether interface");
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting for the tether interface");
+            }
+        }
+    }
+
+    //The interface holding DEFAULT_ADDRESS, else the first one up named after NAMES, with an IPv4 address.
+    private static NetworkInterface findInterface() throws SocketException {
+        Enumeration<NetworkInterface> interfaces = NetworkInterface.getNetworkInterfaces();
+        if (interfaces == null) {
+            return null;
+        }
+        NetworkInterface[] named = new NetworkInterface[NAMES.length];
+        for (NetworkInterface networkInterface : Collections.list(interfaces)) {
+            if (!networkInterface.isUp() || networkInterface.isLoopback()) {
+                continue;
+            }
+            InterfaceAddress address = findIpv4(networkInterface);
+            if (address == null) {
+                continue;
+            }
+            if (address.getAddress().getHostAddress().equals(DEFAULT_ADDRESS)) {
+                return networkInterface;
+            }
+            for (int i = 0; i < NAMES.length; i++) {
+                if (named[i] == null && NAMES[i].equals(networkInterface.getName())) {
+                    named[i] = networkInterface;
+                }
+            }
+        }
+        for (NetworkInterface networkInterface : named) {
+            if (networkInterface != null) {
+                return networkInterface;
+            }
+        }
+        return null;
+    }
+
+    private static InterfaceAddress findIpv4(NetworkInterface networkInterface) {
+        for (InterfaceAddress address : networkInterface.getInterfaceAddresses()) {
+            if (address.getAddress() instanceof Inet4Address) {
+                return address;
+            }
+        }
+        return null;
+    }
+}
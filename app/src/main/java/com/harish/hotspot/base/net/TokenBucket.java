@@ -0,0 +1,66 @@
+package com.harish.hotspot.base.net;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Token bucket limiting the bytes relayed for a client: filled at a steady rate up to its burst size,
+ *         and drained by every byte read. Refilled lazily from the elapsed time, so an idle bucket costs nothing.
+ *         Loop thread only.
+ * @since 17.10.2026.
+ */
+final class TokenBucket {
+    private static final String TAG = TokenBucket.class.getSimpleName();
+
+    //Refill rate, in bytes per nanosecond.
+    private final double mRatePerNano;
+
+    //Largest burst, in bytes.
+    private final long mCapacity;
+
+    //Available bytes.
+    private long mTokens;
+
+    //Time of the last refill, in nanoseconds.
+    private long mLastRefill;
+
+    //Open tunnels of the client, the bucket is dropped with the last one.
+    int mTunnelCount;
+
+    /**
+     * Constructor, full.
+     *
+     * @param rate     The rate, in bytes per second.
+     * @param capacity The burst, in bytes.
+     * @param now      The current time, in nanoseconds.
+     */
+    TokenBucket(long rate, long capacity, long now) {
+        this.mRatePerNano = rate / 1e9;
+        this.mCapacity = capacity;
+        this.mTokens = capacity;
+        this.mLastRefill = now;
+    }
+
+    /**
+     * @param now The current time, in nanoseconds.
+     * @return the bytes which may be relayed right now.
+     */
+    long available(long now) {
+        long elapsed = now - mLastRefill;
+        long added = (long) (elapsed * mRatePerNano);
+        //Keep the remainder for the next refill, unless the bucket is full anyway.
+        if (added > 0) {
+            mTokens = added >= mCapacity - mTokens ? mCapacity : mTokens + added;
+            mLastRefill = mTokens == mCapacity ? now : mLastRefill + (long) (added / mRatePerNano);
+        }
+        return mTokens;
+    }
+
+    /**
+     * Takes bytes relayed.
+     *
+     * @param bytes At most {@link #available(long)}.
+     */
+    void consume(long bytes) {
+        mTokens -= bytes;
+    }
+}
@@ -0,0 +1,160 @@
+package com.harish.hotspot.base.receiver;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+
+import com.harish.hotspot.base.interfaces.IHotspotStateListener;
+import com.harish.hotspot.base.state.HotspotStates;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Coalescing stage in front of a UI {@link IHotspotStateListener}.
+ *         <p>
+ *         A toggle produces ENABLING then ENABLED (or DISABLING, DISABLED, FAILED) within milliseconds.
+ *         This listener only remembers the latest state and delivers it to the wrapped listener once,
+ *         on the next vsync (or after a fixed window), on the main thread. A state equal to the last one
+ *         delivered is not delivered again.
+ *         <p>
+ *         Only the wrapped listener is coalesced: other listeners of {@link HotspotStateDispatcher}
+ *         and subscribers of {@link com.harish.hotspot.base.stream.HotspotStatePublisher} still see every state.
+ *         NOTE:
+ *         The dispatcher holds its listeners weakly, so the owner (e.g. an Activity) has to keep a reference
+ *         to this instance for as long as it is registered, and call {@link #cancel()} when unregistering it.
+ * @since 17.10.2026.
+ */
+public final class FrameCoalescingStateListener implements IHotspotStateListener {
+    private static final String TAG = FrameCoalescingStateListener.class.getSimpleName();
+
+    //Align with the vsync.
+    public static final long WINDOW_FRAME = 0L;
+
+    //The UI listener.
+    private final IHotspotStateListener mDelegate;
+
+    //Time collecting the states, WINDOW_FRAME for the next frame.
+    private final long mWindowMillis;
+
+    //Main thread.
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+
+    //Latest state received.
+    private final AtomicInteger mPendingState = new AtomicInteger(HotspotStates.WIFI_AP_STATE_UNKNOWN);
+
+    //TRUE while a delivery is scheduled.
+    private final AtomicBoolean mScheduled = new AtomicBoolean();
+
+    //Last state delivered. Main thread only.
+    private int mDeliveredState = HotspotStates.WIFI_AP_STATE_UNKNOWN;
+
+    /**
+     * Constructor, delivering once per frame.
+     *
+     * @param delegate The UI {@link IHotspotStateListener}.
+     */
+    public FrameCoalescingStateListener(IHotspotStateListener delegate) {
+        this(delegate, WINDOW_FRAME);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param delegate     The UI {@link IHotspotStateListener}.
+     * @param windowMillis The time collecting the states, {@link #WINDOW_FRAME} to deliver on the next vsync.
+     */
+    public FrameCoalescingStateListener(IHotspotStateListener delegate, long windowMillis) {
+        this.mDelegate = delegate;
+        this.mWindowMillis = windowMillis;
+    }
+
+    /**
+     * Cancels the pending delivery, if any. Main thread only, right after unregistering this listener,
+     * so the wrapped listener is not called once its owner stopped listening.
+     * The last delivered state is forgotten, so the first state after registering again is always delivered,
+     * even if equal to the one delivered before: the hotspot may have moved in between.
+     */
+    public void cancel() {
+        mMainHandler.removeCallbacks(mScheduleTask);
+        mMainHandler.removeCallbacks(mDeliverTask);
+        if (mWindowMillis <= WINDOW_FRAME) {
+            Choreographer.getInstance().removeFrameCallback(mFrameCallback);
+        }
+        mDeliveredState = HotspotStates.WIFI_AP_STATE_UNKNOWN;
+        //Cleared last, so a state received from now on schedules a new delivery.
+        mScheduled.set(false);
+    }
+
+    @Override
+    public void onEnabling() {
+        onState(HotspotStates.WIFI_AP_STATE_ENABLING);
+    }
+
+    @Override
+    public void onEnabled() {
+        onState(HotspotStates.WIFI_AP_STATE_ENABLED);
+    }
+
+    @Override
+    public void onDisabling() {
+        onState(HotspotStates.WIFI_AP_STATE_DISABLING);
+    }
+
+    @Override
+    public void onDisabled() {
+        onState(HotspotStates.WIFI_AP_STATE_DISABLED);
+    }
+
+    @Override
+    public void onFailed() {
+        onState(HotspotStates.WIFI_AP_STATE_FAILED);
+    }
+
+    //Remembers the state, and schedules a delivery unless one already is.
+    private void onState(int state) {
+        mPendingState.set(state);
+        if (mScheduled.compareAndSet(false, true)) {
+            if (Looper.myLooper() == Looper.getMainLooper()) {
+                mScheduleTask.run();
+            } else {
+                mMainHandler.post(mScheduleTask);
+            }
+        }
+    }
+
+    //Waits for the next frame or the window. Main thread only, as the Choreographer is per thread.
+    private final Runnable mScheduleTask = new Runnable() {
+        @Override
+        public void run() {
+            if (mWindowMillis > WINDOW_FRAME) {
+                mMainHandler.postDelayed(mDeliverTask, mWindowMillis);
+            } else {
+                Choreographer.getInstance().postFrameCallback(mFrameCallback);
+            }
+        }
+    };
+
+    private final Choreographer.FrameCallback mFrameCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            mDeliverTask.run();
+        }
+    };
+
+    //Delivers the latest state, once.
+    private final Runnable mDeliverTask = new Runnable() {
+        @Override
+        public void run() {
+            //Cleared before reading, so a state arriving now schedules another delivery.
+            mScheduled.set(false);
+            int state = mPendingState.get();
+            if (state != mDeliveredState) {
+                mDeliveredState = state;
+                HotspotStateDispatcher.deliver(mDelegate, state);
+            }
+        }
+    };
+}
@@ -7,7 +7,8 @@ import android.os.Build;
 
 import com.harish.hotspot.base.HotspotManager;
 import com.harish.hotspot.base.HotspotManagerV26;
-import com.harish.hotspot.base.state.HotspotStates;
+import com.harish.hotspot.base.controller.IHotspotManager;
+import com.harish.hotspot.base.journal.HotspotJournal;
 
 /**
  * @author HARISH.
@@ -30,7 +31,8 @@ public final class HotspotReceiver extends BroadcastReceiver {
     @Override
     public void onReceive(Context context, Intent intent) {
         if (ACTION_HOTSPOT_STATE_CHANGE.equalsIgnoreCase(intent.getAction())) {
-            handleStateChangeInfo(context, intent.getIntExtra(EXTRA_PREVIOUS_WIFI_AP_STATE, -1),
+            handleStateChangeInfo(getHotspotManager(context),
+                    intent.getIntExtra(EXTRA_PREVIOUS_WIFI_AP_STATE, -1),
                     intent.getIntExtra(EXTRA_WIFI_AP_STATE, -1));
         }
     }
@@ -38,69 +40,31 @@ public final class HotspotReceiver extends BroadcastReceiver {
     /**
      * Handles the hotspot state change information.
      *
-     * @param previousState The previous state.
-     * @param nextState     The new state.
+     * @param hotspotManager The manager of this OS version.
+     * @param previousState  The previous state.
+     * @param nextState      The new state.
      */
-    private synchronized void handleStateChangeInfo(Context context, int previousState, int nextState) {
-        //Update the state.
-        HotspotManager.getInstance(context).setHotspotState(nextState);
-        //Call one of the callbacks based on the state.
-        switch (nextState) {
-            case HotspotStates.WIFI_AP_STATE_DISABLING:
-                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-                    if (HotspotManagerV26.getInstance(context).getHotspotStateListener() != null) {
-                        HotspotManagerV26.getInstance(context).getHotspotStateListener().onDisabling();
-                    }
-                } else {
-                    if (HotspotManager.getInstance(context).getHotspotStateListener() != null) {
-                        HotspotManager.getInstance(context).getHotspotStateListener().onDisabling();
-                    }
-                }
-                break;
-            case HotspotStates.WIFI_AP_STATE_DISABLED:
-                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-                    if (HotspotManagerV26.getInstance(context).getHotspotStateListener() != null) {
-                        HotspotManagerV26.getInstance(context).getHotspotStateListener().onDisabled();
-                    }
-                } else {
-                    if (HotspotManager.getInstance(context).getHotspotStateListener() != null) {
-                        HotspotManager.getInstance(context).getHotspotStateListener().onDisabled();
-                    }
-                }
-                break;
-            case HotspotStates.WIFI_AP_STATE_ENABLING:
-                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-                    if (HotspotManagerV26.getInstance(context).getHotspotStateListener() != null) {
-                        HotspotManagerV26.getInstance(context).getHotspotStateListener().onEnabling();
-                    }
-                } else {
-                    if (HotspotManager.getInstance(context).getHotspotStateListener() != null) {
-                        HotspotManager.getInstance(context).getHotspotStateListener().onEnabling();
-                    }
-                }
-                break;
-            case HotspotStates.WIFI_AP_STATE_ENABLED:
-                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-                    if (HotspotManagerV26.getInstance(context).getHotspotStateListener() != null) {
-                        HotspotManagerV26.getInstance(context).getHotspotStateListener().onEnabled();
-                    }
-                } else {
-                    if (HotspotManager.getInstance(context).getHotspotStateListener() != null) {
-                        HotspotManager.getInstance(context).getHotspotStateListener().onEnabled();
-                    }
-                }
-                break;
-            case HotspotStates.WIFI_AP_STATE_FAILED:
-                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-                    if (HotspotManagerV26.getInstance(context).getHotspotStateListener() != null) {
-                        HotspotManagerV26.getInstance(context).getHotspotStateListener().onFailed();
-                    }
-                } else {
-                    if (HotspotManager.getInstance(context).getHotspotStateListener() != null) {
-                        HotspotManager.getInstance(context).getHotspotStateListener().onFailed();
-                    }
-                }
-                break;
+    private void handleStateChangeInfo(IHotspotManager hotspotManager, int previousState, int nextState) {
+        //Keep the history, including the reported previous state.
+        //The journal is opened on the worker of the manager, never here: a broadcast ahead of it is not kept.
+        HotspotJournal journal = HotspotJournal.peekInstance();
+        if (journal != null) {
+            journal.append(previousState, nextState);
         }
+        //Update the state and call the callbacks.
+        hotspotManager.getStateDispatcher().publish(previousState, nextState);
+    }
+
+    /**
+     * Looks up the manager matching the OS version.
+     *
+     * @param context The context.
+     * @return the {@link IHotspotManager} instance.
+     */
+    private static IHotspotManager getHotspotManager(Context context) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            return HotspotManagerV26.getInstance(context);
+        }
+        return HotspotManager.getInstance(context);
     }
 }
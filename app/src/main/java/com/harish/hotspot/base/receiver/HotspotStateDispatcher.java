@@ -0,0 +1,221 @@
+package com.harish.hotspot.base.receiver;
+
+import com.harish.hotspot.base.interfaces.IHotspotStateListener;
+import com.harish.hotspot.base.state.HotspotStateMachine;
+import com.harish.hotspot.base.state.HotspotStates;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Copy-on-write registry of {@link IHotspotStateListener}s, fanning out the hotspot state changes.
+ *         <p>
+ *         Listeners are held through {@link WeakReference}s, so a subscriber which forgets to unregister
+ *         (e.g. an Activity) is not leaked. Dispatching reads a snapshot of the registry without locking
+ *         and picks the callback from a table indexed by the state, instead of a switch.
+ * @since 17.10.2026.
+ */
+public final class HotspotStateDispatcher {
+    private static final String TAG = HotspotStateDispatcher.class.getSimpleName();
+
+    //Callback of a listener for a particular state.
+    private interface StateCallback {
+        void deliver(IHotspotStateListener listener);
+    }
+
+    //The lowest state present in the dispatch table.
+    private static final int FIRST_STATE = HotspotStates.WIFI_AP_STATE_DISABLING;
+
+    //Dispatch table, indexed by (state - FIRST_STATE).
+    private static final StateCallback[] CALLBACKS = {
+            //WIFI_AP_STATE_DISABLING.
+            new StateCallback() {
+                @Override
+                public void deliver(IHotspotStateListener listener) {
+                    listener.onDisabling();
+                }
+            },
+            //WIFI_AP_STATE_DISABLED.
+            new StateCallback() {
+                @Override
+                public void deliver(IHotspotStateListener listener) {
+                    listener.onDisabled();
+                }
+            },
+            //WIFI_AP_STATE_ENABLING.
+            new StateCallback() {
+                @Override
+                public void deliver(IHotspotStateListener listener) {
+                    listener.onEnabling();
+                }
+            },
+            //WIFI_AP_STATE_ENABLED.
+            new StateCallback() {
+                @Override
+                public void deliver(IHotspotStateListener listener) {
+                    listener.onEnabled();
+                }
+            },
+            //WIFI_AP_STATE_FAILED.
+            new StateCallback() {
+                @Override
+                public void deliver(IHotspotStateListener listener) {
+                    listener.onFailed();
+                }
+            }
+    };
+
+    //Weak reference to a listener, typed so that the registry is a plain array.
+    private static final class ListenerReference extends WeakReference<IHotspotStateListener> {
+        private ListenerReference(IHotspotStateListener listener) {
+            super(listener);
+        }
+    }
+
+    //Shared empty registry.
+    private static final ListenerReference[] EMPTY = new ListenerReference[0];
+
+    //Registered listeners. Never mutated in place, replaced on every change.
+    private volatile ListenerReference[] mListeners = EMPTY;
+
+    /**
+     * Registers a listener. Registering the same listener twice has no effect.
+     *
+     * @param listener The {@link IHotspotStateListener} instance.
+     * @return TRUE if the listener was added.
+     */
+    public synchronized boolean addListener(IHotspotStateListener listener) {
+        ListenerReference[] current = mListeners;
+        int live = 0;
+        for (ListenerReference reference : current) {
+            IHotspotStateListener registered = reference.get();
+            if (registered == listener) {
+                return false;
+            }
+            if (registered != null) {
+                live++;
+            }
+        }
+        ListenerReference[] updated = new ListenerReference[live + 1];
+        int index = 0;
+        for (ListenerReference reference : current) {
+            if (reference.get() != null) {
+                updated[index++] = reference;
+            }
+        }
+        updated[index] = new ListenerReference(listener);
+        mListeners = updated;
+        return true;
+    }
+
+    /**
+     * Unregisters a listener.
+     *
+     * @param listener The {@link IHotspotStateListener} instance.
+     * @return TRUE if the listener was registered.
+     */
+    public synchronized boolean removeListener(IHotspotStateListener listener) {
+        ListenerReference[] current = mListeners;
+        boolean removed = false;
+        int live = 0;
+        for (ListenerReference reference : current) {
+            IHotspotStateListener registered = reference.get();
+            if (registered == listener) {
+                removed = true;
+            } else if (registered != null) {
+                live++;
+            }
+        }
+        ListenerReference[] updated = live == 0 ? EMPTY : new ListenerReference[live];
+        int index = 0;
+        for (ListenerReference reference : current) {
+            IHotspotStateListener registered = reference.get();
+            if (registered != null && registered != listener) {
+                updated[index++] = reference;
+            }
+        }
+        mListeners = updated;
+        return removed;
+    }
+
+    /**
+     * Checks whether any listener is still registered.
+     *
+     * @return TRUE if there is no live listener.
+     */
+    public boolean isEmpty() {
+        for (ListenerReference reference : mListeners) {
+            if (reference.get() != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Entry point of the state changes reported by the framework (or a simulated backend).
+     * Updates the shared {@link HotspotStateMachine} and delivers the state if it changed.
+     *
+     * @param previousState The previous state, as reported.
+     * @param nextState     The new state.
+     * @return TRUE if the state changed, FALSE for a duplicate report.
+     */
+    public boolean publish(int previousState, int nextState) {
+        //Duplicate reports do not change the state and are not dispatched again.
+        if (HotspotStateMachine.getInstance().sync(nextState)) {
+            //Call one of the callbacks based on the state.
+            dispatch(nextState);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Delivers the state to all the registered listeners.
+     *
+     * @param state The new state.
+     * @see HotspotStates
+     */
+    public void dispatch(int state) {
+        StateCallback callback = getCallback(state);
+        if (callback == null) {
+            return;
+        }
+        boolean stale = false;
+        for (ListenerReference reference : mListeners) {
+            IHotspotStateListener listener = reference.get();
+            if (listener != null) {
+                callback.deliver(listener);
+            } else {
+                stale = true;
+            }
+        }
+        //Drop the listeners which were garbage collected.
+        if (stale) {
+            removeListener(null);
+        }
+    }
+
+    /**
+     * Delivers the state to a single listener.
+     *
+     * @param listener The {@link IHotspotStateListener} instance.
+     * @param state    The state.
+     * @return FALSE if the state has no callback.
+     */
+    public static boolean deliver(IHotspotStateListener listener, int state) {
+        StateCallback callback = getCallback(state);
+        if (callback == null) {
+            return false;
+        }
+        callback.deliver(listener);
+        return true;
+    }
+
+    //Looks up the callback of the state, NULL if there is none.
+    private static StateCallback getCallback(int state) {
+        int index = state - FIRST_STATE;
+        return index < 0 || index >= CALLBACKS.length ? null : CALLBACKS[index];
+    }
+}
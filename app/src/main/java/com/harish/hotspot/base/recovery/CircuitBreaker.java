@@ -0,0 +1,54 @@
+package com.harish.hotspot.base.recovery;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Circuit breaker of one failure reason.
+ *         <p>
+ *         Closed, it counts the consecutive failures. Past the threshold it opens, and no retry runs before
+ *         the open time has elapsed. The first retry after that is a trial (half-open): a success closes
+ *         the breaker, a failure opens it again right away.
+ *         Not thread-safe, guarded by {@link HotspotRecovery}.
+ * @since 17.10.2026.
+ */
+final class CircuitBreaker {
+    private static final String TAG = CircuitBreaker.class.getSimpleName();
+
+    //Consecutive failures.
+    private int mFailures;
+
+    //Time the breaker is open until, in nanoseconds. 0 when closed.
+    private long mOpenUntil;
+
+    /**
+     * Records a failure.
+     *
+     * @param now       The current time, in nanoseconds.
+     * @param threshold The consecutive failures opening the breaker.
+     * @param openNanos The open time, in nanoseconds.
+     */
+    void onFailure(long now, int threshold, long openNanos) {
+        mFailures++;
+        //A failed trial opens it again, whatever the count.
+        if (mOpenUntil != 0L || mFailures >= threshold) {
+            //Never 0, which means closed.
+            mOpenUntil = (now + openNanos) | 1L;
+        }
+    }
+
+    /**
+     * Records a success, closing the breaker.
+     */
+    void onSuccess() {
+        mFailures = 0;
+        mOpenUntil = 0L;
+    }
+
+    /**
+     * @param now The current time, in nanoseconds.
+     * @return the time before a retry may run, in nanoseconds. 0 if closed or half-open.
+     */
+    long getRemainingOpenTime(long now) {
+        return mOpenUntil == 0L ? 0L : Math.max(0L, mOpenUntil - now);
+    }
+}
@@ -0,0 +1,242 @@
+package com.harish.hotspot.base.recovery;
+
+import com.harish.hotspot.base.command.HotspotCommandExecutor;
+import com.harish.hotspot.base.interfaces.IHotspotBackendCallback;
+import com.harish.hotspot.base.interfaces.IHotspotStateObserver;
+import com.harish.hotspot.base.state.HotspotStateSnapshot;
+import com.harish.hotspot.base.state.HotspotStates;
+import com.harish.hotspot.base.util.HashedWheelTimer;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Restarts the hotspot after a failed start, for unattended devices.
+ *         <p>
+ *         While the hotspot is wanted on (the last command of the app was an enable), every failure,
+ *         either {@link HotspotStates#WIFI_AP_STATE_FAILED}, {@link IHotspotBackendCallback#onFailed(int)}
+ *         or an unexpected {@link IHotspotBackendCallback#onStopped()}, schedules a retry on the
+ *         {@link HashedWheelTimer} after an exponential backoff with jitter. The retries of an episode are limited
+ *         by a budget, reset once the hotspot is up. Each failure reason has its own {@link CircuitBreaker},
+ *         so a reason which keeps failing (e.g. tethering disallowed) holds the retries back for a while.
+ *         Failures reported while a retry is already scheduled are folded into it.
+ * @since 17.10.2026.
+ */
+public final class HotspotRecovery implements IHotspotBackendCallback, IHotspotStateObserver {
+    private static final String TAG = HotspotRecovery.class.getSimpleName();
+
+    //Failure reasons besides the LocalOnlyHotspotCallback.ERROR_* values (1 to 4).
+    //WIFI_AP_STATE_FAILED was broadcast.
+    public static final int REASON_STATE_FAILED = 0;
+    //The hotspot was stopped by the framework while wanted on.
+    public static final int REASON_STOPPED = 5;
+
+    //Breakers by reason. Reasons out of range share the last one.
+    private static final int BREAKER_COUNT = 8;
+
+    //Issues the retry, e.g. submitting an enable command.
+    private final Runnable mRetryAction;
+
+    //Runs the delays.
+    private final HashedWheelTimer mTimer;
+
+    //Jitter.
+    private final Random mRandom = new Random();
+
+    //Policy, in nanoseconds where it is a duration. Guarded by this.
+    private long mInitialBackoff = TimeUnit.SECONDS.toNanos(1);
+    private long mMaxBackoff = TimeUnit.SECONDS.toNanos(60);
+    private double mMultiplier = 2.0;
+    private double mJitter = 0.2;
+    private int mRetryBudget = 8;
+    private int mBreakerThreshold = 3;
+    private long mBreakerOpenTime = TimeUnit.MINUTES.toNanos(5);
+    private boolean mEnabled = true;
+
+    //State. Guarded by this.
+    private final CircuitBreaker[] mBreakers = new CircuitBreaker[BREAKER_COUNT];
+    private boolean mWanted;
+    private int mAttempts;
+    private int mLastReason = -1;
+    private HashedWheelTimer.Timeout mScheduledRetry;
+
+    /**
+     * Constructor.
+     *
+     * @param retryAction Issues a retry; must not block, it runs on the timer thread.
+     * @param timer       The {@link HashedWheelTimer} running the delays.
+     */
+    public HotspotRecovery(Runnable retryAction, HashedWheelTimer timer) {
+        this.mRetryAction = retryAction;
+        this.mTimer = timer;
+        for (int i = 0; i < BREAKER_COUNT; i++) {
+            mBreakers[i] = new CircuitBreaker();
+        }
+    }
+
+    /**
+     * Sets the backoff: the first delay, multiplied after every failed retry, up to the maximum.
+     */
+    public synchronized void setBackoff(long initial, long max, TimeUnit unit, double multiplier) {
+        this.mInitialBackoff = unit.toNanos(initial);
+        this.mMaxBackoff = unit.toNanos(max);
+        this.mMultiplier = Math.max(1.0, multiplier);
+    }
+
+    /**
+     * Sets the jitter, as a fraction of the delay added or removed at random.
+     *
+     * @param fraction Between 0 and 1.
+     */
+    public synchronized void setJitter(double fraction) {
+        this.mJitter = Math.min(1.0, Math.max(0.0, fraction));
+    }
+
+    /**
+     * Sets the number of retries after a failure, until the hotspot comes up.
+     */
+    public synchronized void setRetryBudget(int retries) {
+        this.mRetryBudget = retries;
+    }
+
+    /**
+     * Sets the circuit breakers.
+     *
+     * @param threshold The consecutive failures of a reason opening its breaker.
+     * @param openTime  The time retries are refused for, once open.
+     * @param unit      The unit of the open time.
+     */
+    public synchronized void setCircuitBreaker(int threshold, long openTime, TimeUnit unit) {
+        this.mBreakerThreshold = Math.max(1, threshold);
+        this.mBreakerOpenTime = unit.toNanos(openTime);
+    }
+
+    /**
+     * Turns the recovery on or off. Turning it off cancels the scheduled retry.
+     */
+    public synchronized void setEnabled(boolean enabled) {
+        this.mEnabled = enabled;
+        if (!enabled) {
+            cancelRetry();
+        }
+    }
+
+    /**
+     * Tells the recovery what the app asked for. Called for the commands of the app, not for the retries.
+     *
+     * @param target {@link HotspotCommandExecutor#TARGET_ENABLED} or {@link HotspotCommandExecutor#TARGET_DISABLED}.
+     */
+    public synchronized void onRequested(int target) {
+        mWanted = target == HotspotCommandExecutor.TARGET_ENABLED;
+        mAttempts = 0;
+        cancelRetry();
+    }
+
+    /**
+     * @return the retries of the current episode.
+     */
+    public synchronized int getAttempts() {
+        return mAttempts;
+    }
+
+    /**
+     * @return TRUE if a retry is scheduled.
+     */
+    public synchronized boolean isRetryScheduled() {
+        return mScheduledRetry != null;
+    }
+
+    /**
+     * @param reason The failure reason.
+     * @return TRUE if the breaker of the reason holds the retries back now.
+     */
+    public synchronized boolean isCircuitOpen(int reason) {
+        return breakerOf(reason).getRemainingOpenTime(System.nanoTime()) > 0L;
+    }
+
+    @Override
+    public void onStarted() {
+        onSuccess();
+    }
+
+    @Override
+    public void onStopped() {
+        onFailure(REASON_STOPPED);
+    }
+
+    @Override
+    public void onFailed(int reason) {
+        onFailure(reason);
+    }
+
+    @Override
+    public void onStateChanged(HotspotStateSnapshot snapshot) {
+        if (snapshot.getState() == HotspotStates.WIFI_AP_STATE_ENABLED) {
+            onSuccess();
+        } else if (snapshot.getState() == HotspotStates.WIFI_AP_STATE_FAILED) {
+            onFailure(REASON_STATE_FAILED);
+        }
+    }
+
+    //The hotspot is up: the episode is over.
+    private synchronized void onSuccess() {
+        mAttempts = 0;
+        if (mLastReason >= 0) {
+            breakerOf(mLastReason).onSuccess();
+            mLastReason = -1;
+        }
+    }
+
+    //Schedules a retry, unless not wanted, already scheduled, out of budget or refused by the breaker.
+    private synchronized void onFailure(int reason) {
+        if (!mEnabled || !mWanted || mScheduledRetry != null) {
+            return;
+        }
+        //Past the budget no retry follows, so the failure says nothing more about the reason.
+        if (mAttempts >= mRetryBudget) {
+            return;
+        }
+        long now = System.nanoTime();
+        CircuitBreaker breaker = breakerOf(reason);
+        breaker.onFailure(now, mBreakerThreshold, mBreakerOpenTime);
+        mLastReason = reason;
+        //An open breaker holds the retry back until its trial.
+        long delay = Math.max(nextDelay(mAttempts), breaker.getRemainingOpenTime(now));
+        mAttempts++;
+        mScheduledRetry = mTimer.newTimeout(mRetryTask, delay, TimeUnit.NANOSECONDS);
+    }
+
+    //Runs the retry, unless the app changed its mind meanwhile.
+    private final Runnable mRetryTask = new Runnable() {
+        @Override
+        public void run() {
+            synchronized (HotspotRecovery.this) {
+                mScheduledRetry = null;
+                if (!mEnabled || !mWanted) {
+                    return;
+                }
+            }
+            mRetryAction.run();
+        }
+    };
+
+    //Exponential backoff with jitter, capped.
+    private long nextDelay(int attempts) {
+        double delay = Math.min((double) mMaxBackoff, mInitialBackoff * Math.pow(mMultiplier, attempts));
+        delay *= 1.0 + mJitter * (2.0 * mRandom.nextDouble() - 1.0);
+        return Math.max(0L, (long) delay);
+    }
+
+    private void cancelRetry() {
+        if (mScheduledRetry != null) {
+            mScheduledRetry.cancel();
+            mScheduledRetry = null;
+        }
+    }
+
+    private CircuitBreaker breakerOf(int reason) {
+        return mBreakers[reason >= 0 && reason < BREAKER_COUNT ? reason : BREAKER_COUNT - 1];
+    }
+}
@@ -0,0 +1,315 @@
+package com.harish.hotspot.base.service;
+
+import android.app.Service;
+import android.content.Intent;
+import android.os.Build;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.IBinder;
+import android.os.Looper;
+import android.os.Message;
+import android.os.Messenger;
+import android.os.RemoteException;
+
+import com.harish.hotspot.base.HotspotManager;
+import com.harish.hotspot.base.HotspotManagerV26;
+import com.harish.hotspot.base.controller.IHotspotManager;
+import com.harish.hotspot.base.interfaces.IHotspotStateListener;
+import com.harish.hotspot.base.interfaces.IHotspotStateSubscriber;
+import com.harish.hotspot.base.lease.HotspotLease;
+import com.harish.hotspot.base.state.HotspotStateSnapshot;
+import com.harish.hotspot.base.state.HotspotStates;
+import com.harish.hotspot.base.stream.HotspotStatePublisher;
+import com.harish.hotspot.base.stream.HotspotStateSubscription;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Bound service letting other processes drive the hotspot, see {@link HotspotServiceProtocol}.
+ *         <p>
+ *         Every client holds its own {@link HotspotLease}, so the hotspot stays up as long as any client
+ *         (or this app) needs it. The service makes a single subscription on the state publisher and fans
+ *         every transition out as one message per subscribed client. Clients are tracked by the binder of
+ *         their reply Messenger and cleaned up, lease included, when their process dies.
+ *         <p>
+ *         All the clients share the Messenger of {@link #onBind(Intent)}, so an unbind does not tell which client
+ *         left: a client releases its lease with {@link HotspotServiceProtocol#OP_DISABLE} before unbinding.
+ *         Otherwise its lease is only released when its process dies, or when the last client unbinds and the
+ *         service is destroyed.
+ *         <p>
+ *         NOTE:
+ *         Everything runs on the main thread, so the clients need no locking.
+ * @since 17.10.2026.
+ */
+public final class HotspotService extends Service {
+    private static final String TAG = HotspotService.class.getSimpleName();
+
+    //State of a bound client.
+    private final class Client implements IBinder.DeathRecipient {
+        private final Messenger mMessenger;
+        private final IBinder mBinder;
+        private boolean mSubscribed;
+        private HotspotLease mLease;
+
+        private Client(Messenger messenger) {
+            this.mMessenger = messenger;
+            this.mBinder = messenger.getBinder();
+        }
+
+        @Override
+        public void binderDied() {
+            //Called on a binder thread.
+            mHandler.post(new Runnable() {
+                @Override
+                public void run() {
+                    removeClient(mBinder);
+                }
+            });
+        }
+    }
+
+    //Main thread handler, receiving the batches.
+    private final Handler mHandler = new Handler(Looper.getMainLooper(), new Handler.Callback() {
+        @Override
+        public boolean handleMessage(Message message) {
+            if (message.what != HotspotServiceProtocol.MSG_BATCH || message.replyTo == null) {
+                return false;
+            }
+            handleBatch(message.replyTo, message.arg1, message.getData());
+            return true;
+        }
+    });
+
+    //Posts the state events to the main thread.
+    private final Executor mMainExecutor = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            mHandler.post(command);
+        }
+    };
+
+    //Fans the transitions out to the subscribed clients.
+    private final IHotspotStateSubscriber mStateSubscriber = new IHotspotStateSubscriber() {
+        @Override
+        public void onStateEvent(HotspotStateSnapshot event) {
+            broadcastState(event);
+        }
+    };
+
+    //Keeps the state receiver of the manager registered while the service runs.
+    //Held here, as the manager keeps its listeners weakly.
+    private final IHotspotStateListener mReceiverAnchor = new IHotspotStateListener() {
+        @Override
+        public void onEnabling() {
+        }
+
+        @Override
+        public void onEnabled() {
+        }
+
+        @Override
+        public void onDisabling() {
+        }
+
+        @Override
+        public void onDisabled() {
+        }
+
+        @Override
+        public void onFailed() {
+        }
+    };
+
+    //Bound clients, by the binder of their reply Messenger.
+    private final Map<IBinder, Client> mClients = new HashMap<>();
+
+    //Handed out to the clients.
+    private final Messenger mMessenger = new Messenger(mHandler);
+
+    //Manager matching the OS version.
+    private IHotspotManager mHotspotManager;
+
+    //Single subscription shared by all the clients.
+    private HotspotStateSubscription mSubscription;
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        //Pick the manager for this OS version.
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            mHotspotManager = HotspotManagerV26.getInstance(this);
+        } else {
+            mHotspotManager = HotspotManager.getInstance(this);
+        }
+        mHotspotManager.addHotspotStateListener(this, mReceiverAnchor);
+        //No replay, the current state is sent to each client when it subscribes.
+        mSubscription = mHotspotManager.getStatePublisher().subscribe(mStateSubscriber, mMainExecutor,
+                HotspotStatePublisher.DEFAULT_CAPACITY, HotspotStatePublisher.OVERFLOW_DROP_OLDEST, false);
+    }
+
+    @Override
+    public IBinder onBind(Intent intent) {
+        return mMessenger.getBinder();
+    }
+
+    @Override
+    public void onDestroy() {
+        //All the clients are gone, let the hotspot linger and stop.
+        for (Client client : mClients.values()) {
+            releaseClient(client);
+        }
+        mClients.clear();
+        mSubscription.cancel();
+        mHotspotManager.removeHotspotStateListener(this, mReceiverAnchor);
+        super.onDestroy();
+    }
+
+    /**
+     * Carries out the operations of a batch in order, and replies with their results in one message.
+     *
+     * @param replyTo The Messenger of the client.
+     * @param batchId The id given by the client.
+     * @param data    The data of the batch.
+     */
+    private void handleBatch(Messenger replyTo, int batchId, Bundle data) {
+        Client client = getClient(replyTo);
+        if (client == null) {
+            return;
+        }
+        int[] ops = data.getIntArray(HotspotServiceProtocol.KEY_OPS);
+        if (ops == null) {
+            ops = new int[0];
+        }
+        String owner = data.getString(HotspotServiceProtocol.KEY_OWNER);
+        int[] results = new int[ops.length];
+        for (int i = 0; i < ops.length; i++) {
+            results[i] = handleOp(client, ops[i], owner);
+        }
+
+        Message reply = Message.obtain(null, HotspotServiceProtocol.MSG_BATCH_RESULT, batchId, 0);
+        Bundle replyData = new Bundle();
+        replyData.putIntArray(HotspotServiceProtocol.KEY_RESULTS, results);
+        reply.setData(replyData);
+        send(client, reply);
+        //Only the subscribed and the lease holding clients are kept.
+        if (!client.mSubscribed && client.mLease == null) {
+            removeClient(client.mBinder);
+        }
+    }
+
+    //Carries out a single operation.
+    private int handleOp(Client client, int op, String owner) {
+        switch (op) {
+            case HotspotServiceProtocol.OP_SUBSCRIBE:
+                if (!client.mSubscribed) {
+                    client.mSubscribed = true;
+                    //Replay the current state to the new subscriber.
+                    HotspotStateSnapshot latest = mHotspotManager.getHotspotStateSnapshot();
+                    if (latest.getState() != HotspotStates.WIFI_AP_STATE_UNKNOWN) {
+                        //A dead client is dropped when the result is sent.
+                        sendQuietly(client, newStateMessage(latest));
+                    }
+                }
+                return HotspotServiceProtocol.RESULT_OK;
+            case HotspotServiceProtocol.OP_UNSUBSCRIBE:
+                client.mSubscribed = false;
+                return HotspotServiceProtocol.RESULT_OK;
+            case HotspotServiceProtocol.OP_ENABLE:
+                if (client.mLease == null) {
+                    client.mLease = mHotspotManager.acquireHotspotLease(this, owner != null ? owner : TAG);
+                }
+                return client.mLease != null
+                        ? HotspotServiceProtocol.RESULT_OK : HotspotServiceProtocol.RESULT_REJECTED;
+            case HotspotServiceProtocol.OP_DISABLE:
+                if (client.mLease != null) {
+                    client.mLease.release();
+                    client.mLease = null;
+                }
+                return HotspotServiceProtocol.RESULT_OK;
+            default:
+                return HotspotServiceProtocol.RESULT_UNKNOWN_OP;
+        }
+    }
+
+    //Sends the transition to every subscribed client, one message each.
+    private void broadcastState(HotspotStateSnapshot snapshot) {
+        Iterator<Client> iterator = mClients.values().iterator();
+        while (iterator.hasNext()) {
+            Client client = iterator.next();
+            if (client.mSubscribed && !sendQuietly(client, newStateMessage(snapshot))) {
+                releaseClient(client);
+                iterator.remove();
+            }
+        }
+    }
+
+    //Builds the message carrying the delta of a transition.
+    private static Message newStateMessage(HotspotStateSnapshot snapshot) {
+        Message message = Message.obtain(null, HotspotServiceProtocol.MSG_STATE,
+                snapshot.getState(), snapshot.getPreviousState());
+        Bundle data = new Bundle();
+        data.putLong(HotspotServiceProtocol.KEY_SEQUENCE, snapshot.getSequence());
+        data.putLong(HotspotServiceProtocol.KEY_TIMESTAMP, snapshot.getTimestamp());
+        message.setData(data);
+        return message;
+    }
+
+    //Looks up the client, or tracks a new one. NULL if it is already dead.
+    private Client getClient(Messenger replyTo) {
+        IBinder binder = replyTo.getBinder();
+        Client client = mClients.get(binder);
+        if (client == null) {
+            client = new Client(replyTo);
+            try {
+                binder.linkToDeath(client, 0);
+            } catch (RemoteException e) {
+                e.printStackTrace();
+                return null;
+            }
+            mClients.put(binder, client);
+        }
+        return client;
+    }
+
+    //Sends a message, dropping the client if it is gone.
+    private boolean send(Client client, Message message) {
+        if (sendQuietly(client, message)) {
+            return true;
+        }
+        removeClient(client.mBinder);
+        return false;
+    }
+
+    //Sends a message. Returns FALSE if the client is gone.
+    private static boolean sendQuietly(Client client, Message message) {
+        try {
+            client.mMessenger.send(message);
+            return true;
+        } catch (RemoteException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    private void removeClient(IBinder binder) {
+        Client client = mClients.remove(binder);
+        if (client != null) {
+            releaseClient(client);
+        }
+    }
+
+    //Releases what the client holds.
+    private void releaseClient(Client client) {
+        client.mBinder.unlinkToDeath(client, 0);
+        client.mSubscribed = false;
+        if (client.mLease != null) {
+            client.mLease.release();
+            client.mLease = null;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.harish.hotspot.base.service;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Messages exchanged with {@link HotspotService} through a {@link android.os.Messenger}.
+ *         <p>
+ *         A client sends a single {@link #MSG_BATCH} holding an ordered list of operations,
+ *         with its own Messenger as replyTo, and gets a single {@link #MSG_BATCH_RESULT} back.
+ *         Subscribed clients then receive one {@link #MSG_STATE} per transition, carrying the delta.
+ *         <p>
+ *         The constants are shared with the client apps, keep them stable.
+ * @since 17.10.2026.
+ */
+public final class HotspotServiceProtocol {
+    private static final String TAG = HotspotServiceProtocol.class.getSimpleName();
+
+    //Action to bind with, and the permission guarding the service.
+    public static final String ACTION_BIND = "com.harish.hotspot.action.BIND_HOTSPOT_SERVICE";
+    public static final String PERMISSION_CONTROL = "com.harish.hotspot.permission.CONTROL_HOTSPOT";
+
+    //Client -> service. arg1: batch id, echoed in the result. Data: KEY_OPS, optionally KEY_OWNER.
+    public static final int MSG_BATCH = 1;
+
+    //Service -> client. arg1: batch id. Data: KEY_RESULTS, indexed like KEY_OPS.
+    public static final int MSG_BATCH_RESULT = 2;
+
+    //Service -> client. arg1: state, arg2: previous state. Data: KEY_SEQUENCE, KEY_TIMESTAMP.
+    public static final int MSG_STATE = 3;
+
+    //Operations of a batch.
+    public static final int OP_SUBSCRIBE = 1;
+    public static final int OP_UNSUBSCRIBE = 2;
+    //Holds a lease for the client, starting the hotspot if needed.
+    public static final int OP_ENABLE = 3;
+    //Releases the lease of the client, the hotspot stops after the last one and the linger window.
+    //Send it before unbinding: the service can not tell the clients apart on unbind.
+    public static final int OP_DISABLE = 4;
+
+    //Results of the operations.
+    public static final int RESULT_OK = 0;
+    public static final int RESULT_REJECTED = 1;
+    public static final int RESULT_UNKNOWN_OP = 2;
+
+    //Keys of the data bundles.
+    public static final String KEY_OPS = "ops";
+    public static final String KEY_OWNER = "owner";
+    public static final String KEY_RESULTS = "results";
+    public static final String KEY_SEQUENCE = "sequence";
+    public static final String KEY_TIMESTAMP = "timestamp";
+
+    private HotspotServiceProtocol() {
+    }
+}
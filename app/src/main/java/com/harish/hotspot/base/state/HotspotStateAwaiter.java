@@ -0,0 +1,144 @@
+package com.harish.hotspot.base.state;
+
+import com.harish.hotspot.base.interfaces.IHotspotStateObserver;
+import com.harish.hotspot.base.util.HashedWheelTimer;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Lets callers wait for a hotspot state without polling.
+ *         <p>
+ *         Waiters are kept in a queue per state, and completed by {@link HotspotStateMachine} itself,
+ *         on the thread delivering the state (the receiver), so there is no delay between the broadcast and
+ *         the wake up. The timeouts of all the waiters share one {@link HashedWheelTimer}.
+ *         While waiting for ENABLING or ENABLED, a FAILED state fails the wait immediately.
+ *         Follows singleton pattern, observing {@link HotspotStateMachine}.
+ * @since 17.10.2026.
+ */
+public final class HotspotStateAwaiter implements IHotspotStateObserver {
+    private static final String TAG = HotspotStateAwaiter.class.getSimpleName();
+
+    //The lowest state with waiters.
+    private static final int FIRST_STATE = HotspotStates.WIFI_AP_STATE_DISABLING;
+
+    //Singleton instance.
+    private static HotspotStateAwaiter sInstance;
+
+    //Source of the states.
+    private final HotspotStateMachine mStateMachine;
+
+    //Runs the timeouts.
+    private final HashedWheelTimer mTimer;
+
+    //Waiters, indexed by (state - FIRST_STATE).
+    private final Waiters[] mWaiters = new Waiters[5];
+
+    /**
+     * Constructor.
+     *
+     * @param stateMachine The {@link HotspotStateMachine}. The caller registers the awaiter.
+     * @param timer        The {@link HashedWheelTimer} running the timeouts.
+     */
+    public HotspotStateAwaiter(HotspotStateMachine stateMachine, HashedWheelTimer timer) {
+        this.mStateMachine = stateMachine;
+        this.mTimer = timer;
+        for (int i = 0; i < mWaiters.length; i++) {
+            mWaiters[i] = new Waiters();
+        }
+    }
+
+    //Retrieves the singleton instance, observing the shared state machine.
+    public static synchronized HotspotStateAwaiter getInstance() {
+        if (sInstance == null) {
+            sInstance = new HotspotStateAwaiter(HotspotStateMachine.getInstance(), HashedWheelTimer.getInstance());
+            HotspotStateMachine.getInstance().addObserver(sInstance);
+        }
+        return sInstance;
+    }
+
+    /**
+     * Waits for a state.
+     *
+     * @param targetState One of the {@link HotspotStates}, except UNKNOWN.
+     * @param timeout     The longest wait, 0 or less to wait forever.
+     * @param unit        The unit of the timeout.
+     * @return the {@link HotspotStateFuture}, already completed if the hotspot is in the state.
+     */
+    public HotspotStateFuture awaitState(int targetState, long timeout, TimeUnit unit) {
+        int index = targetState - FIRST_STATE;
+        if (index < 0 || index >= mWaiters.length) {
+            throw new IllegalArgumentException("Invalid state: " + targetState);
+        }
+        final HotspotStateFuture future = new HotspotStateFuture(this, targetState);
+        mWaiters[index].mQueue.add(future);
+        //Read after queueing: a change racing with this either completes the waiter or is seen here.
+        HotspotStateSnapshot snapshot = mStateMachine.getSnapshot();
+        //A FAILED state left over from an earlier attempt does not fail the wait, only a new one does.
+        if (snapshot.getState() == targetState && future.complete(snapshot)) {
+            remove(future);
+        }
+        if (!future.isDone() && timeout > 0) {
+            final long millis = unit.toMillis(timeout);
+            future.setTimeout(mTimer.newTimeout(new Runnable() {
+                @Override
+                public void run() {
+                    if (future.fail(new TimeoutException("State " + future.getTargetState()
+                            + " not reached within " + millis + " ms"))) {
+                        remove(future);
+                    }
+                }
+            }, timeout, unit));
+        }
+        return future;
+    }
+
+    /**
+     * @return the number of pending waiters.
+     */
+    public int getWaiterCount() {
+        int count = 0;
+        for (Waiters waiters : mWaiters) {
+            count += waiters.mQueue.size();
+        }
+        return count;
+    }
+
+    @Override
+    public void onStateChanged(HotspotStateSnapshot snapshot) {
+        int state = snapshot.getState();
+        int index = state - FIRST_STATE;
+        if (index < 0 || index >= mWaiters.length) {
+            return;
+        }
+        HotspotStateFuture future;
+        while ((future = mWaiters[index].mQueue.poll()) != null) {
+            future.complete(snapshot);
+        }
+        if (state == HotspotStates.WIFI_AP_STATE_FAILED) {
+            HotspotStateFailedException failure = new HotspotStateFailedException(snapshot);
+            failAll(HotspotStates.WIFI_AP_STATE_ENABLING, failure);
+            failAll(HotspotStates.WIFI_AP_STATE_ENABLED, failure);
+        }
+    }
+
+    //Takes a waiter completed outside of a state change out of its queue.
+    void remove(HotspotStateFuture future) {
+        mWaiters[future.getTargetState() - FIRST_STATE].mQueue.remove(future);
+    }
+
+    private void failAll(int targetState, Throwable failure) {
+        HotspotStateFuture future;
+        while ((future = mWaiters[targetState - FIRST_STATE].mQueue.poll()) != null) {
+            future.fail(failure);
+        }
+    }
+
+    //Waiters of one state. A typed holder, as an array of a generic queue can not be created.
+    private static final class Waiters {
+        private final ConcurrentLinkedQueue<HotspotStateFuture> mQueue = new ConcurrentLinkedQueue<>();
+    }
+}
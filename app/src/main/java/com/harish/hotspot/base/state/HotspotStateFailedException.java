@@ -0,0 +1,24 @@
+package com.harish.hotspot.base.state;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Thrown, as the cause of an {@link java.util.concurrent.ExecutionException}, when the hotspot reports
+ *         {@link HotspotStates#WIFI_AP_STATE_FAILED} while a {@link HotspotStateFuture} waits for it to come up.
+ * @since 17.10.2026.
+ */
+public class HotspotStateFailedException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    //The failed snapshot.
+    private final HotspotStateSnapshot mSnapshot;
+
+    public HotspotStateFailedException(HotspotStateSnapshot snapshot) {
+        super("Hotspot failed while waiting, sequence " + snapshot.getSequence());
+        this.mSnapshot = snapshot;
+    }
+
+    public HotspotStateSnapshot getSnapshot() {
+        return mSnapshot;
+    }
+}
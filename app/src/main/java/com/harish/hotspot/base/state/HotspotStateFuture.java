@@ -0,0 +1,186 @@
+package com.harish.hotspot.base.state;
+
+import com.harish.hotspot.base.util.HashedWheelTimer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Completion handle of {@link HotspotStateAwaiter#awaitState(int, long, TimeUnit)}.
+ *         <p>
+ *         Completed with the {@link HotspotStateSnapshot} reaching the target state, directly on the thread
+ *         delivering the state. Failed with a {@link HotspotStateFailedException} when the hotspot fails
+ *         while waiting for it to come up, and with a {@link TimeoutException} when the time runs out.
+ *         Blocking callers park on a latch; others register a listener with {@link #addListener(Runnable, Executor)}.
+ * @since 17.10.2026.
+ */
+public final class HotspotStateFuture implements Future<HotspotStateSnapshot> {
+    private static final String TAG = HotspotStateFuture.class.getSimpleName();
+
+    //Awaiter to detach from on cancel.
+    private final HotspotStateAwaiter mAwaiter;
+
+    //The awaited state.
+    private final int mTargetState;
+
+    //Guards against completing the handle more than once.
+    private final AtomicBoolean mCompleted = new AtomicBoolean();
+
+    //Released once the handle completes.
+    private final CountDownLatch mDone = new CountDownLatch(1);
+
+    //Outcome.
+    private volatile HotspotStateSnapshot mResult;
+    private volatile Throwable mFailure;
+    private volatile boolean mCancelled;
+
+    //Timeout of the wait, NULL if none.
+    private volatile HashedWheelTimer.Timeout mTimeout;
+
+    //Listeners not run yet, NULL once completed. Guarded by this.
+    private List<Runnable> mListeners = new ArrayList<>();
+
+    //Constructor.
+    HotspotStateFuture(HotspotStateAwaiter awaiter, int targetState) {
+        this.mAwaiter = awaiter;
+        this.mTargetState = targetState;
+    }
+
+    /**
+     * @return the awaited state.
+     */
+    public int getTargetState() {
+        return mTargetState;
+    }
+
+    /**
+     * Runs a listener once the handle completes, or right away if it already is.
+     *
+     * @param listener The listener.
+     * @param executor The executor running it.
+     */
+    public void addListener(final Runnable listener, final Executor executor) {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                executor.execute(listener);
+            }
+        };
+        synchronized (this) {
+            if (mListeners != null) {
+                mListeners.add(task);
+                return;
+            }
+        }
+        task.run();
+    }
+
+    //Called once the timeout is scheduled.
+    void setTimeout(HashedWheelTimer.Timeout timeout) {
+        mTimeout = timeout;
+        if (isDone()) {
+            timeout.cancel();
+        }
+    }
+
+    //Completes the handle with the snapshot. The caller takes it out of the awaiter.
+    boolean complete(HotspotStateSnapshot snapshot) {
+        if (mCompleted.compareAndSet(false, true)) {
+            mResult = snapshot;
+            finish();
+            return true;
+        }
+        return false;
+    }
+
+    //Completes the handle with a failure.
+    boolean fail(Throwable failure) {
+        if (mCompleted.compareAndSet(false, true)) {
+            mFailure = failure;
+            finish();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Stops waiting. The hotspot itself is not affected.
+     */
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        if (mCompleted.compareAndSet(false, true)) {
+            mCancelled = true;
+            finish();
+            mAwaiter.remove(this);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return mCancelled;
+    }
+
+    @Override
+    public boolean isDone() {
+        return mDone.getCount() == 0;
+    }
+
+    @Override
+    public HotspotStateSnapshot get() throws InterruptedException, ExecutionException {
+        mDone.await();
+        return report();
+    }
+
+    @Override
+    public HotspotStateSnapshot get(long timeout, TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        if (!mDone.await(timeout, unit)) {
+            throw new TimeoutException();
+        }
+        return report();
+    }
+
+    //Releases the waiters, detaches from the timer, and runs the listeners.
+    private void finish() {
+        mDone.countDown();
+        HashedWheelTimer.Timeout timeout = mTimeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        List<Runnable> listeners;
+        synchronized (this) {
+            listeners = mListeners;
+            mListeners = null;
+        }
+        for (Runnable listener : listeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    //Returns the snapshot or throws the failure.
+    private HotspotStateSnapshot report() throws ExecutionException {
+        if (mCancelled) {
+            throw new CancellationException();
+        }
+        if (mFailure != null) {
+            throw new ExecutionException(mFailure);
+        }
+        return mResult;
+    }
+}
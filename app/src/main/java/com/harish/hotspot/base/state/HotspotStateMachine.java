@@ -0,0 +1,239 @@
+package com.harish.hotspot.base.state;
+
+import com.harish.hotspot.base.interfaces.IHotspotStateObserver;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Lock-free state machine holding the current hotspot state.
+ *         Shared by both the managers, so the state is the same whichever of them is asked.
+ *         <p>
+ *         Each change is checked against the graph of {@link HotspotStates} and published as a new
+ *         {@link HotspotStateSnapshot} through a compare-and-set, with a monotonically increasing sequence number.
+ *         Readers can skip work when the sequence number has not moved.
+ *         A framework report the graph does not allow still resets the state, the framework being the authority,
+ *         but is counted in {@link #getIllegalTransitionCount()} so that missed broadcasts show up.
+ *         Follows singleton pattern, other instances only stand in for it where it is injected.
+ * @since 17.10.2026.
+ */
+public final class HotspotStateMachine {
+    private static final String TAG = HotspotStateMachine.class.getSimpleName();
+
+    //The lowest state present in the transition table.
+    private static final int FIRST_STATE = HotspotStates.WIFI_AP_STATE_DISABLING;
+
+    //Allowed transitions, indexed by (state - FIRST_STATE). Each entry is a bit mask of the next states.
+    private static final int[] TRANSITIONS = {
+            //From WIFI_AP_STATE_DISABLING.
+            bit(HotspotStates.WIFI_AP_STATE_DISABLED) | bit(HotspotStates.WIFI_AP_STATE_FAILED),
+            //From WIFI_AP_STATE_DISABLED.
+            bit(HotspotStates.WIFI_AP_STATE_ENABLING) | bit(HotspotStates.WIFI_AP_STATE_FAILED),
+            //From WIFI_AP_STATE_ENABLING.
+            bit(HotspotStates.WIFI_AP_STATE_ENABLED) | bit(HotspotStates.WIFI_AP_STATE_FAILED)
+                    | bit(HotspotStates.WIFI_AP_STATE_DISABLING) | bit(HotspotStates.WIFI_AP_STATE_DISABLED),
+            //From WIFI_AP_STATE_ENABLED.
+            bit(HotspotStates.WIFI_AP_STATE_DISABLING) | bit(HotspotStates.WIFI_AP_STATE_DISABLED)
+                    | bit(HotspotStates.WIFI_AP_STATE_FAILED),
+            //From WIFI_AP_STATE_FAILED.
+            bit(HotspotStates.WIFI_AP_STATE_ENABLING) | bit(HotspotStates.WIFI_AP_STATE_DISABLING)
+                    | bit(HotspotStates.WIFI_AP_STATE_DISABLED)
+    };
+
+    //Singleton instance.
+    private static final HotspotStateMachine sInstance = new HotspotStateMachine();
+
+    //The latest snapshot.
+    private final AtomicReference<HotspotStateSnapshot> mSnapshot = new AtomicReference<>(
+            new HotspotStateSnapshot(HotspotStates.WIFI_AP_STATE_UNKNOWN,
+                    HotspotStates.WIFI_AP_STATE_UNKNOWN, 0L, System.currentTimeMillis()));
+
+    //Reports the graph did not allow, applied through a reset.
+    private final AtomicLong mIllegalTransitions = new AtomicLong();
+
+    //Notified of every change.
+    private final CopyOnWriteArrayList<IHotspotStateObserver> mObservers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructor of a state machine of its own, e.g. for tests and benchmarks driving a service through it.
+     * The managers and the receiver all share {@link #getInstance()}.
+     */
+    public HotspotStateMachine() {
+    }
+
+    //Retrieves the singleton instance.
+    public static HotspotStateMachine getInstance() {
+        return sInstance;
+    }
+
+    /**
+     * Registers an observer of every change.
+     *
+     * @param observer The {@link IHotspotStateObserver} instance.
+     */
+    public void addObserver(IHotspotStateObserver observer) {
+        mObservers.addIfAbsent(observer);
+    }
+
+    /**
+     * Unregisters an observer.
+     *
+     * @param observer The {@link IHotspotStateObserver} instance.
+     */
+    public void removeObserver(IHotspotStateObserver observer) {
+        mObservers.remove(observer);
+    }
+
+    /**
+     * @return the latest {@link HotspotStateSnapshot}.
+     */
+    public HotspotStateSnapshot getSnapshot() {
+        return mSnapshot.get();
+    }
+
+    /**
+     * @return the current state.
+     * @see HotspotStates
+     */
+    public int getState() {
+        return mSnapshot.get().getState();
+    }
+
+    /**
+     * @return the sequence number of the current state.
+     */
+    public long getSequence() {
+        return mSnapshot.get().getSequence();
+    }
+
+    /**
+     * @return the number of framework reports the graph did not allow, since the start of the process.
+     */
+    public long getIllegalTransitionCount() {
+        return mIllegalTransitions.get();
+    }
+
+    /**
+     * Moves to the next state, if the graph allows it.
+     *
+     * @param nextState The next state.
+     * @return TRUE if the state changed, FALSE if it is the same state or not reachable from the current one.
+     */
+    public boolean transitionTo(int nextState) {
+        while (true) {
+            HotspotStateSnapshot current = mSnapshot.get();
+            if (!isAllowed(current.getState(), nextState)) {
+                return false;
+            }
+            HotspotStateSnapshot next = next(current, nextState);
+            if (mSnapshot.compareAndSet(current, next)) {
+                notifyObservers(next);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Moves to the state, whatever the current state is.
+     * Meant for authoritative reads from the framework (e.g. the initial query).
+     *
+     * @param state The state.
+     * @return TRUE if the state changed, FALSE if it is the same state.
+     */
+    public boolean reset(int state) {
+        while (true) {
+            HotspotStateSnapshot current = mSnapshot.get();
+            if (current.getState() == state) {
+                return false;
+            }
+            HotspotStateSnapshot next = next(current, state);
+            if (mSnapshot.compareAndSet(current, next)) {
+                notifyObservers(next);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Seeds the state persisted by an earlier process, only while the state is still unknown.
+     * The observers are not told: nothing changed since the state was persisted, and the snapshot keeps
+     * the persisted time.
+     *
+     * @param state     The persisted state.
+     * @param timestamp The time of the persisted state, in milliseconds since epoch.
+     * @return TRUE if the state was seeded.
+     */
+    public boolean seed(int state, long timestamp) {
+        HotspotStateSnapshot current = mSnapshot.get();
+        if (current.getState() != HotspotStates.WIFI_AP_STATE_UNKNOWN || !isKnown(state)) {
+            return false;
+        }
+        return mSnapshot.compareAndSet(current, new HotspotStateSnapshot(state, current.getState(),
+                current.getSequence() + 1, timestamp));
+    }
+
+    /**
+     * Applies a state reported by the framework.
+     * A legal transition is applied as such. An illegal one means broadcasts were missed,
+     * and since the framework is the authority the state is reset to it, and the report is counted.
+     *
+     * @param observedState The state reported by the framework.
+     * @return TRUE if the state changed, FALSE if it is the same state (e.g. a duplicate broadcast).
+     */
+    public boolean sync(int observedState) {
+        if (transitionTo(observedState)) {
+            return true;
+        }
+        if (reset(observedState)) {
+            mIllegalTransitions.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Checks the transition against the graph of {@link HotspotStates}.
+     *
+     * @param state     The current state.
+     * @param nextState The next state.
+     * @return TRUE if allowed.
+     */
+    public static boolean isAllowed(int state, int nextState) {
+        if (state == nextState || !isKnown(nextState)) {
+            return false;
+        }
+        //Anything can follow an unknown state.
+        if (!isKnown(state)) {
+            return true;
+        }
+        return (TRANSITIONS[state - FIRST_STATE] & bit(nextState)) != 0;
+    }
+
+    //Tells the observers about a change.
+    private void notifyObservers(HotspotStateSnapshot snapshot) {
+        if (!mObservers.isEmpty()) {
+            for (IHotspotStateObserver observer : mObservers) {
+                observer.onStateChanged(snapshot);
+            }
+        }
+    }
+
+    //Builds the snapshot following the current one.
+    private static HotspotStateSnapshot next(HotspotStateSnapshot current, int state) {
+        return new HotspotStateSnapshot(state, current.getState(),
+                current.getSequence() + 1, System.currentTimeMillis());
+    }
+
+    //Checks whether the state is one of the states of the graph.
+    private static boolean isKnown(int state) {
+        return state >= FIRST_STATE && state < FIRST_STATE + TRANSITIONS.length;
+    }
+
+    //Bit of a state in the transition table.
+    private static int bit(int state) {
+        return 1 << (state - FIRST_STATE);
+    }
+}
@@ -0,0 +1,70 @@
+package com.harish.hotspot.base.state;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Immutable view of the hotspot state at one point of time.
+ *         Produced by {@link HotspotStateMachine}, so the fields are always consistent with each other.
+ * @since 17.10.2026.
+ */
+public final class HotspotStateSnapshot {
+    private static final String TAG = HotspotStateSnapshot.class.getSimpleName();
+
+    //The state.
+    private final int mState;
+
+    //The state before this one.
+    private final int mPreviousState;
+
+    //Incremented on every change of state.
+    private final long mSequence;
+
+    //Time of the change, in milliseconds since epoch.
+    private final long mTimestamp;
+
+    //Constructor.
+    HotspotStateSnapshot(int state, int previousState, long sequence, long timestamp) {
+        this.mState = state;
+        this.mPreviousState = previousState;
+        this.mSequence = sequence;
+        this.mTimestamp = timestamp;
+    }
+
+    /**
+     * @return the state.
+     * @see HotspotStates
+     */
+    public int getState() {
+        return mState;
+    }
+
+    /**
+     * @return the state before this one.
+     * @see HotspotStates
+     */
+    public int getPreviousState() {
+        return mPreviousState;
+    }
+
+    /**
+     * @return the sequence number, incremented on every change of state.
+     */
+    public long getSequence() {
+        return mSequence;
+    }
+
+    /**
+     * @return the time of the change, in milliseconds since epoch.
+     */
+    public long getTimestamp() {
+        return mTimestamp;
+    }
+
+    @Override
+    public String toString() {
+        return "HotspotStateSnapshot{state=" + mState
+                + ", previous=" + mPreviousState
+                + ", seq=" + mSequence
+                + ", time=" + mTimestamp + "}";
+    }
+}
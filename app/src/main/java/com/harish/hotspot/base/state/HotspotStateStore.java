@@ -0,0 +1,274 @@
+package com.harish.hotspot.base.state;
+
+import android.content.Context;
+import android.os.Build;
+import android.os.StrictMode;
+
+import com.harish.hotspot.base.controller.HotspotCapabilityProbe;
+import com.harish.hotspot.base.interfaces.IHotspotStateObserver;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Persists the last known hotspot state, its time, the resolved hidden API capabilities and the path
+ *         switching the hotspot in a small binary file.
+ *         <p>
+ *         On a cold start the managers read this file synchronously, it is a few dozen bytes, and seed
+ *         {@link HotspotStateMachine} from it before the first frame, without telling the observers, so the
+ *         persisted time is kept. The authoritative state is read on their worker and the listeners are told
+ *         only if it differs.
+ *         Every change of state is written back on a background thread; bursts collapse into one write.
+ *         The capabilities and the path are kept with the build fingerprint, and dropped on load once the
+ *         fingerprint changes (e.g. after a system update), so they are probed once per build.
+ * @since 17.10.2026.
+ */
+public final class HotspotStateStore implements IHotspotStateObserver {
+    private static final String TAG = HotspotStateStore.class.getSimpleName();
+
+    //File name, within the files directory of the app.
+    public static final String FILE_NAME = "hotspot_state.bin";
+
+    //Capabilities not resolved yet.
+    public static final int CAPABILITIES_UNKNOWN = -1;
+
+    //Format.
+    private static final int MAGIC = 0x48535354;
+    private static final int VERSION = 2;
+
+    //Singleton instance.
+    private static HotspotStateStore sInstance;
+
+    //The file.
+    private final File mFile;
+
+    //Fingerprint of the running build.
+    private final String mFingerprint;
+
+    //Last persisted values.
+    private volatile int mLastState = HotspotStates.WIFI_AP_STATE_UNKNOWN;
+    private volatile long mLastTimestamp;
+    private volatile int mCapabilities = CAPABILITIES_UNKNOWN;
+    private volatile int mPath = HotspotCapabilityProbe.PATH_UNKNOWN;
+
+    //Capabilities and path present in the file. Only touched by the writer.
+    private int mWrittenCapabilities = CAPABILITIES_UNKNOWN;
+    private int mWrittenPath = HotspotCapabilityProbe.PATH_UNKNOWN;
+
+    //Latest snapshot waiting to be written, NULL if none.
+    private final AtomicReference<HotspotStateSnapshot> mPendingSnapshot = new AtomicReference<>();
+
+    //Writes the file.
+    private final ExecutorService mWriter = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, TAG);
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    /**
+     * Constructor, for the running build.
+     *
+     * @param file The file holding the state.
+     */
+    public HotspotStateStore(File file) {
+        this(file, Build.FINGERPRINT);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param file        The file holding the state.
+     * @param fingerprint The fingerprint of the build the capabilities are valid for.
+     */
+    public HotspotStateStore(File file, String fingerprint) {
+        this.mFile = file;
+        this.mFingerprint = fingerprint == null ? "" : fingerprint;
+    }
+
+    //Retrieves the singleton instance, loaded and observing the state machine.
+    //The first call reads the file, small enough for the main thread, so StrictMode lets it through.
+    public static synchronized HotspotStateStore getInstance(Context context) {
+        if (sInstance == null) {
+            StrictMode.ThreadPolicy policy = StrictMode.allowThreadDiskReads();
+            try {
+                sInstance = new HotspotStateStore(new File(context.getApplicationContext().getFilesDir(), FILE_NAME));
+                sInstance.load();
+            } finally {
+                StrictMode.setThreadPolicy(policy);
+            }
+            HotspotStateMachine.getInstance().addObserver(sInstance);
+        }
+        return sInstance;
+    }
+
+    /**
+     * @return the last persisted state, {@link HotspotStates#WIFI_AP_STATE_UNKNOWN} if none.
+     */
+    public int getLastState() {
+        return mLastState;
+    }
+
+    /**
+     * @return the time of the last persisted state, in milliseconds since epoch. 0 if none.
+     */
+    public long getLastTimestamp() {
+        return mLastTimestamp;
+    }
+
+    /**
+     * @return the persisted capabilities, {@link #CAPABILITIES_UNKNOWN} if not resolved yet on this build.
+     * @see com.harish.hotspot.base.controller.HotspotHelper#getResolvedCapabilities()
+     */
+    public int getCapabilities() {
+        return mCapabilities;
+    }
+
+    /**
+     * @return the persisted path, {@link HotspotCapabilityProbe#PATH_UNKNOWN} if not probed yet on this build.
+     * @see HotspotCapabilityProbe#probe(android.net.wifi.WifiManager)
+     */
+    public int getPath() {
+        return mPath;
+    }
+
+    /**
+     * Records the probed capabilities and path. Written in the background if they changed.
+     *
+     * @param capabilities The capabilities.
+     * @param path         The path.
+     */
+    public void setCapabilities(int capabilities, int path) {
+        if (mCapabilities != capabilities || mPath != path) {
+            mCapabilities = capabilities;
+            mPath = path;
+            scheduleWrite();
+        }
+    }
+
+    @Override
+    public void onStateChanged(HotspotStateSnapshot snapshot) {
+        if (snapshot.getState() != HotspotStates.WIFI_AP_STATE_UNKNOWN) {
+            mPendingSnapshot.set(snapshot);
+            scheduleWrite();
+        }
+    }
+
+    /**
+     * Reads the file.
+     *
+     * @return TRUE if a valid file was read.
+     */
+    public boolean load() {
+        if (!mFile.exists()) {
+            return false;
+        }
+        DataInputStream in = null;
+        try {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(mFile)));
+            if (in.readInt() != MAGIC) {
+                return false;
+            }
+            int version = in.readUnsignedByte();
+            if (version < 1 || version > VERSION) {
+                return false;
+            }
+            int state = in.readInt();
+            long timestamp = in.readLong();
+            int capabilities = in.readInt();
+            int path = HotspotCapabilityProbe.PATH_UNKNOWN;
+            //The first version did not record the build, probe again.
+            if (version == 1 || (path = in.readByte()) == HotspotCapabilityProbe.PATH_UNKNOWN
+                    || !mFingerprint.equals(in.readUTF())) {
+                capabilities = CAPABILITIES_UNKNOWN;
+                path = HotspotCapabilityProbe.PATH_UNKNOWN;
+            }
+            mLastState = state;
+            mLastTimestamp = timestamp;
+            mCapabilities = capabilities;
+            mPath = path;
+            mWrittenCapabilities = capabilities;
+            mWrittenPath = path;
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        } finally {
+            closeQuietly(in);
+        }
+    }
+
+    //Queues a write, which picks up the latest values when it runs.
+    private void scheduleWrite() {
+        mWriter.execute(mWriteTask);
+    }
+
+    //Writes the latest values. Queued writes finding nothing new return right away.
+    private final Runnable mWriteTask = new Runnable() {
+        @Override
+        public void run() {
+            HotspotStateSnapshot snapshot = mPendingSnapshot.getAndSet(null);
+            if (snapshot != null) {
+                mLastState = snapshot.getState();
+                mLastTimestamp = snapshot.getTimestamp();
+            } else if (mCapabilities == mWrittenCapabilities && mPath == mWrittenPath) {
+                return;
+            }
+            write();
+        }
+    };
+
+    /**
+     * Writes to a temporary file and renames it, so that a crash never leaves a torn file.
+     */
+    private void write() {
+        File temporary = new File(mFile.getPath() + ".tmp");
+        DataOutputStream out = null;
+        try {
+            int capabilities = mCapabilities;
+            int path = mPath;
+            out = new DataOutputStream(new FileOutputStream(temporary));
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(mLastState);
+            out.writeLong(mLastTimestamp);
+            out.writeInt(capabilities);
+            out.writeByte(path);
+            out.writeUTF(mFingerprint);
+            out.close();
+            out = null;
+            if (temporary.renameTo(mFile)) {
+                mWrittenCapabilities = capabilities;
+                mWrittenPath = path;
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            closeQuietly(out);
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.harish.hotspot.base.stream;
+
+import com.harish.hotspot.base.interfaces.IHotspotStateObserver;
+import com.harish.hotspot.base.interfaces.IHotspotStateSubscriber;
+import com.harish.hotspot.base.state.HotspotStateMachine;
+import com.harish.hotspot.base.state.HotspotStateSnapshot;
+import com.harish.hotspot.base.state.HotspotStates;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Stream of the hotspot state, as {@link HotspotStateSnapshot} events, with backpressure.
+ *         <p>
+ *         Every subscriber gets its own bounded buffer, an overflow policy and the executor it is called on,
+ *         so a slow subscriber only ever delays itself. A subscriber can ask for the current state on subscribe,
+ *         so subscribing late does not miss it.
+ *         Follows singleton pattern, observing {@link HotspotStateMachine}.
+ * @since 17.10.2026.
+ */
+public final class HotspotStatePublisher implements IHotspotStateObserver {
+    private static final String TAG = HotspotStatePublisher.class.getSimpleName();
+
+    //Overflow policies.
+    //The oldest pending event is dropped.
+    public static final int OVERFLOW_DROP_OLDEST = 0;
+    //The newest pending event is replaced, so the buffer always ends with the latest state.
+    public static final int OVERFLOW_CONFLATE_LATEST = 1;
+
+    //Buffer size by default.
+    public static final int DEFAULT_CAPACITY = 16;
+
+    //Runs the deliveries on the publishing thread.
+    public static final Executor DIRECT_EXECUTOR = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    //Singleton instance.
+    private static HotspotStatePublisher sInstance;
+
+    //Source of the events.
+    private final HotspotStateMachine mStateMachine;
+
+    //Live subscriptions.
+    private final CopyOnWriteArrayList<HotspotStateSubscription> mSubscriptions = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructor.
+     *
+     * @param stateMachine The {@link HotspotStateMachine} publishing the events. The caller registers the publisher.
+     */
+    public HotspotStatePublisher(HotspotStateMachine stateMachine) {
+        this.mStateMachine = stateMachine;
+    }
+
+    //Retrieves the singleton instance, observing the shared state machine.
+    public static synchronized HotspotStatePublisher getInstance() {
+        if (sInstance == null) {
+            sInstance = new HotspotStatePublisher(HotspotStateMachine.getInstance());
+            HotspotStateMachine.getInstance().addObserver(sInstance);
+        }
+        return sInstance;
+    }
+
+    /**
+     * Subscribes with a buffer of {@link #DEFAULT_CAPACITY}, conflating, replaying the current state.
+     *
+     * @param subscriber The {@link IHotspotStateSubscriber}.
+     * @param executor   The executor the subscriber is called on.
+     * @return the {@link HotspotStateSubscription}.
+     */
+    public HotspotStateSubscription subscribe(IHotspotStateSubscriber subscriber, Executor executor) {
+        return subscribe(subscriber, executor, DEFAULT_CAPACITY, OVERFLOW_CONFLATE_LATEST, true);
+    }
+
+    /**
+     * Subscribes.
+     *
+     * @param subscriber     The {@link IHotspotStateSubscriber}.
+     * @param executor       The executor the subscriber is called on, e.g. wrapping a main thread Handler.
+     * @param capacity       The number of events buffered, at least 1.
+     * @param overflowPolicy {@link #OVERFLOW_DROP_OLDEST} or {@link #OVERFLOW_CONFLATE_LATEST}.
+     * @param replayLatest   TRUE to receive the current state first, if known.
+     * @return the {@link HotspotStateSubscription}.
+     */
+    public HotspotStateSubscription subscribe(IHotspotStateSubscriber subscriber, Executor executor,
+                                              int capacity, int overflowPolicy, boolean replayLatest) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        if (overflowPolicy != OVERFLOW_DROP_OLDEST && overflowPolicy != OVERFLOW_CONFLATE_LATEST) {
+            throw new IllegalArgumentException("Invalid overflow policy: " + overflowPolicy);
+        }
+        HotspotStateSubscription subscription =
+                new HotspotStateSubscription(this, subscriber, executor, capacity, overflowPolicy);
+        mSubscriptions.add(subscription);
+        //Read after registering: a change racing with this is either replayed or delivered, never missed.
+        //Offering the same sequence twice has no effect.
+        if (replayLatest) {
+            HotspotStateSnapshot latest = mStateMachine.getSnapshot();
+            if (latest.getState() != HotspotStates.WIFI_AP_STATE_UNKNOWN) {
+                subscription.offer(latest);
+            }
+        }
+        return subscription;
+    }
+
+    /**
+     * @return the number of live subscriptions.
+     */
+    public int getSubscriberCount() {
+        return mSubscriptions.size();
+    }
+
+    @Override
+    public void onStateChanged(HotspotStateSnapshot snapshot) {
+        for (HotspotStateSubscription subscription : mSubscriptions) {
+            subscription.offer(snapshot);
+        }
+    }
+
+    //Called by HotspotStateSubscription#cancel().
+    void remove(HotspotStateSubscription subscription) {
+        mSubscriptions.remove(subscription);
+    }
+}
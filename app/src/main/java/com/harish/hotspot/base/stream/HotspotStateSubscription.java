@@ -0,0 +1,162 @@
+package com.harish.hotspot.base.stream;
+
+import com.harish.hotspot.base.interfaces.IHotspotStateSubscriber;
+import com.harish.hotspot.base.state.HotspotStateSnapshot;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         A subscriber of {@link HotspotStatePublisher} with its own bounded buffer.
+ *         <p>
+ *         Offering an event never blocks on the subscriber: the event goes into the buffer, the overflow policy
+ *         makes room if it is full, and a drain is queued on the subscriber's executor unless one already is.
+ *         The drain delivers the events one at a time, in order, so a subscriber is never called concurrently
+ *         even on a pool. Events older than the last one offered (by sequence) are ignored.
+ *         A subscription whose executor rejects the drain is cancelled.
+ * @since 17.10.2026.
+ */
+public final class HotspotStateSubscription {
+    private static final String TAG = HotspotStateSubscription.class.getSimpleName();
+
+    //The publisher, to cancel.
+    private final HotspotStatePublisher mPublisher;
+
+    //The subscriber and where it is called.
+    private final IHotspotStateSubscriber mSubscriber;
+    private final Executor mExecutor;
+
+    //One of HotspotStatePublisher.OVERFLOW_*.
+    private final int mOverflowPolicy;
+
+    //Ring of the pending events. Guarded by this.
+    private final HotspotStateSnapshot[] mBuffer;
+    private int mHead;
+    private int mSize;
+
+    //Sequence of the last event offered. Guarded by this.
+    private long mLastSequence = -1L;
+
+    //TRUE while a drain is queued on the executor. Guarded by this.
+    private boolean mDrainScheduled;
+
+    //Events dropped or conflated. Guarded by this.
+    private long mDroppedCount;
+
+    private volatile boolean mCancelled;
+
+    //Constructor.
+    HotspotStateSubscription(HotspotStatePublisher publisher, IHotspotStateSubscriber subscriber,
+                             Executor executor, int capacity, int overflowPolicy) {
+        this.mPublisher = publisher;
+        this.mSubscriber = subscriber;
+        this.mExecutor = executor;
+        this.mBuffer = new HotspotStateSnapshot[capacity];
+        this.mOverflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Stops the deliveries. Events already buffered are dropped.
+     */
+    public void cancel() {
+        mCancelled = true;
+        mPublisher.remove(this);
+        synchronized (this) {
+            clear();
+        }
+    }
+
+    public boolean isCancelled() {
+        return mCancelled;
+    }
+
+    /**
+     * @return the number of events dropped or conflated because the subscriber was behind.
+     */
+    public synchronized long getDroppedCount() {
+        return mDroppedCount;
+    }
+
+    /**
+     * @return the number of events waiting for delivery.
+     */
+    public synchronized int getPendingCount() {
+        return mSize;
+    }
+
+    //Buffers an event and queues a drain if needed.
+    void offer(HotspotStateSnapshot event) {
+        if (mCancelled) {
+            return;
+        }
+        synchronized (this) {
+            if (event.getSequence() <= mLastSequence) {
+                return;
+            }
+            mLastSequence = event.getSequence();
+            int capacity = mBuffer.length;
+            if (mSize < capacity) {
+                mBuffer[(mHead + mSize) % capacity] = event;
+                mSize++;
+            } else if (mOverflowPolicy == HotspotStatePublisher.OVERFLOW_DROP_OLDEST) {
+                mBuffer[mHead] = event;
+                mHead = (mHead + 1) % capacity;
+                mDroppedCount++;
+            } else {
+                //OVERFLOW_CONFLATE_LATEST: the newest pending event is replaced.
+                mBuffer[(mHead + mSize - 1) % capacity] = event;
+                mDroppedCount++;
+            }
+            if (mDrainScheduled) {
+                return;
+            }
+            mDrainScheduled = true;
+        }
+        try {
+            mExecutor.execute(mDrainTask);
+        } catch (RejectedExecutionException e) {
+            //The executor is shut down or saturated: no drain is queued, and none would ever be again.
+            synchronized (this) {
+                mDrainScheduled = false;
+            }
+            e.printStackTrace();
+            cancel();
+        }
+    }
+
+    //Delivers the buffered events, one at a time.
+    private final Runnable mDrainTask = new Runnable() {
+        @Override
+        public void run() {
+            while (true) {
+                HotspotStateSnapshot event;
+                synchronized (HotspotStateSubscription.this) {
+                    if (mSize == 0 || mCancelled) {
+                        mDrainScheduled = false;
+                        return;
+                    }
+                    event = mBuffer[mHead];
+                    mBuffer[mHead] = null;
+                    mHead = (mHead + 1) % mBuffer.length;
+                    mSize--;
+                }
+                try {
+                    mSubscriber.onStateEvent(event);
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    };
+
+    //Drops the buffered events.
+    private void clear() {
+        for (int i = 0; i < mBuffer.length; i++) {
+            mBuffer[i] = null;
+        }
+        mHead = 0;
+        mSize = 0;
+    }
+}
@@ -0,0 +1,136 @@
+package com.harish.hotspot.base.traffic;
+
+import java.util.Arrays;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Rolling byte rate over a preallocated ring of samples.
+ *         <p>
+ *         Keeps two views of the same samples: an exponentially weighted moving average ("current rate")
+ *         and a fixed window covering the last N samples (e.g. "last 5 minutes"). Both are maintained
+ *         incrementally, so recording and querying cost O(1) and never allocate.
+ *         <p>
+ *         NOTE:
+ *         Not thread safe, {@link TrafficAccountant} guards it.
+ * @since 17.10.2026.
+ */
+public final class RateWindow {
+    private static final String TAG = RateWindow.class.getSimpleName();
+
+    //Nanoseconds in a second.
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    //Ring of samples: bytes transferred and the duration they cover.
+    private final long[] mBytes;
+    private final long[] mDurations;
+
+    //Next slot of the ring, and number of slots filled.
+    private int mHead;
+    private int mCount;
+
+    //Sums over the filled slots.
+    private long mWindowBytes;
+    private long mWindowDuration;
+
+    //Time constant of the moving average, in nanoseconds.
+    private final double mTimeConstant;
+
+    //Moving average, in bytes per second.
+    private double mEwmaRate;
+
+    //FALSE until the first sample seeds the moving average.
+    private boolean mSeeded;
+
+    //Bytes recorded since the creation or the last reset.
+    private long mTotalBytes;
+
+    /**
+     * Constructor.
+     *
+     * @param samples      Number of samples covered by the fixed window.
+     * @param timeConstant Time constant of the moving average, in nanoseconds.
+     */
+    public RateWindow(int samples, long timeConstant) {
+        if (samples <= 0 || timeConstant <= 0) {
+            throw new IllegalArgumentException("samples and timeConstant must be positive");
+        }
+        this.mBytes = new long[samples];
+        this.mDurations = new long[samples];
+        this.mTimeConstant = timeConstant;
+    }
+
+    /**
+     * Records a sample.
+     *
+     * @param bytes    Bytes transferred since the previous sample.
+     * @param duration Time elapsed since the previous sample, in nanoseconds.
+     */
+    public void record(long bytes, long duration) {
+        if (duration <= 0) {
+            return;
+        }
+        //Evict the oldest sample once the ring is full.
+        if (mCount == mBytes.length) {
+            mWindowBytes -= mBytes[mHead];
+            mWindowDuration -= mDurations[mHead];
+        } else {
+            mCount++;
+        }
+        mBytes[mHead] = bytes;
+        mDurations[mHead] = duration;
+        mWindowBytes += bytes;
+        mWindowDuration += duration;
+        mHead = mHead + 1 == mBytes.length ? 0 : mHead + 1;
+
+        //Weight of the new sample grows with the time it covers.
+        double rate = bytes * NANOS_PER_SECOND / duration;
+        double alpha = 1.0 - Math.exp(-duration / mTimeConstant);
+        mEwmaRate = mSeeded ? mEwmaRate + alpha * (rate - mEwmaRate) : rate;
+        mSeeded = true;
+        mTotalBytes += bytes;
+    }
+
+    /**
+     * @return the exponentially weighted moving average, in bytes per second.
+     */
+    public double getEwmaRate() {
+        return mEwmaRate;
+    }
+
+    /**
+     * @return the average over the fixed window, in bytes per second.
+     */
+    public double getWindowRate() {
+        return mWindowDuration == 0 ? 0.0 : mWindowBytes * NANOS_PER_SECOND / mWindowDuration;
+    }
+
+    /**
+     * @return the bytes transferred within the fixed window.
+     */
+    public long getWindowBytes() {
+        return mWindowBytes;
+    }
+
+    /**
+     * @return the bytes recorded since the creation or the last reset.
+     */
+    public long getTotalBytes() {
+        return mTotalBytes;
+    }
+
+    /**
+     * Forgets all the samples, keeping the allocated ring.
+     */
+    public void reset() {
+        Arrays.fill(mBytes, 0L);
+        Arrays.fill(mDurations, 0L);
+        mHead = 0;
+        mCount = 0;
+        mWindowBytes = 0L;
+        mWindowDuration = 0L;
+        mEwmaRate = 0.0;
+        mSeeded = false;
+        mTotalBytes = 0L;
+    }
+}
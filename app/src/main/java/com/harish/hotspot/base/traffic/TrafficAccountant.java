@@ -0,0 +1,465 @@
+package com.harish.hotspot.base.traffic;
+
+import com.harish.hotspot.base.interfaces.IClientTrafficSource;
+import com.harish.hotspot.base.interfaces.IHotspotClientListener;
+import com.harish.hotspot.base.util.LongIntHashMap;
+import com.harish.hotspot.base.util.ProcFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Accounts the traffic of the tether interface and of each client of the hotspot.
+ *         <p>
+ *         The interface counters are read from a file in the /proc/net/dev format, the per-client counters
+ *         from an injected {@link IClientTrafficSource}. Every sample is turned into deltas and recorded into
+ *         preallocated {@link RateWindow}s, so "current rate" (moving average) and "last N minutes"
+ *         (fixed window) queries cost O(1) and never allocate.
+ *         <p>
+ *         Clients are keyed by their packed MAC address (see {@link com.harish.hotspot.base.clients.ClientAddresses})
+ *         into a fixed pool of slots. Registering it with a {@link com.harish.hotspot.base.clients.HotspotClientMonitor}
+ *         frees the slot of a client as soon as it leaves. Otherwise, a client missing from the per-client
+ *         counters for the whole fixed window is evicted by {@link #sample()}, so the pool never runs out.
+ * @since 17.10.2026.
+ */
+public final class TrafficAccountant implements IHotspotClientListener {
+    private static final String TAG = TrafficAccountant.class.getSimpleName();
+
+    //Default interface counters.
+    public static final String DEFAULT_INTERFACE_COUNTERS = "/proc/net/dev";
+
+    //Directions.
+    public static final int DIRECTION_RX = 0;
+    public static final int DIRECTION_TX = 1;
+
+    //Column of the transmitted bytes, after the received bytes, in /proc/net/dev.
+    private static final int TX_BYTES_COLUMN = 8;
+
+    //Interface counters.
+    private final ProcFile mInterfaceCounters;
+    private final byte[] mInterfaceName;
+
+    //Per-client counters, NULL if not available.
+    private final IClientTrafficSource mClientSource;
+
+    //Sizing of the windows.
+    private final int mWindowSamples;
+    private final long mTimeConstant;
+
+    //A client missing from the counters for this long is evicted, in nanoseconds.
+    private final long mStaleTimeout;
+
+    //Interface rates, indexed by direction.
+    private final RateWindow[] mInterfaceRates;
+    private final long[] mInterfaceLastBytes = {-1L, -1L};
+
+    //Time of the previous sample, in nanoseconds.
+    private long mLastSampleTime;
+
+    //Client slots, by packed MAC address.
+    private final LongIntHashMap mClientSlots;
+
+    //Per-slot state, indexed by (slot * 2 + direction).
+    private final RateWindow[] mClientRates;
+    private final long[] mClientLastBytes;
+
+    //Time at which the counters of each slot were last seen, in nanoseconds. 0 when not yet seen.
+    private final long[] mClientLastSeen;
+
+    //Time at which each slot was acquired or its counters last seen, in nanoseconds.
+    private final long[] mClientLastActive;
+
+    //Clients evicted by the current sample, preallocated.
+    private final long[] mStaleClients;
+
+    //Stack of the free slots.
+    private final int[] mFreeSlots;
+    private int mFreeSlotCount;
+
+    //Bounds of the last token found by nextToken().
+    private int mTokenStart;
+    private int mTokenEnd;
+
+    //Time of the sample being recorded, for the sink.
+    private long mSampleTime;
+
+    //Periodic sampling.
+    private ScheduledExecutorService mScheduler;
+    private ScheduledFuture<?> mSampleTask;
+
+    /**
+     * Constructor.
+     *
+     * @param interfaceCounters The file in the /proc/net/dev format.
+     * @param interfaceName     The tether interface (e.g. "wlan0").
+     * @param clientSource      The per-client counters, NULL if not available.
+     * @param maxClients        Maximum number of clients tracked at once.
+     * @param sampleInterval    Expected interval between the samples.
+     * @param window            Duration covered by the fixed window (e.g. 5 minutes).
+     * @param unit              Unit of the interval and the window.
+     */
+    public TrafficAccountant(File interfaceCounters, String interfaceName, IClientTrafficSource clientSource,
+                             int maxClients, long sampleInterval, long window, TimeUnit unit) {
+        this.mInterfaceCounters = new ProcFile(interfaceCounters);
+        this.mInterfaceName = interfaceName.getBytes(Charset.forName("US-ASCII"));
+        this.mClientSource = clientSource;
+        this.mWindowSamples = (int) Math.max(1L, (window + sampleInterval - 1) / sampleInterval);
+        //The moving average follows roughly the last few samples.
+        this.mTimeConstant = Math.max(1L, unit.toNanos(sampleInterval) * 3);
+        this.mStaleTimeout = Math.max(2L, mWindowSamples) * unit.toNanos(sampleInterval);
+
+        this.mInterfaceRates = new RateWindow[]{
+                new RateWindow(mWindowSamples, mTimeConstant),
+                new RateWindow(mWindowSamples, mTimeConstant)};
+
+        this.mClientSlots = new LongIntHashMap(maxClients);
+        this.mClientRates = new RateWindow[maxClients * 2];
+        for (int i = 0; i < mClientRates.length; i++) {
+            mClientRates[i] = new RateWindow(mWindowSamples, mTimeConstant);
+        }
+        this.mClientLastBytes = new long[maxClients * 2];
+        this.mClientLastSeen = new long[maxClients];
+        this.mClientLastActive = new long[maxClients];
+        this.mStaleClients = new long[maxClients];
+        this.mFreeSlots = new int[maxClients];
+        for (int slot = maxClients - 1; slot >= 0; slot--) {
+            mFreeSlots[mFreeSlotCount++] = slot;
+        }
+    }
+
+    /**
+     * Moving average of the interface, the "current rate".
+     *
+     * @param direction {@link #DIRECTION_RX} or {@link #DIRECTION_TX}.
+     * @return the rate in bytes per second.
+     */
+    public synchronized double getInterfaceRate(int direction) {
+        return mInterfaceRates[direction].getEwmaRate();
+    }
+
+    /**
+     * @return the {@link System#nanoTime()} of the last sample, 0 if none yet.
+     */
+    public synchronized long getLastSampleTime() {
+        return mLastSampleTime;
+    }
+
+    /**
+     * Average of the interface over the fixed window.
+     *
+     * @param direction {@link #DIRECTION_RX} or {@link #DIRECTION_TX}.
+     * @return the rate in bytes per second.
+     */
+    public synchronized double getInterfaceWindowRate(int direction) {
+        return mInterfaceRates[direction].getWindowRate();
+    }
+
+    /**
+     * Bytes of the interface since the first sample.
+     *
+     * @param direction {@link #DIRECTION_RX} or {@link #DIRECTION_TX}.
+     * @return the bytes.
+     */
+    public synchronized long getInterfaceTotalBytes(int direction) {
+        return mInterfaceRates[direction].getTotalBytes();
+    }
+
+    /**
+     * Moving average of a client, the "current rate".
+     *
+     * @param macAddress The packed MAC address.
+     * @param direction  {@link #DIRECTION_RX} or {@link #DIRECTION_TX}.
+     * @return the rate in bytes per second, -1 if the client is not tracked.
+     */
+    public synchronized double getClientRate(long macAddress, int direction) {
+        int slot = mClientSlots.get(macAddress, -1);
+        return slot < 0 ? -1.0 : mClientRates[slot * 2 + direction].getEwmaRate();
+    }
+
+    /**
+     * Average of a client over the fixed window.
+     *
+     * @param macAddress The packed MAC address.
+     * @param direction  {@link #DIRECTION_RX} or {@link #DIRECTION_TX}.
+     * @return the rate in bytes per second, -1 if the client is not tracked.
+     */
+    public synchronized double getClientWindowRate(long macAddress, int direction) {
+        int slot = mClientSlots.get(macAddress, -1);
+        return slot < 0 ? -1.0 : mClientRates[slot * 2 + direction].getWindowRate();
+    }
+
+    /**
+     * Bytes of a client since it is tracked.
+     *
+     * @param macAddress The packed MAC address.
+     * @param direction  {@link #DIRECTION_RX} or {@link #DIRECTION_TX}.
+     * @return the bytes, -1 if the client is not tracked.
+     */
+    public synchronized long getClientTotalBytes(long macAddress, int direction) {
+        int slot = mClientSlots.get(macAddress, -1);
+        return slot < 0 ? -1L : mClientRates[slot * 2 + direction].getTotalBytes();
+    }
+
+    @Override
+    public synchronized void onClientJoined(long macAddress, int ipAddress) {
+        acquireSlot(macAddress);
+    }
+
+    @Override
+    public synchronized void onClientLeft(long macAddress) {
+        releaseSlot(macAddress);
+    }
+
+    /**
+     * Starts sampling periodically on a background thread.
+     *
+     * @param period The period, should match the sample interval given to the constructor.
+     * @param unit   The unit of the period.
+     */
+    public synchronized void start(long period, TimeUnit unit) {
+        if (mScheduler == null) {
+            mScheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, TAG);
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        if (mSampleTask != null) {
+            mSampleTask.cancel(false);
+        }
+        mSampleTask = mScheduler.scheduleWithFixedDelay(mSampleRunnable, 0L, period, unit);
+    }
+
+    /**
+     * Stops the periodic sampling.
+     */
+    public synchronized void stop() {
+        if (mScheduler != null) {
+            mScheduler.shutdown();
+            mScheduler = null;
+            mSampleTask = null;
+        }
+    }
+
+    //Takes a sample, for the scheduler.
+    private final Runnable mSampleRunnable = new Runnable() {
+        @Override
+        public void run() {
+            try {
+                sample();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    };
+
+    /**
+     * Reads all the counters once and records the deltas since the previous sample.
+     *
+     * @throws IOException when the counters can not be read.
+     */
+    public synchronized void sample() throws IOException {
+        long now = System.nanoTime();
+        long duration = mLastSampleTime == 0L ? 0L : now - mLastSampleTime;
+        mLastSampleTime = now;
+
+        int length = mInterfaceCounters.read();
+        if (findInterface(mInterfaceCounters.getBuffer(), length)) {
+            byte[] buffer = mInterfaceCounters.getBuffer();
+            int lineEnd = mTokenEnd;
+            while (lineEnd < length && buffer[lineEnd] != '\n') {
+                lineEnd++;
+            }
+            long rxBytes = nextToken(buffer, mTokenEnd, lineEnd) ? parseDecimal(buffer, mTokenStart, mTokenEnd) : -1L;
+            long txBytes = -1L;
+            int column = 0;
+            while (rxBytes >= 0 && column < TX_BYTES_COLUMN && nextToken(buffer, mTokenEnd, lineEnd)) {
+                if (++column == TX_BYTES_COLUMN) {
+                    txBytes = parseDecimal(buffer, mTokenStart, mTokenEnd);
+                }
+            }
+            record(mInterfaceRates[DIRECTION_RX], mInterfaceLastBytes, DIRECTION_RX, rxBytes, duration);
+            record(mInterfaceRates[DIRECTION_TX], mInterfaceLastBytes, DIRECTION_TX, txBytes, duration);
+        }
+
+        if (mClientSource != null) {
+            //First, so that the slots freed can be taken by the clients of this sample.
+            evictStaleClients(now);
+            mSampleTime = now;
+            mClientSource.readCounters(mClientSink);
+        }
+    }
+
+    //Receives the per-client counters during a sample.
+    private final IClientTrafficSource.Sink mClientSink = new IClientTrafficSource.Sink() {
+        @Override
+        public void onCounters(long macAddress, long rxBytes, long txBytes) {
+            int slot = mClientSlots.get(macAddress, -1);
+            if (slot < 0) {
+                slot = acquireSlot(macAddress);
+                if (slot < 0) {
+                    return;
+                }
+            }
+            long lastSeen = mClientLastSeen[slot];
+            long duration = lastSeen == 0L ? 0L : mSampleTime - lastSeen;
+            mClientLastSeen[slot] = mSampleTime;
+            mClientLastActive[slot] = mSampleTime;
+            int index = slot * 2;
+            record(mClientRates[index + DIRECTION_RX], mClientLastBytes, index + DIRECTION_RX, rxBytes, duration);
+            record(mClientRates[index + DIRECTION_TX], mClientLastBytes, index + DIRECTION_TX, txBytes, duration);
+        }
+    };
+
+    /**
+     * Records the delta of a cumulative counter.
+     * The first reading, and a counter which went backwards (e.g. interface restarted), only set the baseline.
+     */
+    private static void record(RateWindow rates, long[] lastBytes, int index, long bytes, long duration) {
+        if (bytes < 0) {
+            return;
+        }
+        long last = lastBytes[index];
+        lastBytes[index] = bytes;
+        if (last >= 0 && bytes >= last && duration > 0) {
+            rates.record(bytes - last, duration);
+        }
+    }
+
+    /**
+     * Reserves a slot for a client and clears its state.
+     *
+     * @return the slot, -1 if all slots are taken.
+     */
+    private int acquireSlot(long macAddress) {
+        int slot = mClientSlots.get(macAddress, -1);
+        if (slot >= 0 || mFreeSlotCount == 0) {
+            return slot;
+        }
+        slot = mFreeSlots[--mFreeSlotCount];
+        mClientSlots.put(macAddress, slot);
+        mClientLastSeen[slot] = 0L;
+        mClientLastActive[slot] = System.nanoTime();
+        for (int direction = DIRECTION_RX; direction <= DIRECTION_TX; direction++) {
+            mClientRates[slot * 2 + direction].reset();
+            mClientLastBytes[slot * 2 + direction] = -1L;
+        }
+        return slot;
+    }
+
+    //Frees the slot of a client, if tracked.
+    private void releaseSlot(long macAddress) {
+        int slot = mClientSlots.get(macAddress, -1);
+        if (slot >= 0) {
+            mClientSlots.remove(macAddress);
+            mFreeSlots[mFreeSlotCount++] = slot;
+        }
+    }
+
+    /**
+     * Frees the slots of the clients missing from the counters for longer than the fixed window,
+     * in case no {@link com.harish.hotspot.base.clients.HotspotClientMonitor} reports them leaving.
+     */
+    private void evictStaleClients(long now) {
+        int stale = 0;
+        for (int index = 0; index < mClientSlots.capacity(); index++) {
+            long macAddress = mClientSlots.keyAt(index);
+            if (macAddress != 0L && now - mClientLastActive[mClientSlots.valueAt(index)] > mStaleTimeout) {
+                mStaleClients[stale++] = macAddress;
+            }
+        }
+        //Removed after the walk, the removals move the entries of the map around.
+        for (int i = 0; i < stale; i++) {
+            releaseSlot(mStaleClients[i]);
+        }
+    }
+
+    /**
+     * Finds the line of the interface, of the form "  wlan0: 1234 ...".
+     *
+     * @return TRUE if found, with mTokenEnd just after the colon.
+     */
+    private boolean findInterface(byte[] buffer, int length) {
+        int lineStart = 0;
+        while (lineStart < length) {
+            int position = lineStart;
+            while (position < length && buffer[position] == ' ') {
+                position++;
+            }
+            int nameStart = position;
+            while (position < length && buffer[position] != ':' && buffer[position] != '\n') {
+                position++;
+            }
+            if (position < length && buffer[position] == ':'
+                    && regionEquals(buffer, nameStart, position, mInterfaceName)) {
+                mTokenEnd = position + 1;
+                return true;
+            }
+            while (position < length && buffer[position] != '\n') {
+                position++;
+            }
+            lineStart = position + 1;
+        }
+        return false;
+    }
+
+    //Finds the next whitespace separated token in [from, end).
+    private boolean nextToken(byte[] buffer, int from, int end) {
+        int position = from;
+        while (position < end && (buffer[position] == ' ' || buffer[position] == '\t')) {
+            position++;
+        }
+        if (position == end) {
+            return false;
+        }
+        mTokenStart = position;
+        while (position < end && buffer[position] != ' ' && buffer[position] != '\t') {
+            position++;
+        }
+        mTokenEnd = position;
+        return true;
+    }
+
+    private static boolean regionEquals(byte[] buffer, int start, int end, byte[] expected) {
+        if (end - start != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (buffer[start + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses a non negative decimal number.
+     *
+     * @return the number, -1 if malformed.
+     */
+    private static long parseDecimal(byte[] buffer, int start, int end) {
+        if (start == end || end - start > 18) {
+            return -1L;
+        }
+        long value = 0L;
+        for (int i = start; i < end; i++) {
+            byte b = buffer[i];
+            if (b < '0' || b > '9') {
+                return -1L;
+            }
+            value = value * 10 + (b - '0');
+        }
+        return value;
+    }
+}
@@ -0,0 +1,282 @@
+package com.harish.hotspot.base.util;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Hashed timing wheel, running many timeouts on a single thread.
+ *         <p>
+ *         Scheduling and cancelling are O(1) and lock-free: they only go through queues, which the worker
+ *         drains on every tick before expiring the bucket of that tick. The precision is one tick.
+ *         The worker sleeps without ticking while nothing is scheduled.
+ *         <p>
+ *         NOTE:
+ *         The tasks run on the worker thread and must be quick. Hand longer work over to an executor.
+ * @since 17.10.2026.
+ */
+public final class HashedWheelTimer {
+    private static final String TAG = HashedWheelTimer.class.getSimpleName();
+
+    //Defaults of the shared instance.
+    public static final long DEFAULT_TICK_MILLIS = 10L;
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    //Shared instance.
+    private static HashedWheelTimer sInstance;
+
+    //Length of a tick, in nanoseconds.
+    private final long mTickNanos;
+
+    //Buckets, each the head of a doubly linked list of timeouts. Worker only.
+    private final Timeout[] mWheel;
+    private final int mMask;
+
+    //Scheduled, not yet placed into the wheel.
+    private final ConcurrentLinkedQueue<Timeout> mPending = new ConcurrentLinkedQueue<>();
+
+    //Cancelled, maybe still in the wheel.
+    private final ConcurrentLinkedQueue<Timeout> mCancelled = new ConcurrentLinkedQueue<>();
+
+    //Timeouts neither expired nor cancelled.
+    private final AtomicInteger mActiveCount = new AtomicInteger();
+
+    //Wakes up the idle worker.
+    private final Object mLock = new Object();
+
+    //Origin of the deadlines.
+    private final long mStartNanos = System.nanoTime();
+
+    //Name of the worker thread.
+    private final String mName;
+
+    //The worker, NULL until the first timeout.
+    private Thread mWorker;
+
+    //Next tick to expire. Worker only.
+    private long mTick;
+
+    /**
+     * A scheduled task.
+     */
+    public static final class Timeout {
+        private static final int STATE_SCHEDULED = 0;
+        private static final int STATE_CANCELLED = 1;
+        private static final int STATE_EXPIRED = 2;
+
+        private final HashedWheelTimer mTimer;
+        private final Runnable mTask;
+
+        //Deadline, in nanoseconds since the start of the timer.
+        private final long mDeadline;
+
+        private final AtomicInteger mState = new AtomicInteger(STATE_SCHEDULED);
+
+        //Worker only.
+        private long mRemainingRounds;
+        private int mBucket = -1;
+        private Timeout mPrevious;
+        private Timeout mNext;
+
+        private Timeout(HashedWheelTimer timer, Runnable task, long deadline) {
+            this.mTimer = timer;
+            this.mTask = task;
+            this.mDeadline = deadline;
+        }
+
+        /**
+         * Cancels the task, unless it already ran.
+         *
+         * @return TRUE if the task will not run.
+         */
+        public boolean cancel() {
+            if (mState.compareAndSet(STATE_SCHEDULED, STATE_CANCELLED)) {
+                mTimer.mActiveCount.decrementAndGet();
+                mTimer.mCancelled.add(this);
+                return true;
+            }
+            return false;
+        }
+
+        public boolean isCancelled() {
+            return mState.get() == STATE_CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return mState.get() == STATE_EXPIRED;
+        }
+
+        //Runs the task, unless cancelled.
+        private void expire() {
+            if (mState.compareAndSet(STATE_SCHEDULED, STATE_EXPIRED)) {
+                mTimer.mActiveCount.decrementAndGet();
+                try {
+                    mTask.run();
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param name      The name of the worker thread.
+     * @param tick      The length of a tick, the precision of the timer.
+     * @param unit      The unit of the tick.
+     * @param wheelSize The number of buckets, rounded up to a power of two.
+     */
+    public HashedWheelTimer(String name, long tick, TimeUnit unit, int wheelSize) {
+        if (tick <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Invalid tick or wheel size");
+        }
+        int size = Integer.highestOneBit(wheelSize);
+        if (size < wheelSize) {
+            size <<= 1;
+        }
+        this.mName = name;
+        this.mTickNanos = unit.toNanos(tick);
+        this.mWheel = new Timeout[size];
+        this.mMask = size - 1;
+    }
+
+    //Retrieves the shared instance.
+    public static synchronized HashedWheelTimer getInstance() {
+        if (sInstance == null) {
+            sInstance = new HashedWheelTimer(TAG, DEFAULT_TICK_MILLIS, TimeUnit.MILLISECONDS, DEFAULT_WHEEL_SIZE);
+        }
+        return sInstance;
+    }
+
+    /**
+     * Schedules a task.
+     *
+     * @param task  The task, run on the worker thread.
+     * @param delay The delay.
+     * @param unit  The unit of the delay.
+     * @return the {@link Timeout}, to cancel the task.
+     */
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+        long deadline = System.nanoTime() - mStartNanos + Math.max(0L, unit.toNanos(delay));
+        Timeout timeout = new Timeout(this, task, deadline);
+        mPending.add(timeout);
+        if (mActiveCount.getAndIncrement() == 0) {
+            synchronized (mLock) {
+                if (mWorker == null) {
+                    mWorker = new Thread(mWorkerTask, mName);
+                    mWorker.setDaemon(true);
+                    mWorker.start();
+                }
+                mLock.notifyAll();
+            }
+        }
+        return timeout;
+    }
+
+    /**
+     * @return the number of tasks neither run nor cancelled.
+     */
+    public int getActiveCount() {
+        return mActiveCount.get();
+    }
+
+    //Ticks while anything is scheduled, sleeps otherwise.
+    private final Runnable mWorkerTask = new Runnable() {
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    if (mActiveCount.get() == 0) {
+                        removeCancelled();
+                        synchronized (mLock) {
+                            while (mActiveCount.get() == 0) {
+                                mLock.wait();
+                            }
+                        }
+                        //Nothing was due while idle, so skip the empty ticks.
+                        mTick = Math.max(mTick, (System.nanoTime() - mStartNanos) / mTickNanos);
+                    }
+                    long sleepNanos = (mTick + 1) * mTickNanos - (System.nanoTime() - mStartNanos);
+                    if (sleepNanos > 0) {
+                        Thread.sleep(sleepNanos / 1000000L, (int) (sleepNanos % 1000000L));
+                    }
+                    removeCancelled();
+                    transferPending();
+                    expireBucket((int) (mTick & mMask));
+                    mTick++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    };
+
+    //Places the scheduled timeouts into their buckets.
+    private void transferPending() {
+        Timeout timeout;
+        while ((timeout = mPending.poll()) != null) {
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            long ticks = timeout.mDeadline / mTickNanos;
+            timeout.mRemainingRounds = Math.max(0L, (ticks - mTick) / mWheel.length);
+            //Already late ones go into the current bucket.
+            link(timeout, (int) (Math.max(ticks, mTick) & mMask));
+        }
+    }
+
+    //Unlinks the cancelled timeouts, so that they are not retained until their deadline.
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = mCancelled.poll()) != null) {
+            if (timeout.mBucket >= 0) {
+                unlink(timeout);
+            }
+        }
+    }
+
+    //Runs the timeouts of the bucket due this round.
+    private void expireBucket(int bucket) {
+        Timeout timeout = mWheel[bucket];
+        while (timeout != null) {
+            Timeout next = timeout.mNext;
+            if (timeout.mRemainingRounds <= 0) {
+                unlink(timeout);
+                timeout.expire();
+            } else if (timeout.isCancelled()) {
+                unlink(timeout);
+            } else {
+                timeout.mRemainingRounds--;
+            }
+            timeout = next;
+        }
+    }
+
+    private void link(Timeout timeout, int bucket) {
+        Timeout head = mWheel[bucket];
+        timeout.mBucket = bucket;
+        timeout.mPrevious = null;
+        timeout.mNext = head;
+        if (head != null) {
+            head.mPrevious = timeout;
+        }
+        mWheel[bucket] = timeout;
+    }
+
+    private void unlink(Timeout timeout) {
+        if (timeout.mPrevious != null) {
+            timeout.mPrevious.mNext = timeout.mNext;
+        } else {
+            mWheel[timeout.mBucket] = timeout.mNext;
+        }
+        if (timeout.mNext != null) {
+            timeout.mNext.mPrevious = timeout.mPrevious;
+        }
+        timeout.mBucket = -1;
+        timeout.mPrevious = null;
+        timeout.mNext = null;
+    }
+}
@@ -0,0 +1,207 @@
+package com.harish.hotspot.base.util;
+
+import java.util.Arrays;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Open-addressing hash map from primitive long keys to primitive int values.
+ *         Avoids the boxing of {@link java.util.HashMap} on paths which run on every scan.
+ *         <p>
+ *         NOTE:
+ *         The key 0 is reserved to mark the free slots and can not be stored.
+ *         Not thread safe.
+ * @since 17.10.2026.
+ */
+public final class LongIntHashMap {
+    private static final String TAG = LongIntHashMap.class.getSimpleName();
+
+    //Marks a free slot.
+    private static final long FREE_KEY = 0L;
+
+    //Keys and values, in parallel.
+    private long[] mKeys;
+    private int[] mValues;
+
+    //Number of mappings.
+    private int mSize;
+
+    //Grow once the size reaches this.
+    private int mThreshold;
+
+    /**
+     * Constructor.
+     *
+     * @param expectedSize The number of mappings expected, to avoid growing.
+     */
+    public LongIntHashMap(int expectedSize) {
+        int capacity = 4;
+        while (capacity * 3 / 4 < expectedSize) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    /**
+     * @return the number of mappings.
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * @return the number of slots, the upper bound for {@link #keyAt(int)} and {@link #valueAt(int)}.
+     */
+    public int capacity() {
+        return mKeys.length;
+    }
+
+    /**
+     * Adds or replaces a mapping.
+     *
+     * @param key   The key, must not be 0.
+     * @param value The value.
+     * @return TRUE if the key was not present before.
+     */
+    public boolean put(long key, int value) {
+        if (key == FREE_KEY) {
+            throw new IllegalArgumentException("Key 0 is reserved");
+        }
+        int slot = findSlot(mKeys, key);
+        if (mKeys[slot] == key) {
+            mValues[slot] = value;
+            return false;
+        }
+        mKeys[slot] = key;
+        mValues[slot] = value;
+        if (++mSize >= mThreshold) {
+            rehash(mKeys.length << 1);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the value mapped to the key.
+     *
+     * @param key          The key.
+     * @param defaultValue Returned when the key is not present.
+     * @return the value.
+     */
+    public int get(long key, int defaultValue) {
+        if (key == FREE_KEY) {
+            return defaultValue;
+        }
+        int slot = findSlot(mKeys, key);
+        return mKeys[slot] == key ? mValues[slot] : defaultValue;
+    }
+
+    /**
+     * Checks whether the key is present.
+     *
+     * @param key The key.
+     * @return TRUE if present.
+     */
+    public boolean containsKey(long key) {
+        return key != FREE_KEY && mKeys[findSlot(mKeys, key)] == key;
+    }
+
+    /**
+     * Removes a mapping.
+     *
+     * @param key The key.
+     * @return TRUE if the key was present.
+     */
+    public boolean remove(long key) {
+        if (key == FREE_KEY) {
+            return false;
+        }
+        int mask = mKeys.length - 1;
+        int slot = findSlot(mKeys, key);
+        if (mKeys[slot] != key) {
+            return false;
+        }
+        mKeys[slot] = FREE_KEY;
+        mSize--;
+        //Shift back the following entries of the probe sequence, so that no tombstone is needed.
+        int next = (slot + 1) & mask;
+        while (mKeys[next] != FREE_KEY) {
+            long movedKey = mKeys[next];
+            int ideal = hash(movedKey) & mask;
+            if (((next - ideal) & mask) >= ((next - slot) & mask)) {
+                mKeys[slot] = movedKey;
+                mValues[slot] = mValues[next];
+                mKeys[next] = FREE_KEY;
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+        return true;
+    }
+
+    /**
+     * Removes all the mappings, keeping the allocated slots.
+     */
+    public void clear() {
+        if (mSize > 0) {
+            Arrays.fill(mKeys, FREE_KEY);
+            mSize = 0;
+        }
+    }
+
+    /**
+     * Returns the key stored in a slot.
+     *
+     * @param slot The slot, between 0 and {@link #capacity()}.
+     * @return the key, or 0 if the slot is free.
+     */
+    public long keyAt(int slot) {
+        return mKeys[slot];
+    }
+
+    /**
+     * Returns the value stored in a slot.
+     *
+     * @param slot The slot, between 0 and {@link #capacity()}.
+     * @return the value. Meaningless if the slot is free.
+     */
+    public int valueAt(int slot) {
+        return mValues[slot];
+    }
+
+    //Allocates the slots.
+    private void allocate(int capacity) {
+        mKeys = new long[capacity];
+        mValues = new int[capacity];
+        mThreshold = capacity * 3 / 4;
+    }
+
+    //Moves all the mappings to bigger arrays.
+    private void rehash(int capacity) {
+        long[] keys = mKeys;
+        int[] values = mValues;
+        allocate(capacity);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE_KEY) {
+                int slot = findSlot(mKeys, keys[i]);
+                mKeys[slot] = keys[i];
+                mValues[slot] = values[i];
+            }
+        }
+    }
+
+    //Finds the slot holding the key, or the free slot where it would go.
+    private static int findSlot(long[] keys, long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != FREE_KEY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    //Spreads the bits of the key.
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
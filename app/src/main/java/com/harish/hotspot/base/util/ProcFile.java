@@ -0,0 +1,79 @@
+package com.harish.hotspot.base.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Reads a small kernel table (/proc/net/*) again and again into the same byte buffer.
+ *         The buffer only grows when the table does not fit, so repeated reads do not allocate.
+ *         <p>
+ *         NOTE:
+ *         Not thread safe.
+ * @since 17.10.2026.
+ */
+public final class ProcFile {
+    private static final String TAG = ProcFile.class.getSimpleName();
+
+    //Initial size of the read buffer.
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+
+    //The file.
+    private final File mFile;
+
+    //Reusable read buffer.
+    private byte[] mBuffer = new byte[INITIAL_BUFFER_SIZE];
+
+    /**
+     * Constructor.
+     *
+     * @param file The file to read.
+     */
+    public ProcFile(File file) {
+        this.mFile = file;
+    }
+
+    /**
+     * @return the file.
+     */
+    public File getFile() {
+        return mFile;
+    }
+
+    /**
+     * @return the buffer filled by the last {@link #read()}. Only valid until the next read.
+     */
+    public byte[] getBuffer() {
+        return mBuffer;
+    }
+
+    /**
+     * Reads the whole file into the buffer, growing it if needed.
+     *
+     * @return the number of bytes read.
+     * @throws IOException when the file can not be read.
+     */
+    public int read() throws IOException {
+        InputStream in = new FileInputStream(mFile);
+        try {
+            int length = 0;
+            while (true) {
+                if (length == mBuffer.length) {
+                    byte[] grown = new byte[mBuffer.length << 1];
+                    System.arraycopy(mBuffer, 0, grown, 0, length);
+                    mBuffer = grown;
+                }
+                int read = in.read(mBuffer, length, mBuffer.length - length);
+                if (read < 0) {
+                    return length;
+                }
+                length += read;
+            }
+        } finally {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.harish.hotspot.base.clients;
+
+import com.harish.hotspot.base.interfaces.IHotspotClientListener;
+import com.harish.hotspot.base.util.LongIntHashMap;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Parses the neighbor table fixtures of src/test/resources/clients on the JVM.
+ * @since 17.10.2026.
+ */
+public class HotspotClientMonitorTest {
+    private static final String TAG = HotspotClientMonitorTest.class.getSimpleName();
+
+    //Packed addresses of the fixture entries.
+    private static final long MAC_12 = 0xa45e60c2119bL;
+    private static final long MAC_88 = 0x3c2eff0a7b01L;
+    private static final long MAC_101 = 0x58cb5214e07dL;
+    private static final long MAC_RMNET = 0xf09fc2000001L;
+
+    @Rule
+    public TemporaryFolder mFolder = new TemporaryFolder();
+
+    @Test
+    public void parsesTheCompleteEntriesOfAllInterfaces() throws Exception {
+        HotspotClientMonitor monitor = new HotspotClientMonitor(fixture("arp_hotspot.txt"), null);
+
+        assertEquals(3, monitor.scan());
+        LongIntHashMap clients = copyClients(monitor);
+        assertEquals("192.168.43.12", ClientAddresses.formatIp(clients.get(MAC_12, 0)));
+        assertEquals("192.168.43.88", ClientAddresses.formatIp(clients.get(MAC_88, 0)));
+        assertEquals("10.12.0.1", ClientAddresses.formatIp(clients.get(MAC_RMNET, 0)));
+    }
+
+    @Test
+    public void keepsTheEntriesOfTheInterfaceOnly() throws Exception {
+        HotspotClientMonitor monitor = new HotspotClientMonitor(fixture("arp_hotspot.txt"), "wlan0");
+
+        assertEquals(2, monitor.scan());
+        LongIntHashMap clients = copyClients(monitor);
+        assertTrue(clients.containsKey(MAC_12));
+        assertTrue(clients.containsKey(MAC_88));
+        assertFalse(clients.containsKey(MAC_RMNET));
+    }
+
+    @Test
+    public void skipsTheMalformedEntries() throws Exception {
+        HotspotClientMonitor monitor = new HotspotClientMonitor(fixture("arp_malformed.txt"), "wlan0");
+
+        //Only .24 (complete flag among others), .25 (tabs) and .26 (no trailing newline) are valid.
+        assertEquals(3, monitor.scan());
+        LongIntHashMap clients = copyClients(monitor);
+        assertEquals("192.168.43.24", ClientAddresses.formatIp(clients.get(0xa45e60c2119fL, 0)));
+        assertEquals("192.168.43.25", ClientAddresses.formatIp(clients.get(0xa45e60c211a0L, 0)));
+        assertEquals("192.168.43.26", ClientAddresses.formatIp(clients.get(0xa45e60c211a1L, 0)));
+    }
+
+    @Test
+    public void findsNoClientInAnEmptyTable() throws Exception {
+        HotspotClientMonitor monitor = new HotspotClientMonitor(fixture("arp_empty.txt"), null);
+
+        assertEquals(0, monitor.scan());
+        assertEquals(0, monitor.getClientCount());
+    }
+
+    @Test
+    public void reportsOnlyTheClientsWhichJoinedOrLeft() throws Exception {
+        File table = mFolder.newFile("arp");
+        copy(fixture("arp_hotspot.txt"), table);
+        HotspotClientMonitor monitor = new HotspotClientMonitor(table, "wlan0");
+        RecordingListener listener = new RecordingListener();
+        monitor.addClientListener(listener);
+
+        monitor.scan();
+        assertEquals(2, listener.mJoined.size());
+        assertTrue(listener.mJoined.contains(MAC_12));
+        assertTrue(listener.mJoined.contains(MAC_88));
+        assertTrue(listener.mLeft.isEmpty());
+
+        //An unchanged table reports nothing.
+        listener.clear();
+        monitor.scan();
+        assertTrue(listener.mJoined.isEmpty());
+        assertTrue(listener.mLeft.isEmpty());
+
+        //.12 left, .101 joined, .88 is the same MAC address in upper case before.
+        copy(fixture("arp_after.txt"), table);
+        assertEquals(2, monitor.scan());
+        assertEquals(1, listener.mJoined.size());
+        assertTrue(listener.mJoined.contains(MAC_101));
+        assertEquals(1, listener.mLeft.size());
+        assertTrue(listener.mLeft.contains(MAC_12));
+    }
+
+    //Collects the reports.
+    private static final class RecordingListener implements IHotspotClientListener {
+        private final List<Long> mJoined = new ArrayList<>();
+        private final List<Long> mLeft = new ArrayList<>();
+
+        @Override
+        public void onClientJoined(long macAddress, int ipAddress) {
+            mJoined.add(macAddress);
+        }
+
+        @Override
+        public void onClientLeft(long macAddress) {
+            mLeft.add(macAddress);
+        }
+
+        private void clear() {
+            mJoined.clear();
+            mLeft.clear();
+        }
+    }
+
+    private static LongIntHashMap copyClients(HotspotClientMonitor monitor) {
+        LongIntHashMap clients = new LongIntHashMap(16);
+        monitor.copyClients(clients);
+        return clients;
+    }
+
+    private static File fixture(String name) throws URISyntaxException {
+        return new File(HotspotClientMonitorTest.class.getResource("/clients/" + name).toURI());
+    }
+
+    private static void copy(File from, File to) throws IOException {
+        InputStream in = new FileInputStream(from);
+        try {
+            OutputStream out = new FileOutputStream(to);
+            try {
+                byte[] buffer = new byte[4096];
+                int read;
+                while ((read = in.read(buffer)) > 0) {
+                    out.write(buffer, 0, read);
+                }
+            } finally {
+                out.close();
+            }
+        } finally {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.harish.hotspot.base.net;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Probes {@link HotspotDiscoveryResponder} over loopback.
+ * @since 17.10.2026.
+ */
+public class HotspotDiscoveryResponderTest {
+    private static final String TAG = HotspotDiscoveryResponderTest.class.getSimpleName();
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    //Wait for a reply which should come, and for one which should not.
+    private static final int REPLY_TIMEOUT_MS = 2000;
+    private static final int SILENCE_TIMEOUT_MS = 300;
+
+    private HotspotDiscoveryResponder mResponder;
+    private DatagramSocket mSocket;
+
+    @Before
+    public void setUp() throws Exception {
+        mResponder = new HotspotDiscoveryResponder(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        mResponder.setService("status", HotspotStatusServer.DEFAULT_PORT);
+        mResponder.setService("files", HotspotFileServer.DEFAULT_PORT);
+        mResponder.start();
+        mSocket = new DatagramSocket(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    @After
+    public void tearDown() {
+        mSocket.close();
+        mResponder.stop();
+    }
+
+    @Test
+    public void answersAProbeWithThePublishedServices() throws Exception {
+        send(HotspotDiscoveryResponder.PROBE);
+
+        assertEquals(HotspotDiscoveryResponder.REPLY + "\nstatus=8000\nfiles=8080\n", receive(REPLY_TIMEOUT_MS));
+    }
+
+    @Test
+    public void answersTheLatestServices() throws Exception {
+        mResponder.setReplyInterval(0, TimeUnit.MILLISECONDS);
+        mResponder.removeService("status");
+        mResponder.setService("files", 8081);
+
+        send(HotspotDiscoveryResponder.PROBE + " v1");
+
+        assertEquals(HotspotDiscoveryResponder.REPLY + "\nfiles=8081\n", receive(REPLY_TIMEOUT_MS));
+    }
+
+    @Test
+    public void ignoresWhatIsNotAProbe() throws Exception {
+        send("HOTSPOT-DISCO");
+        send(HotspotDiscoveryResponder.REPLY);
+
+        assertNull(receive(SILENCE_TIMEOUT_MS));
+    }
+
+    @Test
+    public void answersASourceOncePerInterval() throws Exception {
+        mResponder.setReplyInterval(1, TimeUnit.HOURS);
+        send(HotspotDiscoveryResponder.PROBE);
+        send(HotspotDiscoveryResponder.PROBE);
+
+        assertTrue(receive(REPLY_TIMEOUT_MS).startsWith(HotspotDiscoveryResponder.REPLY));
+        assertNull(receive(SILENCE_TIMEOUT_MS));
+
+        //Other sources are answered meanwhile.
+        DatagramSocket other = new DatagramSocket(new InetSocketAddress(InetAddress.getByName("127.0.0.2"), 0));
+        try {
+            mSocket.close();
+            mSocket = other;
+            send(HotspotDiscoveryResponder.PROBE);
+            assertFalse(receive(REPLY_TIMEOUT_MS) == null);
+        } finally {
+            other.close();
+        }
+    }
+
+    private void send(String datagram) throws Exception {
+        byte[] bytes = datagram.getBytes(UTF_8);
+        mSocket.send(new DatagramPacket(bytes, bytes.length,
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), mResponder.getLocalPort())));
+    }
+
+    //Returns the next datagram, NULL if none came within the timeout.
+    private String receive(int timeoutMillis) throws Exception {
+        byte[] buffer = new byte[2048];
+        DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+        mSocket.setSoTimeout(timeoutMillis);
+        try {
+            mSocket.receive(packet);
+        } catch (SocketTimeoutException e) {
+            return null;
+        }
+        return new String(buffer, 0, packet.getLength(), UTF_8);
+    }
+}
@@ -0,0 +1,114 @@
+package com.harish.hotspot.base.net;
+
+import com.harish.hotspot.base.state.HotspotStateMachine;
+import com.harish.hotspot.base.state.HotspotStates;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Runs {@link HotspotSpeedTest} against {@link HotspotSpeedTestServer} over loopback, on a state machine
+ *         of their own. Only the shape of the results is checked, loopback says nothing of a real link.
+ * @since 17.10.2026.
+ */
+public class HotspotSpeedTestTest {
+    private static final String TAG = HotspotSpeedTestTest.class.getSimpleName();
+
+    //Short measures: 6 intervals, the first 2 left out.
+    private static final long DURATION_MILLIS = 6 * HotspotSpeedTest.INTERVAL_MILLIS;
+    private static final long WARM_UP_MILLIS = 2 * HotspotSpeedTest.INTERVAL_MILLIS;
+
+    private HotspotStateMachine mStateMachine;
+    private HotspotSpeedTestServer mServer;
+    private HotspotSpeedTest mTest;
+
+    @Before
+    public void setUp() throws Exception {
+        mStateMachine = new HotspotStateMachine();
+        mStateMachine.reset(HotspotStates.WIFI_AP_STATE_ENABLED);
+        mServer = new HotspotSpeedTestServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), mStateMachine);
+        mServer.start();
+        mTest = new HotspotSpeedTest(new InetSocketAddress(InetAddress.getLoopbackAddress(), mServer.getLocalPort()));
+        mTest.setStreams(2);
+        mTest.setDuration(DURATION_MILLIS, WARM_UP_MILLIS);
+    }
+
+    @After
+    public void tearDown() {
+        mServer.stop();
+    }
+
+    @Test
+    public void measuresTheDownload() throws Exception {
+        assertThroughput(SpeedTestResult.TYPE_DOWNLOAD, mTest.measureDownload());
+    }
+
+    @Test
+    public void measuresTheUpload() throws Exception {
+        assertThroughput(SpeedTestResult.TYPE_UPLOAD, mTest.measureUpload());
+    }
+
+    @Test
+    public void measuresTheRoundTrip() throws Exception {
+        mTest.setPings(20);
+
+        SpeedTestResult result = mTest.measureRtt();
+
+        assertEquals(SpeedTestResult.TYPE_RTT, result.getType());
+        assertEquals(20, result.getCount());
+        assertEquals(0L, result.getBytes());
+        assertTrue(result.getMin() > 0.0);
+        assertOrdered(result);
+    }
+
+    @Test
+    public void startsOnlyWhileEnabled() throws Exception {
+        HotspotStateMachine stateMachine = new HotspotStateMachine();
+        stateMachine.reset(HotspotStates.WIFI_AP_STATE_DISABLED);
+        HotspotSpeedTestServer server =
+                new HotspotSpeedTestServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), stateMachine);
+        try {
+            server.start();
+            fail("Started while DISABLED");
+        } catch (IOException e) {
+            assertFalse(server.isRunning());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void failsWithoutAServer() throws Exception {
+        mServer.stop();
+
+        mTest.measureRtt();
+    }
+
+    private static void assertThroughput(int type, SpeedTestResult result) {
+        assertEquals(type, result.getType());
+        assertEquals(2, result.getStreams());
+        assertEquals((DURATION_MILLIS - WARM_UP_MILLIS) / HotspotSpeedTest.INTERVAL_MILLIS, result.getCount());
+        assertTrue(result.getBytes() > 0L);
+        //Bits per second over the measured intervals.
+        assertEquals(result.getBytes() * 8.0 * 1000.0 / (DURATION_MILLIS - WARM_UP_MILLIS), result.getMean(), 1e-6);
+        assertOrdered(result);
+    }
+
+    private static void assertOrdered(SpeedTestResult result) {
+        assertTrue(result.getMin() <= result.getPercentile(0));
+        for (int p = 1; p < SpeedTestResult.PERCENTILES.length; p++) {
+            assertTrue(result.getPercentile(p - 1) <= result.getPercentile(p));
+        }
+        assertTrue(result.getPercentile(SpeedTestResult.PERCENTILES.length - 1) <= result.getMax());
+    }
+}
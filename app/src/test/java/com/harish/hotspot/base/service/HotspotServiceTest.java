@@ -0,0 +1,273 @@
+package com.harish.hotspot.base.service;
+
+import android.Manifest;
+import android.content.Intent;
+import android.os.Build;
+import android.os.Bundle;
+import android.os.Binder;
+import android.os.Handler;
+import android.os.IBinder;
+import android.os.Looper;
+import android.os.Message;
+import android.os.Messenger;
+import android.os.RemoteException;
+
+import com.harish.hotspot.base.HotspotManagerV26;
+import com.harish.hotspot.base.lease.HotspotLeaseManager;
+import com.harish.hotspot.base.state.HotspotStateMachine;
+import com.harish.hotspot.base.state.HotspotStates;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.android.controller.ServiceController;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.Implementation;
+import org.robolectric.annotation.Implements;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Drives {@link HotspotService} through its Messenger, as a client in another process would.
+ *         The manager and its leases are process-wide, so the lease counts are compared with the count
+ *         before each test.
+ *         <p>
+ *         The Messenger shadow of Robolectric has no binder, {@link ShadowBinderMessenger} gives each one its own,
+ *         so the service can tell the clients apart and a client process can be killed.
+ * @since 17.10.2026.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = Build.VERSION_CODES.O, manifest = Config.NONE, shadows = HotspotServiceTest.ShadowBinderMessenger.class)
+public class HotspotServiceTest {
+    private static final String TAG = HotspotServiceTest.class.getSimpleName();
+
+    //An operation the protocol does not know.
+    private static final int OP_UNKNOWN = 99;
+
+    private ServiceController<HotspotService> mController;
+    private Messenger mService;
+    private HotspotLeaseManager mLeaseManager;
+    private int mLeasesBefore;
+
+    @Before
+    public void setUp() {
+        shadowOf(RuntimeEnvironment.application).grantPermissions(Manifest.permission.ACCESS_COARSE_LOCATION);
+        mController = Robolectric.buildService(HotspotService.class).create();
+        mService = new Messenger(mController.get().onBind(new Intent(HotspotServiceProtocol.ACTION_BIND)));
+        mLeaseManager = HotspotManagerV26.getInstance(RuntimeEnvironment.application).getLeaseManager();
+        mLeasesBefore = mLeaseManager.getLeaseCount();
+    }
+
+    @After
+    public void tearDown() {
+        mController.destroy();
+    }
+
+    @Test
+    public void answersABatchWithOneResultInOrder() throws Exception {
+        Client client = new Client();
+
+        client.send(7, new int[]{HotspotServiceProtocol.OP_SUBSCRIBE, OP_UNKNOWN});
+
+        List<Message> results = client.received(HotspotServiceProtocol.MSG_BATCH_RESULT);
+        assertEquals(1, results.size());
+        assertEquals(7, results.get(0).arg1);
+        assertArrayEquals(new int[]{HotspotServiceProtocol.RESULT_OK, HotspotServiceProtocol.RESULT_UNKNOWN_OP},
+                results.get(0).getData().getIntArray(HotspotServiceProtocol.KEY_RESULTS));
+    }
+
+    @Test
+    public void holdsOneLeasePerClientUntilItDisables() throws Exception {
+        Client first = new Client();
+        Client second = new Client();
+
+        first.send(1, new int[]{HotspotServiceProtocol.OP_ENABLE});
+        second.send(1, new int[]{HotspotServiceProtocol.OP_ENABLE});
+        assertArrayEquals(new int[]{HotspotServiceProtocol.RESULT_OK}, first.lastResults());
+        assertArrayEquals(new int[]{HotspotServiceProtocol.RESULT_OK}, second.lastResults());
+        assertEquals(mLeasesBefore + 2, mLeaseManager.getLeaseCount());
+
+        //Enabling twice does not take a second lease.
+        first.send(2, new int[]{HotspotServiceProtocol.OP_ENABLE});
+        assertEquals(mLeasesBefore + 2, mLeaseManager.getLeaseCount());
+
+        first.send(3, new int[]{HotspotServiceProtocol.OP_DISABLE});
+        assertEquals(mLeasesBefore + 1, mLeaseManager.getLeaseCount());
+        second.send(3, new int[]{HotspotServiceProtocol.OP_DISABLE});
+        assertEquals(mLeasesBefore, mLeaseManager.getLeaseCount());
+    }
+
+    @Test
+    public void releasesTheLeaseOfADeadClient() throws Exception {
+        Client survivor = new Client();
+        Client dying = new Client();
+        survivor.send(1, new int[]{HotspotServiceProtocol.OP_ENABLE});
+        dying.send(1, new int[]{HotspotServiceProtocol.OP_ENABLE});
+        assertEquals(mLeasesBefore + 2, mLeaseManager.getLeaseCount());
+
+        dying.die();
+        assertEquals(mLeasesBefore + 1, mLeaseManager.getLeaseCount());
+
+        survivor.send(2, new int[]{HotspotServiceProtocol.OP_DISABLE});
+        assertEquals(mLeasesBefore, mLeaseManager.getLeaseCount());
+    }
+
+    @Test
+    public void releasesTheLeftLeasesWhenDestroyed() throws Exception {
+        new Client().send(1, new int[]{HotspotServiceProtocol.OP_ENABLE});
+        new Client().send(1, new int[]{HotspotServiceProtocol.OP_ENABLE});
+        assertEquals(mLeasesBefore + 2, mLeaseManager.getLeaseCount());
+
+        //The last client unbinding destroys the service.
+        mController.destroy();
+        assertEquals(mLeasesBefore, mLeaseManager.getLeaseCount());
+        //A fresh one for tearDown().
+        mController = Robolectric.buildService(HotspotService.class).create();
+    }
+
+    @Test
+    public void sendsEveryTransitionToTheSubscribers() throws Exception {
+        Client subscriber = new Client();
+        Client other = new Client();
+        subscriber.send(1, new int[]{HotspotServiceProtocol.OP_SUBSCRIBE});
+        other.send(1, new int[]{HotspotServiceProtocol.OP_ENABLE});
+        subscriber.clear();
+        other.clear();
+
+        HotspotStateMachine stateMachine = HotspotStateMachine.getInstance();
+        int previous = stateMachine.getState();
+        int next = previous == HotspotStates.WIFI_AP_STATE_FAILED
+                ? HotspotStates.WIFI_AP_STATE_DISABLED : HotspotStates.WIFI_AP_STATE_FAILED;
+        stateMachine.reset(next);
+        ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+
+        Message transition = null;
+        for (Message message : subscriber.received(HotspotServiceProtocol.MSG_STATE)) {
+            if (message.arg1 == next) {
+                transition = message;
+            }
+        }
+        assertNotNull(transition);
+        assertEquals(previous, transition.arg2);
+        assertTrue(transition.getData().getLong(HotspotServiceProtocol.KEY_SEQUENCE) > 0L);
+        //Only the subscribers get the transitions.
+        assertTrue(other.received(HotspotServiceProtocol.MSG_STATE).isEmpty());
+
+        other.send(2, new int[]{HotspotServiceProtocol.OP_DISABLE});
+    }
+
+    //A client with its own reply Messenger, keeping copies of the messages it receives.
+    private final class Client {
+        private final List<Message> mReceived = new ArrayList<>();
+        private final Messenger mReplyTo = new Messenger(new Handler(Looper.getMainLooper(), new Handler.Callback() {
+            @Override
+            public boolean handleMessage(Message message) {
+                mReceived.add(Message.obtain(message));
+                return true;
+            }
+        }));
+
+        private void send(int batchId, int[] ops) throws RemoteException {
+            Message message = Message.obtain(null, HotspotServiceProtocol.MSG_BATCH, batchId, 0);
+            Bundle data = new Bundle();
+            data.putIntArray(HotspotServiceProtocol.KEY_OPS, ops);
+            data.putString(HotspotServiceProtocol.KEY_OWNER, TAG);
+            message.setData(data);
+            message.replyTo = mReplyTo;
+            mService.send(message);
+            ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+        }
+
+        private List<Message> received(int what) {
+            List<Message> messages = new ArrayList<>();
+            for (Message message : mReceived) {
+                if (message.what == what) {
+                    messages.add(message);
+                }
+            }
+            return messages;
+        }
+
+        private int[] lastResults() {
+            List<Message> results = received(HotspotServiceProtocol.MSG_BATCH_RESULT);
+            return results.get(results.size() - 1).getData().getIntArray(HotspotServiceProtocol.KEY_RESULTS);
+        }
+
+        private void clear() {
+            mReceived.clear();
+        }
+
+        //Kills the process of the client, as far as the service can tell.
+        private void die() {
+            ((ProcessBinder) mReplyTo.getBinder()).die();
+            ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+        }
+    }
+
+    //The binder of a Messenger, telling its death recipients when killed.
+    private static final class ProcessBinder extends Binder {
+        private final Handler mHandler;
+        private final List<IBinder.DeathRecipient> mRecipients = new ArrayList<>();
+
+        private ProcessBinder(Handler handler) {
+            this.mHandler = handler;
+        }
+
+        @Override
+        public void linkToDeath(IBinder.DeathRecipient recipient, int flags) {
+            mRecipients.add(recipient);
+        }
+
+        @Override
+        public boolean unlinkToDeath(IBinder.DeathRecipient recipient, int flags) {
+            return mRecipients.remove(recipient);
+        }
+
+        private void die() {
+            for (IBinder.DeathRecipient recipient : new ArrayList<>(mRecipients)) {
+                recipient.binderDied();
+            }
+        }
+    }
+
+    //Messenger delivering to its handler within the test, with one binder per Messenger.
+    @Implements(Messenger.class)
+    public static class ShadowBinderMessenger {
+        private ProcessBinder mBinder;
+
+        @Implementation
+        public void __constructor__(Handler handler) {
+            mBinder = new ProcessBinder(handler);
+        }
+
+        @Implementation
+        public void __constructor__(IBinder binder) {
+            mBinder = (ProcessBinder) binder;
+        }
+
+        @Implementation
+        public IBinder getBinder() {
+            return mBinder;
+        }
+
+        @Implementation
+        public void send(Message message) {
+            message.setTarget(mBinder.mHandler);
+            message.sendToTarget();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.harish.hotspot.base.traffic;
+
+import com.harish.hotspot.base.interfaces.IClientTrafficSource;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Samples the interface counter fixtures of src/test/resources/traffic on the JVM.
+ * @since 17.10.2026.
+ */
+public class TrafficAccountantTest {
+    private static final String TAG = TrafficAccountantTest.class.getSimpleName();
+
+    //Packed addresses of the clients.
+    private static final long MAC_A = 0xa45e60c2119bL;
+    private static final long MAC_B = 0x3c2eff0a7b01L;
+
+    @Rule
+    public TemporaryFolder mFolder = new TemporaryFolder();
+
+    @Test
+    public void readsTheBytesColumnsOfTheInterfaceOnly() throws Exception {
+        File counters = mFolder.newFile("dev");
+        TrafficAccountant accountant = newAccountant(counters, null, 4);
+
+        //The first sample only sets the baseline, swlan0 and the others are not the interface.
+        sample(accountant, counters, "dev_tether.txt");
+        assertTotals(accountant, 0L, 0L);
+
+        sample(accountant, counters, "dev_after.txt");
+        assertTotals(accountant, 2000L, 4000L);
+    }
+
+    @Test
+    public void readsTheBytesGluedToTheName() throws Exception {
+        File counters = mFolder.newFile("dev");
+        TrafficAccountant accountant = newAccountant(counters, null, 4);
+
+        sample(accountant, counters, "dev_tether.txt");
+        //"wlan0:4000", and a tab before the transmitted bytes.
+        sample(accountant, counters, "dev_glued.txt");
+        assertTotals(accountant, 3000L, 1000L);
+    }
+
+    @Test
+    public void takesACounterWhichWentBackwardsForANewBaseline() throws Exception {
+        File counters = mFolder.newFile("dev");
+        TrafficAccountant accountant = newAccountant(counters, null, 4);
+
+        sample(accountant, counters, "dev_tether.txt");
+        sample(accountant, counters, "dev_after.txt");
+        //The interface restarted, or the counter wrapped: nothing is recorded.
+        sample(accountant, counters, "dev_reset.txt");
+        assertTotals(accountant, 2000L, 4000L);
+
+        sample(accountant, counters, "dev_after.txt");
+        assertTotals(accountant, 2000L + 2900L, 4000L + 8800L);
+    }
+
+    @Test
+    public void skipsTheMissingColumns() throws Exception {
+        File counters = mFolder.newFile("dev");
+        TrafficAccountant accountant = newAccountant(counters, null, 4);
+
+        sample(accountant, counters, "dev_tether.txt");
+        //The line ends before the transmitted bytes.
+        sample(accountant, counters, "dev_malformed.txt");
+        assertTotals(accountant, 1000L, 0L);
+    }
+
+    @Test
+    public void keepsTheBaselineWhileTheInterfaceIsDown() throws Exception {
+        File counters = mFolder.newFile("dev");
+        TrafficAccountant accountant = newAccountant(counters, null, 4);
+
+        sample(accountant, counters, "dev_tether.txt");
+        sample(accountant, counters, "dev_down.txt");
+        assertTotals(accountant, 0L, 0L);
+
+        sample(accountant, counters, "dev_after.txt");
+        assertTotals(accountant, 2000L, 4000L);
+    }
+
+    @Test
+    public void evictsTheClientsMissingFromTheCounters() throws Exception {
+        File counters = mFolder.newFile("dev");
+        copy(fixture("dev_tether.txt"), counters);
+        FixedClientSource source = new FixedClientSource();
+        //A single slot, a client missing for 100ms is stale.
+        TrafficAccountant accountant = newAccountant(counters, source, 1);
+
+        source.mCounters.put(MAC_A, new long[]{10L, 20L});
+        sample(accountant);
+        source.mCounters.put(MAC_A, new long[]{30L, 60L});
+        sample(accountant);
+        assertEquals(20L, accountant.getClientTotalBytes(MAC_A, TrafficAccountant.DIRECTION_RX));
+        assertEquals(40L, accountant.getClientTotalBytes(MAC_A, TrafficAccountant.DIRECTION_TX));
+
+        //B finds the pool full while A is not stale yet.
+        source.mCounters.clear();
+        source.mCounters.put(MAC_B, new long[]{5L, 5L});
+        sample(accountant);
+        assertEquals(-1L, accountant.getClientTotalBytes(MAC_B, TrafficAccountant.DIRECTION_RX));
+
+        Thread.sleep(150L);
+        sample(accountant);
+        assertEquals(-1L, accountant.getClientTotalBytes(MAC_A, TrafficAccountant.DIRECTION_RX));
+        assertEquals(0L, accountant.getClientTotalBytes(MAC_B, TrafficAccountant.DIRECTION_RX));
+    }
+
+    @Test
+    public void freesTheSlotOfAClientWhichLeft() throws Exception {
+        File counters = mFolder.newFile("dev");
+        copy(fixture("dev_tether.txt"), counters);
+        FixedClientSource source = new FixedClientSource();
+        TrafficAccountant accountant = newAccountant(counters, source, 1);
+
+        accountant.onClientJoined(MAC_A, 0);
+        assertEquals(0L, accountant.getClientTotalBytes(MAC_A, TrafficAccountant.DIRECTION_RX));
+        accountant.onClientLeft(MAC_A);
+        assertEquals(-1L, accountant.getClientTotalBytes(MAC_A, TrafficAccountant.DIRECTION_RX));
+
+        source.mCounters.put(MAC_B, new long[]{5L, 5L});
+        sample(accountant);
+        assertEquals(0L, accountant.getClientTotalBytes(MAC_B, TrafficAccountant.DIRECTION_RX));
+    }
+
+    //Reports the counters it holds.
+    private static final class FixedClientSource implements IClientTrafficSource {
+        private final Map<Long, long[]> mCounters = new LinkedHashMap<>();
+
+        @Override
+        public void readCounters(Sink sink) {
+            for (Map.Entry<Long, long[]> entry : mCounters.entrySet()) {
+                sink.onCounters(entry.getKey(), entry.getValue()[0], entry.getValue()[1]);
+            }
+        }
+    }
+
+    private static TrafficAccountant newAccountant(File counters, IClientTrafficSource source, int maxClients) {
+        return new TrafficAccountant(counters, "wlan0", source, maxClients, 50L, 50L, TimeUnit.MILLISECONDS);
+    }
+
+    private static void assertTotals(TrafficAccountant accountant, long rxBytes, long txBytes) {
+        assertEquals(rxBytes, accountant.getInterfaceTotalBytes(TrafficAccountant.DIRECTION_RX));
+        assertEquals(txBytes, accountant.getInterfaceTotalBytes(TrafficAccountant.DIRECTION_TX));
+    }
+
+    //Samples the fixture, once the clock has moved on.
+    private static void sample(TrafficAccountant accountant, File counters, String name) throws Exception {
+        copy(fixture(name), counters);
+        sample(accountant);
+    }
+
+    private static void sample(TrafficAccountant accountant) throws Exception {
+        Thread.sleep(1L);
+        accountant.sample();
+    }
+
+    private static File fixture(String name) throws URISyntaxException {
+        return new File(TrafficAccountantTest.class.getResource("/traffic/" + name).toURI());
+    }
+
+    private static void copy(File from, File to) throws IOException {
+        InputStream in = new FileInputStream(from);
+        try {
+            OutputStream out = new FileOutputStream(to);
+            try {
+                byte[] buffer = new byte[4096];
+                int read;
+                while ((read = in.read(buffer)) > 0) {
+                    out.write(buffer, 0, read);
+                }
+            } finally {
+                out.close();
+            }
+        } finally {
+            in.close();
+        }
+    }
+}
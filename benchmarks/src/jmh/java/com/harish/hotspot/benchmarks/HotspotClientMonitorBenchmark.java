@@ -0,0 +1,67 @@
+package com.harish.hotspot.benchmarks;
+
+import com.harish.hotspot.base.clients.HotspotClientMonitor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Scan of a neighbor table fixture holding N clients, with no change between the scans.
+ * @since 17.10.2026.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HotspotClientMonitorBenchmark {
+    @Param({"1", "16", "64"})
+    public int clients;
+
+    private File mTable;
+    private HotspotClientMonitor mMonitor;
+
+    @Setup
+    public void setUp() throws IOException {
+        StringBuilder table = new StringBuilder(
+                "IP address       HW type     Flags       HW address            Mask     Device\n");
+        for (int i = 0; i < clients; i++) {
+            table.append(String.format(Locale.US,
+                    "192.168.43.%-5d 0x1         0x2         02:00:00:00:%02x:%02x     *        wlan0\n",
+                    i + 2, i >> 8, i & 0xFF));
+        }
+        mTable = File.createTempFile("arp", ".txt");
+        OutputStream out = new FileOutputStream(mTable);
+        try {
+            out.write(table.toString().getBytes("US-ASCII"));
+        } finally {
+            out.close();
+        }
+        mMonitor = new HotspotClientMonitor(mTable, "wlan0");
+        mMonitor.scan();
+    }
+
+    @TearDown
+    public void tearDown() {
+        mTable.delete();
+    }
+
+    @Benchmark
+    public int scan() throws IOException {
+        return mMonitor.scan();
+    }
+}
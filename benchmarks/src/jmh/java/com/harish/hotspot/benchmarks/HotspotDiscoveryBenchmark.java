@@ -0,0 +1,63 @@
+package com.harish.hotspot.benchmarks;
+
+import com.harish.hotspot.base.net.HotspotDiscoveryResponder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Round trip of a discovery probe over loopback, the floor of the time to discovery of a client.
+ * @since 17.10.2026.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HotspotDiscoveryBenchmark {
+    private HotspotDiscoveryResponder mResponder;
+    private DatagramChannel mChannel;
+    private ByteBuffer mProbe;
+    private final ByteBuffer mReply = ByteBuffer.allocateDirect(2048);
+
+    @Setup
+    public void setUp() throws IOException {
+        mResponder = new HotspotDiscoveryResponder(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        mResponder.setService("status", 8000);
+        mResponder.setService("files", 8080);
+        mResponder.setService("relay", 1080);
+        //Every probe comes from the same source.
+        mResponder.setReplyInterval(0, TimeUnit.MILLISECONDS);
+        mResponder.start();
+        mChannel = DatagramChannel.open();
+        mChannel.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), mResponder.getLocalPort()));
+        mProbe = ByteBuffer.wrap(HotspotDiscoveryResponder.PROBE.getBytes("UTF-8"));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        mChannel.close();
+        mResponder.stop();
+    }
+
+    @Benchmark
+    public int probe() throws IOException {
+        mProbe.rewind();
+        mChannel.write(mProbe);
+        mReply.clear();
+        return mChannel.read(mReply);
+    }
+}
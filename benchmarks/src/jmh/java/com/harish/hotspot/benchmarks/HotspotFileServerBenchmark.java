@@ -0,0 +1,103 @@
+package com.harish.hotspot.benchmarks;
+
+import com.harish.hotspot.base.net.HotspotFileServer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Download of a file of N bytes from the file server over loopback, one connection per download,
+ *         and of the last 64KiB of it, as a resuming client would.
+ * @since 17.10.2026.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HotspotFileServerBenchmark {
+    @Param({"1048576", "16777216"})
+    public int size;
+
+    private File mDirectory;
+    private File mFile;
+    private HotspotFileServer mServer;
+    private InetSocketAddress mAddress;
+    private ByteBuffer mFullRequest;
+    private ByteBuffer mRangeRequest;
+    private final ByteBuffer mBuffer = ByteBuffer.allocateDirect(256 * 1024);
+
+    @Setup
+    public void setUp() throws IOException {
+        mDirectory = File.createTempFile("files", "");
+        mDirectory.delete();
+        mDirectory.mkdir();
+        mFile = new File(mDirectory, "payload.bin");
+        RandomAccessFile file = new RandomAccessFile(mFile, "rw");
+        try {
+            file.setLength(size);
+        } finally {
+            file.close();
+        }
+        mServer = new HotspotFileServer(mDirectory, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        mServer.start();
+        mAddress = new InetSocketAddress(InetAddress.getLoopbackAddress(), mServer.getLocalPort());
+        mFullRequest = ByteBuffer.wrap("GET /payload.bin HTTP/1.1\r\nConnection: close\r\n\r\n"
+                .getBytes("US-ASCII"));
+        mRangeRequest = ByteBuffer.wrap(("GET /payload.bin HTTP/1.1\r\nRange: bytes=-65536\r\n"
+                + "Connection: close\r\n\r\n").getBytes("US-ASCII"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        mServer.stop();
+        mFile.delete();
+        mDirectory.delete();
+    }
+
+    @Benchmark
+    public long download() throws IOException {
+        return fetch(mFullRequest);
+    }
+
+    @Benchmark
+    public long resume() throws IOException {
+        return fetch(mRangeRequest);
+    }
+
+    //Sends the request and reads the response until the server closes.
+    private long fetch(ByteBuffer request) throws IOException {
+        SocketChannel channel = SocketChannel.open(mAddress);
+        try {
+            request.rewind();
+            while (request.hasRemaining()) {
+                channel.write(request);
+            }
+            long total = 0;
+            int read;
+            while ((read = channel.read(mBuffer)) >= 0) {
+                total += read;
+                mBuffer.clear();
+            }
+            return total;
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.harish.hotspot.benchmarks;
+
+import android.net.wifi.WifiManager;
+
+import com.harish.hotspot.base.controller.HiddenApiRegistry;
+import com.harish.hotspot.base.controller.HotspotHelper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Reflection lookup and invocation of the hidden Wifi AP methods.
+ *         {@link #declaredMethodScan()} reproduces the per-call lookup used before {@link HiddenApiRegistry}.
+ * @since 17.10.2026.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HotspotHelperBenchmark {
+    private WifiManager mWifiManager;
+    private HiddenApiRegistry mRegistry;
+
+    @Setup
+    public void setUp() {
+        mWifiManager = new WifiManager();
+        mRegistry = new HiddenApiRegistry(WifiManager.class);
+        mRegistry.getMethod(HiddenApiRegistry.GET_WIFI_AP_STATE);
+    }
+
+    @Benchmark
+    public Method declaredMethodScan() {
+        for (Method declaredMethod : WifiManager.class.getDeclaredMethods()) {
+            if (declaredMethod.getName().equalsIgnoreCase("getWifiApState")) {
+                return declaredMethod;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public Method registryLookup() {
+        return mRegistry.getMethod(HiddenApiRegistry.GET_WIFI_AP_STATE);
+    }
+
+    @Benchmark
+    public int getHotspotState() {
+        return HotspotHelper.getHotspotState(mWifiManager);
+    }
+
+    @Benchmark
+    public void enableHotspot() {
+        HotspotHelper.enableHotspot(mWifiManager);
+    }
+}
@@ -0,0 +1,118 @@
+package com.harish.hotspot.benchmarks;
+
+import android.content.Context;
+import android.content.Intent;
+
+import com.harish.hotspot.base.interfaces.IHotspotStateListener;
+import com.harish.hotspot.base.journal.HotspotJournal;
+import com.harish.hotspot.base.receiver.HotspotReceiver;
+import com.harish.hotspot.base.receiver.HotspotStateDispatcher;
+import com.harish.hotspot.base.state.HotspotStates;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Fan-out of the state changes to N listeners, directly and through the broadcast path
+ *         (intent parsing, manager lookup, state machine update, dispatch).
+ * @since 17.10.2026.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HotspotReceiverBenchmark {
+    //A legal cycle through the states.
+    private static final int[] CYCLE = {
+            HotspotStates.WIFI_AP_STATE_ENABLING,
+            HotspotStates.WIFI_AP_STATE_ENABLED,
+            HotspotStates.WIFI_AP_STATE_DISABLING,
+            HotspotStates.WIFI_AP_STATE_DISABLED
+    };
+
+    @Param({"1", "8", "32"})
+    public int listeners;
+
+    private HotspotStateDispatcher mDispatcher;
+    private HotspotReceiver mReceiver;
+    private Context mContext;
+    private Intent[] mIntents;
+    private IHotspotStateListener[] mListeners;
+    private int mIndex;
+
+    @Setup
+    public void setUp(final Blackhole blackhole) {
+        mContext = new Context();
+        mReceiver = new HotspotReceiver();
+        //Opened on the worker by the real managers, not by the stubs: the receiver only appends to an open one.
+        HotspotJournal.getInstance(mContext);
+        //Registered on the (stub) manager, so that the receiver path reaches them too.
+        mDispatcher = com.harish.hotspot.base.HotspotManager.getInstance(mContext).getStateDispatcher();
+        //Held strongly here, the dispatcher only keeps weak references.
+        mListeners = new IHotspotStateListener[listeners];
+        for (int i = 0; i < listeners; i++) {
+            mListeners[i] = new BlackholeListener(blackhole);
+            mDispatcher.addListener(mListeners[i]);
+        }
+        mIntents = new Intent[CYCLE.length];
+        for (int i = 0; i < CYCLE.length; i++) {
+            mIntents[i] = new Intent(HotspotReceiver.ACTION_HOTSPOT_STATE_CHANGE)
+                    .putExtra(HotspotReceiver.EXTRA_PREVIOUS_WIFI_AP_STATE, CYCLE[(i + CYCLE.length - 1) % CYCLE.length])
+                    .putExtra(HotspotReceiver.EXTRA_WIFI_AP_STATE, CYCLE[i]);
+        }
+    }
+
+    @Benchmark
+    public void dispatch() {
+        mDispatcher.dispatch(CYCLE[mIndex++ & 3]);
+    }
+
+    @Benchmark
+    public void onReceive() {
+        mReceiver.onReceive(mContext, mIntents[mIndex++ & 3]);
+    }
+
+    //Listener sinking every callback into the blackhole.
+    private static final class BlackholeListener implements IHotspotStateListener {
+        private final Blackhole mBlackhole;
+
+        BlackholeListener(Blackhole blackhole) {
+            this.mBlackhole = blackhole;
+        }
+
+        @Override
+        public void onEnabling() {
+            mBlackhole.consume(HotspotStates.WIFI_AP_STATE_ENABLING);
+        }
+
+        @Override
+        public void onEnabled() {
+            mBlackhole.consume(HotspotStates.WIFI_AP_STATE_ENABLED);
+        }
+
+        @Override
+        public void onDisabling() {
+            mBlackhole.consume(HotspotStates.WIFI_AP_STATE_DISABLING);
+        }
+
+        @Override
+        public void onDisabled() {
+            mBlackhole.consume(HotspotStates.WIFI_AP_STATE_DISABLED);
+        }
+
+        @Override
+        public void onFailed() {
+            mBlackhole.consume(HotspotStates.WIFI_AP_STATE_FAILED);
+        }
+    }
+}
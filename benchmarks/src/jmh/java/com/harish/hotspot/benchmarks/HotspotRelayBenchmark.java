@@ -0,0 +1,113 @@
+package com.harish.hotspot.benchmarks;
+
+import com.harish.hotspot.base.net.HotspotRelay;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Download of N bytes through the relay over loopback, SOCKS5 handshake included, one tunnel per
+ *         download. The rate limit is set out of reach, so this measures the relay itself.
+ * @since 17.10.2026.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HotspotRelayBenchmark {
+    @Param({"0", "1048576"})
+    public int size;
+
+    private ServerSocketChannel mUpstream;
+    private Thread mUpstreamThread;
+    private HotspotRelay mRelay;
+    private InetSocketAddress mAddress;
+    private ByteBuffer mHandshake;
+    private final ByteBuffer mBuffer = ByteBuffer.allocateDirect(256 * 1024);
+
+    @Setup
+    public void setUp() throws IOException {
+        mUpstream = ServerSocketChannel.open();
+        mUpstream.socket().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        mUpstreamThread = new Thread(mUpstreamTask, "upstream");
+        mUpstreamThread.setDaemon(true);
+        mUpstreamThread.start();
+
+        mRelay = new HotspotRelay(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        mRelay.setAllowLocalDestinations(true);
+        mRelay.setClientRate(1L << 40, 1L << 30);
+        mRelay.start();
+        mAddress = new InetSocketAddress(InetAddress.getLoopbackAddress(), mRelay.getLocalPort());
+
+        int port = mUpstream.socket().getLocalPort();
+        mHandshake = ByteBuffer.wrap(new byte[]{5, 1, 0, 5, 1, 0, 1, 127, 0, 0, 1, (byte) (port >> 8), (byte) port});
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        mRelay.stop();
+        mUpstream.close();
+    }
+
+    @Benchmark
+    public long download() throws IOException {
+        SocketChannel channel = SocketChannel.open(mAddress);
+        try {
+            mHandshake.rewind();
+            while (mHandshake.hasRemaining()) {
+                channel.write(mHandshake);
+            }
+            long total = 0;
+            int read;
+            while ((read = channel.read(mBuffer)) >= 0) {
+                total += read;
+                mBuffer.clear();
+            }
+            //Less the method and connect replies.
+            return total - 12;
+        } finally {
+            channel.close();
+        }
+    }
+
+    //Sends N bytes to every connection, then closes it.
+    private final Runnable mUpstreamTask = new Runnable() {
+        @Override
+        public void run() {
+            ByteBuffer payload = ByteBuffer.allocateDirect(64 * 1024);
+            try {
+                while (true) {
+                    SocketChannel channel = mUpstream.accept();
+                    try {
+                        int remaining = size;
+                        while (remaining > 0) {
+                            payload.clear();
+                            payload.limit(Math.min(remaining, payload.capacity()));
+                            remaining -= channel.write(payload);
+                        }
+                    } finally {
+                        channel.close();
+                    }
+                }
+            } catch (IOException e) {
+                //Closed in tearDown().
+            }
+        }
+    };
+}
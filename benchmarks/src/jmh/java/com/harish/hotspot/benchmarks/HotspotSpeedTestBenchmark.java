@@ -0,0 +1,57 @@
+package com.harish.hotspot.benchmarks;
+
+import com.harish.hotspot.base.net.HotspotSpeedTest;
+import com.harish.hotspot.base.net.HotspotSpeedTestServer;
+import com.harish.hotspot.base.net.SpeedTestResult;
+import com.harish.hotspot.base.state.HotspotStateMachine;
+import com.harish.hotspot.base.state.HotspotStates;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Round trip measure of 100 pings against the speed test server over loopback, the overhead the
+ *         server and the client add to every measure of a real link.
+ * @since 17.10.2026.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HotspotSpeedTestBenchmark {
+    private HotspotSpeedTestServer mServer;
+    private HotspotSpeedTest mTest;
+
+    @Setup
+    public void setUp() throws IOException {
+        //Of its own, the shared one stays untouched.
+        HotspotStateMachine stateMachine = new HotspotStateMachine();
+        stateMachine.reset(HotspotStates.WIFI_AP_STATE_ENABLED);
+        mServer = new HotspotSpeedTestServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), stateMachine);
+        mServer.start();
+        mTest = new HotspotSpeedTest(new InetSocketAddress(InetAddress.getLoopbackAddress(), mServer.getLocalPort()));
+        mTest.setPings(100);
+    }
+
+    @TearDown
+    public void tearDown() {
+        mServer.stop();
+    }
+
+    @Benchmark
+    public SpeedTestResult rtt() throws IOException {
+        return mTest.measureRtt();
+    }
+}
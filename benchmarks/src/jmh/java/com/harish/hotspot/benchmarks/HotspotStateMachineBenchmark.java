@@ -0,0 +1,58 @@
+package com.harish.hotspot.benchmarks;
+
+import com.harish.hotspot.base.state.HotspotStateMachine;
+import com.harish.hotspot.base.state.HotspotStateSnapshot;
+import com.harish.hotspot.base.state.HotspotStates;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         State transition handling: validated transitions, duplicate broadcasts and snapshot reads.
+ * @since 17.10.2026.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HotspotStateMachineBenchmark {
+    //A legal cycle through the states.
+    private static final int[] CYCLE = {
+            HotspotStates.WIFI_AP_STATE_ENABLING,
+            HotspotStates.WIFI_AP_STATE_ENABLED,
+            HotspotStates.WIFI_AP_STATE_DISABLING,
+            HotspotStates.WIFI_AP_STATE_DISABLED
+    };
+
+    private HotspotStateMachine mStateMachine;
+    private int mIndex;
+
+    @Setup
+    public void setUp() {
+        mStateMachine = HotspotStateMachine.getInstance();
+        mStateMachine.reset(HotspotStates.WIFI_AP_STATE_DISABLED);
+    }
+
+    @Benchmark
+    public boolean transitionCycle() {
+        return mStateMachine.transitionTo(CYCLE[mIndex++ & 3]);
+    }
+
+    @Benchmark
+    public boolean duplicateSync() {
+        return mStateMachine.sync(mStateMachine.getState());
+    }
+
+    @Benchmark
+    public HotspotStateSnapshot snapshotRead() {
+        return mStateMachine.getSnapshot();
+    }
+}
@@ -0,0 +1,75 @@
+package com.harish.hotspot.benchmarks;
+
+import com.harish.hotspot.base.net.HotspotStatusServer;
+import com.harish.hotspot.base.state.HotspotStateMachine;
+import com.harish.hotspot.base.state.HotspotStates;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Request/response round trip of the pre-serialized status over a kept alive loopback connection.
+ * @since 17.10.2026.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HotspotStatusServerBenchmark {
+    private HotspotStatusServer mServer;
+    private SocketChannel mChannel;
+    private ByteBuffer mRequest;
+    private final ByteBuffer mBuffer = ByteBuffer.allocateDirect(4096);
+    private int mResponseLength;
+
+    @Setup
+    public void setUp() throws IOException {
+        //Of its own, the shared one stays untouched.
+        HotspotStateMachine stateMachine = new HotspotStateMachine();
+        stateMachine.reset(HotspotStates.WIFI_AP_STATE_ENABLED);
+        mServer = new HotspotStatusServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), stateMachine);
+        mServer.start();
+        mChannel = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), mServer.getLocalPort()));
+        mChannel.socket().setTcpNoDelay(true);
+        mRequest = ByteBuffer.wrap("GET /status.json HTTP/1.1\r\n\r\n".getBytes("US-ASCII"));
+        //The first response tells the length of the following ones.
+        mRequest.rewind();
+        mChannel.write(mRequest);
+        mResponseLength = mChannel.read(mBuffer);
+        mBuffer.clear();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        mChannel.close();
+        mServer.stop();
+    }
+
+    @Benchmark
+    public int status() throws IOException {
+        mRequest.rewind();
+        while (mRequest.hasRemaining()) {
+            mChannel.write(mRequest);
+        }
+        int total = 0;
+        while (total < mResponseLength) {
+            total += mChannel.read(mBuffer);
+        }
+        mBuffer.clear();
+        return total;
+    }
+}
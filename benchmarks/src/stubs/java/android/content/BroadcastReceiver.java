@@ -0,0 +1,8 @@
+package android.content;
+
+/**
+ * JVM stand-in for the framework class, with only what the benchmarked code touches.
+ */
+public abstract class BroadcastReceiver {
+    public abstract void onReceive(Context context, Intent intent);
+}
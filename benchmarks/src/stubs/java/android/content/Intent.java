@@ -0,0 +1,30 @@
+package android.content;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JVM stand-in for the framework class, with only what the benchmarked code touches.
+ */
+public class Intent {
+    private final String mAction;
+    private final Map<String, Integer> mExtras = new HashMap<>();
+
+    public Intent(String action) {
+        this.mAction = action;
+    }
+
+    public String getAction() {
+        return mAction;
+    }
+
+    public Intent putExtra(String name, int value) {
+        mExtras.put(name, value);
+        return this;
+    }
+
+    public int getIntExtra(String name, int defaultValue) {
+        Integer value = mExtras.get(name);
+        return value == null ? defaultValue : value;
+    }
+}
@@ -0,0 +1,13 @@
+package android.net.wifi;
+
+import java.util.BitSet;
+
+/**
+ * JVM stand-in for the framework class, with only what the benchmarked code touches.
+ */
+public class WifiConfiguration {
+    public String SSID;
+    public String preSharedKey;
+    public boolean hiddenSSID;
+    public BitSet allowedKeyManagement = new BitSet();
+}
@@ -0,0 +1,71 @@
+package android.net.wifi;
+
+/**
+ * JVM stand-in for the framework class.
+ * Declares the hidden AP methods the way the framework does, so that they are found through reflection.
+ * A realistic number of other methods is declared as well, since the old lookup walked all of them.
+ */
+public class WifiManager {
+    private int mApState = 13;
+    private WifiConfiguration mApConfiguration = new WifiConfiguration();
+
+    public static class LocalOnlyHotspotCallback {
+    }
+
+    public class MulticastLock {
+        public void acquire() {
+        }
+
+        public void release() {
+        }
+
+        public void setReferenceCounted(boolean refCounted) {
+        }
+    }
+
+    public MulticastLock createMulticastLock(String tag) {
+        return new MulticastLock();
+    }
+
+    private int getWifiApState() {
+        return mApState;
+    }
+
+    private boolean setWifiApEnabled(WifiConfiguration configuration, boolean enabled) {
+        mApState = enabled ? 13 : 11;
+        return true;
+    }
+
+    private WifiConfiguration getWifiApConfiguration() {
+        return mApConfiguration;
+    }
+
+    private boolean setWifiApConfiguration(WifiConfiguration configuration) {
+        mApConfiguration = configuration;
+        return true;
+    }
+
+    public boolean isWifiEnabled() { return true; }
+    public boolean setWifiEnabled(boolean enabled) { return true; }
+    public int getWifiState() { return 3; }
+    public boolean disconnect() { return true; }
+    public boolean reconnect() { return true; }
+    public boolean reassociate() { return true; }
+    public boolean startScan() { return true; }
+    public boolean saveConfiguration() { return true; }
+    public boolean pingSupplicant() { return true; }
+    public boolean is5GHzBandSupported() { return true; }
+    public boolean isP2pSupported() { return true; }
+    public boolean isDeviceToApRttSupported() { return true; }
+    public boolean isPreferredNetworkOffloadSupported() { return true; }
+    public boolean isTdlsSupported() { return true; }
+    public boolean isEnhancedPowerReportingSupported() { return true; }
+    public boolean isScanAlwaysAvailable() { return true; }
+    public int addNetwork(WifiConfiguration configuration) { return 0; }
+    public int updateNetwork(WifiConfiguration configuration) { return 0; }
+    public boolean removeNetwork(int networkId) { return true; }
+    public boolean enableNetwork(int networkId, boolean attemptConnect) { return true; }
+    public boolean disableNetwork(int networkId) { return true; }
+    public static int calculateSignalLevel(int rssi, int numLevels) { return 0; }
+    public static int compareSignalLevel(int rssiA, int rssiB) { return 0; }
+}
@@ -0,0 +1,19 @@
+package android.os;
+
+/**
+ * JVM stand-in for the framework class. Pretends to be a Nougat(v25) device, the reflection path.
+ */
+public class Build {
+    public static final String FINGERPRINT = "jvm/stub/stub:7.1.1/NMF26X/1:user/release-keys";
+
+    public static class VERSION {
+        public static final int SDK_INT = 25;
+    }
+
+    public static class VERSION_CODES {
+        public static final int LOLLIPOP = 21;
+        public static final int M = 23;
+        public static final int N = 24;
+        public static final int O = 26;
+    }
+}
@@ -0,0 +1,7 @@
+package android.os;
+
+/**
+ * JVM stand-in for the framework class, with only what the benchmarked code touches.
+ */
+public class Handler {
+}
@@ -0,0 +1,17 @@
+package android.os;
+
+/**
+ * JVM stand-in for the framework class. There is no policy to relax.
+ */
+public final class StrictMode {
+
+    public static final class ThreadPolicy {
+    }
+
+    public static ThreadPolicy allowThreadDiskReads() {
+        return null;
+    }
+
+    public static void setThreadPolicy(ThreadPolicy policy) {
+    }
+}
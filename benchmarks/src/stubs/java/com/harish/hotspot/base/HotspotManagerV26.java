@@ -0,0 +1,132 @@
+package com.harish.hotspot.base;
+
+import android.content.Context;
+
+import com.harish.hotspot.base.command.HotspotCommandExecutor;
+import com.harish.hotspot.base.command.HotspotCommandFuture;
+import com.harish.hotspot.base.controller.IHotspotBackend;
+import com.harish.hotspot.base.controller.IHotspotManager;
+import com.harish.hotspot.base.interfaces.IHotspotStateListener;
+import com.harish.hotspot.base.lease.HotspotLease;
+import com.harish.hotspot.base.lease.HotspotLeaseManager;
+import com.harish.hotspot.base.net.HotspotNetworkServices;
+import com.harish.hotspot.base.receiver.HotspotStateDispatcher;
+import com.harish.hotspot.base.recovery.HotspotRecovery;
+import com.harish.hotspot.base.state.HotspotStateAwaiter;
+import com.harish.hotspot.base.state.HotspotStateFuture;
+import com.harish.hotspot.base.state.HotspotStateMachine;
+import com.harish.hotspot.base.state.HotspotStateSnapshot;
+import com.harish.hotspot.base.stream.HotspotStatePublisher;
+import com.harish.hotspot.base.util.HashedWheelTimer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JVM stand-in for the Oreo manager, so that {@link com.harish.hotspot.base.receiver.HotspotReceiver}
+ * can be benchmarked without the framework. Keeps the real state machine and dispatcher.
+ */
+public final class HotspotManagerV26 implements IHotspotManager {
+    private static final HotspotManagerV26 sInstance = new HotspotManagerV26();
+
+    private final HotspotStateDispatcher mStateDispatcher = new HotspotStateDispatcher();
+
+    private volatile IHotspotBackend mBackend;
+
+    private final HotspotRecovery mRecovery = new HotspotRecovery(new Runnable() {
+        @Override
+        public void run() {
+        }
+    }, HashedWheelTimer.getInstance());
+
+    private final HotspotLeaseManager mLeaseManager = new HotspotLeaseManager(new Runnable() {
+        @Override
+        public void run() {
+        }
+    }, HashedWheelTimer.getInstance());
+
+    public static HotspotManagerV26 getInstance(Context context) {
+        return sInstance;
+    }
+
+    @Override
+    public HotspotCommandFuture enableHotspot(Context context) {
+        return HotspotCommandFuture.completed(HotspotCommandExecutor.TARGET_ENABLED,
+                HotspotCommandFuture.RESULT_SKIPPED);
+    }
+
+    @Override
+    public HotspotCommandFuture disableHotspot(Context context) {
+        return HotspotCommandFuture.completed(HotspotCommandExecutor.TARGET_DISABLED,
+                HotspotCommandFuture.RESULT_SKIPPED);
+    }
+
+    @Override
+    public HotspotLease acquireHotspotLease(Context context, String owner) {
+        return mLeaseManager.acquire(owner);
+    }
+
+    @Override
+    public HotspotLeaseManager getLeaseManager() {
+        return mLeaseManager;
+    }
+
+    @Override
+    public HotspotNetworkServices getNetworkServices() {
+        return HotspotNetworkServices.getInstance();
+    }
+
+    @Override
+    public IHotspotBackend getBackend() {
+        return mBackend;
+    }
+
+    @Override
+    public void setBackend(IHotspotBackend backend) {
+        this.mBackend = backend;
+    }
+
+    @Override
+    public HotspotRecovery getRecovery() {
+        return mRecovery;
+    }
+
+    @Override
+    public void setHotspotState(int hotspotState) {
+        HotspotStateMachine.getInstance().sync(hotspotState);
+    }
+
+    @Override
+    public int getHotspotState() {
+        return HotspotStateMachine.getInstance().getState();
+    }
+
+    @Override
+    public HotspotStateSnapshot getHotspotStateSnapshot() {
+        return HotspotStateMachine.getInstance().getSnapshot();
+    }
+
+    @Override
+    public HotspotStateFuture awaitState(int targetState, long timeout, TimeUnit unit) {
+        return HotspotStateAwaiter.getInstance().awaitState(targetState, timeout, unit);
+    }
+
+    @Override
+    public HotspotStateDispatcher getStateDispatcher() {
+        return mStateDispatcher;
+    }
+
+    @Override
+    public HotspotStatePublisher getStatePublisher() {
+        return HotspotStatePublisher.getInstance();
+    }
+
+    @Override
+    public void addHotspotStateListener(Context context, IHotspotStateListener hotspotStateListener) {
+        mStateDispatcher.addListener(hotspotStateListener);
+    }
+
+    @Override
+    public void removeHotspotStateListener(Context context, IHotspotStateListener hotspotStateListener) {
+        mStateDispatcher.removeListener(hotspotStateListener);
+    }
+}
@@ -0,0 +1,211 @@
+package com.harish.hotspot.base.journal;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * @author HARISH.
+ *         <p>
+ *         Decodes a journal written by {@link HotspotJournal}. A desktop tool, kept out of the app,
+ *         compiled with the JVM sources of :app by this module:
+ *         <pre>
+ *         adb exec-out run-as com.harish.hotspot cat files/hotspot_journal.bin > hotspot_journal.bin
+ *         ./gradlew :benchmarks:readJournal -Pjournal=hotspot_journal.bin
+ *         </pre>
+ * @since 17.10.2026.
+ */
+public final class HotspotJournalReader {
+    private static final String TAG = HotspotJournalReader.class.getSimpleName();
+
+    /**
+     * A decoded record.
+     */
+    public static final class Entry {
+        private final long mSequence;
+        private final long mTimestamp;
+        private final int mPreviousState;
+        private final int mNextState;
+        private final int mSource;
+        private final int mBackend;
+
+        Entry(long sequence, long timestamp, int previousState, int nextState, int source, int backend) {
+            this.mSequence = sequence;
+            this.mTimestamp = timestamp;
+            this.mPreviousState = previousState;
+            this.mNextState = nextState;
+            this.mSource = source;
+            this.mBackend = backend;
+        }
+
+        public long getSequence() {
+            return mSequence;
+        }
+
+        /**
+         * @return the time of the broadcast, in milliseconds since epoch.
+         */
+        public long getTimestamp() {
+            return mTimestamp;
+        }
+
+        public int getPreviousState() {
+            return mPreviousState;
+        }
+
+        public int getNextState() {
+            return mNextState;
+        }
+
+        /**
+         * @return one of the JournalFormat.SOURCE_* values.
+         */
+        public int getSource() {
+            return mSource;
+        }
+
+        /**
+         * @return the backend path of the command, {@link JournalFormat#BACKEND_UNKNOWN} if none.
+         */
+        public int getBackend() {
+            return mBackend;
+        }
+    }
+
+    private HotspotJournalReader() {
+    }
+
+    /**
+     * Reads all the committed records of a journal file.
+     *
+     * @param file The journal file.
+     * @return the records, oldest first.
+     * @throws IOException when the file can not be read or is not a journal.
+     */
+    public static List<Entry> read(File file) throws IOException {
+        byte[] bytes = new byte[(int) file.length()];
+        DataInputStream in = new DataInputStream(new FileInputStream(file));
+        try {
+            in.readFully(bytes);
+        } finally {
+            in.close();
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (bytes.length < JournalFormat.HEADER_SIZE
+                || buffer.getInt(JournalFormat.OFFSET_MAGIC) != JournalFormat.MAGIC) {
+            throw new IOException("Not a hotspot journal: " + file);
+        }
+        if (buffer.getInt(JournalFormat.OFFSET_VERSION) != JournalFormat.VERSION) {
+            throw new IOException("Unsupported version: " + buffer.getInt(JournalFormat.OFFSET_VERSION));
+        }
+        int recordSize = buffer.getInt(JournalFormat.OFFSET_RECORD_SIZE);
+        int capacity = buffer.getInt(JournalFormat.OFFSET_CAPACITY);
+        if (recordSize < JournalFormat.RECORD_SIZE
+                || JournalFormat.HEADER_SIZE + (long) capacity * recordSize > bytes.length) {
+            throw new IOException("Truncated journal: " + file);
+        }
+
+        List<Entry> entries = new ArrayList<>();
+        for (int i = 0; i < capacity; i++) {
+            int offset = JournalFormat.HEADER_SIZE + i * recordSize;
+            long sequence = buffer.getLong(offset + JournalFormat.OFFSET_SEQUENCE);
+            if (sequence != 0L) {
+                entries.add(new Entry(sequence,
+                        buffer.getLong(offset + JournalFormat.OFFSET_TIMESTAMP),
+                        buffer.getInt(offset + JournalFormat.OFFSET_PREVIOUS),
+                        buffer.getInt(offset + JournalFormat.OFFSET_NEXT),
+                        buffer.getInt(offset + JournalFormat.OFFSET_SOURCE),
+                        buffer.getInt(offset + JournalFormat.OFFSET_BACKEND)));
+            }
+        }
+        Collections.sort(entries, new Comparator<Entry>() {
+            @Override
+            public int compare(Entry first, Entry second) {
+                return first.mSequence < second.mSequence ? -1 : (first.mSequence == second.mSequence ? 0 : 1);
+            }
+        });
+        return entries;
+    }
+
+    /**
+     * Formats a record as one line.
+     *
+     * @param entry The record.
+     * @return the line.
+     */
+    public static String format(Entry entry) {
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.US);
+        dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return String.format(Locale.US, "%8d %s %-9s -> %-9s %-15s %s",
+                entry.mSequence, dateFormat.format(new Date(entry.mTimestamp)),
+                stateName(entry.mPreviousState), stateName(entry.mNextState),
+                sourceName(entry.mSource), backendName(entry.mBackend));
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: " + TAG + " <hotspot_journal.bin>");
+            System.exit(2);
+        }
+        List<Entry> entries = read(new File(args[0]));
+        for (Entry entry : entries) {
+            System.out.println(format(entry));
+        }
+        System.out.println(entries.size() + " records");
+    }
+
+    //Names of the broadcast states, see HotspotStates.
+    private static String stateName(int state) {
+        switch (state) {
+            case 10:
+                return "DISABLING";
+            case 11:
+                return "DISABLED";
+            case 12:
+                return "ENABLING";
+            case 13:
+                return "ENABLED";
+            case 14:
+                return "FAILED";
+            default:
+                return "UNKNOWN(" + state + ")";
+        }
+    }
+
+    private static String sourceName(int source) {
+        switch (source) {
+            case JournalFormat.SOURCE_EXTERNAL:
+                return "external";
+            case JournalFormat.SOURCE_ENABLE_COMMAND:
+                return "enable-command";
+            case JournalFormat.SOURCE_DISABLE_COMMAND:
+                return "disable-command";
+            default:
+                return "source(" + source + ")";
+        }
+    }
+
+    //Names of the backend paths, see IHotspotBackend.
+    private static String backendName(int backend) {
+        switch (backend) {
+            case 0:
+                return "reflection";
+            case 1:
+                return "local-only-hotspot";
+            case 2:
+                return "simulated";
+            default:
+                return "-";
+        }
+    }
+}